@@ -0,0 +1,737 @@
+package com.expense.monthly.analytics;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Append-only columnar copy of the ledger for ad-hoc group-by scans.
+ * Each transaction is one slot in four primitive columns: epoch day, amount in minor units of the base currency,
+ * and dictionary ids of its lower-cased category and of its description. A scan splits the rows into chunks on a
+ * fork-join pool; each chunk filters and aggregates into its own count, sum, min and max per group, and the
+ * chunks are merged pairwise. Filters on category and description are resolved against the dictionaries once,
+ * so the per-row work is integer comparisons and array lookups.
+ * Appends must come from one thread at a time. Scans may run concurrently with them and see the rows that were
+ * published when they started: a slot is written before the row count covering it is published, and never again.
+ */
+public class ColumnarLedger {
+
+    /**
+     * Attributes a scan can group by.
+     */
+    public enum Dimension {
+        CATEGORY, DESCRIPTION, YEAR, MONTH, WEEKDAY, AMOUNT_BAND
+    }
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    /**
+     * Rows aggregated sequentially by one fork-join task before it stops splitting.
+     */
+    private static final int ROWS_PER_TASK = 1 << 16;
+
+    /**
+     * Scans with up to this many possible groups aggregate into arrays indexed by group, larger ones into a map.
+     */
+    private static final int DENSE_GROUPS = 1 << 16;
+
+    private int[] days = new int[INITIAL_CAPACITY];
+    private long[] amounts = new long[INITIAL_CAPACITY];
+    private int[] categoryIds = new int[INITIAL_CAPACITY];
+    private int[] descriptionIds = new int[INITIAL_CAPACITY];
+    private int size;
+
+    private final Dictionary categories = new Dictionary();
+    private final Dictionary descriptions = new Dictionary();
+    private int minDay = Integer.MAX_VALUE;
+    private int maxDay = Integer.MIN_VALUE;
+
+    private volatile Columns columns = new Columns(this);
+
+    /**
+     * Append a transaction.
+     *
+     * @param date Transaction date
+     * @param description Description, stored as given
+     * @param amount Amount in the base currency
+     * @param category Category, stored lower-cased
+     */
+    public void add(LocalDate date, String description, BigDecimal amount, String category) {
+        if (size == days.length) {
+            int capacity = size * 2;
+            days = Arrays.copyOf(days, capacity);
+            amounts = Arrays.copyOf(amounts, capacity);
+            categoryIds = Arrays.copyOf(categoryIds, capacity);
+            descriptionIds = Arrays.copyOf(descriptionIds, capacity);
+        }
+        int day = (int) date.toEpochDay();
+        days[size] = day;
+        amounts[size] = toMinorUnits(amount);
+        categoryIds[size] = categories.idOf(normalizeCategory(category));
+        descriptionIds[size] = descriptions.idOf(description == null ? "" : description);
+        minDay = Math.min(minDay, day);
+        maxDay = Math.max(maxDay, day);
+        size++;
+        columns = new Columns(this);
+    }
+
+    /**
+     * Number of transactions held.
+     *
+     * @return Row count
+     */
+    public int size() {
+        return columns.size;
+    }
+
+    /**
+     * Estimated heap used by the columns and dictionaries.
+     *
+     * @return Bytes, approximately
+     */
+    public long estimateBytes() {
+        Columns view = columns;
+        long bytes = (long) view.days.length * (Integer.BYTES * 3 + Long.BYTES);
+        for (int i = 0; i < view.categoryCount; i++) {
+            bytes += 48 + 2L * view.categories[i].length();
+        }
+        for (int i = 0; i < view.descriptionCount; i++) {
+            bytes += 48 + 2L * view.descriptions[i].length();
+        }
+        return bytes;
+    }
+
+    /**
+     * Aggregate the transactions matching a filter per group.
+     *
+     * @param dimensions Dimensions to group by, outermost first; empty for a single total
+     * @param amountBands Ascending upper bounds of the amount bands, for {@link Dimension#AMOUNT_BAND}
+     * @param filter Rows to include
+     * @param pool Pool the chunks run on
+     * @return Non-empty groups, ordered by dimension: dictionary labels alphabetically, the rest chronologically
+     *         or by weekday and band
+     * @throws IllegalArgumentException If the dimensions allow more groups than fit an int
+     */
+    public List<Group> groupBy(List<Dimension> dimensions, List<BigDecimal> amountBands, Filter filter, ForkJoinPool pool) {
+        Columns view = columns;
+        int fromDay = Math.max(view.minDay, filter.fromDay);
+        int toDay = Math.min(view.maxDay, filter.toDay);
+        if (view.size == 0 || fromDay > toDay) {
+            return Collections.emptyList();
+        }
+        Scan scan = new Scan(view, dimensions, amountBands, filter, fromDay, toDay);
+        if (scan.empty) {
+            return Collections.emptyList();
+        }
+        Groups groups = pool.invoke(new ScanTask(scan, 0, view.size));
+        List<Group> result = new ArrayList<>();
+        groups.forEach((key, count, sum, min, max) -> result.add(scan.group(key, count, sum, min, max)));
+        result.sort(scan.order());
+        return result;
+    }
+
+    /**
+     * Write the columns and dictionaries.
+     *
+     * @param out Destination
+     * @throws IOException If writing fails
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        Columns view = columns;
+        view.writeDictionary(out, view.categories, view.categoryCount);
+        view.writeDictionary(out, view.descriptions, view.descriptionCount);
+        out.writeInt(view.size);
+        for (int i = 0; i < view.size; i++) {
+            out.writeInt(view.days[i]);
+            out.writeLong(view.amounts[i]);
+            out.writeInt(view.categoryIds[i]);
+            out.writeInt(view.descriptionIds[i]);
+        }
+    }
+
+    /**
+     * Read a ledger written by {@link #writeTo}.
+     *
+     * @param in Source
+     * @return Restored ledger
+     * @throws IOException If reading fails or a dictionary id is out of range
+     */
+    public static ColumnarLedger readFrom(DataInput in) throws IOException {
+        ColumnarLedger ledger = new ColumnarLedger();
+        readDictionary(in, ledger.categories);
+        readDictionary(in, ledger.descriptions);
+        int rows = in.readInt();
+        int capacity = Math.max(INITIAL_CAPACITY, rows);
+        ledger.days = new int[capacity];
+        ledger.amounts = new long[capacity];
+        ledger.categoryIds = new int[capacity];
+        ledger.descriptionIds = new int[capacity];
+        for (int i = 0; i < rows; i++) {
+            int day = in.readInt();
+            ledger.days[i] = day;
+            ledger.amounts[i] = in.readLong();
+            ledger.categoryIds[i] = checkId(in.readInt(), ledger.categories);
+            ledger.descriptionIds[i] = checkId(in.readInt(), ledger.descriptions);
+            ledger.minDay = Math.min(ledger.minDay, day);
+            ledger.maxDay = Math.max(ledger.maxDay, day);
+        }
+        ledger.size = rows;
+        ledger.columns = new Columns(ledger);
+        return ledger;
+    }
+
+    /**
+     * Convert an amount to minor units of the base currency.
+     *
+     * @param amount Amount, or null for zero
+     * @return Amount in hundredths, rounded half up
+     */
+    public static long toMinorUnits(BigDecimal amount) {
+        return amount == null ? 0 : amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValue();
+    }
+
+    private static String normalizeCategory(String category) {
+        return category == null ? "" : category.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static void readDictionary(DataInput in, Dictionary dictionary) throws IOException {
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            dictionary.idOf(in.readUTF());
+        }
+    }
+
+    private static int checkId(int id, Dictionary dictionary) throws IOException {
+        if (id < 0 || id >= dictionary.count) {
+            throw new IOException("Dictionary id out of range: " + id);
+        }
+        return id;
+    }
+
+    /**
+     * Rows a scan includes. Bounds left unset do not filter.
+     */
+    public static final class Filter {
+
+        private int fromDay = Integer.MIN_VALUE;
+        private int toDay = Integer.MAX_VALUE;
+        private long minAmount = Long.MIN_VALUE;
+        private long maxAmount = Long.MAX_VALUE;
+        private String category;
+        private String description;
+
+        /**
+         * Keep transactions dated within a range.
+         *
+         * @param from First date, or null for no lower bound
+         * @param to Last date (inclusive), or null for no upper bound
+         * @return This filter
+         */
+        public Filter between(LocalDate from, LocalDate to) {
+            fromDay = from == null ? Integer.MIN_VALUE : (int) from.toEpochDay();
+            toDay = to == null ? Integer.MAX_VALUE : (int) to.toEpochDay();
+            return this;
+        }
+
+        /**
+         * Keep transactions with an amount within a range.
+         *
+         * @param min Smallest amount, or null for no lower bound
+         * @param max Largest amount (inclusive), or null for no upper bound
+         * @return This filter
+         */
+        public Filter amountBetween(BigDecimal min, BigDecimal max) {
+            minAmount = min == null ? Long.MIN_VALUE : toMinorUnits(min);
+            maxAmount = max == null ? Long.MAX_VALUE : toMinorUnits(max);
+            return this;
+        }
+
+        /**
+         * Keep transactions in a category (case insensitive).
+         *
+         * @param category Category, or null or empty for any
+         * @return This filter
+         */
+        public Filter category(String category) {
+            this.category = category == null || category.isEmpty() ? null : normalizeCategory(category);
+            return this;
+        }
+
+        /**
+         * Keep transactions whose description contains a fragment (case insensitive).
+         *
+         * @param description Fragment, or null or empty for any
+         * @return This filter
+         */
+        public Filter descriptionContaining(String description) {
+            this.description = description == null || description.isEmpty() ? null : description.toLowerCase(Locale.ROOT);
+            return this;
+        }
+    }
+
+    /**
+     * Totals of one group, amounts in minor units.
+     */
+    public static final class Group {
+
+        private final int[] codes;
+        private final List<String> labels;
+        private final long count;
+        private final long sum;
+        private final long min;
+        private final long max;
+
+        Group(int[] codes, List<String> labels, long count, long sum, long min, long max) {
+            this.codes = codes;
+            this.labels = labels;
+            this.count = count;
+            this.sum = sum;
+            this.min = min;
+            this.max = max;
+        }
+
+        /**
+         * Label of the group in each dimension, in the order the dimensions were given.
+         *
+         * @return Labels
+         */
+        public List<String> getLabels() {
+            return labels;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getSum() {
+            return sum;
+        }
+
+        public long getMin() {
+            return min;
+        }
+
+        public long getMax() {
+            return max;
+        }
+    }
+
+    /**
+     * String dictionary written by the appending thread. Its array is only read by scans up to the count
+     * published with their view.
+     */
+    private static final class Dictionary {
+
+        private final Map<String, Integer> ids = new HashMap<>();
+        private String[] values = new String[64];
+        private int count;
+
+        int idOf(String value) {
+            Integer id = ids.get(value);
+            if (id != null) {
+                return id;
+            }
+            if (count == values.length) {
+                values = Arrays.copyOf(values, count * 2);
+            }
+            values[count] = value;
+            ids.put(value, count);
+            return count++;
+        }
+    }
+
+    /**
+     * Immutable view of the rows and dictionary entries published so far.
+     */
+    private static final class Columns {
+
+        final int size;
+        final int[] days;
+        final long[] amounts;
+        final int[] categoryIds;
+        final int[] descriptionIds;
+        final String[] categories;
+        final int categoryCount;
+        final String[] descriptions;
+        final int descriptionCount;
+        final int minDay;
+        final int maxDay;
+
+        Columns(ColumnarLedger ledger) {
+            size = ledger.size;
+            days = ledger.days;
+            amounts = ledger.amounts;
+            categoryIds = ledger.categoryIds;
+            descriptionIds = ledger.descriptionIds;
+            categories = ledger.categories.values;
+            categoryCount = ledger.categories.count;
+            descriptions = ledger.descriptions.values;
+            descriptionCount = ledger.descriptions.count;
+            minDay = ledger.minDay;
+            maxDay = ledger.maxDay;
+        }
+
+        void writeDictionary(DataOutput out, String[] values, int count) throws IOException {
+            out.writeInt(count);
+            for (int i = 0; i < count; i++) {
+                out.writeUTF(values[i]);
+            }
+        }
+    }
+
+    /**
+     * A group-by scan compiled against one view: filters resolved to dictionary ids, and each dimension to a
+     * code in {@code [0, cardinality)}. A row's group key is its codes in mixed radix, outermost dimension first.
+     */
+    private static final class Scan {
+
+        final Columns view;
+        final Dimension[] dimensions;
+        final int[] cardinalities;
+        final int groupCount;
+        final int fromDay;
+        final int toDay;
+        final long minAmount;
+        final long maxAmount;
+        final int categoryId;
+        final boolean[] descriptionMatches;
+        final long[] bandBounds;
+        final int firstDay;
+        final int firstYear;
+        final int firstMonth;
+        final int[] yearByDay;
+        final int[] monthByDay;
+        final boolean empty;
+
+        Scan(Columns view, List<Dimension> dimensions, List<BigDecimal> amountBands, Filter filter, int fromDay, int toDay) {
+            this.view = view;
+            this.dimensions = dimensions.toArray(new Dimension[0]);
+            this.fromDay = fromDay;
+            this.toDay = toDay;
+            this.minAmount = filter.minAmount;
+            this.maxAmount = filter.maxAmount;
+            this.bandBounds = amountBands.stream().mapToLong(ColumnarLedger::toMinorUnits).sorted().distinct().toArray();
+
+            int category = -1;
+            boolean missing = false;
+            if (filter.category != null) {
+                missing = true;
+                for (int id = 0; id < view.categoryCount; id++) {
+                    if (view.categories[id].equals(filter.category)) {
+                        category = id;
+                        missing = false;
+                        break;
+                    }
+                }
+            }
+            this.categoryId = category;
+            if (filter.description != null) {
+                descriptionMatches = new boolean[view.descriptionCount];
+                boolean any = false;
+                for (int id = 0; id < view.descriptionCount; id++) {
+                    descriptionMatches[id] = view.descriptions[id].toLowerCase(Locale.ROOT).contains(filter.description);
+                    any |= descriptionMatches[id];
+                }
+                missing |= !any;
+            } else {
+                descriptionMatches = null;
+            }
+            this.empty = missing;
+
+            // Year and month codes come from tables over the scanned date range instead of a LocalDate per row
+            this.firstDay = fromDay;
+            LocalDate first = LocalDate.ofEpochDay(fromDay);
+            LocalDate last = LocalDate.ofEpochDay(toDay);
+            this.firstYear = first.getYear();
+            this.firstMonth = first.getYear() * 12 + first.getMonthValue() - 1;
+            boolean byYear = Arrays.asList(this.dimensions).contains(Dimension.YEAR);
+            boolean byMonth = Arrays.asList(this.dimensions).contains(Dimension.MONTH);
+            this.yearByDay = byYear ? new int[toDay - fromDay + 1] : null;
+            this.monthByDay = byMonth ? new int[toDay - fromDay + 1] : null;
+            if (byYear || byMonth) {
+                LocalDate date = first;
+                for (int i = 0; i <= toDay - fromDay; i++, date = date.plusDays(1)) {
+                    if (byYear) {
+                        yearByDay[i] = date.getYear() - firstYear;
+                    }
+                    if (byMonth) {
+                        monthByDay[i] = date.getYear() * 12 + date.getMonthValue() - 1 - firstMonth;
+                    }
+                }
+            }
+
+            this.cardinalities = new int[this.dimensions.length];
+            long groups = 1;
+            for (int i = 0; i < this.dimensions.length; i++) {
+                cardinalities[i] = cardinality(this.dimensions[i], last);
+                groups *= cardinalities[i];
+                if (groups > Integer.MAX_VALUE) {
+                    throw new IllegalArgumentException("Too many groups for dimensions " + dimensions);
+                }
+            }
+            this.groupCount = (int) groups;
+        }
+
+        private int cardinality(Dimension dimension, LocalDate last) {
+            switch (dimension) {
+                case CATEGORY:
+                    return Math.max(1, view.categoryCount);
+                case DESCRIPTION:
+                    return Math.max(1, view.descriptionCount);
+                case YEAR:
+                    return last.getYear() - firstYear + 1;
+                case MONTH:
+                    return last.getYear() * 12 + last.getMonthValue() - firstMonth;
+                case WEEKDAY:
+                    return 7;
+                case AMOUNT_BAND:
+                    return bandBounds.length + 1;
+                default:
+                    throw new IllegalArgumentException("Unsupported dimension: " + dimension);
+            }
+        }
+
+        /**
+         * Aggregate a range of rows.
+         *
+         * @param from First row
+         * @param to Row after the last
+         * @return Groups of the matching rows
+         */
+        Groups aggregate(int from, int to) {
+            Groups groups = groupCount <= DENSE_GROUPS ? new DenseGroups(groupCount) : new SparseGroups();
+            int[] days = view.days;
+            long[] amounts = view.amounts;
+            int[] categoryIds = view.categoryIds;
+            int[] descriptionIds = view.descriptionIds;
+            for (int row = from; row < to; row++) {
+                int day = days[row];
+                long amount = amounts[row];
+                if (day < fromDay || day > toDay || amount < minAmount || amount > maxAmount
+                        || (categoryId >= 0 && categoryIds[row] != categoryId)
+                        || (descriptionMatches != null && !descriptionMatches[descriptionIds[row]])) {
+                    continue;
+                }
+                int key = 0;
+                for (int i = 0; i < dimensions.length; i++) {
+                    key = key * cardinalities[i] + code(dimensions[i], row, day, amount);
+                }
+                groups.add(key, amount);
+            }
+            return groups;
+        }
+
+        private int code(Dimension dimension, int row, int day, long amount) {
+            switch (dimension) {
+                case CATEGORY:
+                    return view.categoryIds[row];
+                case DESCRIPTION:
+                    return view.descriptionIds[row];
+                case YEAR:
+                    return yearByDay[day - firstDay];
+                case MONTH:
+                    return monthByDay[day - firstDay];
+                case WEEKDAY:
+                    // 1970-01-01 was a Thursday; Monday is 0
+                    return Math.floorMod(day + 3, 7);
+                default:
+                    int band = Arrays.binarySearch(bandBounds, amount);
+                    return band >= 0 ? band + 1 : -band - 1;
+            }
+        }
+
+        Group group(int key, long count, long sum, long min, long max) {
+            int[] codes = new int[dimensions.length];
+            String[] labels = new String[dimensions.length];
+            for (int i = dimensions.length - 1; i >= 0; i--) {
+                codes[i] = key % cardinalities[i];
+                labels[i] = label(dimensions[i], codes[i]);
+                key /= cardinalities[i];
+            }
+            return new Group(codes, Arrays.asList(labels), count, sum, min, max);
+        }
+
+        private String label(Dimension dimension, int code) {
+            switch (dimension) {
+                case CATEGORY:
+                    return view.categories[code];
+                case DESCRIPTION:
+                    return view.descriptions[code];
+                case YEAR:
+                    return String.valueOf(firstYear + code);
+                case MONTH:
+                    int month = firstMonth + code;
+                    return YearMonth.of(month / 12, month % 12 + 1).toString();
+                case WEEKDAY:
+                    return DayOfWeek.of(code + 1).name();
+                default:
+                    if (bandBounds.length == 0) {
+                        return "all";
+                    }
+                    if (code == 0) {
+                        return "<" + BigDecimal.valueOf(bandBounds[0], 2).toPlainString();
+                    }
+                    if (code == bandBounds.length) {
+                        return ">=" + BigDecimal.valueOf(bandBounds[code - 1], 2).toPlainString();
+                    }
+                    return BigDecimal.valueOf(bandBounds[code - 1], 2).toPlainString()
+                            + "-" + BigDecimal.valueOf(bandBounds[code], 2).toPlainString();
+            }
+        }
+
+        /**
+         * Order groups by dimension: dictionary dimensions by label, the others by code.
+         *
+         * @return Comparator over this scan's groups
+         */
+        Comparator<Group> order() {
+            List<Comparator<Group>> comparators = new ArrayList<>();
+            for (int i = 0; i < dimensions.length; i++) {
+                int index = i;
+                if (dimensions[i] == Dimension.CATEGORY || dimensions[i] == Dimension.DESCRIPTION) {
+                    comparators.add(Comparator.comparing(group -> group.labels.get(index)));
+                } else {
+                    comparators.add(Comparator.comparingInt(group -> group.codes[index]));
+                }
+            }
+            return comparators.stream().reduce(Comparator::thenComparing).orElse((a, b) -> 0);
+        }
+    }
+
+    private static final class ScanTask extends RecursiveTask<Groups> {
+
+        private final Scan scan;
+        private final int from;
+        private final int to;
+
+        ScanTask(Scan scan, int from, int to) {
+            this.scan = scan;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Groups compute() {
+            if (to - from <= ROWS_PER_TASK) {
+                return scan.aggregate(from, to);
+            }
+            int middle = (from + to) >>> 1;
+            ScanTask left = new ScanTask(scan, from, middle);
+            left.fork();
+            Groups right = new ScanTask(scan, middle, to).compute();
+            return left.join().merge(right);
+        }
+    }
+
+    @FunctionalInterface
+    private interface GroupConsumer {
+        void accept(int key, long count, long sum, long min, long max);
+    }
+
+    private interface Groups {
+
+        void add(int key, long amount);
+
+        Groups merge(Groups other);
+
+        void forEach(GroupConsumer consumer);
+    }
+
+    /**
+     * Totals in arrays indexed by group key.
+     */
+    private static final class DenseGroups implements Groups {
+
+        private final long[] counts;
+        private final long[] sums;
+        private final long[] mins;
+        private final long[] maxs;
+
+        DenseGroups(int groups) {
+            counts = new long[groups];
+            sums = new long[groups];
+            mins = new long[groups];
+            maxs = new long[groups];
+            Arrays.fill(mins, Long.MAX_VALUE);
+            Arrays.fill(maxs, Long.MIN_VALUE);
+        }
+
+        @Override
+        public void add(int key, long amount) {
+            counts[key]++;
+            sums[key] += amount;
+            mins[key] = Math.min(mins[key], amount);
+            maxs[key] = Math.max(maxs[key], amount);
+        }
+
+        @Override
+        public Groups merge(Groups other) {
+            DenseGroups dense = (DenseGroups) other;
+            for (int key = 0; key < counts.length; key++) {
+                counts[key] += dense.counts[key];
+                sums[key] += dense.sums[key];
+                mins[key] = Math.min(mins[key], dense.mins[key]);
+                maxs[key] = Math.max(maxs[key], dense.maxs[key]);
+            }
+            return this;
+        }
+
+        @Override
+        public void forEach(GroupConsumer consumer) {
+            for (int key = 0; key < counts.length; key++) {
+                if (counts[key] > 0) {
+                    consumer.accept(key, counts[key], sums[key], mins[key], maxs[key]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Totals of the groups that occur, for dimensions with too many possible groups to allocate per chunk.
+     */
+    private static final class SparseGroups implements Groups {
+
+        private final Map<Integer, long[]> totals = new HashMap<>();
+
+        @Override
+        public void add(int key, long amount) {
+            long[] total = totals.computeIfAbsent(key, k -> new long[]{0, 0, Long.MAX_VALUE, Long.MIN_VALUE});
+            total[0]++;
+            total[1] += amount;
+            total[2] = Math.min(total[2], amount);
+            total[3] = Math.max(total[3], amount);
+        }
+
+        @Override
+        public Groups merge(Groups other) {
+            ((SparseGroups) other).totals.forEach((key, theirs) -> totals.merge(key, theirs, (ours, added) -> {
+                ours[0] += added[0];
+                ours[1] += added[1];
+                ours[2] = Math.min(ours[2], added[2]);
+                ours[3] = Math.max(ours[3], added[3]);
+                return ours;
+            }));
+            return this;
+        }
+
+        @Override
+        public void forEach(GroupConsumer consumer) {
+            totals.forEach((key, total) -> consumer.accept(key, total[0], total[1], total[2], total[3]));
+        }
+    }
+}
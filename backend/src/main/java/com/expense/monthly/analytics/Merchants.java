@@ -0,0 +1,58 @@
+package com.expense.monthly.analytics;
+
+/**
+ * Helpers for turning free-text transaction descriptions into stable merchant keys.
+ */
+public final class Merchants {
+
+    private Merchants() {
+    }
+
+    /**
+     * Normalize a description into a merchant key: trimmed, lower-cased and with runs of whitespace collapsed.
+     *
+     * @param description Raw transaction description
+     * @return Normalized merchant key, or an empty string for null input
+     */
+    public static String normalize(String description) {
+        if (description == null) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder(description.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < description.length(); i++) {
+            char c = description.charAt(i);
+            if (Character.isWhitespace(c)) {
+                pendingSpace = sb.length() > 0;
+            } else {
+                if (pendingSpace) {
+                    sb.append(' ');
+                    pendingSpace = false;
+                }
+                sb.append(Character.toLowerCase(c));
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Normalize a description into a payee key that ignores reference numbers: words containing digits are
+     * dropped, so "NETFLIX.COM 4821" and "Netflix.com  9917" share a key.
+     *
+     * @param description Raw transaction description
+     * @return Payee key, or the normalized description if every word contains a digit
+     */
+    public static String payeeKey(String description) {
+        String normalized = normalize(description);
+        StringBuilder sb = new StringBuilder(normalized.length());
+        for (String word : normalized.split(" ")) {
+            if (word.chars().noneMatch(Character::isDigit)) {
+                if (sb.length() > 0) {
+                    sb.append(' ');
+                }
+                sb.append(word);
+            }
+        }
+        return sb.length() > 0 ? sb.toString() : normalized;
+    }
+}
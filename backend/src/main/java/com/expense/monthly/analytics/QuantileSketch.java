@@ -0,0 +1,159 @@
+package com.expense.monthly.analytics;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Relative-error quantile digest (DDSketch-style).
+ * Values are mapped to logarithmic buckets so that every reported quantile is within
+ * {@code relativeAccuracy} of the true value, while memory grows only with the log of the value range.
+ */
+public class QuantileSketch {
+
+    private final double relativeAccuracy;
+    private final double logGamma;
+    private final TreeMap<Integer, Long> positive = new TreeMap<>();
+    private final TreeMap<Integer, Long> negative = new TreeMap<>();
+    private long zeroCount;
+    private long count;
+
+    /**
+     * Create a sketch with the given relative accuracy.
+     *
+     * @param relativeAccuracy Relative accuracy in (0, 1), e.g. 0.01 for 1%
+     */
+    public QuantileSketch(double relativeAccuracy) {
+        if (relativeAccuracy <= 0 || relativeAccuracy >= 1) {
+            throw new IllegalArgumentException("Relative accuracy must be in (0, 1): " + relativeAccuracy);
+        }
+        this.relativeAccuracy = relativeAccuracy;
+        double gamma = (1 + relativeAccuracy) / (1 - relativeAccuracy);
+        this.logGamma = Math.log(gamma);
+    }
+
+    /**
+     * Add a value to the sketch.
+     *
+     * @param value Value to add
+     */
+    public void add(double value) {
+        if (value > 0) {
+            positive.merge(bucketOf(value), 1L, Long::sum);
+        } else if (value < 0) {
+            negative.merge(bucketOf(-value), 1L, Long::sum);
+        } else {
+            zeroCount++;
+        }
+        count++;
+    }
+
+    /**
+     * Estimate the value at the given quantile.
+     *
+     * @param quantile Quantile in [0, 1]
+     * @return Estimated value, or {@code NaN} if the sketch is empty
+     */
+    public double quantile(double quantile) {
+        if (quantile < 0 || quantile > 1) {
+            throw new IllegalArgumentException("Quantile must be in [0, 1]: " + quantile);
+        }
+        if (count == 0) {
+            return Double.NaN;
+        }
+        long rank = (long) Math.floor(quantile * (count - 1));
+        long seen = 0;
+        // Negative values in ascending order are the largest magnitudes first
+        for (Map.Entry<Integer, Long> entry : negative.descendingMap().entrySet()) {
+            seen += entry.getValue();
+            if (seen > rank) {
+                return -valueOf(entry.getKey());
+            }
+        }
+        seen += zeroCount;
+        if (seen > rank) {
+            return 0;
+        }
+        for (Map.Entry<Integer, Long> entry : positive.entrySet()) {
+            seen += entry.getValue();
+            if (seen > rank) {
+                return valueOf(entry.getKey());
+            }
+        }
+        return valueOf(positive.lastKey());
+    }
+
+    /**
+     * Number of values added.
+     *
+     * @return Value count
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Relative accuracy this sketch was created with.
+     *
+     * @return Relative accuracy
+     */
+    public double getRelativeAccuracy() {
+        return relativeAccuracy;
+    }
+
+    /**
+     * Write the sketch in a compact binary form.
+     *
+     * @param out Destination
+     * @throws IOException If writing fails
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeDouble(relativeAccuracy);
+        out.writeLong(zeroCount);
+        out.writeLong(count);
+        writeBuckets(out, positive);
+        writeBuckets(out, negative);
+    }
+
+    /**
+     * Read a sketch written by {@link #writeTo}.
+     *
+     * @param in Source
+     * @return Sketch
+     * @throws IOException If reading fails
+     */
+    public static QuantileSketch readFrom(DataInput in) throws IOException {
+        QuantileSketch sketch = new QuantileSketch(in.readDouble());
+        sketch.zeroCount = in.readLong();
+        sketch.count = in.readLong();
+        readBuckets(in, sketch.positive);
+        readBuckets(in, sketch.negative);
+        return sketch;
+    }
+
+    private static void writeBuckets(DataOutput out, TreeMap<Integer, Long> buckets) throws IOException {
+        out.writeInt(buckets.size());
+        for (Map.Entry<Integer, Long> bucket : buckets.entrySet()) {
+            out.writeInt(bucket.getKey());
+            out.writeLong(bucket.getValue());
+        }
+    }
+
+    private static void readBuckets(DataInput in, TreeMap<Integer, Long> buckets) throws IOException {
+        int size = in.readInt();
+        for (int i = 0; i < size; i++) {
+            buckets.put(in.readInt(), in.readLong());
+        }
+    }
+
+    private int bucketOf(double magnitude) {
+        return (int) Math.ceil(Math.log(magnitude) / logGamma);
+    }
+
+    private double valueOf(int bucket) {
+        // Midpoint (in relative terms) of the bucket (gamma^(i-1), gamma^i]
+        return 2 * Math.exp(bucket * logGamma) / (1 + Math.exp(logGamma));
+    }
+}
@@ -0,0 +1,60 @@
+package com.expense.monthly.analytics;
+
+/**
+ * Running mean and variance using Welford's online algorithm.
+ * Numerically stable for long streams and updated in O(1) per value.
+ */
+public class RunningStats {
+
+    private long count;
+    private double mean;
+    private double m2;
+
+    /**
+     * Add a value.
+     *
+     * @param value Value to add
+     */
+    public void add(double value) {
+        count++;
+        double delta = value - mean;
+        mean += delta / count;
+        m2 += delta * (value - mean);
+    }
+
+    /**
+     * Number of values added.
+     *
+     * @return Count
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Mean of the values added, or 0 if there are none.
+     *
+     * @return Mean
+     */
+    public double getMean() {
+        return mean;
+    }
+
+    /**
+     * Sample variance of the values added, or 0 for fewer than two values.
+     *
+     * @return Variance
+     */
+    public double getVariance() {
+        return count > 1 ? m2 / (count - 1) : 0.0;
+    }
+
+    /**
+     * Sample standard deviation of the values added.
+     *
+     * @return Standard deviation
+     */
+    public double getStdDev() {
+        return Math.sqrt(getVariance());
+    }
+}
@@ -0,0 +1,155 @@
+package com.expense.monthly.analytics;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Weighted Space-Saving heavy-hitters sketch.
+ * Tracks at most {@code capacity} keys; when full, the key with the smallest weight is evicted and
+ * its weight is inherited by the newcomer as an error bound.
+ */
+public class SpaceSavingTopK {
+
+    private final int capacity;
+    private final Map<String, Counter> counters;
+
+    /**
+     * Create a sketch that tracks at most the given number of keys.
+     *
+     * @param capacity Maximum number of tracked keys; should be a few times larger than the largest k queried
+     */
+    public SpaceSavingTopK(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.counters = new HashMap<>(capacity * 2);
+    }
+
+    /**
+     * Add weight to a key.
+     *
+     * @param key Key to count
+     * @param weight Non-negative weight to add
+     */
+    public void offer(String key, double weight) {
+        if (weight < 0) {
+            throw new IllegalArgumentException("Weight must not be negative: " + weight);
+        }
+        Counter counter = counters.get(key);
+        if (counter != null) {
+            counter.weight += weight;
+            return;
+        }
+        if (counters.size() < capacity) {
+            counters.put(key, new Counter(key, weight, 0));
+            return;
+        }
+        Counter min = null;
+        for (Counter candidate : counters.values()) {
+            if (min == null || candidate.weight < min.weight) {
+                min = candidate;
+            }
+        }
+        counters.remove(min.key);
+        counters.put(key, new Counter(key, min.weight + weight, min.weight));
+    }
+
+    /**
+     * Return the k heaviest keys, heaviest first.
+     *
+     * @param k Number of keys to return; none if not positive
+     * @return Heavy hitters with their estimated weight and error bound
+     */
+    public List<Counter> top(int k) {
+        List<Counter> sorted = new ArrayList<>(counters.size());
+        for (Counter counter : counters.values()) {
+            sorted.add(new Counter(counter.key, counter.weight, counter.error));
+        }
+        sorted.sort((a, b) -> Double.compare(b.weight, a.weight));
+        return sorted.subList(0, Math.min(Math.max(k, 0), sorted.size()));
+    }
+
+    /**
+     * Number of keys currently tracked.
+     *
+     * @return Tracked key count
+     */
+    public int size() {
+        return counters.size();
+    }
+
+    /**
+     * Maximum number of tracked keys.
+     *
+     * @return Capacity
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Write the sketch in a compact binary form.
+     *
+     * @param out Destination
+     * @throws IOException If writing fails
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeInt(capacity);
+        out.writeInt(counters.size());
+        for (Counter counter : counters.values()) {
+            out.writeUTF(counter.key);
+            out.writeDouble(counter.weight);
+            out.writeDouble(counter.error);
+        }
+    }
+
+    /**
+     * Read a sketch written by {@link #writeTo}.
+     *
+     * @param in Source
+     * @return Sketch
+     * @throws IOException If reading fails
+     */
+    public static SpaceSavingTopK readFrom(DataInput in) throws IOException {
+        SpaceSavingTopK sketch = new SpaceSavingTopK(in.readInt());
+        int size = in.readInt();
+        for (int i = 0; i < size; i++) {
+            String key = in.readUTF();
+            sketch.counters.put(key, new Counter(key, in.readDouble(), in.readDouble()));
+        }
+        return sketch;
+    }
+
+    /**
+     * A tracked key with its estimated weight. The true weight lies within {@code [weight - error, weight]}.
+     */
+    public static final class Counter {
+        private final String key;
+        private double weight;
+        private final double error;
+
+        Counter(String key, double weight, double error) {
+            this.key = key;
+            this.weight = weight;
+            this.error = error;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public double getWeight() {
+            return weight;
+        }
+
+        public double getError() {
+            return error;
+        }
+    }
+}
@@ -0,0 +1,300 @@
+package com.expense.monthly.analytics;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compressed prefix trie (radix tree) for ranked typeahead.
+ * Keys are {@link Merchants#normalize normalized} texts; each carries a use count and a spend total. Every node
+ * caches its best {@code maxResults} completions by count and by spend, so a lookup walks the prefix and returns
+ * a cached list, independent of how many keys share the prefix.
+ * Caches are kept up to date along the inserted key's path: when weights only grow an entry is offered to each
+ * list, otherwise the path is rebuilt bottom-up from the children's lists.
+ * Not thread-safe.
+ */
+public class SuggestionTrie {
+
+    /**
+     * Ranking of completions.
+     */
+    public enum Rank {
+        FREQUENCY(Comparator.comparingLong(Entry::getCount).reversed()
+                .thenComparing(Entry::getSpend, Comparator.reverseOrder())
+                .thenComparing(Entry::getKey)),
+        SPEND(Comparator.comparing(Entry::getSpend, Comparator.reverseOrder())
+                .thenComparing(Comparator.comparingLong(Entry::getCount).reversed())
+                .thenComparing(Entry::getKey));
+
+        private final Comparator<Entry> order;
+
+        Rank(Comparator<Entry> order) {
+            this.order = order;
+        }
+    }
+
+    /**
+     * A completion with its weights.
+     */
+    public static final class Entry {
+
+        private final String key;
+        private final String text;
+        private long count;
+        private BigDecimal spend = BigDecimal.ZERO;
+
+        private Entry(String key, String text) {
+            this.key = key;
+            this.text = text;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        /**
+         * Text as first seen, before normalization.
+         *
+         * @return Display text
+         */
+        public String getText() {
+            return text;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public BigDecimal getSpend() {
+            return spend;
+        }
+    }
+
+    private static final class Node {
+
+        private String label;
+        private final Map<Character, Node> children = new HashMap<>(4);
+        private Entry entry;
+        private List<Entry> byFrequency = new ArrayList<>(1);
+        private List<Entry> bySpend = new ArrayList<>(1);
+
+        private Node(String label) {
+            this.label = label;
+        }
+    }
+
+    private final int maxResults;
+    private Node root = new Node("");
+    private int size;
+
+    /**
+     * Create an empty trie.
+     *
+     * @param maxResults Completions cached per node, which is also the largest supported lookup limit
+     */
+    public SuggestionTrie(int maxResults) {
+        if (maxResults < 1) {
+            throw new IllegalArgumentException("maxResults must be positive: " + maxResults);
+        }
+        this.maxResults = maxResults;
+    }
+
+    /**
+     * Add uses of a text.
+     *
+     * @param text  Text as entered; ignored if it normalizes to an empty key
+     * @param count Number of uses to add
+     * @param spend Spend to add
+     */
+    public void add(String text, long count, BigDecimal spend) {
+        String key = Merchants.normalize(text);
+        if (key.isEmpty()) {
+            return;
+        }
+        List<Node> path = pathTo(key);
+        Node terminal = path.get(path.size() - 1);
+        if (terminal.entry == null) {
+            terminal.entry = new Entry(key, text.trim());
+            size++;
+        }
+        Entry entry = terminal.entry;
+        entry.count += count;
+        entry.spend = entry.spend.add(spend);
+
+        boolean onlyGrew = count >= 0 && spend.signum() >= 0;
+        for (int i = path.size() - 1; i >= 0; i--) {
+            Node node = path.get(i);
+            if (onlyGrew) {
+                offer(node.byFrequency, entry, Rank.FREQUENCY.order);
+                offer(node.bySpend, entry, Rank.SPEND.order);
+            } else {
+                node.byFrequency = collect(node, Rank.FREQUENCY);
+                node.bySpend = collect(node, Rank.SPEND);
+            }
+        }
+    }
+
+    /**
+     * Best completions of a prefix.
+     *
+     * @param prefix Prefix as typed; normalized like the keys
+     * @param rank   Ranking to use
+     * @param limit  Maximum number of completions, capped at {@code maxResults}
+     * @return Completions, best first
+     */
+    public List<Entry> complete(String prefix, Rank rank, int limit) {
+        String key = Merchants.normalize(prefix);
+        Node node = root;
+        int i = 0;
+        while (i < key.length()) {
+            Node child = node.children.get(key.charAt(i));
+            if (child == null) {
+                return Collections.emptyList();
+            }
+            int remaining = key.length() - i;
+            if (remaining <= child.label.length()) {
+                if (!child.label.startsWith(key.substring(i))) {
+                    return Collections.emptyList();
+                }
+            } else if (!key.startsWith(child.label, i)) {
+                return Collections.emptyList();
+            }
+            i += child.label.length();
+            node = child;
+        }
+        List<Entry> ranked = rank == Rank.FREQUENCY ? node.byFrequency : node.bySpend;
+        return new ArrayList<>(ranked.subList(0, Math.min(Math.max(limit, 0), ranked.size())));
+    }
+
+    /**
+     * Number of distinct keys.
+     *
+     * @return Key count
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Remove all keys.
+     */
+    public void clear() {
+        root = new Node("");
+        size = 0;
+    }
+
+    /**
+     * Write every key with its weights. The cached completions are not written; {@link #readFrom} rebuilds them.
+     *
+     * @param out Destination
+     * @throws IOException If writing fails
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeInt(size);
+        Deque<Node> pending = new ArrayDeque<>();
+        pending.push(root);
+        while (!pending.isEmpty()) {
+            Node node = pending.pop();
+            if (node.entry != null) {
+                out.writeUTF(node.entry.text);
+                out.writeLong(node.entry.count);
+                out.writeUTF(node.entry.spend.toString());
+            }
+            node.children.values().forEach(pending::push);
+        }
+    }
+
+    /**
+     * Replace the contents with keys written by {@link #writeTo}.
+     *
+     * @param in Source
+     * @throws IOException If reading fails
+     */
+    public void readFrom(DataInput in) throws IOException {
+        clear();
+        int keys = in.readInt();
+        for (int i = 0; i < keys; i++) {
+            add(in.readUTF(), in.readLong(), new BigDecimal(in.readUTF()));
+        }
+    }
+
+    /**
+     * Find or create the node for a key, splitting edges as needed.
+     *
+     * @param key Normalized key
+     * @return Nodes from the root to the key's node
+     */
+    private List<Node> pathTo(String key) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        int i = 0;
+        while (i < key.length()) {
+            Node child = node.children.get(key.charAt(i));
+            if (child == null) {
+                child = new Node(key.substring(i));
+                node.children.put(key.charAt(i), child);
+                path.add(child);
+                return path;
+            }
+            int common = commonPrefixLength(child.label, key, i);
+            if (common < child.label.length()) {
+                // Split the edge: the new middle node covers exactly the keys below the old child
+                Node middle = new Node(child.label.substring(0, common));
+                child.label = child.label.substring(common);
+                middle.children.put(child.label.charAt(0), child);
+                middle.byFrequency = new ArrayList<>(child.byFrequency);
+                middle.bySpend = new ArrayList<>(child.bySpend);
+                node.children.put(middle.label.charAt(0), middle);
+                child = middle;
+            }
+            i += common;
+            node = child;
+            path.add(node);
+        }
+        return path;
+    }
+
+    private void offer(List<Entry> ranked, Entry entry, Comparator<Entry> order) {
+        if (!ranked.contains(entry)) {
+            if (ranked.size() == maxResults) {
+                if (order.compare(entry, ranked.get(ranked.size() - 1)) >= 0) {
+                    return;
+                }
+                ranked.remove(ranked.size() - 1);
+            }
+            ranked.add(entry);
+        }
+        ranked.sort(order);
+    }
+
+    private List<Entry> collect(Node node, Rank rank) {
+        List<Entry> candidates = new ArrayList<>();
+        if (node.entry != null) {
+            candidates.add(node.entry);
+        }
+        for (Node child : node.children.values()) {
+            candidates.addAll(rank == Rank.FREQUENCY ? child.byFrequency : child.bySpend);
+        }
+        candidates.sort(rank.order);
+        return new ArrayList<>(candidates.subList(0, Math.min(maxResults, candidates.size())));
+    }
+
+    private static int commonPrefixLength(String label, String key, int offset) {
+        int max = Math.min(label.length(), key.length() - offset);
+        int i = 0;
+        while (i < max && label.charAt(i) == key.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+}
@@ -0,0 +1,120 @@
+package com.expense.monthly.bulkhead;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bulkheads over the shared connection pool.
+ * Each {@link Workload} gets a semaphore sized by {@code bulkhead.<workload>.max-concurrent}, acquired before
+ * the transaction (and with it a pooled connection) is opened, so a burst of slow analytics queries can use at
+ * most its own share of connections and never starve list requests.
+ * Calls made while the thread already holds a permit run inside the outer bulkhead, since that call already
+ * owns a connection. The pool must still cover the few places where a call holds a second connection: an ingest
+ * call records budget alerts in a transaction of its own after its commit, so it is counted twice when sizing the
+ * pool against {@code bulkhead.<workload>.max-concurrent}.
+ */
+@Aspect
+@Component
+@Order(BulkheadAspect.ORDER)
+@Slf4j
+public class BulkheadAspect {
+
+    /**
+     * Runs just outside the transaction interceptor, which defaults to the lowest precedence.
+     */
+    public static final int ORDER = Ordered.LOWEST_PRECEDENCE - 1;
+
+    private static final ThreadLocal<Workload> CURRENT = new ThreadLocal<>();
+
+    private final Map<Workload, Semaphore> semaphores = new EnumMap<>(Workload.class);
+    private final Map<Workload, Timer> waitTimers = new EnumMap<>(Workload.class);
+    private final Map<Workload, Counter> rejections = new EnumMap<>(Workload.class);
+    private final long maxWaitMillis;
+    private final long retryAfterSeconds;
+
+    public BulkheadAspect(Environment environment, MeterRegistry meterRegistry,
+                          @Value("${bulkhead.max-wait-ms:10000}") long maxWaitMillis) {
+        this.maxWaitMillis = maxWaitMillis;
+        this.retryAfterSeconds = environment.getProperty("bulkhead.retry-after-seconds", Long.class, 5L);
+        for (Workload workload : Workload.values()) {
+            int maxConcurrent = environment.getProperty("bulkhead." + workload.getKey() + ".max-concurrent",
+                    Integer.class, workload.getDefaultMaxConcurrent());
+            Semaphore semaphore = new Semaphore(maxConcurrent, true);
+            semaphores.put(workload, semaphore);
+            waitTimers.put(workload, Timer.builder("bulkhead.wait")
+                    .description("Time spent waiting for a bulkhead slot")
+                    .tag("workload", workload.getKey())
+                    .register(meterRegistry));
+            rejections.put(workload, Counter.builder("bulkhead.rejected")
+                    .description("Calls that gave up waiting for a bulkhead slot")
+                    .tag("workload", workload.getKey())
+                    .register(meterRegistry));
+            Gauge.builder("bulkhead.active", () -> maxConcurrent - semaphore.availablePermits())
+                    .description("Calls currently inside the bulkhead")
+                    .tag("workload", workload.getKey())
+                    .register(meterRegistry);
+        }
+    }
+
+    @Around("@annotation(bulkhead)")
+    public Object aroundMethod(ProceedingJoinPoint joinPoint, Bulkhead bulkhead) throws Throwable {
+        return run(joinPoint, bulkhead.value());
+    }
+
+    @Around("@within(bulkhead) && execution(public * *(..)) && !@annotation(com.expense.monthly.bulkhead.Bulkhead)")
+    public Object aroundType(ProceedingJoinPoint joinPoint, Bulkhead bulkhead) throws Throwable {
+        return run(joinPoint, bulkhead.value());
+    }
+
+    /**
+     * Run a call inside the bulkhead of a workload.
+     *
+     * @param joinPoint Call to run
+     * @param workload  Workload class of the call
+     * @return Result of the call
+     * @throws Throwable Whatever the call throws, or {@link BulkheadFullException} on timeout
+     */
+    Object run(ProceedingJoinPoint joinPoint, Workload workload) throws Throwable {
+        if (CURRENT.get() != null) {
+            return joinPoint.proceed();
+        }
+        Semaphore semaphore = semaphores.get(workload);
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = semaphore.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        waitTimers.get(workload).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (!acquired) {
+            rejections.get(workload).increment();
+            log.warn("Bulkhead {} full, rejecting {}", workload.getKey(), joinPoint.getSignature().toShortString());
+            throw new BulkheadFullException(workload, retryAfterSeconds);
+        }
+        CURRENT.set(workload);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            CURRENT.remove();
+            semaphore.release();
+        }
+    }
+}
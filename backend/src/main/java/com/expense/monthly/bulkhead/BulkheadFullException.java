@@ -0,0 +1,23 @@
+package com.expense.monthly.bulkhead;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when a call waits too long for a slot in its workload's bulkhead.
+ */
+@Getter
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class BulkheadFullException extends RuntimeException {
+
+    /**
+     * Suggested number of seconds before the client retries.
+     */
+    private final long retryAfterSeconds;
+
+    public BulkheadFullException(Workload workload, long retryAfterSeconds) {
+        super("No capacity available for " + workload.getKey() + " work");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
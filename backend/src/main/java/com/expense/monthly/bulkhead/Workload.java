@@ -0,0 +1,31 @@
+package com.expense.monthly.bulkhead;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Workload classes that get their own share of the connection pool.
+ * Default concurrency limits fit a pool of 13 connections, counting ingest twice (see {@link BulkheadAspect}).
+ */
+@Getter
+@RequiredArgsConstructor
+public enum Workload {
+
+    /**
+     * Bulk inserts from uploads and batch imports.
+     */
+    INGEST("ingest", 3),
+
+    /**
+     * Short finders backing list requests.
+     */
+    READ("read", 5),
+
+    /**
+     * Full-scan aggregations and exports.
+     */
+    ANALYTICS("analytics", 2);
+
+    private final String key;
+    private final int defaultMaxConcurrent;
+}
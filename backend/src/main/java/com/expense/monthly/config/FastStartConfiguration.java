@@ -0,0 +1,73 @@
+package com.expense.monthly.config;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.ReflectionUtils;
+
+import javax.annotation.PostConstruct;
+import java.lang.reflect.Method;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Configuration supporting the {@code faststart} profile.
+ * With {@code spring.main.lazy-initialization=true} most beans are only created on first use; beans that do
+ * work on their own (scheduled jobs, event listeners, startup hooks) are kept eager so that behaviour does not
+ * change with the profile.
+ */
+@Configuration
+public class FastStartConfiguration {
+
+    /**
+     * Keep beans with scheduled, event-driven or startup work eagerly initialized.
+     *
+     * @return Exclude filter consulted when lazy initialization is enabled
+     */
+    @Bean
+    public static LazyInitializationExcludeFilter eagerBackgroundWorkFilter() {
+        return (beanName, beanDefinition, beanType) -> hasBackgroundWork(beanType);
+    }
+
+    /**
+     * Exit as soon as the application is ready when {@code startup.exit-after-ready=true}.
+     * Used for the class-data-sharing training run in the Docker build, which needs a full startup and a clean exit.
+     *
+     * @return Listener that exits the JVM after startup
+     */
+    @Bean
+    @ConditionalOnProperty(name = "startup.exit-after-ready", havingValue = "true")
+    public ExitAfterReady exitAfterReady() {
+        return new ExitAfterReady();
+    }
+
+    private static boolean hasBackgroundWork(Class<?> beanType) {
+        AtomicBoolean found = new AtomicBoolean();
+        ReflectionUtils.doWithMethods(beanType, method -> found.set(true), FastStartConfiguration::isBackgroundMethod);
+        return found.get();
+    }
+
+    private static boolean isBackgroundMethod(Method method) {
+        return AnnotatedElementUtils.hasAnnotation(method, Scheduled.class)
+                || AnnotatedElementUtils.hasAnnotation(method, EventListener.class)
+                || AnnotatedElementUtils.hasAnnotation(method, PostConstruct.class);
+    }
+
+    /**
+     * Closes the context and exits once startup has completed.
+     */
+    public static class ExitAfterReady {
+
+        @EventListener(ApplicationReadyEvent.class)
+        public void onApplicationReady(ApplicationReadyEvent event) {
+            ApplicationContext context = event.getApplicationContext();
+            System.exit(SpringApplication.exit(context, () -> 0));
+        }
+    }
+}
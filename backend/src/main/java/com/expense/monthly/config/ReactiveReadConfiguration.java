@@ -0,0 +1,125 @@
+package com.expense.monthly.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import io.r2dbc.spi.Option;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.StringUtils;
+
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * Connection pools for the blocking JPA stack and the non-blocking R2DBC read path.
+ * The R2DBC pool connects to the database configured under {@code spring.datasource}, unless
+ * {@code spring.r2dbc.url} points it elsewhere, so deployments keep a single connection setting.
+ * Spring Boot skips its JDBC DataSource and JPA transaction manager once an R2DBC connection factory exists,
+ * so both are declared here; the JPA transaction manager stays the default for {@code @Transactional}.
+ */
+@Configuration
+@EnableConfigurationProperties({DataSourceProperties.class, R2dbcProperties.class})
+public class ReactiveReadConfiguration {
+
+    private static final String JDBC_PREFIX = "jdbc:";
+    private static final String H2_JDBC_PREFIX = "jdbc:h2:";
+
+    /**
+     * The r2dbc-h2 option taking the database part of an H2 JDBC URL as-is.
+     */
+    private static final Option<String> H2_URL = Option.valueOf("url");
+
+    /**
+     * Hikari pool for JPA and JdbcTemplate, bound like Spring Boot's own.
+     *
+     * @param properties {@code spring.datasource} settings
+     * @return JDBC data source
+     */
+    @Bean
+    @Primary
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        if (StringUtils.hasText(properties.getName())) {
+            dataSource.setPoolName(properties.getName());
+        }
+        return dataSource;
+    }
+
+    /**
+     * JPA transaction manager, primary so {@code @Transactional} never picks the reactive one.
+     *
+     * @param entityManagerFactory JPA entity manager factory
+     * @param customizers {@code spring.transaction} customizers
+     * @return Transaction manager
+     */
+    @Bean
+    @Primary
+    public PlatformTransactionManager transactionManager(EntityManagerFactory entityManagerFactory,
+                                                         ObjectProvider<TransactionManagerCustomizers> customizers) {
+        JpaTransactionManager transactionManager = new JpaTransactionManager(entityManagerFactory);
+        customizers.ifAvailable(customizer -> customizer.customize(transactionManager));
+        return transactionManager;
+    }
+
+    /**
+     * R2DBC pool for the reactive read path, sized by {@code spring.r2dbc.pool.*}.
+     *
+     * @param dataSource {@code spring.datasource} settings, used for anything not set under {@code spring.r2dbc}
+     * @param r2dbc {@code spring.r2dbc} settings
+     * @return Pooled connection factory
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionPool connectionFactory(DataSourceProperties dataSource, R2dbcProperties r2dbc) {
+        ConnectionFactoryOptions.Builder options = (StringUtils.hasText(r2dbc.getUrl())
+                ? ConnectionFactoryOptions.parse(r2dbc.getUrl())
+                : fromJdbcUrl(dataSource.determineUrl())).mutate();
+        String username = StringUtils.hasText(r2dbc.getUsername()) ? r2dbc.getUsername() : dataSource.determineUsername();
+        String password = StringUtils.hasText(r2dbc.getPassword()) ? r2dbc.getPassword() : dataSource.determinePassword();
+        if (StringUtils.hasText(username)) {
+            options.option(ConnectionFactoryOptions.USER, username);
+        }
+        if (StringUtils.hasText(password)) {
+            options.option(ConnectionFactoryOptions.PASSWORD, password);
+        }
+
+        R2dbcProperties.Pool pool = r2dbc.getPool();
+        return new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options.build()))
+                .name("r2dbc-read")
+                .initialSize(pool.getInitialSize())
+                .maxSize(pool.getMaxSize())
+                .maxIdleTime(pool.getMaxIdleTime())
+                .build());
+    }
+
+    /**
+     * Translate a JDBC URL into R2DBC connection options for the same database.
+     * H2 URLs are handed to the driver unchanged, so an in-memory database is shared with the JDBC pool.
+     *
+     * @param jdbcUrl JDBC URL
+     * @return R2DBC connection options
+     */
+    static ConnectionFactoryOptions fromJdbcUrl(String jdbcUrl) {
+        if (jdbcUrl == null || !jdbcUrl.startsWith(JDBC_PREFIX)) {
+            throw new IllegalStateException("Cannot derive an R2DBC URL from '" + jdbcUrl + "'; set spring.r2dbc.url");
+        }
+        if (jdbcUrl.startsWith(H2_JDBC_PREFIX)) {
+            return ConnectionFactoryOptions.builder()
+                    .option(ConnectionFactoryOptions.DRIVER, "h2")
+                    .option(H2_URL, jdbcUrl.substring(H2_JDBC_PREFIX.length()))
+                    .build();
+        }
+        return ConnectionFactoryOptions.parse("r2dbc:" + jdbcUrl.substring(JDBC_PREFIX.length()));
+    }
+}
@@ -0,0 +1,81 @@
+package com.expense.monthly.config;
+
+import com.expense.monthly.model.ArchiveSegment;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.config.units.MemoryUnit;
+import org.ehcache.core.config.DefaultConfiguration;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Bounded in-process region for the Hibernate second-level cache.
+ * Only immutable entities are cached, as each instance has its own cache and hears nothing of other instances'
+ * writes, nor of the bulk JDBC inserts and deletes on the transactions table; the query cache stays off for the
+ * same reason. Regions are created up front from {@code jpa.cache.*} and bounded by heap bytes, since a cached
+ * segment's size depends on its rows rather than being fixed; Hibernate is told to fail rather than silently
+ * create an unbounded region for anything missing.
+ */
+@Configuration
+public class SecondLevelCacheConfiguration {
+
+    /**
+     * Cache manager holding the ArchiveSegment region.
+     * Each application context gets a manager of its own, so contexts sharing a JVM, as tests do, neither collide
+     * on region names nor close each other's regions.
+     *
+     * @param segmentMaxMegabytes Heap the cached archive segments may take, in MB
+     * @param segmentMaxObjectMegabytes Largest segment that is cached, in MB; larger ones are always loaded
+     * @param timeToLiveSeconds Time to live for cached segments
+     * @return JCache cache manager
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(
+            @Value("${jpa.cache.segment-max-mb:128}") long segmentMaxMegabytes,
+            @Value("${jpa.cache.segment-max-object-mb:16}") long segmentMaxObjectMegabytes,
+            @Value("${jpa.cache.time-to-live-seconds:3600}") long timeToLiveSeconds) {
+        EhcacheCachingProvider provider = (EhcacheCachingProvider) Caching.getCachingProvider(
+                EhcacheCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(URI.create("urn:hibernate-cache:" + UUID.randomUUID()),
+                new DefaultConfiguration(getClass().getClassLoader()));
+        cacheManager.createCache(ArchiveSegment.class.getName(),
+                region(segmentMaxMegabytes, segmentMaxObjectMegabytes, Duration.ofSeconds(timeToLiveSeconds)));
+        return cacheManager;
+    }
+
+    /**
+     * Hand the cache manager to Hibernate.
+     *
+     * @param hibernateCacheManager Cache manager with the regions already created
+     * @return Customizer adding the cache manager to the Hibernate properties
+     */
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    private static javax.cache.configuration.Configuration<Object, Object> region(long maxMegabytes,
+                                                                            long maxObjectMegabytes,
+                                                                            Duration timeToLive) {
+        return Eh107Configuration.fromEhcacheCacheConfiguration(CacheConfigurationBuilder
+                .newCacheConfigurationBuilder(Object.class, Object.class,
+                        ResourcePoolsBuilder.newResourcePoolsBuilder().heap(maxMegabytes, MemoryUnit.MB))
+                .withSizeOfMaxObjectSize(maxObjectMegabytes, MemoryUnit.MB)
+                .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(timeToLive)));
+    }
+}
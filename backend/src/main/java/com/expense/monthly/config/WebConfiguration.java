@@ -0,0 +1,46 @@
+package com.expense.monthly.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Response formats offered through content negotiation.
+ * JSON stays the default. Smile ({@code application/x-jackson-smile}) and CBOR ({@code application/cbor}) are
+ * available for every endpoint, and transaction lists can also be requested as columnar JSON.
+ */
+@Configuration
+public class WebConfiguration implements WebMvcConfigurer {
+
+    private final ObjectMapper objectMapper;
+    private final ObjectMapper smileMapper;
+    private final ObjectMapper cborMapper;
+
+    /**
+     * The binary mappers are built from Spring Boot's builder so they share the JSON settings (ISO dates, modules);
+     * the ones Spring MVC registers by default use a plain builder and would write dates as arrays.
+     */
+    public WebConfiguration(ObjectMapper objectMapper, Jackson2ObjectMapperBuilder objectMapperBuilder) {
+        this.objectMapper = objectMapper;
+        this.smileMapper = objectMapperBuilder.factory(new SmileFactory()).build();
+        this.cborMapper = objectMapperBuilder.factory(new CBORFactory()).build();
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.removeIf(converter -> converter instanceof MappingJackson2SmileHttpMessageConverter
+                || converter instanceof MappingJackson2CborHttpMessageConverter);
+        // Ahead of Jackson, whose application/*+json would otherwise write the columnar type as plain JSON
+        converters.add(0, new ColumnarTransactionsHttpMessageConverter(objectMapper));
+        converters.add(new MappingJackson2SmileHttpMessageConverter(smileMapper));
+        converters.add(new MappingJackson2CborHttpMessageConverter(cborMapper));
+    }
+}
@@ -0,0 +1,81 @@
+package com.expense.monthly.controller;
+
+import com.expense.monthly.service.AnalyticsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * REST controller for approximate spend analytics.
+ */
+@RestController
+@RequestMapping("/api/analytics")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = "*")
+public class AnalyticsController {
+
+    private final AnalyticsService analyticsService;
+
+    /**
+     * Get the merchants with the highest estimated spend.
+     *
+     * @param limit Maximum number of merchants to return, at least 1
+     * @return Merchants ordered by spend, or 400 if the limit is below 1
+     */
+    @GetMapping("/top-merchants")
+    public ResponseEntity<?> getTopMerchants(@RequestParam(defaultValue = "20") int limit) {
+        if (limit < 1) {
+            Map<String, String> response = new HashMap<>();
+            response.put("message", "limit must be at least 1");
+            return ResponseEntity.badRequest().body(response);
+        }
+        log.info("Fetching top {} merchants by spend", limit);
+        return ResponseEntity.ok(analyticsService.getTopMerchants(limit));
+    }
+
+    /**
+     * Get the estimated number of distinct merchants for a month, or for a whole year if no month is given.
+     *
+     * @param month Optional month (1-12)
+     * @param year Year
+     * @return Estimated distinct merchant count
+     */
+    @GetMapping("/distinct-merchants")
+    public ResponseEntity<Map<String, Long>> getDistinctMerchants(
+            @RequestParam(required = false) Integer month, @RequestParam int year) {
+        log.info("Estimating distinct merchants for month: {}, year: {}", month, year);
+        long count = month != null
+                ? analyticsService.countDistinctMerchants(month, year)
+                : analyticsService.countDistinctMerchants(year);
+        Map<String, Long> response = new HashMap<>();
+        response.put("distinctMerchants", count);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Get estimated transaction amount percentiles.
+     *
+     * @param q Quantiles in [0, 1]
+     * @return Map of quantile to estimated amount, or 400 if a quantile is out of range
+     */
+    @GetMapping("/percentiles")
+    public ResponseEntity<?> getPercentiles(
+            @RequestParam(defaultValue = "0.5,0.9,0.95,0.99") List<Double> q) {
+        log.info("Estimating amount percentiles: {}", q);
+        try {
+            Map<Double, BigDecimal> percentiles = analyticsService.getAmountPercentiles(q);
+            return ResponseEntity.ok(percentiles);
+        } catch (IllegalArgumentException e) {
+            Map<String, String> response = new HashMap<>();
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+}
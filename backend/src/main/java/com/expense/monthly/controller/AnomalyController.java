@@ -0,0 +1,47 @@
+package com.expense.monthly.controller;
+
+import com.expense.monthly.service.AnomalyService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * REST controller for category spend anomalies.
+ */
+@RestController
+@RequestMapping("/api/anomalies")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = "*")
+public class AnomalyController {
+
+    private final AnomalyService anomalyService;
+
+    /**
+     * Get the months in which a category's spend jumped well above its history, optionally for one month only.
+     *
+     * @param month Optional month (1-12); requires year
+     * @param year Optional year
+     * @return Flagged anomalies, most recent first, or 400 if month is given without year
+     */
+    @GetMapping
+    public ResponseEntity<?> getAnomalies(
+            @RequestParam(required = false) Integer month, @RequestParam(required = false) Integer year) {
+        if (month != null && year == null) {
+            Map<String, String> response = new HashMap<>();
+            response.put("message", "month requires year");
+            return ResponseEntity.badRequest().body(response);
+        }
+        if (month != null) {
+            log.info("Fetching spend anomalies for month: {}, year: {}", month, year);
+            return ResponseEntity.ok(anomalyService.getAnomalies(month, year));
+        }
+        log.info("Fetching all spend anomalies");
+        return ResponseEntity.ok(anomalyService.getAnomalies());
+    }
+}
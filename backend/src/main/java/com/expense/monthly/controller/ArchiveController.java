@@ -0,0 +1,68 @@
+package com.expense.monthly.controller;
+
+import com.expense.monthly.service.ArchiveService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * REST controller for the archive of closed years.
+ */
+@RestController
+@RequestMapping("/api/archive")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = "*")
+public class ArchiveController {
+
+    private final ArchiveService archiveService;
+
+    /**
+     * Get the archived years with their transaction counts and compressed sizes.
+     *
+     * @return One entry per archived year
+     */
+    @GetMapping
+    public ResponseEntity<List<Map<String, Object>>> getArchiveSummary() {
+        log.info("Fetching archive summary");
+        return ResponseEntity.ok(archiveService.getArchiveSummary());
+    }
+
+    /**
+     * Archive every year older than the configured number of hot years now instead of waiting for the schedule.
+     *
+     * @return Archived years
+     */
+    @PostMapping("/run")
+    public ResponseEntity<Map<String, Object>> archiveClosedYears() {
+        log.info("Archiving closed years on request");
+        Map<String, Object> response = new HashMap<>();
+        response.put("years", archiveService.archiveClosedYears());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Archive one year.
+     *
+     * @param year Year to archive
+     * @return Number of archived transactions, or 400 if the year is still hot
+     */
+    @PostMapping("/{year}")
+    public ResponseEntity<Map<String, Object>> archiveYear(@PathVariable int year) {
+        log.info("Archiving year {} on request", year);
+        Map<String, Object> response = new HashMap<>();
+        try {
+            response.put("archived", archiveService.archiveYear(year));
+        } catch (IllegalArgumentException e) {
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+        response.put("year", year);
+        return ResponseEntity.ok(response);
+    }
+}
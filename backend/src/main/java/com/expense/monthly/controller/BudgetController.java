@@ -0,0 +1,91 @@
+package com.expense.monthly.controller;
+
+import com.expense.monthly.dto.BudgetDTO;
+import com.expense.monthly.dto.BudgetStatusDTO;
+import com.expense.monthly.model.BudgetAlert;
+import com.expense.monthly.service.BudgetService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import javax.validation.Valid;
+import java.util.List;
+
+/**
+ * REST controller for category budgets and budget alerts.
+ */
+@RestController
+@RequestMapping("/api/budgets")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = "*")
+public class BudgetController {
+
+    private final BudgetService budgetService;
+
+    /**
+     * Get all budgets.
+     *
+     * @return List of budgets
+     */
+    @GetMapping
+    public ResponseEntity<List<BudgetDTO>> getBudgets() {
+        log.info("Fetching all budgets");
+        return ResponseEntity.ok(budgetService.getBudgets());
+    }
+
+    /**
+     * Create or replace the budget for a category.
+     *
+     * @param category Category name
+     * @param budgetDTO Budget data
+     * @return Saved budget
+     */
+    @PutMapping("/{category}")
+    public ResponseEntity<BudgetDTO> saveBudget(@PathVariable String category, @Valid @RequestBody BudgetDTO budgetDTO) {
+        log.info("Saving budget for category: {}", category);
+        budgetDTO.setCategory(category);
+        return ResponseEntity.ok(budgetService.saveBudget(budgetDTO));
+    }
+
+    /**
+     * Delete the budget for a category.
+     *
+     * @param category Category name
+     * @return No content, or not found if no budget exists
+     */
+    @DeleteMapping("/{category}")
+    public ResponseEntity<Void> deleteBudget(@PathVariable String category) {
+        log.info("Deleting budget for category: {}", category);
+        return budgetService.deleteBudget(category)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * Get budget usage for a month.
+     *
+     * @param month Month (1-12)
+     * @param year Year
+     * @return List of budget statuses
+     */
+    @GetMapping("/status")
+    public ResponseEntity<List<BudgetStatusDTO>> getBudgetStatus(@RequestParam int month, @RequestParam int year) {
+        log.info("Fetching budget status for month: {}, year: {}", month, year);
+        return ResponseEntity.ok(budgetService.getBudgetStatus(month, year));
+    }
+
+    /**
+     * Get alerts raised for a month.
+     *
+     * @param month Month (1-12)
+     * @param year Year
+     * @return List of alerts
+     */
+    @GetMapping("/alerts")
+    public ResponseEntity<List<BudgetAlert>> getAlerts(@RequestParam int month, @RequestParam int year) {
+        log.info("Fetching budget alerts for month: {}, year: {}", month, year);
+        return ResponseEntity.ok(budgetService.getAlerts(month, year));
+    }
+}
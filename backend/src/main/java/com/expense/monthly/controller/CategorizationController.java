@@ -0,0 +1,50 @@
+package com.expense.monthly.controller;
+
+import com.expense.monthly.service.CategorizationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * REST controller for automatic categorization rules.
+ */
+@RestController
+@RequestMapping("/api/categorization")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = "*")
+public class CategorizationController {
+
+    private final CategorizationService categorizationService;
+
+    /**
+     * Preview the category that would be assigned to a description.
+     *
+     * @param description Transaction description
+     * @return Assigned category
+     */
+    @GetMapping("/preview")
+    public ResponseEntity<Map<String, String>> preview(@RequestParam String description) {
+        Map<String, String> response = new HashMap<>();
+        response.put("description", description);
+        response.put("category", categorizationService.categorize(description));
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Reload categorization rules without restarting.
+     *
+     * @return Number of rules loaded
+     */
+    @PostMapping("/reload")
+    public ResponseEntity<Map<String, Integer>> reload() {
+        log.info("Reloading categorization rules");
+        Map<String, Integer> response = new HashMap<>();
+        response.put("rules", categorizationService.reloadRules());
+        return ResponseEntity.ok(response);
+    }
+}
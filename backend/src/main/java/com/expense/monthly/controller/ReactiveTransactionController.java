@@ -0,0 +1,103 @@
+package com.expense.monthly.controller;
+
+import com.expense.monthly.dto.TransactionDTO;
+import com.expense.monthly.service.ReactiveTransactionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * REST controller for non-blocking transaction reads, mirroring the GET endpoints of TransactionController.
+ * The request thread is released while the query runs. Lists are sent as one JSON array, or with
+ * {@code Accept: application/x-ndjson} streamed one transaction per line, fetched only as fast as the client reads.
+ */
+@RestController
+@RequestMapping("/api/reactive/transactions")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = "*")
+public class ReactiveTransactionController {
+
+    private final ReactiveTransactionService reactiveTransactionService;
+
+    /**
+     * List transactions, optionally filtered by category and description.
+     *
+     * @param category Optional category to filter by
+     * @param description Optional description fragment to filter by
+     * @return Transactions
+     */
+    @GetMapping
+    public Flux<TransactionDTO> getAllTransactions(
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String description) {
+        log.info("Streaming transactions filtered by category: {}, description containing: {}", category, description);
+        return reactiveTransactionService.listTransactions(category, description);
+    }
+
+    /**
+     * List transactions for a specific month and year.
+     *
+     * @param month Month (1-12)
+     * @param year Year
+     * @return Transactions
+     */
+    @GetMapping("/month")
+    public Flux<TransactionDTO> getTransactionsByMonth(@RequestParam int month, @RequestParam int year) {
+        log.info("Streaming transactions for month: {}, year: {}", month, year);
+        return reactiveTransactionService.listTransactionsByMonth(month, year);
+    }
+
+    /**
+     * List transactions by category.
+     *
+     * @param category Category name
+     * @return Transactions
+     */
+    @GetMapping("/category/{category}")
+    public Flux<TransactionDTO> getTransactionsByCategory(@PathVariable String category) {
+        log.info("Streaming transactions for category: {}", category);
+        return reactiveTransactionService.listTransactions(category, null);
+    }
+
+    /**
+     * Get the total amount of all transactions.
+     *
+     * @return Total amount
+     */
+    @GetMapping("/total")
+    public Mono<Map<String, BigDecimal>> getTotalAmount() {
+        log.info("Calculating total amount");
+        return reactiveTransactionService.calculateTotalAmount()
+                .map(total -> Collections.singletonMap("total", total));
+    }
+
+    /**
+     * Get the total amount for each month of a year.
+     *
+     * @param year Year
+     * @return Map of month to total
+     */
+    @GetMapping("/monthly-totals")
+    public Mono<Map<Integer, BigDecimal>> getMonthlyTotals(@RequestParam int year) {
+        log.info("Calculating monthly totals for year: {}", year);
+        return reactiveTransactionService.calculateMonthlyTotals(year);
+    }
+
+    /**
+     * Get the total amount per category.
+     *
+     * @return Map of category to total
+     */
+    @GetMapping("/category-totals")
+    public Mono<Map<String, BigDecimal>> getCategoryTotals() {
+        log.info("Calculating totals by category");
+        return reactiveTransactionService.calculateTotalsByCategory();
+    }
+}
@@ -0,0 +1,51 @@
+package com.expense.monthly.controller;
+
+import com.expense.monthly.dto.RecurringPaymentDTO;
+import com.expense.monthly.service.RecurringService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * REST controller for recurring payments and subscriptions.
+ */
+@RestController
+@RequestMapping("/api/recurring")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = "*")
+public class RecurringController {
+
+    private final RecurringService recurringService;
+
+    /**
+     * Get the recurring payments found by the last background analysis.
+     *
+     * @param activeOnly Whether to leave out payments that appear to have stopped
+     * @return Recurring payments, highest annual cost first
+     */
+    @GetMapping
+    public ResponseEntity<List<RecurringPaymentDTO>> getRecurringPayments(
+            @RequestParam(defaultValue = "false") boolean activeOnly) {
+        log.info("Fetching recurring payments, active only: {}", activeOnly);
+        return ResponseEntity.ok(recurringService.getRecurringPayments(activeOnly));
+    }
+
+    /**
+     * Analyze the ledger now instead of waiting for the next scheduled run.
+     *
+     * @return Number of recurring payments found
+     */
+    @PostMapping("/run")
+    public ResponseEntity<Map<String, Object>> analyze() {
+        log.info("Detecting recurring payments on request");
+        Map<String, Object> response = new HashMap<>();
+        response.put("recurring", recurringService.analyze());
+        return ResponseEntity.ok(response);
+    }
+}
@@ -0,0 +1,74 @@
+package com.expense.monthly.controller;
+
+import com.expense.monthly.dto.GroupTotalDTO;
+import com.expense.monthly.service.ScanService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * REST controller for ad-hoc group-by scans over the in-memory columnar replica.
+ * Only registered when {@code columnar.enabled} is set.
+ */
+@RestController
+@RequestMapping("/api/scan")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = "*")
+@ConditionalOnProperty(name = "columnar.enabled", havingValue = "true")
+public class ScanController {
+
+    private final ScanService scanService;
+
+    /**
+     * Aggregate transactions per group, e.g. {@code ?by=category,month&from=2024-01-01}.
+     *
+     * @param by Dimensions to group by: category, description, year, month, weekday or amount_band
+     * @param from Optional first date
+     * @param to Optional last date (inclusive)
+     * @param category Optional category
+     * @param description Optional description fragment
+     * @param minAmount Optional smallest amount
+     * @param maxAmount Optional largest amount
+     * @return Count, total, min, max and average per group
+     */
+    @GetMapping("/group-by")
+    public ResponseEntity<?> groupBy(
+            @RequestParam(defaultValue = "") List<String> by,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String description,
+            @RequestParam(required = false) BigDecimal minAmount,
+            @RequestParam(required = false) BigDecimal maxAmount) {
+        log.info("Scanning columnar replica grouped by {} for {} to {}, category: {}, description: {}, amount {} to {}",
+                by, from, to, category, description, minAmount, maxAmount);
+        try {
+            List<GroupTotalDTO> totals = scanService.groupBy(by, from, to, category, description, minAmount, maxAmount);
+            return ResponseEntity.ok(totals);
+        } catch (IllegalArgumentException e) {
+            Map<String, String> response = new HashMap<>();
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+
+    /**
+     * Get the size of the replica.
+     *
+     * @return Row count and approximate heap size
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Long>> getStats() {
+        return ResponseEntity.ok(scanService.getStats());
+    }
+}
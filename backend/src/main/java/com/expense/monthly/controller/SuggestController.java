@@ -0,0 +1,49 @@
+package com.expense.monthly.controller;
+
+import com.expense.monthly.dto.SuggestionDTO;
+import com.expense.monthly.service.SuggestService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * REST controller for typeahead suggestions.
+ */
+@RestController
+@RequestMapping("/api/suggest")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = "*")
+public class SuggestController {
+
+    private final SuggestService suggestService;
+
+    /**
+     * Suggest descriptions or categories starting with a prefix.
+     *
+     * @param field Field to complete: description or category
+     * @param prefix Text typed so far
+     * @param rank Ranking: frequency or spend
+     * @param limit Maximum number of suggestions
+     * @return Suggestions, best first
+     */
+    @GetMapping
+    public ResponseEntity<?> suggest(@RequestParam(defaultValue = "description") String field,
+                                     @RequestParam(defaultValue = "") String prefix,
+                                     @RequestParam(defaultValue = "frequency") String rank,
+                                     @RequestParam(defaultValue = "10") int limit) {
+        try {
+            List<SuggestionDTO> suggestions = suggestService.suggest(field, prefix, rank, limit);
+            return ResponseEntity.ok(suggestions);
+        } catch (IllegalArgumentException e) {
+            Map<String, String> response = new HashMap<>();
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+}
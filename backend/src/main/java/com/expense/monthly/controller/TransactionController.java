@@ -1,21 +1,37 @@
 package com.expense.monthly.controller;
 
+import com.expense.monthly.bulkhead.BulkheadFullException;
 import com.expense.monthly.dto.TransactionDTO;
-import com.expense.monthly.model.Transaction;
+import com.expense.monthly.ingest.IngestAdmissionControl;
+import com.expense.monthly.ingest.IngestRejectedException;
+import com.expense.monthly.service.LiveUpdateService;
 import com.expense.monthly.service.TransactionService;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import javax.servlet.http.HttpServletRequest;
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * REST controller for transaction operations.
@@ -27,13 +43,17 @@ import java.util.stream.Collectors;
 @CrossOrigin(origins = "*")
 public class TransactionController {
 
+    private static final int EXPORT_BUFFER_SIZE = 64 * 1024;
+
     private final TransactionService transactionService;
+    private final IngestAdmissionControl ingestAdmissionControl;
+    private final LiveUpdateService liveUpdateService;
 
     /**
      * Upload a CSV file with transactions.
      *
      * @param file CSV file
-     * @return List of processed transactions
+     * @return Number of processed transactions, or 400 naming the row if a currency is unknown or has no rate
      */
     @PostMapping("/upload")
     public ResponseEntity<?> uploadCSVFile(@RequestParam("file") MultipartFile file) {
@@ -43,22 +63,25 @@ public class TransactionController {
             return ResponseEntity.badRequest().body("Please select a CSV file to upload.");
         }
 
-        try {
-            List<Transaction> savedTransactions = transactionService.processCSVFile(file);
-            List<TransactionDTO> dtos = savedTransactions.stream()
-                    .map(TransactionDTO::fromEntity)
-                    .collect(Collectors.toList());
+        try (IngestAdmissionControl.Permit permit = ingestAdmissionControl.acquire()) {
+            long count = transactionService.processCSVFile(file);
 
             Map<String, Object> response = new HashMap<>();
             response.put("message", "File processed successfully");
-            response.put("transactions", dtos);
-            response.put("count", dtos.size());
+            response.put("count", count);
 
             return ResponseEntity.ok(response);
         } catch (IOException e) {
             log.error("Failed to process CSV file", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body("Failed to process CSV file: " + e.getMessage());
+        } catch (IllegalArgumentException e) {
+            log.warn("Rejected CSV file: {}", e.getMessage());
+            Map<String, String> response = new HashMap<>();
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        } catch (IngestRejectedException | BulkheadFullException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Error processing file", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -66,6 +89,21 @@ public class TransactionController {
         }
     }
 
+    /**
+     * Tell clients to retry an import later when admission control rejects it.
+     *
+     * @param e Rejection
+     * @return 429 response with a Retry-After header
+     */
+    @ExceptionHandler(IngestRejectedException.class)
+    public ResponseEntity<Map<String, String>> handleIngestRejected(IngestRejectedException e) {
+        Map<String, String> response = new HashMap<>();
+        response.put("message", e.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(response);
+    }
+
     /**
      * Get all transactions, optionally filtered by category and/or description.
      *
@@ -77,31 +115,108 @@ public class TransactionController {
     public ResponseEntity<List<TransactionDTO>> getAllTransactions(
             @RequestParam(required = false) String category,
             @RequestParam(required = false) String description) {
-        List<Transaction> transactions;
+        List<TransactionDTO> dtos;
 
         if (category != null && !category.isEmpty() && description != null && !description.isEmpty()) {
             log.info("Fetching transactions filtered by category: {} and description containing: {}", category, description);
-            // Get transactions by category first, then filter by description
-            transactions = transactionService.getTransactionsByCategory(category).stream()
-                    .filter(t -> t.getDescription().toLowerCase().contains(description.toLowerCase()))
-                    .collect(Collectors.toList());
+            dtos = transactionService.listTransactionsByCategoryAndDescription(category, description);
         } else if (category != null && !category.isEmpty()) {
             log.info("Fetching transactions filtered by category: {}", category);
-            transactions = transactionService.getTransactionsByCategory(category);
+            dtos = transactionService.listTransactionsByCategory(category);
         } else if (description != null && !description.isEmpty()) {
             log.info("Fetching transactions filtered by description containing: {}", description);
-            transactions = transactionService.getTransactionsByDescription(description);
+            dtos = transactionService.listTransactionsByDescription(description);
         } else {
             log.info("Fetching all transactions");
-            transactions = transactionService.getAllTransactions();
+            dtos = transactionService.listTransactions();
         }
 
-        List<TransactionDTO> dtos = transactions.stream()
-                .map(TransactionDTO::fromEntity)
-                .collect(Collectors.toList());
         return ResponseEntity.ok(dtos);
     }
 
+    /**
+     * Import transactions from a JSON array or newline-delimited JSON (one object per line).
+     * The body is streamed into chunked inserts; only the number of saved transactions is returned.
+     *
+     * @param request HTTP request whose body holds the transactions
+     * @return Number of imported transactions
+     */
+    @PostMapping(value = "/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, "application/x-ndjson"})
+    public ResponseEntity<?> importBatch(HttpServletRequest request) {
+        log.info("Received batch import request");
+        try (IngestAdmissionControl.Permit permit = ingestAdmissionControl.acquire()) {
+            long count = transactionService.importJson(request.getInputStream());
+            Map<String, Object> response = new HashMap<>();
+            response.put("message", "Batch imported successfully");
+            response.put("count", count);
+            return ResponseEntity.ok(response);
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            log.warn("Rejected batch import: {}", e.getMessage());
+            return ResponseEntity.badRequest().body("Invalid batch: " + e.getMessage());
+        } catch (IOException e) {
+            log.error("Failed to read batch import", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Failed to read batch: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Stream change notifications as Server-Sent Events, so dashboards update without polling.
+     * Browsers send Last-Event-ID when reconnecting and receive the notifications they missed.
+     *
+     * @param lastEventId Id of the last event the client received, if reconnecting
+     * @return Event stream
+     */
+    @GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        log.debug("Opening event stream, last event id: {}", lastEventId);
+        return liveUpdateService.subscribe(lastEventId);
+    }
+
+    /**
+     * Export transactions as CSV, optionally gzip-compressed.
+     * The output uses the same layout as uploads, so an export can be re-imported as-is.
+     *
+     * @param format Either "csv" or "csv.gz"
+     * @param from Optional first date to include (yyyy-MM-dd)
+     * @param to Optional last date to include (yyyy-MM-dd)
+     * @param category Optional category to filter by
+     * @return Streamed CSV body
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String category) {
+        log.info("Exporting transactions as {} from: {}, to: {}, category: {}", format, from, to, category);
+
+        boolean gzip;
+        if ("csv".equalsIgnoreCase(format)) {
+            gzip = false;
+        } else if ("csv.gz".equalsIgnoreCase(format)) {
+            gzip = true;
+        } else {
+            return ResponseEntity.badRequest().build();
+        }
+
+        StreamingResponseBody body = outputStream -> {
+            OutputStream target = gzip ? new GZIPOutputStream(outputStream, EXPORT_BUFFER_SIZE) : outputStream;
+            Writer writer = new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8), EXPORT_BUFFER_SIZE);
+            transactionService.exportCSV(from, to, category, writer);
+            writer.flush();
+            if (gzip) {
+                ((GZIPOutputStream) target).finish();
+            }
+        };
+
+        String filename = gzip ? "transactions.csv.gz" : "transactions.csv";
+        return ResponseEntity.ok()
+                .contentType(gzip ? MediaType.parseMediaType("application/gzip") : MediaType.parseMediaType("text/csv"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .body(body);
+    }
+
     /**
      * Get transactions for a specific month and year.
      *
@@ -113,11 +228,7 @@ public class TransactionController {
     public ResponseEntity<List<TransactionDTO>> getTransactionsByMonth(
             @RequestParam int month, @RequestParam int year) {
         log.info("Fetching transactions for month: {}, year: {}", month, year);
-        List<Transaction> transactions = transactionService.getTransactionsByMonth(month, year);
-        List<TransactionDTO> dtos = transactions.stream()
-                .map(TransactionDTO::fromEntity)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(dtos);
+        return ResponseEntity.ok(transactionService.listTransactionsByMonth(month, year));
     }
 
     /**
@@ -130,11 +241,7 @@ public class TransactionController {
     public ResponseEntity<List<TransactionDTO>> getTransactionsByCategory(
             @PathVariable String category) {
         log.info("Fetching transactions for category: {}", category);
-        List<Transaction> transactions = transactionService.getTransactionsByCategory(category);
-        List<TransactionDTO> dtos = transactions.stream()
-                .map(TransactionDTO::fromEntity)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(dtos);
+        return ResponseEntity.ok(transactionService.listTransactionsByCategory(category));
     }
 
     /**
@@ -0,0 +1,50 @@
+package com.expense.monthly.dto;
+
+import com.expense.monthly.model.Budget;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.DecimalMin;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import java.math.BigDecimal;
+
+/**
+ * Data Transfer Object for Budget.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BudgetDTO {
+
+    /**
+     * Category the budget applies to.
+     */
+    private String category;
+
+    /**
+     * Maximum amount to spend in the category per month.
+     */
+    @NotNull
+    @DecimalMin(value = "0", inclusive = false)
+    private BigDecimal monthlyLimit;
+
+    /**
+     * Percentage of the limit (1-100) at which an early warning alert is raised.
+     */
+    @Min(1)
+    @Max(100)
+    private int alertThresholdPercent = 80;
+
+    /**
+     * Create DTO from Entity.
+     *
+     * @param budget Budget entity
+     * @return BudgetDTO
+     */
+    public static BudgetDTO fromEntity(Budget budget) {
+        return new BudgetDTO(budget.getCategory(), budget.getMonthlyLimit(), budget.getAlertThresholdPercent());
+    }
+}
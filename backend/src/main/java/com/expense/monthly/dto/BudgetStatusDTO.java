@@ -0,0 +1,24 @@
+package com.expense.monthly.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Data Transfer Object describing how much of a category budget has been used in a month.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BudgetStatusDTO {
+
+    private String category;
+    private int month;
+    private int year;
+    private BigDecimal monthlyLimit;
+    private BigDecimal spent;
+    private BigDecimal remaining;
+    private BigDecimal percentUsed;
+}
@@ -0,0 +1,51 @@
+package com.expense.monthly.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * Data Transfer Object for a change pushed to live-update subscribers.
+ * A {@code batch} carries how much the saved transactions added to each total, so dashboards can update without
+ * re-querying; {@code reset} means all data was deleted and {@code resync} that notifications were missed.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ChangeNotificationDTO {
+
+    public static final String BATCH = "batch";
+    public static final String RESET = "reset";
+    public static final String RESYNC = "resync";
+
+    private String type;
+
+    /**
+     * Number of saved transactions.
+     */
+    private Integer count;
+
+    /**
+     * Amount added to the overall total, in the base currency.
+     */
+    private BigDecimal total;
+
+    /**
+     * Amount added per month, keyed by {@code yyyy-MM}.
+     */
+    private Map<String, BigDecimal> months;
+
+    /**
+     * Amount added per lower-cased category.
+     */
+    private Map<String, BigDecimal> categories;
+
+    public ChangeNotificationDTO(String type) {
+        this.type = type;
+    }
+}
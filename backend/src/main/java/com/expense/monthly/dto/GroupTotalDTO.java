@@ -0,0 +1,32 @@
+package com.expense.monthly.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * Data Transfer Object for the totals of one group in a group-by scan.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GroupTotalDTO {
+
+    /**
+     * Label of the group in each dimension, keyed by dimension name in the order they were requested.
+     */
+    private Map<String, String> group;
+
+    private long count;
+
+    /**
+     * Amounts are in the base currency.
+     */
+    private BigDecimal total;
+    private BigDecimal min;
+    private BigDecimal max;
+    private BigDecimal average;
+}
@@ -0,0 +1,57 @@
+package com.expense.monthly.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Data Transfer Object for a payee charged a similar amount at a regular interval.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecurringPaymentDTO {
+
+    /**
+     * Normalized payee key the charges were grouped by.
+     */
+    private String payee;
+
+    /**
+     * Description of the most recent charge.
+     */
+    private String description;
+
+    /**
+     * One of weekly, fortnightly, monthly, quarterly or yearly.
+     */
+    private String frequency;
+
+    /**
+     * Median number of days between charges.
+     */
+    private int intervalDays;
+
+    /**
+     * Median charged amount.
+     */
+    private BigDecimal typicalAmount;
+
+    /**
+     * Typical amount scaled to a year at the observed interval.
+     */
+    private BigDecimal annualCost;
+
+    private int occurrences;
+    private LocalDate firstDate;
+    private LocalDate lastDate;
+    private LocalDate nextExpectedDate;
+
+    /**
+     * False once the next charge is overdue, which usually means the subscription was cancelled.
+     */
+    private boolean active;
+}
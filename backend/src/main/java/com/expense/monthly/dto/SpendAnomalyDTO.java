@@ -0,0 +1,43 @@
+package com.expense.monthly.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Data Transfer Object for a month in which a category's spend jumped well above its history.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SpendAnomalyDTO {
+
+    private String category;
+    private int month;
+    private int year;
+    private BigDecimal spent;
+
+    /**
+     * Mean monthly spend of the category over the months before this one.
+     */
+    private BigDecimal historicalMean;
+
+    /**
+     * Standard deviation of the monthly spend over the months before this one.
+     */
+    private BigDecimal historicalStdDev;
+
+    /**
+     * Standard deviations above the historical mean; null when the history has no spread.
+     */
+    @JsonProperty("zScore")
+    private Double zScore;
+
+    /**
+     * Number of earlier months the comparison is based on.
+     */
+    private long historyMonths;
+}
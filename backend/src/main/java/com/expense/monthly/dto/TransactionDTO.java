@@ -39,12 +39,32 @@ public class TransactionDTO {
     @CsvBindByName(column = "Amount", required = true)
     private BigDecimal amount;
 
+    /**
+     * ISO 4217 currency code of the amount.
+     * Optional in CSV files; rows without one are in the base currency.
+     */
+    @CsvBindByName(column = "Currency")
+    private String currency;
+
     /**
      * Category of the transaction.
+     * Optional in CSV files; rows without one are categorized automatically from the description.
      */
-    @CsvBindByName(column = "Category", required = true)
+    @CsvBindByName(column = "Category")
     private String category;
 
+    /**
+     * Create a DTO for an amount in the base currency.
+     *
+     * @param date Date of the transaction
+     * @param description Description of the transaction
+     * @param amount Amount of the transaction
+     * @param category Category of the transaction
+     */
+    public TransactionDTO(LocalDate date, String description, BigDecimal amount, String category) {
+        this(date, description, amount, null, category);
+    }
+
     /**
      * Convert DTO to Entity.
      *
@@ -55,6 +75,7 @@ public class TransactionDTO {
                 .date(this.date)
                 .description(this.description)
                 .amount(this.amount)
+                .currency(this.currency)
                 .category(this.category)
                 .build();
     }
@@ -70,6 +91,7 @@ public class TransactionDTO {
                 transaction.getDate(),
                 transaction.getDescription(),
                 transaction.getAmount(),
+                transaction.getCurrency(),
                 transaction.getCategory()
         );
     }
@@ -0,0 +1,80 @@
+package com.expense.monthly.event;
+
+import java.util.Arrays;
+
+/**
+ * Transaction ids collected as inclusive runs, so a bulk import is described by a few numbers however many rows
+ * it saved. Ids are expected in ascending order, as the database assigns them; an id that does not extend the
+ * last run starts a new one. Not thread-safe.
+ */
+public final class IdRanges {
+
+    /**
+     * Receives one run of ids.
+     */
+    @FunctionalInterface
+    public interface RangeConsumer {
+
+        /**
+         * Handle one run.
+         *
+         * @param from First id of the run
+         * @param to Last id of the run, inclusive
+         */
+        void accept(long from, long to);
+    }
+
+    /**
+     * First and last id of each run, alternating.
+     */
+    private long[] bounds = new long[8];
+    private int size;
+    private long count;
+
+    /**
+     * Add an id.
+     *
+     * @param id Saved transaction id
+     */
+    public void add(long id) {
+        count++;
+        if (size > 0 && id == bounds[size - 1] + 1) {
+            bounds[size - 1] = id;
+            return;
+        }
+        if (size == bounds.length) {
+            bounds = Arrays.copyOf(bounds, size * 2);
+        }
+        bounds[size++] = id;
+        bounds[size++] = id;
+    }
+
+    /**
+     * Number of ids added.
+     *
+     * @return Id count
+     */
+    public long count() {
+        return count;
+    }
+
+    /**
+     * Whether no id has been added.
+     *
+     * @return True if empty
+     */
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    /**
+     * Visit every run in the order the ids were added.
+     *
+     * @param consumer Receives each run
+     */
+    public void forEach(RangeConsumer consumer) {
+        for (int i = 0; i < size; i += 2) {
+            consumer.accept(bounds[i], bounds[i + 1]);
+        }
+    }
+}
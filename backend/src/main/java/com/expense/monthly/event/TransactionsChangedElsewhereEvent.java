@@ -0,0 +1,9 @@
+package com.expense.monthly.event;
+
+/**
+ * Event published once the in-memory state has caught up with transactions saved or deleted through other
+ * instances, which publish their events on their own instance only.
+ * Listeners that cannot tell what changed, such as open live-update streams, reload everything.
+ */
+public class TransactionsChangedElsewhereEvent {
+}
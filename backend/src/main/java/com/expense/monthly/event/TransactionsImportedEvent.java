@@ -0,0 +1,21 @@
+package com.expense.monthly.event;
+
+import lombok.Getter;
+
+/**
+ * Event published once a bulk import has persisted all its transactions.
+ * Unlike {@link TransactionsSavedEvent} it only carries the ids, so an import of any size holds nothing but a few
+ * numbers until it commits; listeners read the rows back from the database.
+ */
+@Getter
+public class TransactionsImportedEvent {
+
+    /**
+     * Ids of the imported transactions.
+     */
+    private final IdRanges ids;
+
+    public TransactionsImportedEvent(IdRanges ids) {
+        this.ids = ids;
+    }
+}
@@ -0,0 +1,8 @@
+package com.expense.monthly.event;
+
+/**
+ * Event published after all transactions have been deleted.
+ * Listeners drop any state derived from the deleted rows.
+ */
+public class TransactionsResetEvent {
+}
@@ -0,0 +1,24 @@
+package com.expense.monthly.event;
+
+import com.expense.monthly.model.Transaction;
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Event published whenever a batch of transactions has been persisted.
+ * Listeners use it to keep derived in-memory structures up to date without re-reading the table.
+ */
+@Getter
+public class TransactionsSavedEvent {
+
+    /**
+     * The transactions that were saved, in ingest order.
+     */
+    private final List<Transaction> transactions;
+
+    public TransactionsSavedEvent(List<Transaction> transactions) {
+        this.transactions = Collections.unmodifiableList(transactions);
+    }
+}
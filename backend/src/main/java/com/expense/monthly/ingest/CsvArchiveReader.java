@@ -0,0 +1,96 @@
+package com.expense.monthly.ingest;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Opens uploaded CSV content that may be plain text, gzip-compressed or a zip archive of CSV files.
+ * The format is detected from the leading magic bytes and decompression happens on the fly, so rows
+ * flow straight from the decompressor into the CSV parser without buffering the whole file.
+ */
+@Slf4j
+public final class CsvArchiveReader {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private CsvArchiveReader() {
+    }
+
+    /**
+     * Callback receiving each CSV document found in the input.
+     */
+    @FunctionalInterface
+    public interface CsvConsumer {
+
+        /**
+         * Consume one CSV document. The reader must not be closed by the consumer.
+         *
+         * @param name Name of the document (the upload name or the archive entry name)
+         * @param reader Reader over the decompressed CSV text
+         * @throws IOException If reading fails
+         */
+        void accept(String name, Reader reader) throws IOException;
+    }
+
+    /**
+     * Read every CSV document contained in the input stream.
+     *
+     * @param input Raw input stream; closed when this method returns
+     * @param name Name of the upload, used for logging and for plain or gzip input
+     * @param consumer Callback invoked once per CSV document
+     * @throws IOException If the input cannot be read or decompressed
+     */
+    public static void read(InputStream input, String name, CsvConsumer consumer) throws IOException {
+        try (BufferedInputStream in = new BufferedInputStream(input, BUFFER_SIZE)) {
+            in.mark(4);
+            int b0 = in.read();
+            int b1 = in.read();
+            int b2 = in.read();
+            int b3 = in.read();
+            in.reset();
+
+            if (b0 == 0x1f && b1 == 0x8b) {
+                log.debug("Reading gzip-compressed CSV: {}", name);
+                consumer.accept(name, reader(new GZIPInputStream(in, BUFFER_SIZE)));
+            } else if (b0 == 'P' && b1 == 'K' && b2 == 3 && b3 == 4) {
+                log.debug("Reading zip archive of CSV files: {}", name);
+                readZip(new ZipInputStream(in), consumer);
+            } else {
+                consumer.accept(name, reader(in));
+            }
+        }
+    }
+
+    private static void readZip(ZipInputStream zip, CsvConsumer consumer) throws IOException {
+        ZipEntry entry;
+        while ((entry = zip.getNextEntry()) != null) {
+            String entryName = entry.getName();
+            if (entry.isDirectory() || !entryName.toLowerCase(Locale.ROOT).endsWith(".csv")) {
+                log.debug("Skipping non-CSV archive entry: {}", entryName);
+                continue;
+            }
+            // Shield the archive stream so a consumer closing its reader cannot end the iteration
+            consumer.accept(entryName, reader(new FilterInputStream(zip) {
+                @Override
+                public void close() {
+                }
+            }));
+            zip.closeEntry();
+        }
+    }
+
+    private static Reader reader(InputStream in) {
+        return new InputStreamReader(in, StandardCharsets.UTF_8);
+    }
+}
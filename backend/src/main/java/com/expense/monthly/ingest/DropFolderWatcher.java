@@ -0,0 +1,186 @@
+package com.expense.monthly.ingest;
+
+import com.expense.monthly.bulkhead.BulkheadFullException;
+import com.expense.monthly.service.TransactionService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Imports CSV files dropped into a server-side folder, so bulk backfills can skip the HTTP upload.
+ * A single background thread watches {@code ingest.drop-folder.path} and imports each {@code .csv}, {@code .gz}
+ * or {@code .zip} file once it has not been modified for {@code ingest.drop-folder.settle-ms}, so files still
+ * being copied in are left alone. Imports take an ingest admission slot like uploads do. Imported files are
+ * moved to {@code processed/} and files that fail to import to {@code failed/}; files turned away because
+ * ingest is saturated stay in place and are retried. A file that cannot be read to the end, such as a truncated
+ * gzip or zip, is imported not at all rather than in part. A file is moved only after its import has committed,
+ * so one left behind by a crash or a failed move is picked up again; its checksum was recorded with its rows,
+ * so it is recognised and moved to {@code processed/} without being imported twice. Each instance needs a folder of its own: instances
+ * sharing one would race to import the same file, so the folder must not be on a volume mounted by several
+ * replicas.
+ */
+@Component
+@Slf4j
+public class DropFolderWatcher {
+
+    private static final DateTimeFormatter COLLISION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMMddHHmmssSSS");
+
+    private final TransactionService transactionService;
+    private final IngestAdmissionControl admissionControl;
+    private final Path folder;
+    private final long settleMillis;
+
+    /**
+     * Files that were imported but could not be moved aside; skipped so they are not checksummed on every scan.
+     */
+    private final Set<Path> stranded = new HashSet<>();
+
+    private WatchService watchService;
+    private Thread worker;
+
+    public DropFolderWatcher(TransactionService transactionService,
+                             IngestAdmissionControl admissionControl,
+                             @Value("${ingest.drop-folder.path:}") String path,
+                             @Value("${ingest.drop-folder.settle-ms:2000}") long settleMillis) {
+        this.transactionService = transactionService;
+        this.admissionControl = admissionControl;
+        this.folder = path.isBlank() ? null : Paths.get(path).toAbsolutePath();
+        this.settleMillis = settleMillis;
+    }
+
+    /**
+     * Start watching once the application has started, if a drop folder is configured.
+     * Ordered last, so the in-memory state has been restored before the first import commits.
+     *
+     * @throws IOException If the folder cannot be created or watched
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void start() throws IOException {
+        if (folder == null) {
+            log.debug("No drop folder configured");
+            return;
+        }
+        Files.createDirectories(folder);
+        watchService = folder.getFileSystem().newWatchService();
+        folder.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        worker = new Thread(this::watch, "drop-folder-watcher");
+        worker.setDaemon(true);
+        worker.start();
+        log.info("Watching drop folder: {}", folder);
+    }
+
+    /**
+     * Stop watching.
+     *
+     * @throws IOException If the watch service cannot be closed
+     */
+    @PreDestroy
+    public void stop() throws IOException {
+        if (worker != null) {
+            worker.interrupt();
+            watchService.close();
+        }
+    }
+
+    private void watch() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                // Events only wake the loop; every pass rescans, which also covers overflows and unsettled files
+                scan();
+                WatchKey key = watchService.poll(settleMillis, TimeUnit.MILLISECONDS);
+                if (key != null) {
+                    key.pollEvents();
+                    key.reset();
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            log.debug("Drop folder watcher stopped");
+        }
+    }
+
+    /**
+     * Import every settled file in the drop folder.
+     */
+    synchronized void scan() {
+        List<Path> files;
+        try (Stream<Path> entries = Files.list(folder)) {
+            files = entries.filter(this::isImportable).sorted().collect(Collectors.toList());
+        } catch (IOException e) {
+            log.error("Failed to list drop folder {}", folder, e);
+            return;
+        }
+        for (Path file : files) {
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+            importFile(file);
+        }
+    }
+
+    private boolean isImportable(Path file) {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (!Files.isRegularFile(file) || name.startsWith(".") || stranded.contains(file)
+                || !(name.endsWith(".csv") || name.endsWith(".gz") || name.endsWith(".zip"))) {
+            return false;
+        }
+        try {
+            return Files.getLastModifiedTime(file).toMillis() <= System.currentTimeMillis() - settleMillis;
+        } catch (IOException e) {
+            // Deleted or renamed while listing
+            return false;
+        }
+    }
+
+    private void importFile(Path file) {
+        long count;
+        try (IngestAdmissionControl.Permit permit = admissionControl.acquire()) {
+            count = transactionService.importCSVFile(file);
+        } catch (IngestRejectedException | BulkheadFullException e) {
+            log.info("Deferring drop folder file {}: {}", file.getFileName(), e.getMessage());
+            return;
+        } catch (Exception e) {
+            log.error("Failed to import drop folder file {}", file.getFileName(), e);
+            moveAside(file, "failed");
+            return;
+        }
+        log.info("Imported {} transactions from drop folder file {}", count, file.getFileName());
+        moveAside(file, "processed");
+    }
+
+    private void moveAside(Path file, String directory) {
+        try {
+            Path target = Files.createDirectories(folder.resolve(directory)).resolve(file.getFileName());
+            if (Files.exists(target)) {
+                target = target.resolveSibling(LocalDateTime.now().format(COLLISION_SUFFIX) + "-" + file.getFileName());
+            }
+            Files.move(file, target);
+        } catch (IOException e) {
+            log.error("Failed to move drop folder file {} to {}; it will be skipped", file, directory, e);
+            stranded.add(file);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.expense.monthly.ingest;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Admission control for imports.
+ * Caps the number of imports running at once so bulk loads cannot take every pooled connection away from
+ * read requests. Excess imports wait in a bounded queue for a limited time and are otherwise rejected.
+ */
+@Component
+@Slf4j
+public class IngestAdmissionControl {
+
+    private final Semaphore permits;
+    private final int maxQueued;
+    private final long queueTimeoutMillis;
+    private final long retryAfterSeconds;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final Counter rejected;
+
+    public IngestAdmissionControl(MeterRegistry meterRegistry,
+                                  @Value("${ingest.admission.max-concurrent:2}") int maxConcurrent,
+                                  @Value("${ingest.admission.max-queued:8}") int maxQueued,
+                                  @Value("${ingest.admission.queue-timeout-ms:30000}") long queueTimeoutMillis,
+                                  @Value("${ingest.admission.retry-after-seconds:30}") long retryAfterSeconds) {
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.maxQueued = maxQueued;
+        this.queueTimeoutMillis = queueTimeoutMillis;
+        this.retryAfterSeconds = retryAfterSeconds;
+        Gauge.builder("ingest.admission.active", () -> maxConcurrent - permits.availablePermits())
+                .description("Imports currently running")
+                .register(meterRegistry);
+        Gauge.builder("ingest.admission.queued", queued::get)
+                .description("Imports waiting for a slot")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("ingest.admission.rejected")
+                .description("Imports rejected because the queue was full or the wait timed out")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Wait for an import slot.
+     *
+     * @return Permit that must be closed when the import finishes
+     * @throws IngestRejectedException If the queue is full or no slot frees up in time
+     */
+    public Permit acquire() {
+        try {
+            // The timed form honours the fair queue; the untimed tryAcquire() would barge ahead of waiting imports
+            if (permits.tryAcquire(0, TimeUnit.MILLISECONDS)) {
+                return new Permit();
+            }
+            if (queued.incrementAndGet() > maxQueued) {
+                queued.decrementAndGet();
+                throw reject("Too many imports in progress");
+            }
+            try {
+                if (!permits.tryAcquire(queueTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                    throw reject("Timed out waiting for an import slot");
+                }
+                return new Permit();
+            } finally {
+                queued.decrementAndGet();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw reject("Interrupted while waiting for an import slot");
+        }
+    }
+
+    /**
+     * Number of imports waiting for a slot.
+     *
+     * @return Queue depth
+     */
+    public int getQueued() {
+        return queued.get();
+    }
+
+    private IngestRejectedException reject(String reason) {
+        rejected.increment();
+        log.warn("Rejecting import: {}", reason);
+        return new IngestRejectedException(reason, retryAfterSeconds);
+    }
+
+    /**
+     * An import slot; closing it lets the next queued import start.
+     */
+    public final class Permit implements AutoCloseable {
+
+        private boolean released;
+
+        private Permit() {
+        }
+
+        @Override
+        public void close() {
+            if (!released) {
+                released = true;
+                permits.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.expense.monthly.ingest;
+
+import lombok.Getter;
+
+/**
+ * Thrown when an import cannot be admitted because too many imports are already running or queued.
+ */
+@Getter
+public class IngestRejectedException extends RuntimeException {
+
+    /**
+     * Suggested number of seconds before the client retries.
+     */
+    private final long retryAfterSeconds;
+
+    public IngestRejectedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,183 @@
+package com.expense.monthly.ingest;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable Aho-Corasick automaton that finds the longest of many keywords occurring in a text in a single pass.
+ * Matching is case insensitive and only whole words count, so "rent" matches "Monthly rent" but not "current".
+ * Transitions are stored as sorted character arrays per state, so the automaton stays compact even with many
+ * thousands of keywords.
+ *
+ * @param <T> Value associated with each keyword
+ */
+public final class KeywordMatcher<T> {
+
+    private final char[][] transitionChars;
+    private final int[][] transitionTargets;
+    private final int[] failure;
+    private final int[] keywordAt;
+    private final int[] outputLink;
+    private final int[] keywordLengths;
+    private final List<T> values;
+
+    private KeywordMatcher(Map<String, T> keywords) {
+        List<Map<Character, Integer>> gotoMaps = new ArrayList<>();
+        List<Integer> own = new ArrayList<>();
+        gotoMaps.add(new TreeMap<>());
+        own.add(-1);
+
+        this.keywordLengths = new int[keywords.size()];
+        this.values = new ArrayList<>(keywords.size());
+        int index = 0;
+        for (Map.Entry<String, T> entry : keywords.entrySet()) {
+            int state = 0;
+            for (char c : entry.getKey().toCharArray()) {
+                Integer next = gotoMaps.get(state).get(c);
+                if (next == null) {
+                    next = gotoMaps.size();
+                    gotoMaps.add(new TreeMap<>());
+                    own.add(-1);
+                    gotoMaps.get(state).put(c, next);
+                }
+                state = next;
+            }
+            own.set(state, index);
+            keywordLengths[index] = entry.getKey().length();
+            values.add(entry.getValue());
+            index++;
+        }
+
+        int stateCount = gotoMaps.size();
+        this.transitionChars = new char[stateCount][];
+        this.transitionTargets = new int[stateCount][];
+        for (int state = 0; state < stateCount; state++) {
+            Map<Character, Integer> transitions = gotoMaps.get(state);
+            char[] chars = new char[transitions.size()];
+            int[] targets = new int[transitions.size()];
+            int i = 0;
+            for (Map.Entry<Character, Integer> transition : transitions.entrySet()) {
+                chars[i] = transition.getKey();
+                targets[i] = transition.getValue();
+                i++;
+            }
+            transitionChars[state] = chars;
+            transitionTargets[state] = targets;
+        }
+
+        // Breadth-first construction of failure links; output links point at the nearest suffix state ending a keyword
+        this.failure = new int[stateCount];
+        this.keywordAt = new int[stateCount];
+        this.outputLink = new int[stateCount];
+        for (int state = 0; state < stateCount; state++) {
+            keywordAt[state] = own.get(state);
+        }
+        Arrays.fill(outputLink, -1);
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int child : transitionTargets[0]) {
+            failure[child] = 0;
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            char[] chars = transitionChars[state];
+            int[] targets = transitionTargets[state];
+            for (int i = 0; i < chars.length; i++) {
+                int child = targets[i];
+                int fallback = failure[state];
+                int next;
+                while ((next = step(fallback, chars[i])) < 0 && fallback != 0) {
+                    fallback = failure[fallback];
+                }
+                failure[child] = next >= 0 && next != child ? next : 0;
+                outputLink[child] = keywordAt[failure[child]] >= 0 ? failure[child] : outputLink[failure[child]];
+                queue.add(child);
+            }
+        }
+    }
+
+    /**
+     * Build a matcher from keywords. Keywords are lower-cased; blank keywords are ignored.
+     *
+     * @param keywords Keyword to value mapping
+     * @param <T> Value type
+     * @return Matcher
+     */
+    public static <T> KeywordMatcher<T> of(Map<String, T> keywords) {
+        Map<String, T> normalized = new TreeMap<>();
+        keywords.forEach((keyword, value) -> {
+            String key = keyword == null ? "" : keyword.trim().toLowerCase(Locale.ROOT);
+            if (!key.isEmpty()) {
+                normalized.put(key, value);
+            }
+        });
+        return new KeywordMatcher<>(normalized);
+    }
+
+    /**
+     * Find the value of the longest keyword occurring as whole words anywhere in the text.
+     *
+     * @param text Text to scan
+     * @return Value of the longest matching keyword, or null if none matches
+     */
+    public T match(CharSequence text) {
+        if (text == null) {
+            return null;
+        }
+        int state = 0;
+        int best = -1;
+        for (int i = 0; i < text.length(); i++) {
+            char c = Character.toLowerCase(text.charAt(i));
+            int next;
+            while ((next = step(state, c)) < 0 && state != 0) {
+                state = failure[state];
+            }
+            state = Math.max(next, 0);
+            if (i + 1 < text.length() && isWordChar(text.charAt(i + 1))) {
+                continue;
+            }
+            for (int output = keywordAt[state] >= 0 ? state : outputLink[state]; output >= 0; output = outputLink[output]) {
+                int keyword = keywordAt[output];
+                int start = i + 1 - keywordLengths[keyword];
+                if (start == 0 || !isWordChar(text.charAt(start - 1))) {
+                    best = longer(best, keyword);
+                }
+            }
+        }
+        return best >= 0 ? values.get(best) : null;
+    }
+
+    /**
+     * Number of keywords in the automaton.
+     *
+     * @return Keyword count
+     */
+    public int size() {
+        return values.size();
+    }
+
+    private int step(int state, char c) {
+        int i = Arrays.binarySearch(transitionChars[state], c);
+        return i >= 0 ? transitionTargets[state][i] : -1;
+    }
+
+    private static boolean isWordChar(char c) {
+        return Character.isLetterOrDigit(c);
+    }
+
+    private int longer(int a, int b) {
+        if (a < 0) {
+            return b;
+        }
+        if (b < 0) {
+            return a;
+        }
+        return keywordLengths[b] > keywordLengths[a] ? b : a;
+    }
+}
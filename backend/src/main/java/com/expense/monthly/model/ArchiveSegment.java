@@ -0,0 +1,68 @@
+package com.expense.monthly.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Immutable;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Entity class representing a batch of transactions moved out of the hot table by one archival run.
+ * This class maps to the 'archive_segments' table in the database; a year has one segment per run that
+ * archived rows for it. Segments are never changed once written, so instances are kept in the second-level
+ * cache: a cached segment is either still current or, once deleted, no longer looked up.
+ */
+@Entity
+@Table(name = "archive_segments", indexes = @Index(columnList = "segment_year"))
+@Immutable
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchiveSegment {
+
+    /**
+     * Largest supported segment, in compressed bytes.
+     */
+    public static final int MAX_DATA_BYTES = 1_000_000_000;
+
+    /**
+     * Unique identifier for the segment.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Year all transactions in the segment belong to.
+     */
+    @Column(name = "segment_year", nullable = false)
+    private int year;
+
+    /**
+     * Number of transactions in the segment.
+     */
+    @Column(name = "row_count", nullable = false)
+    private long rowCount;
+
+    /**
+     * When the segment was written.
+     */
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * Gzipped CSV rows: ISO date, description, amount, currency, base amount, category.
+     */
+    @Column(nullable = false, length = MAX_DATA_BYTES)
+    @ToString.Exclude
+    private byte[] data;
+}
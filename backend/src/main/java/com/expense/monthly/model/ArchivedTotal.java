@@ -0,0 +1,61 @@
+package com.expense.monthly.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.math.BigDecimal;
+
+/**
+ * Entity class representing the precomputed spend of one category in one month of an archived year.
+ * This class maps to the 'archived_totals' table in the database and lets totals span archived years
+ * without reading the archived rows.
+ */
+@Entity
+@Table(name = "archived_totals",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"archive_year", "archive_month", "category"}))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedTotal {
+
+    /**
+     * Unique identifier for the total.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Year of the archived transactions.
+     */
+    @Column(name = "archive_year", nullable = false)
+    private int year;
+
+    /**
+     * Month of the archived transactions (1-12).
+     */
+    @Column(name = "archive_month", nullable = false)
+    private int month;
+
+    /**
+     * Category, stored lower-cased.
+     */
+    @Column(nullable = false)
+    private String category;
+
+    /**
+     * Spend in the base currency.
+     */
+    @Column(nullable = false)
+    private BigDecimal total;
+
+    /**
+     * Number of transactions.
+     */
+    @Column(name = "transaction_count", nullable = false)
+    private long transactionCount;
+}
@@ -0,0 +1,48 @@
+package com.expense.monthly.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.math.BigDecimal;
+
+/**
+ * Entity class representing a monthly spending budget for a category.
+ * This class maps to the 'budgets' table in the database.
+ */
+@Entity
+@Table(name = "budgets")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Budget {
+
+    /**
+     * Unique identifier for the budget.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Category the budget applies to, stored lower-cased.
+     */
+    @Column(nullable = false, unique = true)
+    private String category;
+
+    /**
+     * Maximum amount to spend in the category per month.
+     */
+    @Column(name = "monthly_limit", nullable = false)
+    private BigDecimal monthlyLimit;
+
+    /**
+     * Percentage of the limit (1-100) at which an early warning alert is raised.
+     * An alert is always raised when the full limit is crossed.
+     */
+    @Column(name = "alert_threshold_percent", nullable = false)
+    private int alertThresholdPercent;
+}
@@ -0,0 +1,72 @@
+package com.expense.monthly.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Entity class representing a budget threshold being crossed for a category in a month.
+ * This class maps to the 'budget_alerts' table in the database.
+ */
+@Entity
+@Table(name = "budget_alerts")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BudgetAlert {
+
+    /**
+     * Unique identifier for the alert.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Category whose budget was crossed, lower-cased.
+     */
+    @Column(nullable = false)
+    private String category;
+
+    /**
+     * Month the spend belongs to (1-12).
+     */
+    @Column(name = "alert_month", nullable = false)
+    private int month;
+
+    /**
+     * Year the spend belongs to.
+     */
+    @Column(name = "alert_year", nullable = false)
+    private int year;
+
+    /**
+     * Percentage of the limit that was crossed.
+     */
+    @Column(name = "threshold_percent", nullable = false)
+    private int thresholdPercent;
+
+    /**
+     * Spend in the category and month after the crossing batch was saved.
+     */
+    @Column(nullable = false)
+    private BigDecimal spent;
+
+    /**
+     * Monthly limit in force when the alert was raised.
+     */
+    @Column(name = "monthly_limit", nullable = false)
+    private BigDecimal monthlyLimit;
+
+    /**
+     * When the alert was raised.
+     */
+    @Column(name = "triggered_at", nullable = false)
+    private LocalDateTime triggeredAt;
+}
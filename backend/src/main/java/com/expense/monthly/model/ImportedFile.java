@@ -0,0 +1,54 @@
+package com.expense.monthly.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Entity class recording a server-side file whose transactions were imported.
+ * This class maps to the 'imported_files' table in the database. A record is saved in the same database
+ * transaction as the rows it imported, so a file whose contents are recorded here has been imported exactly once.
+ */
+@Entity
+@Table(name = "imported_files")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportedFile {
+
+    /**
+     * Unique identifier for the record.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Name of the file when it was imported.
+     */
+    @Column(name = "file_name", nullable = false)
+    private String fileName;
+
+    /**
+     * SHA-256 of the file's bytes, in hex.
+     */
+    @Column(nullable = false, unique = true, length = 64)
+    private String checksum;
+
+    /**
+     * Number of transactions imported from the file.
+     */
+    @Column(name = "row_count", nullable = false)
+    private long rowCount;
+
+    /**
+     * When the import committed.
+     */
+    @Column(name = "imported_at", nullable = false)
+    private LocalDateTime importedAt;
+}
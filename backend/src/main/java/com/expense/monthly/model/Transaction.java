@@ -46,6 +46,20 @@ public class Transaction {
     @Column(nullable = false)
     private BigDecimal amount;
 
+    /**
+     * ISO 4217 code of the currency the amount is in.
+     * Null for rows stored before currencies were recorded, which are in the base currency.
+     */
+    @Column(length = 3)
+    private String currency;
+
+    /**
+     * Amount converted to the base currency at ingest time, using the rate in force on the transaction date.
+     * Null for rows stored before conversion existed; see {@link #amountInBaseCurrency()}.
+     */
+    @Column(name = "base_amount")
+    private BigDecimal baseAmount;
+
     /**
      * Category of the transaction.
      */
@@ -66,6 +80,15 @@ public class Transaction {
     @Column(name = "transaction_year", nullable = false)
     private int year;
 
+    /**
+     * Amount in the base currency, falling back to the original amount for rows stored before conversion existed.
+     *
+     * @return Amount in the base currency
+     */
+    public BigDecimal amountInBaseCurrency() {
+        return baseAmount != null ? baseAmount : amount;
+    }
+
     /**
      * Pre-persist hook to set month and year fields based on the date.
      */
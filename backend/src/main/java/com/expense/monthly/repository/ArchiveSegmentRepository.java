@@ -0,0 +1,41 @@
+package com.expense.monthly.repository;
+
+import com.expense.monthly.model.ArchiveSegment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository interface for ArchiveSegment entity.
+ */
+@Repository
+public interface ArchiveSegmentRepository extends JpaRepository<ArchiveSegment, Long> {
+
+    /**
+     * Find the ids of a year's segments in the order they were written, so the segments themselves can be
+     * loaded through the second-level cache.
+     *
+     * @param year Year
+     * @return Segment ids of the year
+     */
+    @Query("SELECT s.id FROM ArchiveSegment s WHERE s.year = ?1 ORDER BY s.id")
+    List<Long> findIdsByYear(int year);
+
+    /**
+     * Find the years that have archived transactions.
+     *
+     * @return Archived years in ascending order
+     */
+    @Query("SELECT DISTINCT s.year FROM ArchiveSegment s ORDER BY s.year")
+    List<Integer> findArchivedYears();
+
+    /**
+     * Summarize the archive per year.
+     *
+     * @return Rows of year, transaction count, segment count and compressed bytes
+     */
+    @Query("SELECT s.year, SUM(s.rowCount), COUNT(s), SUM(LENGTH(s.data)) FROM ArchiveSegment s GROUP BY s.year ORDER BY s.year")
+    List<Object[]> summarizeByYear();
+}
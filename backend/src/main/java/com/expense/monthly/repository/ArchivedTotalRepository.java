@@ -0,0 +1,49 @@
+package com.expense.monthly.repository;
+
+import com.expense.monthly.model.ArchivedTotal;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Repository interface for ArchivedTotal entity.
+ */
+@Repository
+public interface ArchivedTotalRepository extends JpaRepository<ArchivedTotal, Long> {
+
+    /**
+     * Find all totals of an archived year.
+     *
+     * @param year Year
+     * @return Totals per month and category
+     */
+    List<ArchivedTotal> findByYear(int year);
+
+    /**
+     * Find the archived years with spend in a category.
+     *
+     * @param category Category, matched case-insensitively
+     * @return Years in ascending order
+     */
+    @Query("SELECT DISTINCT a.year FROM ArchivedTotal a WHERE a.category = LOWER(?1) ORDER BY a.year")
+    List<Integer> findYearsByCategory(String category);
+
+    /**
+     * Calculate the total archived spend.
+     *
+     * @return Total, or null if nothing is archived
+     */
+    @Query("SELECT SUM(a.total) FROM ArchivedTotal a")
+    BigDecimal calculateTotalAmount();
+
+    /**
+     * Calculate archived spend per category.
+     *
+     * @return Rows of lower-cased category and total
+     */
+    @Query("SELECT a.category, SUM(a.total) FROM ArchivedTotal a GROUP BY a.category")
+    List<Object[]> calculateTotalsByCategory();
+}
@@ -0,0 +1,23 @@
+package com.expense.monthly.repository;
+
+import com.expense.monthly.model.BudgetAlert;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository interface for BudgetAlert entity.
+ */
+@Repository
+public interface BudgetAlertRepository extends JpaRepository<BudgetAlert, Long> {
+
+    /**
+     * Find all alerts raised for a specific month and year.
+     *
+     * @param month Month (1-12)
+     * @param year Year
+     * @return List of alerts
+     */
+    List<BudgetAlert> findByMonthAndYearOrderByTriggeredAtAsc(int month, int year);
+}
@@ -0,0 +1,22 @@
+package com.expense.monthly.repository;
+
+import com.expense.monthly.model.Budget;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repository interface for Budget entity.
+ */
+@Repository
+public interface BudgetRepository extends JpaRepository<Budget, Long> {
+
+    /**
+     * Find the budget for a category.
+     *
+     * @param category Lower-cased category name
+     * @return Budget, if one is defined
+     */
+    Optional<Budget> findByCategory(String category);
+}
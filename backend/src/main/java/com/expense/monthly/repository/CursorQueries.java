@@ -0,0 +1,41 @@
+package com.expense.monthly.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.PreparedStatement;
+
+/**
+ * Helpers for reading large results row by row.
+ */
+public final class CursorQueries {
+
+    /**
+     * Rows fetched from the database per round trip.
+     */
+    public static final int FETCH_SIZE = 1000;
+
+    private CursorQueries() {
+    }
+
+    /**
+     * Run a query and hand each row to a callback without loading the whole result.
+     * A fetch size only makes the driver stream rows through a cursor inside a transaction (the PostgreSQL driver
+     * reads everything up front in auto-commit mode), so callers must run in one; read-only is enough.
+     *
+     * @param jdbcTemplate Template to run the query on
+     * @param sql Query with {@code ?} placeholders
+     * @param handler Receives each row
+     * @param params Placeholder values, in order
+     */
+    public static void stream(JdbcTemplate jdbcTemplate, String sql, RowCallbackHandler handler, Object... params) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql);
+            statement.setFetchSize(FETCH_SIZE);
+            for (int i = 0; i < params.length; i++) {
+                statement.setObject(i + 1, params[i]);
+            }
+            return statement;
+        }, handler);
+    }
+}
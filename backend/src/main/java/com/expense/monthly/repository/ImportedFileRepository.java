@@ -0,0 +1,22 @@
+package com.expense.monthly.repository;
+
+import com.expense.monthly.model.ImportedFile;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repository interface for ImportedFile entity.
+ */
+@Repository
+public interface ImportedFileRepository extends JpaRepository<ImportedFile, Long> {
+
+    /**
+     * Find the record of a file with the given contents.
+     *
+     * @param checksum SHA-256 of the file's bytes, in hex
+     * @return Record of the earlier import, if any
+     */
+    Optional<ImportedFile> findByChecksum(String checksum);
+}
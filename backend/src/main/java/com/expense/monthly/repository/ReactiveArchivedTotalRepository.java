@@ -0,0 +1,55 @@
+package com.expense.monthly.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+
+/**
+ * Non-blocking counterpart of the aggregate queries in {@link ArchivedTotalRepository}, on R2DBC.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReactiveArchivedTotalRepository {
+
+    private final DatabaseClient databaseClient;
+
+    /**
+     * Calculate the total archived spend.
+     *
+     * @return Total, zero if nothing is archived
+     */
+    public Mono<BigDecimal> calculateTotalAmount() {
+        return databaseClient.sql("SELECT COALESCE(SUM(total), 0) FROM archived_totals")
+                .map(row -> row.get(0, BigDecimal.class))
+                .one();
+    }
+
+    /**
+     * Calculate archived spend per month of a year.
+     *
+     * @param year Year
+     * @return Rows of month and total
+     */
+    public Flux<Object[]> calculateMonthlyTotals(int year) {
+        return databaseClient.sql("SELECT archive_month, SUM(total) FROM archived_totals "
+                        + "WHERE archive_year = :year GROUP BY archive_month")
+                .bind("year", year)
+                .map(row -> new Object[]{row.get(0, Integer.class), row.get(1, BigDecimal.class)})
+                .all();
+    }
+
+    /**
+     * Calculate archived spend per category.
+     *
+     * @return Rows of lower-cased category and total
+     */
+    public Flux<Object[]> calculateTotalsByCategory() {
+        return databaseClient.sql("SELECT category, SUM(total) FROM archived_totals GROUP BY category")
+                .map(row -> new Object[]{row.get(0, String.class), row.get(1, BigDecimal.class)})
+                .all();
+    }
+}
@@ -0,0 +1,153 @@
+package com.expense.monthly.repository;
+
+import com.expense.monthly.dto.TransactionDTO;
+import io.r2dbc.spi.Row;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.relational.core.dialect.Escaper;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Non-blocking counterpart of the read queries in {@link TransactionRepository}, on R2DBC.
+ * Rows are mapped straight to TransactionDTOs and emitted as the driver delivers them, so a slow reader
+ * holds back the cursor instead of a buffered result. Lists come in date order, so archived rows can be merged
+ * into them as they stream. Nothing here goes through the Hibernate caches.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReactiveTransactionRepository {
+
+    private static final String DTO_SELECT = "SELECT date, description, amount, currency, category FROM transactions";
+
+    private static final String DATE_ORDER = " ORDER BY date, id";
+
+    /**
+     * Case-insensitive substring match on the description; bind the search text through {@link Escaper#DEFAULT}
+     * so {@code %} and {@code _} in it match literally.
+     */
+    private static final String DESCRIPTION_CONTAINS =
+            "LOWER(description) LIKE LOWER(CONCAT('%', :description, '%')) ESCAPE '\\'";
+
+    private final DatabaseClient databaseClient;
+
+    /**
+     * List all transactions as DTOs, in date order.
+     *
+     * @return Transactions
+     */
+    public Flux<TransactionDTO> findAllDtos() {
+        return databaseClient.sql(DTO_SELECT + DATE_ORDER)
+                .map(ReactiveTransactionRepository::toDto)
+                .all();
+    }
+
+    /**
+     * List transactions for a specific month and year as DTOs, in date order.
+     *
+     * @param month Month (1-12)
+     * @param year Year
+     * @return Transactions
+     */
+    public Flux<TransactionDTO> findDtosByMonthAndYear(int month, int year) {
+        return databaseClient.sql(DTO_SELECT + " WHERE transaction_month = :month AND transaction_year = :year"
+                        + DATE_ORDER)
+                .bind("month", month)
+                .bind("year", year)
+                .map(ReactiveTransactionRepository::toDto)
+                .all();
+    }
+
+    /**
+     * List transactions by category (case insensitive) as DTOs, in date order.
+     *
+     * @param category Category name
+     * @return Transactions
+     */
+    public Flux<TransactionDTO> findDtosByCategory(String category) {
+        return databaseClient.sql(DTO_SELECT + " WHERE LOWER(category) = LOWER(:category)" + DATE_ORDER)
+                .bind("category", category)
+                .map(ReactiveTransactionRepository::toDto)
+                .all();
+    }
+
+    /**
+     * List transactions containing the given description (case insensitive) as DTOs, in date order.
+     *
+     * @param description Description to search for
+     * @return Transactions
+     */
+    public Flux<TransactionDTO> findDtosByDescription(String description) {
+        return databaseClient.sql(DTO_SELECT + " WHERE " + DESCRIPTION_CONTAINS + DATE_ORDER)
+                .bind("description", Escaper.DEFAULT.escape(description))
+                .map(ReactiveTransactionRepository::toDto)
+                .all();
+    }
+
+    /**
+     * List transactions in a category (case insensitive) containing the given description as DTOs, in date order.
+     *
+     * @param category Category name
+     * @param description Description to search for
+     * @return Transactions
+     */
+    public Flux<TransactionDTO> findDtosByCategoryAndDescription(String category, String description) {
+        return databaseClient.sql(DTO_SELECT + " WHERE LOWER(category) = LOWER(:category)"
+                        + " AND " + DESCRIPTION_CONTAINS + DATE_ORDER)
+                .bind("category", category)
+                .bind("description", Escaper.DEFAULT.escape(description))
+                .map(ReactiveTransactionRepository::toDto)
+                .all();
+    }
+
+    /**
+     * Calculate the total amount of all transactions, in the base currency.
+     *
+     * @return Total amount, zero when there are no transactions
+     */
+    public Mono<BigDecimal> calculateTotalAmount() {
+        return databaseClient.sql("SELECT COALESCE(SUM(COALESCE(base_amount, amount)), 0) FROM transactions")
+                .map(row -> row.get(0, BigDecimal.class))
+                .one();
+    }
+
+    /**
+     * Calculate the total amount per month of a year, in the base currency.
+     * One grouped query instead of the blocking service's query per month.
+     *
+     * @param year Year
+     * @return Rows of month and total, for months with transactions only
+     */
+    public Flux<Object[]> calculateMonthlyTotals(int year) {
+        return databaseClient.sql("SELECT transaction_month, SUM(COALESCE(base_amount, amount)) "
+                        + "FROM transactions WHERE transaction_year = :year GROUP BY transaction_month")
+                .bind("year", year)
+                .map(row -> new Object[]{row.get(0, Integer.class), row.get(1, BigDecimal.class)})
+                .all();
+    }
+
+    /**
+     * Calculate the total amount per category (lower-cased), in the base currency.
+     *
+     * @return Rows of category and total
+     */
+    public Flux<Object[]> calculateTotalsByCategory() {
+        return databaseClient.sql("SELECT LOWER(category), SUM(COALESCE(base_amount, amount)) "
+                        + "FROM transactions GROUP BY LOWER(category)")
+                .map(row -> new Object[]{row.get(0, String.class), row.get(1, BigDecimal.class)})
+                .all();
+    }
+
+    private static TransactionDTO toDto(Row row) {
+        return new TransactionDTO(
+                row.get("date", LocalDate.class),
+                row.get("description", String.class),
+                row.get("amount", BigDecimal.class),
+                row.get("currency", String.class),
+                row.get("category", String.class));
+    }
+}
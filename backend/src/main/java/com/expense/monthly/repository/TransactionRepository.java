@@ -1,7 +1,9 @@
 package com.expense.monthly.repository;
 
+import com.expense.monthly.dto.TransactionDTO;
 import com.expense.monthly.model.Transaction;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
@@ -15,6 +17,12 @@ import java.util.List;
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
 
+    /**
+     * Select clause building TransactionDTOs straight from the columns, without managed entities.
+     */
+    String DTO_SELECT = "SELECT new com.expense.monthly.dto.TransactionDTO("
+            + "t.date, t.description, t.amount, t.currency, t.category) FROM Transaction t";
+
     /**
      * Find all transactions for a specific month and year.
      *
@@ -49,29 +57,98 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
     List<Transaction> findByDescriptionContainingIgnoreCase(String description);
 
     /**
-     * Calculate the total amount of all transactions.
+     * List all transactions as DTOs.
+     *
+     * @return List of transactions
+     */
+    @Query(DTO_SELECT)
+    List<TransactionDTO> findAllDtos();
+
+    /**
+     * List transactions for a specific month and year as DTOs.
+     *
+     * @param month Month (1-12)
+     * @param year Year
+     * @return List of transactions
+     */
+    @Query(DTO_SELECT + " WHERE t.month = ?1 AND t.year = ?2")
+    List<TransactionDTO> findDtosByMonthAndYear(int month, int year);
+
+    /**
+     * List transactions by category (case insensitive) as DTOs.
+     *
+     * @param category Category name
+     * @return List of transactions
+     */
+    @Query(DTO_SELECT + " WHERE LOWER(t.category) = LOWER(?1)")
+    List<TransactionDTO> findDtosByCategory(String category);
+
+    /**
+     * List transactions containing the given description (case insensitive) as DTOs.
+     * Wildcards in the description are escaped, so it always matches literally.
+     *
+     * @param description Description to search for
+     * @return List of transactions
+     */
+    @Query(DTO_SELECT + " WHERE LOWER(t.description) LIKE LOWER(CONCAT('%', ?#{escape([0])}, '%')) ESCAPE '\\'")
+    List<TransactionDTO> findDtosByDescription(String description);
+
+    /**
+     * List transactions in a category (case insensitive) containing the given description as DTOs.
+     * Wildcards in the description are escaped, so it always matches literally.
+     *
+     * @param category Category name
+     * @param description Description to search for
+     * @return List of transactions
+     */
+    @Query(DTO_SELECT + " WHERE LOWER(t.category) = LOWER(?1)"
+            + " AND LOWER(t.description) LIKE LOWER(CONCAT('%', ?#{escape([1])}, '%')) ESCAPE '\\'")
+    List<TransactionDTO> findDtosByCategoryAndDescription(String category, String description);
+
+    /**
+     * Calculate the total amount per category (lower-cased), in the base currency.
+     *
+     * @return Rows of category and total
+     */
+    @Query("SELECT LOWER(t.category), SUM(COALESCE(t.baseAmount, t.amount)) FROM Transaction t GROUP BY LOWER(t.category)")
+    List<Object[]> calculateTotalsByCategory();
+
+    /**
+     * Delete the transactions of a year up to a given id.
+     * A bulk delete, so Hibernate also invalidates the cached entities and query results for the table.
+     *
+     * @param year Year
+     * @param maxId Highest id to delete; rows added after the caller read the year are kept
+     * @return Number of deleted transactions
+     */
+    @Modifying
+    @Query("DELETE FROM Transaction t WHERE t.year = ?1 AND t.id <= ?2")
+    int deleteByYearUpTo(int year, long maxId);
+
+    /**
+     * Calculate the total amount of all transactions, in the base currency.
      *
      * @return Total amount
      */
-    @Query("SELECT SUM(t.amount) FROM Transaction t")
+    @Query("SELECT SUM(COALESCE(t.baseAmount, t.amount)) FROM Transaction t")
     BigDecimal calculateTotalAmount();
 
     /**
-     * Calculate the total amount for a specific month and year.
+     * Calculate the total amount for a specific month and year, in the base currency.
      *
      * @param month Month (1-12)
      * @param year Year
      * @return Total amount for the month
      */
-    @Query("SELECT SUM(t.amount) FROM Transaction t WHERE t.month = ?1 AND t.year = ?2")
+    @Query("SELECT SUM(COALESCE(t.baseAmount, t.amount)) FROM Transaction t WHERE t.month = ?1 AND t.year = ?2")
     BigDecimal calculateMonthlyTotal(int month, int year);
 
     /**
-     * Calculate the total amount by category (case insensitive).
+     * Calculate the total amount by category (case insensitive), in the base currency.
      *
      * @param category Category name
      * @return Total amount for the category
      */
-    @Query("SELECT SUM(t.amount) FROM Transaction t WHERE LOWER(t.category) = LOWER(?1)")
+    @Query("SELECT SUM(COALESCE(t.baseAmount, t.amount)) FROM Transaction t WHERE LOWER(t.category) = LOWER(?1)")
     BigDecimal calculateTotalByCategory(String category);
 }
@@ -0,0 +1,51 @@
+package com.expense.monthly.service;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service interface for sketch-based spend analytics.
+ * Answers are approximate but computed from constant-size structures maintained during ingest.
+ */
+public interface AnalyticsService {
+
+    /**
+     * Get the merchants with the highest total spend.
+     *
+     * @param limit Maximum number of merchants to return
+     * @return Merchants ordered by estimated spend, highest first
+     */
+    List<Map<String, Object>> getTopMerchants(int limit);
+
+    /**
+     * Estimate the number of distinct merchants for a month.
+     *
+     * @param month Month (1-12)
+     * @param year Year
+     * @return Estimated distinct merchant count
+     */
+    long countDistinctMerchants(int month, int year);
+
+    /**
+     * Estimate the number of distinct merchants for a whole year.
+     *
+     * @param year Year
+     * @return Estimated distinct merchant count
+     */
+    long countDistinctMerchants(int year);
+
+    /**
+     * Estimate transaction amount percentiles.
+     *
+     * @param quantiles Quantiles in [0, 1]
+     * @return Map of quantile to estimated amount
+     * @throws IllegalArgumentException If a quantile is outside [0, 1]
+     */
+    Map<Double, BigDecimal> getAmountPercentiles(List<Double> quantiles);
+
+    /**
+     * Rebuild all sketches from the database.
+     */
+    void rebuild();
+}
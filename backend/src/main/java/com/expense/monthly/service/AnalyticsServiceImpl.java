@@ -0,0 +1,227 @@
+package com.expense.monthly.service;
+
+import com.expense.monthly.analytics.HyperLogLog;
+import com.expense.monthly.analytics.Merchants;
+import com.expense.monthly.analytics.QuantileSketch;
+import com.expense.monthly.analytics.SpaceSavingTopK;
+import com.expense.monthly.event.TransactionsResetEvent;
+import com.expense.monthly.event.TransactionsSavedEvent;
+import com.expense.monthly.model.Transaction;
+import com.expense.monthly.repository.CursorQueries;
+import com.expense.monthly.snapshot.SnapshotParticipant;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of the AnalyticsService interface.
+ * Keeps a heavy-hitters sketch of merchant spend, one HyperLogLog per month and a quantile digest of amounts.
+ * The sketches are saved in the warm-start snapshot.
+ */
+@Service
+@Slf4j
+public class AnalyticsServiceImpl implements AnalyticsService, SnapshotParticipant {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ArchiveService archiveService;
+    private final int topKCapacity;
+    private final int hllPrecision;
+    private final double quantileAccuracy;
+
+    private SpaceSavingTopK merchantSpend;
+    private Map<Integer, HyperLogLog> merchantsByMonth;
+    private QuantileSketch amounts;
+
+    public AnalyticsServiceImpl(JdbcTemplate jdbcTemplate,
+                                ArchiveService archiveService,
+                                @Value("${analytics.sketch.top-k-capacity:256}") int topKCapacity,
+                                @Value("${analytics.sketch.hll-precision:12}") int hllPrecision,
+                                @Value("${analytics.sketch.quantile-accuracy:0.01}") double quantileAccuracy) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.archiveService = archiveService;
+        this.topKCapacity = topKCapacity;
+        this.hllPrecision = hllPrecision;
+        this.quantileAccuracy = quantileAccuracy;
+        clear();
+    }
+
+    /**
+     * Fold newly saved transactions into the sketches once their transaction has committed.
+     *
+     * @param event Saved transactions
+     */
+    @Override
+    public void onTransactionsSaved(TransactionsSavedEvent event) {
+        synchronized (this) {
+            for (Transaction transaction : event.getTransactions()) {
+                add(transaction.getDescription(), transaction.amountInBaseCurrency(), transaction.getDate());
+            }
+        }
+    }
+
+    /**
+     * Drop all sketch state after a reset.
+     *
+     * @param event Reset event
+     */
+    @Override
+    public void onTransactionsReset(TransactionsResetEvent event) {
+        log.info("Clearing analytics sketches");
+        clear();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getSnapshotName() {
+        return "analytics";
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void writeSnapshot(DataOutput out) throws IOException {
+        merchantSpend.writeTo(out);
+        out.writeInt(merchantsByMonth.size());
+        for (Map.Entry<Integer, HyperLogLog> month : merchantsByMonth.entrySet()) {
+            out.writeInt(month.getKey());
+            month.getValue().writeTo(out);
+        }
+        amounts.writeTo(out);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void readSnapshot(DataInput in) throws IOException {
+        SpaceSavingTopK restoredSpend = SpaceSavingTopK.readFrom(in);
+        Map<Integer, HyperLogLog> restoredMonths = new HashMap<>();
+        int months = in.readInt();
+        for (int i = 0; i < months; i++) {
+            int key = in.readInt();
+            HyperLogLog sketch = HyperLogLog.readFrom(in);
+            if (sketch.getPrecision() != hllPrecision) {
+                throw new IOException("HyperLogLog precision changed");
+            }
+            restoredMonths.put(key, sketch);
+        }
+        QuantileSketch restoredAmounts = QuantileSketch.readFrom(in);
+        if (restoredSpend.getCapacity() != topKCapacity || restoredAmounts.getRelativeAccuracy() != quantileAccuracy) {
+            throw new IOException("Analytics sketch settings changed");
+        }
+        merchantSpend = restoredSpend;
+        merchantsByMonth = restoredMonths;
+        amounts = restoredAmounts;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public synchronized void rebuild() {
+        log.info("Rebuilding analytics sketches from database");
+        clear();
+        CursorQueries.stream(jdbcTemplate, "SELECT description, COALESCE(base_amount, amount), date FROM transactions",
+                rs -> add(rs.getString(1), rs.getBigDecimal(2), rs.getObject(3, LocalDate.class)));
+        archiveService.forEachArchivedTransaction(null,
+                transaction -> add(transaction.getDescription(), transaction.amountInBaseCurrency(), transaction.getDate()));
+        log.info("Analytics sketches rebuilt from {} transactions", amounts.getCount());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized List<Map<String, Object>> getTopMerchants(int limit) {
+        return merchantSpend.top(limit).stream()
+                .map(counter -> {
+                    Map<String, Object> entry = new LinkedHashMap<>();
+                    entry.put("merchant", counter.getKey());
+                    entry.put("spend", toAmount(counter.getWeight()));
+                    entry.put("maxError", toAmount(counter.getError()));
+                    return entry;
+                })
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized long countDistinctMerchants(int month, int year) {
+        HyperLogLog sketch = merchantsByMonth.get(monthKey(month, year));
+        return sketch != null ? sketch.cardinality() : 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized long countDistinctMerchants(int year) {
+        HyperLogLog merged = new HyperLogLog(hllPrecision);
+        for (int month = 1; month <= 12; month++) {
+            HyperLogLog sketch = merchantsByMonth.get(monthKey(month, year));
+            if (sketch != null) {
+                merged.merge(sketch);
+            }
+        }
+        return merged.cardinality();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized Map<Double, BigDecimal> getAmountPercentiles(List<Double> quantiles) {
+        Map<Double, BigDecimal> percentiles = new LinkedHashMap<>();
+        for (Double quantile : quantiles) {
+            double value = amounts.quantile(quantile);
+            percentiles.put(quantile, Double.isNaN(value) ? BigDecimal.ZERO : toAmount(value));
+        }
+        return percentiles;
+    }
+
+    private void add(String description, BigDecimal amount, LocalDate date) {
+        String merchant = Merchants.normalize(description);
+        double value = amount.doubleValue();
+        if (value > 0) {
+            merchantSpend.offer(merchant, value);
+        }
+        merchantsByMonth
+                .computeIfAbsent(monthKey(date.getMonthValue(), date.getYear()), key -> new HyperLogLog(hllPrecision))
+                .offer(merchant);
+        amounts.add(value);
+    }
+
+    private synchronized void clear() {
+        merchantSpend = new SpaceSavingTopK(topKCapacity);
+        merchantsByMonth = new HashMap<>();
+        amounts = new QuantileSketch(quantileAccuracy);
+    }
+
+    private static int monthKey(int month, int year) {
+        return year * 12 + (month - 1);
+    }
+
+    private static BigDecimal toAmount(double value) {
+        return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,27 @@
+package com.expense.monthly.service;
+
+import com.expense.monthly.dto.SpendAnomalyDTO;
+
+import java.util.List;
+
+/**
+ * Service interface for detecting months in which a category's spend jumps above its history.
+ */
+public interface AnomalyService {
+
+    /**
+     * Get all flagged (category, month) pairs, most recent first.
+     *
+     * @return Flagged anomalies
+     */
+    List<SpendAnomalyDTO> getAnomalies();
+
+    /**
+     * Get the anomalies flagged for one month.
+     *
+     * @param month Month (1-12)
+     * @param year Year
+     * @return Flagged anomalies for the month
+     */
+    List<SpendAnomalyDTO> getAnomalies(int month, int year);
+}
@@ -0,0 +1,260 @@
+package com.expense.monthly.service;
+
+import com.expense.monthly.analytics.RunningStats;
+import com.expense.monthly.dto.SpendAnomalyDTO;
+import com.expense.monthly.event.TransactionsResetEvent;
+import com.expense.monthly.event.TransactionsSavedEvent;
+import com.expense.monthly.model.Transaction;
+import com.expense.monthly.snapshot.SnapshotParticipant;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Implementation of the AnomalyService interface.
+ * Keeps monthly totals per category, seeded once at startup and updated from each saved batch. For every
+ * category a batch touches, the months from its first to its last are replayed in order through a Welford
+ * accumulator, months without spend as zero, and a month is flagged when it exceeds the mean of the months
+ * before it by {@code anomaly.z-threshold} standard deviations and by at least
+ * {@code anomaly.min-increase-percent}. Flags are published as immutable snapshots, so reads never wait for or
+ * recompute anything. The monthly totals are saved in the warm-start snapshot.
+ */
+@Service
+@Slf4j
+public class AnomalyServiceImpl implements AnomalyService, SnapshotParticipant {
+
+    private static final Comparator<SpendAnomalyDTO> MOST_RECENT_FIRST = Comparator
+            .comparingInt(SpendAnomalyDTO::getYear).thenComparingInt(SpendAnomalyDTO::getMonth).reversed()
+            .thenComparing(SpendAnomalyDTO::getCategory);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final double zThreshold;
+    private final double minIncreaseFactor;
+    private final int minHistoryMonths;
+
+    /**
+     * Monthly totals per category, keyed by {@code year * 12 + month - 1}. Guarded by its own monitor.
+     */
+    private final Map<String, NavigableMap<Integer, BigDecimal>> monthlyTotals = new HashMap<>();
+    private final Map<String, List<SpendAnomalyDTO>> flagsByCategory = new HashMap<>();
+
+    private volatile List<SpendAnomalyDTO> anomalies = Collections.emptyList();
+    private volatile Map<Integer, List<SpendAnomalyDTO>> anomaliesByMonth = Collections.emptyMap();
+
+    public AnomalyServiceImpl(JdbcTemplate jdbcTemplate,
+                              @Value("${anomaly.z-threshold:3.0}") double zThreshold,
+                              @Value("${anomaly.min-increase-percent:20}") double minIncreasePercent,
+                              @Value("${anomaly.min-history-months:3}") int minHistoryMonths) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.zThreshold = zThreshold;
+        this.minIncreaseFactor = 1 + minIncreasePercent / 100.0;
+        this.minHistoryMonths = minHistoryMonths;
+    }
+
+    /**
+     * Seed the monthly totals with a single grouped aggregate.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        synchronized (monthlyTotals) {
+            monthlyTotals.clear();
+            flagsByCategory.clear();
+            RowCallbackHandler seed = rs -> monthlyTotals
+                    .computeIfAbsent(rs.getString(1), category -> new TreeMap<>())
+                    .merge(monthKey(rs.getInt(2), rs.getInt(3)), rs.getBigDecimal(4), BigDecimal::add);
+            jdbcTemplate.query("SELECT LOWER(TRIM(category)), transaction_month, transaction_year, "
+                    + "SUM(COALESCE(base_amount, amount)) FROM transactions "
+                    + "GROUP BY LOWER(TRIM(category)), transaction_month, transaction_year", seed);
+            jdbcTemplate.query("SELECT TRIM(category), archive_month, archive_year, total FROM archived_totals", seed);
+            evaluate(monthlyTotals.keySet());
+        }
+        log.info("Loaded monthly totals for {} categories, {} anomalies flagged", monthlyTotals.size(), anomalies.size());
+    }
+
+    /**
+     * Add a committed batch to the monthly totals and re-evaluate the categories it touched.
+     *
+     * @param event Saved transactions
+     */
+    @Override
+    public void onTransactionsSaved(TransactionsSavedEvent event) {
+        Set<String> touched = new HashSet<>();
+        synchronized (monthlyTotals) {
+            for (Transaction transaction : event.getTransactions()) {
+                String category = normalize(transaction.getCategory());
+                touched.add(category);
+                monthlyTotals.computeIfAbsent(category, key -> new TreeMap<>())
+                        .merge(monthKey(transaction.getMonth(), transaction.getYear()),
+                                transaction.amountInBaseCurrency(), BigDecimal::add);
+            }
+            evaluate(touched);
+        }
+    }
+
+    /**
+     * Forget all totals and flags after all transactions have been deleted.
+     *
+     * @param event Reset event
+     */
+    @Override
+    public void onTransactionsReset(TransactionsResetEvent event) {
+        synchronized (monthlyTotals) {
+            monthlyTotals.clear();
+            flagsByCategory.clear();
+            publish();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getSnapshotName() {
+        return "anomalies";
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void writeSnapshot(DataOutput out) throws IOException {
+        synchronized (monthlyTotals) {
+            out.writeInt(monthlyTotals.size());
+            for (Map.Entry<String, NavigableMap<Integer, BigDecimal>> category : monthlyTotals.entrySet()) {
+                out.writeUTF(category.getKey());
+                out.writeInt(category.getValue().size());
+                for (Map.Entry<Integer, BigDecimal> month : category.getValue().entrySet()) {
+                    out.writeInt(month.getKey());
+                    out.writeUTF(month.getValue().toString());
+                }
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * Flags are re-evaluated on load, so changed thresholds take effect.
+     */
+    @Override
+    public void readSnapshot(DataInput in) throws IOException {
+        synchronized (monthlyTotals) {
+            monthlyTotals.clear();
+            flagsByCategory.clear();
+            int categories = in.readInt();
+            for (int i = 0; i < categories; i++) {
+                NavigableMap<Integer, BigDecimal> totals = new TreeMap<>();
+                monthlyTotals.put(in.readUTF(), totals);
+                int months = in.readInt();
+                for (int j = 0; j < months; j++) {
+                    totals.put(in.readInt(), new BigDecimal(in.readUTF()));
+                }
+            }
+            evaluate(monthlyTotals.keySet());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<SpendAnomalyDTO> getAnomalies() {
+        return anomalies;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<SpendAnomalyDTO> getAnomalies(int month, int year) {
+        return anomaliesByMonth.getOrDefault(monthKey(month, year), Collections.emptyList());
+    }
+
+    /**
+     * Replay the monthly totals of each category in date order and replace its flags.
+     * Must be called while holding the {@code monthlyTotals} monitor.
+     *
+     * @param categories Categories to re-evaluate
+     */
+    private void evaluate(Collection<String> categories) {
+        for (String category : categories) {
+            List<SpendAnomalyDTO> flags = new ArrayList<>();
+            RunningStats history = new RunningStats();
+            NavigableMap<Integer, BigDecimal> totals = monthlyTotals.get(category);
+            if (totals != null && !totals.isEmpty()) {
+                // Months without spend between the first and last count as zero, so gaps lower the baseline
+                for (int key = totals.firstKey(); key <= totals.lastKey(); key++) {
+                    BigDecimal total = totals.getOrDefault(key, BigDecimal.ZERO);
+                    double spent = total.doubleValue();
+                    if (history.getCount() >= minHistoryMonths && isAnomalous(spent, history)) {
+                        double stdDev = history.getStdDev();
+                        flags.add(new SpendAnomalyDTO(category, key % 12 + 1, key / 12, total,
+                                scaled(history.getMean()), scaled(stdDev),
+                                stdDev > 0 ? (spent - history.getMean()) / stdDev : null, history.getCount()));
+                    }
+                    history.add(spent);
+                }
+            }
+            if (flags.isEmpty()) {
+                flagsByCategory.remove(category);
+            } else {
+                flagsByCategory.put(category, flags);
+            }
+        }
+        publish();
+    }
+
+    private boolean isAnomalous(double spent, RunningStats history) {
+        double mean = history.getMean();
+        if (mean <= 0 || spent < mean * minIncreaseFactor) {
+            return false;
+        }
+        double stdDev = history.getStdDev();
+        return stdDev == 0 || (spent - mean) / stdDev >= zThreshold;
+    }
+
+    private void publish() {
+        List<SpendAnomalyDTO> all = new ArrayList<>();
+        flagsByCategory.values().forEach(all::addAll);
+        all.sort(MOST_RECENT_FIRST);
+        Map<Integer, List<SpendAnomalyDTO>> byMonth = new HashMap<>();
+        all.forEach(anomaly -> byMonth.computeIfAbsent(monthKey(anomaly.getMonth(), anomaly.getYear()),
+                key -> new ArrayList<>()).add(anomaly));
+        byMonth.replaceAll((key, list) -> Collections.unmodifiableList(list));
+        anomalies = Collections.unmodifiableList(all);
+        anomaliesByMonth = byMonth;
+    }
+
+    private static BigDecimal scaled(double value) {
+        return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private static int monthKey(int month, int year) {
+        return year * 12 + month - 1;
+    }
+
+    private static String normalize(String category) {
+        return category == null ? "" : category.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,104 @@
+package com.expense.monthly.service;
+
+import com.expense.monthly.model.Transaction;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Service interface for the cold tier: closed years moved out of the transactions table into compressed
+ * segments with precomputed monthly totals per category.
+ */
+public interface ArchiveService {
+
+    /**
+     * Archive every year older than the configured number of hot years.
+     *
+     * @return Years that had transactions archived
+     */
+    List<Integer> archiveClosedYears();
+
+    /**
+     * Move the transactions of a year from the transactions table into the archive.
+     * Years may be archived more than once; later runs add a segment and merge their totals. Runs on different
+     * instances do not overlap, so rows are never archived twice.
+     *
+     * @param year Year to archive
+     * @return Number of transactions archived
+     * @throws IllegalArgumentException If the year is not older than the configured number of hot years
+     */
+    long archiveYear(int year);
+
+    /**
+     * Years that have archived transactions.
+     *
+     * @return Archived years
+     */
+    Set<Integer> getArchivedYears();
+
+    /**
+     * Archived years with spend in a category, from the archived totals rather than the segments.
+     *
+     * @param category Category, matched case-insensitively
+     * @return Archived years with the category
+     */
+    Set<Integer> getArchivedYears(String category);
+
+    /**
+     * Whether anything has been archived.
+     *
+     * @return True if at least one year has archived transactions
+     */
+    boolean hasArchives();
+
+    /**
+     * Total archived spend in the base currency.
+     *
+     * @return Total, zero if nothing is archived
+     */
+    BigDecimal getArchivedTotal();
+
+    /**
+     * Archived spend per month of a year.
+     *
+     * @param year Year
+     * @return Map of month (1-12) to total; months without archived spend are absent
+     */
+    Map<Integer, BigDecimal> getArchivedMonthlyTotals(int year);
+
+    /**
+     * Archived spend per lower-cased category.
+     *
+     * @return Map of category to total
+     */
+    Map<String, BigDecimal> getArchivedCategoryTotals();
+
+    /**
+     * Read archived transactions in date order. The transactions are detached and have no id.
+     *
+     * @param year Year to read, or null for all archived years
+     * @param consumer Receives each archived transaction
+     */
+    void forEachArchivedTransaction(Integer year, Consumer<Transaction> consumer);
+
+    /**
+     * Read one archived year in date order. The year's segments are loaded before this returns, but their
+     * transactions are only decoded as the stream is consumed, so the stream must be closed. The transactions
+     * are detached and have no id.
+     *
+     * @param year Year to read
+     * @return Archived transactions of the year; empty if the year is not archived
+     */
+    Stream<Transaction> streamArchivedYear(int year);
+
+    /**
+     * Summarize the archive per year.
+     *
+     * @return One entry per archived year with transaction count, segment count and compressed size
+     */
+    List<Map<String, Object>> getArchiveSummary();
+}
@@ -0,0 +1,539 @@
+package com.expense.monthly.service;
+
+import com.expense.monthly.bulkhead.Bulkhead;
+import com.expense.monthly.bulkhead.Workload;
+import com.expense.monthly.event.TransactionsResetEvent;
+import com.expense.monthly.model.ArchiveSegment;
+import com.expense.monthly.model.ArchivedTotal;
+import com.expense.monthly.model.Transaction;
+import com.expense.monthly.repository.ArchiveSegmentRepository;
+import com.expense.monthly.repository.ArchivedTotalRepository;
+import com.expense.monthly.repository.CursorQueries;
+import com.expense.monthly.repository.TransactionRepository;
+import com.opencsv.CSVReader;
+import com.opencsv.CSVWriter;
+import com.opencsv.exceptions.CsvValidationException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Implementation of the ArchiveService interface.
+ * A scheduled job moves years older than {@code archive.hot-years} out of the transactions table. Each run
+ * streams the year's rows through a cursor into gzipped CSV segments of at most {@code archive.segment-max-rows}
+ * rows, folds them into per-month, per-category totals and bulk-deletes them, all in one transaction. Rows
+ * inserted for the year while the run is in progress are left for the next run. A year is read back by merging
+ * its segments by date, since a later run's segment holds rows dated anywhere in the year. On PostgreSQL a run
+ * first takes a transaction-scoped advisory lock, so replicas whose schedules fire together archive one after
+ * the other, and a run that waited only finds the rows the previous one left; the embedded H2 serves a single
+ * instance, where the method's monitor is enough.
+ */
+@Service
+@Slf4j
+public class ArchiveServiceImpl implements ArchiveService {
+
+    /**
+     * Advisory lock key shared by every instance archiving the same database.
+     */
+    private static final long ARCHIVE_LOCK_KEY = 0x41524348495645L;
+
+    /**
+     * Archived years as of the newest segment, so a change made through any instance is noticed.
+     */
+    private static final class ArchivedYears {
+        private final long lastSegmentId;
+        private final Set<Integer> years;
+
+        private ArchivedYears(long lastSegmentId, Set<Integer> years) {
+            this.lastSegmentId = lastSegmentId;
+            this.years = years;
+        }
+    }
+
+    /**
+     * Reads the rows of a segment's gzipped CSV, opened on the first read.
+     */
+    private static final class SegmentReader implements Iterator<Transaction> {
+        private final ArchiveSegment segment;
+        private CSVReader csv;
+        private String[] row;
+
+        private SegmentReader(ArchiveSegment segment) {
+            this.segment = segment;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (row == null) {
+                row = readNext();
+            }
+            return row != null;
+        }
+
+        @Override
+        public Transaction next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            LocalDate date = LocalDate.parse(row[0]);
+            Transaction transaction = Transaction.builder()
+                    .date(date)
+                    .description(row[1])
+                    .amount(new BigDecimal(row[2]))
+                    .currency(row[3].isEmpty() ? null : row[3])
+                    .baseAmount(row[4].isEmpty() ? null : new BigDecimal(row[4]))
+                    .category(row[5])
+                    .month(date.getMonthValue())
+                    .year(date.getYear())
+                    .build();
+            row = null;
+            return transaction;
+        }
+
+        private String[] readNext() {
+            try {
+                if (csv == null) {
+                    csv = new CSVReader(new InputStreamReader(
+                            new GZIPInputStream(new ByteArrayInputStream(segment.getData())), StandardCharsets.UTF_8));
+                }
+                return csv.readNext();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read archive segment " + segment.getId(), e);
+            } catch (CsvValidationException e) {
+                throw new IllegalStateException("Corrupt archive segment " + segment.getId(), e);
+            }
+        }
+
+        private void close() {
+            if (csv != null) {
+                try {
+                    csv.close();
+                } catch (IOException e) {
+                    log.debug("Failed to close archive segment {}", segment.getId(), e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Merges the rows of a year's segments, each written in date order, into one sequence in date order.
+     * On the same date, rows of earlier segments come first.
+     */
+    private static final class MergingReader implements Iterator<Transaction> {
+        private final List<SegmentReader> readers;
+        private final Transaction[] heads;
+        private boolean started;
+
+        private MergingReader(List<SegmentReader> readers) {
+            this.readers = readers;
+            this.heads = new Transaction[readers.size()];
+        }
+
+        @Override
+        public boolean hasNext() {
+            return earliest() >= 0;
+        }
+
+        @Override
+        public Transaction next() {
+            int index = earliest();
+            if (index < 0) {
+                throw new NoSuchElementException();
+            }
+            Transaction transaction = heads[index];
+            SegmentReader reader = readers.get(index);
+            heads[index] = reader.hasNext() ? reader.next() : null;
+            return transaction;
+        }
+
+        private int earliest() {
+            if (!started) {
+                for (int i = 0; i < heads.length; i++) {
+                    heads[i] = readers.get(i).hasNext() ? readers.get(i).next() : null;
+                }
+                started = true;
+            }
+            int earliest = -1;
+            for (int i = 0; i < heads.length; i++) {
+                if (heads[i] != null && (earliest < 0 || heads[i].getDate().isBefore(heads[earliest].getDate()))) {
+                    earliest = i;
+                }
+            }
+            return earliest;
+        }
+
+        private void close() {
+            readers.forEach(SegmentReader::close);
+        }
+    }
+
+    /**
+     * Writes a year's rows as segments of at most {@code archive.segment-max-rows} rows, saving each one as soon
+     * as it is full, so only one segment is held in memory.
+     */
+    private final class SegmentWriter {
+        private final int year;
+        private ByteArrayOutputStream bytes;
+        private CSVWriter csv;
+        private long segmentRows;
+        private long rows;
+        private int segments;
+        private long compressedBytes;
+
+        private SegmentWriter(int year) {
+            this.year = year;
+        }
+
+        private void write(String[] row) {
+            if (csv == null) {
+                bytes = new ByteArrayOutputStream();
+                try {
+                    csv = new CSVWriter(new OutputStreamWriter(new GZIPOutputStream(bytes), StandardCharsets.UTF_8));
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Failed to start archive segment for " + year, e);
+                }
+            }
+            csv.writeNext(row, false);
+            segmentRows++;
+            rows++;
+            if (segmentRows == segmentMaxRows) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            if (csv == null) {
+                return;
+            }
+            try {
+                csv.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to write archive segment for " + year, e);
+            }
+            archiveSegmentRepository.save(ArchiveSegment.builder()
+                    .year(year)
+                    .rowCount(segmentRows)
+                    .createdAt(LocalDateTime.now())
+                    .data(bytes.toByteArray())
+                    .build());
+            segments++;
+            compressedBytes += bytes.size();
+            csv = null;
+            bytes = null;
+            segmentRows = 0;
+        }
+    }
+
+    private final TransactionRepository transactionRepository;
+    private final ArchiveSegmentRepository archiveSegmentRepository;
+    private final ArchivedTotalRepository archivedTotalRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final int hotYears;
+    private final int segmentMaxRows;
+
+    /**
+     * Cached archived years; reloaded whenever the newest segment id differs, which a single indexed lookup tells.
+     */
+    private volatile ArchivedYears archivedYears;
+
+    /**
+     * Whether the database offers advisory locks; resolved on the first run.
+     */
+    private volatile Boolean advisoryLocks;
+
+    public ArchiveServiceImpl(TransactionRepository transactionRepository,
+                              ArchiveSegmentRepository archiveSegmentRepository,
+                              ArchivedTotalRepository archivedTotalRepository,
+                              JdbcTemplate jdbcTemplate,
+                              @Value("${archive.hot-years:2}") int hotYears,
+                              @Value("${archive.segment-max-rows:100000}") int segmentMaxRows) {
+        this.transactionRepository = transactionRepository;
+        this.archiveSegmentRepository = archiveSegmentRepository;
+        this.archivedTotalRepository = archivedTotalRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.hotYears = hotYears;
+        this.segmentMaxRows = segmentMaxRows;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Scheduled(cron = "${archive.cron:0 30 2 * * *}")
+    @Transactional
+    @Bulkhead(Workload.INGEST)
+    public List<Integer> archiveClosedYears() {
+        int firstHotYear = firstHotYear();
+        List<Integer> closedYears = jdbcTemplate.queryForList(
+                "SELECT DISTINCT transaction_year FROM transactions WHERE transaction_year < ? ORDER BY transaction_year",
+                Integer.class, firstHotYear);
+        List<Integer> archived = new ArrayList<>();
+        for (int year : closedYears) {
+            if (archiveYear(year) > 0) {
+                archived.add(year);
+            }
+        }
+        log.info("Archived years before {}: {}", firstHotYear, archived);
+        return archived;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional
+    @Bulkhead(Workload.INGEST)
+    public synchronized long archiveYear(int year) {
+        int firstHotYear = firstHotYear();
+        if (year >= firstHotYear) {
+            throw new IllegalArgumentException("Only years before " + firstHotYear + " can be archived");
+        }
+        log.info("Archiving transactions for year: {}", year);
+        lockArchive();
+        SegmentWriter segments = new SegmentWriter(year);
+        long[] maxId = {Long.MIN_VALUE};
+        CursorQueries.stream(jdbcTemplate, "SELECT id, date, description, amount, currency, base_amount, category "
+                + "FROM transactions WHERE transaction_year = ? ORDER BY date, id", rs -> {
+            maxId[0] = Math.max(maxId[0], rs.getLong(1));
+            BigDecimal baseAmount = rs.getBigDecimal(6);
+            segments.write(new String[]{
+                    rs.getObject(2, LocalDate.class).toString(),
+                    rs.getString(3),
+                    rs.getBigDecimal(4).toPlainString(),
+                    rs.getString(5),
+                    baseAmount != null ? baseAmount.toPlainString() : null,
+                    rs.getString(7)
+            });
+        }, year);
+        segments.flush();
+        if (segments.rows == 0) {
+            return 0;
+        }
+
+        Map<String, ArchivedTotal> totals = new HashMap<>();
+        archivedTotalRepository.findByYear(year)
+                .forEach(total -> totals.put(total.getMonth() + "|" + total.getCategory(), total));
+        jdbcTemplate.query("SELECT transaction_month, LOWER(category), SUM(COALESCE(base_amount, amount)), COUNT(*) "
+                        + "FROM transactions WHERE transaction_year = ? AND id <= ? "
+                        + "GROUP BY transaction_month, LOWER(category)",
+                (RowCallbackHandler) rs -> {
+                    int month = rs.getInt(1);
+                    String category = rs.getString(2);
+                    ArchivedTotal total = totals.computeIfAbsent(month + "|" + category, key -> ArchivedTotal.builder()
+                            .year(year).month(month).category(category)
+                            .total(BigDecimal.ZERO).transactionCount(0).build());
+                    total.setTotal(total.getTotal().add(rs.getBigDecimal(3)));
+                    total.setTransactionCount(total.getTransactionCount() + rs.getLong(4));
+                }, year, maxId[0]);
+        archivedTotalRepository.saveAll(totals.values());
+        int deleted = transactionRepository.deleteByYearUpTo(year, maxId[0]);
+        log.info("Archived {} transactions for year {} into {} segments of {} compressed bytes",
+                deleted, year, segments.segments, segments.compressedBytes);
+        return deleted;
+    }
+
+    /**
+     * Drop the archive along with the hot transactions, in the same transaction and on its connection.
+     *
+     * @param event Reset event
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    @Transactional
+    public void onTransactionsReset(TransactionsResetEvent event) {
+        log.info("Deleting archived transactions");
+        archivedTotalRepository.deleteAllInBatch();
+        archiveSegmentRepository.deleteAllInBatch();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Bulkhead(Workload.READ)
+    public Set<Integer> getArchivedYears() {
+        long lastSegmentId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM archive_segments", Long.class);
+        ArchivedYears cached = archivedYears;
+        if (cached == null || cached.lastSegmentId != lastSegmentId) {
+            cached = new ArchivedYears(lastSegmentId,
+                    Collections.unmodifiableSet(new TreeSet<>(archiveSegmentRepository.findArchivedYears())));
+            archivedYears = cached;
+        }
+        return cached.years;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Set<Integer> getArchivedYears(String category) {
+        if (!hasArchives()) {
+            return Collections.emptySet();
+        }
+        return new TreeSet<>(archivedTotalRepository.findYearsByCategory(category));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean hasArchives() {
+        return !getArchivedYears().isEmpty();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BigDecimal getArchivedTotal() {
+        if (!hasArchives()) {
+            return BigDecimal.ZERO;
+        }
+        BigDecimal total = archivedTotalRepository.calculateTotalAmount();
+        return total != null ? total : BigDecimal.ZERO;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<Integer, BigDecimal> getArchivedMonthlyTotals(int year) {
+        Map<Integer, BigDecimal> monthlyTotals = new HashMap<>();
+        if (getArchivedYears().contains(year)) {
+            archivedTotalRepository.findByYear(year)
+                    .forEach(total -> monthlyTotals.merge(total.getMonth(), total.getTotal(), BigDecimal::add));
+        }
+        return monthlyTotals;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<String, BigDecimal> getArchivedCategoryTotals() {
+        Map<String, BigDecimal> categoryTotals = new HashMap<>();
+        if (hasArchives()) {
+            archivedTotalRepository.calculateTotalsByCategory()
+                    .forEach(row -> categoryTotals.put((String) row[0], (BigDecimal) row[1]));
+        }
+        return categoryTotals;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachArchivedTransaction(Integer year, Consumer<Transaction> consumer) {
+        Set<Integer> years = getArchivedYears();
+        if (year != null) {
+            years = years.contains(year) ? Collections.singleton(year) : Collections.emptySet();
+        }
+        for (int archivedYear : years) {
+            try (Stream<Transaction> transactions = readYear(archivedYear)) {
+                transactions.forEach(consumer);
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * Only loading the segments, usually from the second-level cache, takes a connection; decoding does not.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    @Bulkhead(Workload.READ)
+    public Stream<Transaction> streamArchivedYear(int year) {
+        if (!getArchivedYears().contains(year)) {
+            return Stream.empty();
+        }
+        return readYear(year);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Map<String, Object>> getArchiveSummary() {
+        List<Map<String, Object>> summary = new ArrayList<>();
+        for (Object[] row : archiveSegmentRepository.summarizeByYear()) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("year", row[0]);
+            entry.put("transactions", row[1]);
+            entry.put("segments", row[2]);
+            entry.put("compressedBytes", row[3]);
+            summary.add(entry);
+        }
+        return summary;
+    }
+
+    /**
+     * Wait for any other instance's archive run to commit. Held until this transaction ends.
+     */
+    private void lockArchive() {
+        Boolean supported = advisoryLocks;
+        if (supported == null) {
+            supported = "PostgreSQL".equals(jdbcTemplate.execute(
+                    (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName()));
+            advisoryLocks = supported;
+        }
+        if (supported) {
+            jdbcTemplate.queryForList("SELECT pg_advisory_xact_lock(?)", ARCHIVE_LOCK_KEY);
+        }
+    }
+
+    private int firstHotYear() {
+        return LocalDate.now().getYear() - hotYears + 1;
+    }
+
+    /**
+     * Load a year's segments and decode their transactions one row at a time, in date order, as the stream is
+     * consumed.
+     *
+     * @param year Archived year
+     * @return Transactions of the year; closing the stream releases the decompressors
+     */
+    private Stream<Transaction> readYear(int year) {
+        List<SegmentReader> readers = new ArrayList<>();
+        for (long segmentId : archiveSegmentRepository.findIdsByYear(year)) {
+            archiveSegmentRepository.findById(segmentId).ifPresent(segment -> readers.add(new SegmentReader(segment)));
+        }
+        MergingReader reader = new MergingReader(readers);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(reader,
+                Spliterator.ORDERED | Spliterator.NONNULL), false).onClose(reader::close);
+    }
+}
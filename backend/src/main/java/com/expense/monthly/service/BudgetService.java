@@ -0,0 +1,55 @@
+package com.expense.monthly.service;
+
+import com.expense.monthly.dto.BudgetDTO;
+import com.expense.monthly.dto.BudgetStatusDTO;
+import com.expense.monthly.model.BudgetAlert;
+
+import java.util.List;
+
+/**
+ * Service interface for category budgets and budget alerts.
+ */
+public interface BudgetService {
+
+    /**
+     * Create or replace the budget for a category.
+     *
+     * @param budgetDTO Budget data
+     * @return Saved budget
+     */
+    BudgetDTO saveBudget(BudgetDTO budgetDTO);
+
+    /**
+     * Get all budgets.
+     *
+     * @return List of budgets
+     */
+    List<BudgetDTO> getBudgets();
+
+    /**
+     * Delete the budget for a category (case insensitive).
+     *
+     * @param category Category name
+     * @return True if a budget was deleted
+     */
+    boolean deleteBudget(String category);
+
+    /**
+     * Get budget usage for every budgeted category in a month.
+     * Served from running totals, so this never scans the transactions table.
+     *
+     * @param month Month (1-12)
+     * @param year Year
+     * @return List of budget statuses
+     */
+    List<BudgetStatusDTO> getBudgetStatus(int month, int year);
+
+    /**
+     * Get alerts raised for a month.
+     *
+     * @param month Month (1-12)
+     * @param year Year
+     * @return List of alerts, oldest first
+     */
+    List<BudgetAlert> getAlerts(int month, int year);
+}
@@ -0,0 +1,292 @@
+package com.expense.monthly.service;
+
+import com.expense.monthly.dto.BudgetDTO;
+import com.expense.monthly.dto.BudgetStatusDTO;
+import com.expense.monthly.event.TransactionsResetEvent;
+import com.expense.monthly.event.TransactionsSavedEvent;
+import com.expense.monthly.model.Budget;
+import com.expense.monthly.model.BudgetAlert;
+import com.expense.monthly.model.Transaction;
+import com.expense.monthly.repository.BudgetAlertRepository;
+import com.expense.monthly.repository.BudgetRepository;
+import com.expense.monthly.snapshot.SnapshotParticipant;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of the BudgetService interface.
+ * Keeps a running spend total per (category, month) that is seeded once at startup and then updated
+ * incrementally from each saved batch; alerts are evaluated against those totals in the same pass. The running
+ * totals are saved in the warm-start snapshot. Budgets themselves are always read from the database, so a budget
+ * saved through any instance applies everywhere as soon as it commits.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BudgetServiceImpl implements BudgetService, SnapshotParticipant {
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    private final BudgetRepository budgetRepository;
+    private final BudgetAlertRepository budgetAlertRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Map<CategoryMonth, BigDecimal> spend = new ConcurrentHashMap<>();
+
+    /**
+     * Seed the running totals with a single grouped aggregate.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        synchronized (spend) {
+            spend.clear();
+            RowCallbackHandler seed = rs -> spend.merge(
+                    new CategoryMonth(rs.getString(1), rs.getInt(2), rs.getInt(3)), rs.getBigDecimal(4), BigDecimal::add);
+            jdbcTemplate.query("SELECT LOWER(TRIM(category)), transaction_month, transaction_year, "
+                    + "SUM(COALESCE(base_amount, amount)) FROM transactions "
+                    + "GROUP BY LOWER(TRIM(category)), transaction_month, transaction_year", seed);
+            jdbcTemplate.query("SELECT TRIM(category), archive_month, archive_year, total FROM archived_totals", seed);
+        }
+        log.info("Loaded {} category-month totals", spend.size());
+    }
+
+    /**
+     * Add a committed batch to the running totals and record an alert for every budget threshold it crosses.
+     * Runs after the batch's commit, so the alerts are written in a transaction and on a connection of their own.
+     *
+     * @param event Saved transactions
+     */
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onTransactionsSaved(TransactionsSavedEvent event) {
+        Map<CategoryMonth, BigDecimal> deltas = new HashMap<>();
+        for (Transaction transaction : event.getTransactions()) {
+            CategoryMonth key = new CategoryMonth(normalize(transaction.getCategory()),
+                    transaction.getMonth(), transaction.getYear());
+            deltas.merge(key, transaction.amountInBaseCurrency(), BigDecimal::add);
+        }
+
+        Map<String, Budget> budgets = budgetRepository.findAll().stream()
+                .collect(Collectors.toMap(Budget::getCategory, Function.identity()));
+        List<BudgetAlert> alerts = new ArrayList<>();
+        synchronized (spend) {
+            deltas.forEach((key, delta) -> {
+                BigDecimal before = spend.getOrDefault(key, BigDecimal.ZERO);
+                BigDecimal after = before.add(delta);
+                spend.put(key, after);
+
+                Budget budget = budgets.get(key.getCategory());
+                if (budget != null) {
+                    checkThreshold(budget, budget.getAlertThresholdPercent(), key, before, after, alerts);
+                    if (budget.getAlertThresholdPercent() < 100) {
+                        checkThreshold(budget, 100, key, before, after, alerts);
+                    }
+                }
+            });
+        }
+
+        if (!alerts.isEmpty()) {
+            log.info("Raising {} budget alerts", alerts.size());
+            budgetAlertRepository.saveAll(alerts);
+        }
+    }
+
+    /**
+     * Clear running totals after all transactions have been deleted. Budgets are kept.
+     *
+     * @param event Reset event
+     */
+    @Override
+    public void onTransactionsReset(TransactionsResetEvent event) {
+        log.info("Clearing budget totals");
+        spend.clear();
+    }
+
+    /**
+     * Delete the alerts along with the transactions, in the same transaction and on its connection.
+     *
+     * @param event Reset event
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    @Transactional
+    public void deleteAlerts(TransactionsResetEvent event) {
+        log.info("Deleting budget alerts");
+        budgetAlertRepository.deleteAllInBatch();
+    }
+
+    /**
+     * {@inheritDoc}
+     * Only adds to the running totals: alerts for these transactions were raised when they were first saved.
+     */
+    @Override
+    public void catchUp(List<Transaction> transactions) {
+        synchronized (spend) {
+            for (Transaction transaction : transactions) {
+                CategoryMonth key = new CategoryMonth(normalize(transaction.getCategory()),
+                        transaction.getMonth(), transaction.getYear());
+                spend.merge(key, transaction.amountInBaseCurrency(), BigDecimal::add);
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getSnapshotName() {
+        return "budgets";
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void writeSnapshot(DataOutput out) throws IOException {
+        synchronized (spend) {
+            out.writeInt(spend.size());
+            for (Map.Entry<CategoryMonth, BigDecimal> entry : spend.entrySet()) {
+                out.writeUTF(entry.getKey().getCategory());
+                out.writeInt(entry.getKey().getMonth());
+                out.writeInt(entry.getKey().getYear());
+                out.writeUTF(entry.getValue().toString());
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void readSnapshot(DataInput in) throws IOException {
+        synchronized (spend) {
+            spend.clear();
+            int entries = in.readInt();
+            for (int i = 0; i < entries; i++) {
+                spend.put(new CategoryMonth(in.readUTF(), in.readInt(), in.readInt()), new BigDecimal(in.readUTF()));
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional
+    public BudgetDTO saveBudget(BudgetDTO budgetDTO) {
+        String category = normalize(budgetDTO.getCategory());
+        log.info("Saving budget for category: {}", category);
+        Budget budget = budgetRepository.findByCategory(category).orElseGet(Budget::new);
+        budget.setCategory(category);
+        budget.setMonthlyLimit(budgetDTO.getMonthlyLimit());
+        budget.setAlertThresholdPercent(budgetDTO.getAlertThresholdPercent());
+        Budget saved = budgetRepository.save(budget);
+        return BudgetDTO.fromEntity(saved);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<BudgetDTO> getBudgets() {
+        log.info("Retrieving all budgets");
+        return budgetRepository.findAll().stream()
+                .map(BudgetDTO::fromEntity)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional
+    public boolean deleteBudget(String category) {
+        String key = normalize(category);
+        log.info("Deleting budget for category: {}", key);
+        return budgetRepository.findByCategory(key)
+                .map(budget -> {
+                    budgetRepository.delete(budget);
+                    return true;
+                })
+                .orElse(false);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<BudgetStatusDTO> getBudgetStatus(int month, int year) {
+        log.info("Retrieving budget status for month: {}, year: {}", month, year);
+        return budgetRepository.findAll().stream()
+                .map(budget -> {
+                    BigDecimal spent = spend.getOrDefault(new CategoryMonth(budget.getCategory(), month, year), BigDecimal.ZERO);
+                    BigDecimal percentUsed = spent.multiply(HUNDRED)
+                            .divide(budget.getMonthlyLimit(), 2, RoundingMode.HALF_UP);
+                    return new BudgetStatusDTO(budget.getCategory(), month, year, budget.getMonthlyLimit(),
+                            spent, budget.getMonthlyLimit().subtract(spent), percentUsed);
+                })
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<BudgetAlert> getAlerts(int month, int year) {
+        log.info("Retrieving budget alerts for month: {}, year: {}", month, year);
+        return budgetAlertRepository.findByMonthAndYearOrderByTriggeredAtAsc(month, year);
+    }
+
+    private static void checkThreshold(Budget budget, int percent, CategoryMonth key,
+                                       BigDecimal before, BigDecimal after, List<BudgetAlert> alerts) {
+        BigDecimal threshold = budget.getMonthlyLimit().multiply(BigDecimal.valueOf(percent)).divide(HUNDRED);
+        if (before.compareTo(threshold) < 0 && after.compareTo(threshold) >= 0) {
+            alerts.add(BudgetAlert.builder()
+                    .category(key.getCategory())
+                    .month(key.getMonth())
+                    .year(key.getYear())
+                    .thresholdPercent(percent)
+                    .spent(after)
+                    .monthlyLimit(budget.getMonthlyLimit())
+                    .triggeredAt(LocalDateTime.now())
+                    .build());
+        }
+    }
+
+    private static String normalize(String category) {
+        return category == null ? "" : category.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Key of a running spend total.
+     */
+    @Value
+    private static class CategoryMonth {
+        String category;
+        int month;
+        int year;
+    }
+}
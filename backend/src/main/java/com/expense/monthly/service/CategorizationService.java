@@ -0,0 +1,28 @@
+package com.expense.monthly.service;
+
+/**
+ * Service interface for rule-based automatic categorization of transactions.
+ */
+public interface CategorizationService {
+
+    /**
+     * Category assigned when no rule matches a description.
+     */
+    String UNCATEGORIZED = "Uncategorized";
+
+    /**
+     * Find the category for a description using the loaded keyword rules.
+     * When several keywords occur in the description, the longest one wins.
+     *
+     * @param description Transaction description
+     * @return Matching category, or {@link #UNCATEGORIZED} if no rule matches
+     */
+    String categorize(String description);
+
+    /**
+     * Reload the rules from their configured location.
+     *
+     * @return Number of rules loaded
+     */
+    int reloadRules();
+}
@@ -0,0 +1,152 @@
+package com.expense.monthly.service;
+
+import com.expense.monthly.ingest.KeywordMatcher;
+import com.opencsv.CSVParserBuilder;
+import com.opencsv.CSVReader;
+import com.opencsv.CSVReaderBuilder;
+import com.opencsv.ICSVParser;
+import com.opencsv.exceptions.CsvValidationException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Implementation of the CategorizationService interface.
+ * Rules are read from a two-column CSV ({@code Keyword,Category}) and compiled into an Aho-Corasick automaton,
+ * so each description is categorized in a single pass regardless of how many rules exist. A keyword written as
+ * {@code /regex/} is a pattern instead; patterns cannot join the automaton, so they are tried in file order only
+ * when no keyword matches and should be kept for the few merchants a keyword cannot describe. When the rules
+ * live on the filesystem they are reloaded automatically after the file changes.
+ */
+@Service
+@Slf4j
+public class CategorizationServiceImpl implements CategorizationService {
+
+    private final Resource rulesLocation;
+
+    private volatile Rules rules = new Rules(KeywordMatcher.of(Map.of()), Map.of());
+    private volatile long rulesLastModified;
+
+    public CategorizationServiceImpl(@Value("${categorization.rules-location:classpath:categorization-rules.csv}") Resource rulesLocation) {
+        this.rulesLocation = rulesLocation;
+    }
+
+    /**
+     * Load the rules on startup.
+     */
+    @PostConstruct
+    public void init() {
+        reloadRules();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String categorize(String description) {
+        Rules current = rules;
+        String category = current.keywords.match(description);
+        if (category == null && description != null) {
+            for (Map.Entry<Pattern, String> pattern : current.patterns.entrySet()) {
+                if (pattern.getKey().matcher(description).find()) {
+                    return pattern.getValue();
+                }
+            }
+        }
+        return category != null ? category : UNCATEGORIZED;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized int reloadRules() {
+        if (!rulesLocation.exists()) {
+            log.warn("Categorization rules not found at {}", rulesLocation);
+            return rules.size();
+        }
+        Map<String, String> keywords = new HashMap<>();
+        Map<Pattern, String> patterns = new LinkedHashMap<>();
+        try (Reader reader = new InputStreamReader(rulesLocation.getInputStream(), StandardCharsets.UTF_8);
+             // No escape character, so backslashes in patterns reach the regex compiler
+             CSVReader csvReader = new CSVReaderBuilder(reader)
+                     .withCSVParser(new CSVParserBuilder().withEscapeChar(ICSVParser.NULL_CHARACTER).build())
+                     .build()) {
+            csvReader.skip(1);
+            String[] line;
+            while ((line = csvReader.readNext()) != null) {
+                if (line.length < 2 || line[0].isBlank() || line[1].isBlank()) {
+                    continue;
+                }
+                String keyword = line[0].trim();
+                if (keyword.length() > 2 && keyword.startsWith("/") && keyword.endsWith("/")) {
+                    patterns.put(Pattern.compile(keyword.substring(1, keyword.length() - 1),
+                            Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE), line[1].trim());
+                } else {
+                    keywords.put(keyword, line[1].trim());
+                }
+            }
+            rulesLastModified = lastModified();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read categorization rules from " + rulesLocation, e);
+        } catch (CsvValidationException | PatternSyntaxException e) {
+            throw new IllegalStateException("Invalid categorization rules in " + rulesLocation, e);
+        }
+        // Swap in a fully built rule set so concurrent ingest never sees a partial one
+        rules = new Rules(KeywordMatcher.of(keywords), patterns);
+        log.info("Loaded {} categorization rules from {}", rules.size(), rulesLocation);
+        return rules.size();
+    }
+
+    /**
+     * Reload the rules if the underlying file has changed since it was last read.
+     */
+    @Scheduled(fixedDelayString = "${categorization.reload-interval-ms:30000}")
+    public void reloadIfModified() {
+        long modified = lastModified();
+        if (modified > 0 && modified != rulesLastModified) {
+            log.info("Categorization rules changed, reloading");
+            reloadRules();
+        }
+    }
+
+    private long lastModified() {
+        try {
+            return rulesLocation.isFile() ? rulesLocation.lastModified() : 0;
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Keyword automaton and patterns loaded together, so a reload replaces both at once.
+     */
+    private static final class Rules {
+
+        private final KeywordMatcher<String> keywords;
+        private final Map<Pattern, String> patterns;
+
+        private Rules(KeywordMatcher<String> keywords, Map<Pattern, String> patterns) {
+            this.keywords = keywords;
+            this.patterns = patterns;
+        }
+
+        private int size() {
+            return keywords.size() + patterns.size();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.expense.monthly.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Service interface for converting amounts into the base currency.
+ */
+public interface FxRateService {
+
+    /**
+     * Get the base currency all totals are reported in.
+     *
+     * @return ISO 4217 currency code
+     */
+    String getBaseCurrency();
+
+    /**
+     * Convert an amount into the base currency using the most recent rate on or before the given date.
+     *
+     * @param amount Amount to convert
+     * @param currency ISO 4217 currency code of the amount; null or blank means the base currency
+     * @param date Date whose rate applies
+     * @return Amount in the base currency
+     * @throws IllegalArgumentException If no rate is known for the currency on or before the date
+     */
+    BigDecimal toBaseCurrency(BigDecimal amount, String currency, LocalDate date);
+
+    /**
+     * Reload the rate table from its configured location.
+     *
+     * @return Number of rates loaded
+     */
+    int reloadRates();
+}
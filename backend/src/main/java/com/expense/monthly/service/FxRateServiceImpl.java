@@ -0,0 +1,112 @@
+package com.expense.monthly.service;
+
+import com.opencsv.CSVReader;
+import com.opencsv.exceptions.CsvValidationException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Implementation of the FxRateService interface.
+ * Rates are read once from a local {@code Date,Currency,Rate} CSV, where Rate is the number of base currency
+ * units per unit of Currency, and held in a per-currency date-indexed map for lock-free lookups at ingest.
+ */
+@Service
+@Slf4j
+public class FxRateServiceImpl implements FxRateService {
+
+    private static final DateTimeFormatter RATE_DATE_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    private final String baseCurrency;
+    private final Resource ratesLocation;
+
+    private volatile Map<String, NavigableMap<LocalDate, BigDecimal>> rates = Map.of();
+
+    public FxRateServiceImpl(@Value("${fx.base-currency:GBP}") String baseCurrency,
+                             @Value("${fx.rates-location:classpath:fx-rates.csv}") Resource ratesLocation) {
+        this.baseCurrency = baseCurrency.toUpperCase(Locale.ROOT);
+        this.ratesLocation = ratesLocation;
+    }
+
+    /**
+     * Load the rate table on startup.
+     */
+    @PostConstruct
+    public void init() {
+        reloadRates();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getBaseCurrency() {
+        return baseCurrency;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BigDecimal toBaseCurrency(BigDecimal amount, String currency, LocalDate date) {
+        if (currency == null || currency.isBlank() || currency.equalsIgnoreCase(baseCurrency)) {
+            return amount;
+        }
+        NavigableMap<LocalDate, BigDecimal> currencyRates = rates.get(currency.trim().toUpperCase(Locale.ROOT));
+        Map.Entry<LocalDate, BigDecimal> rate = currencyRates != null ? currencyRates.floorEntry(date) : null;
+        if (rate == null) {
+            throw new IllegalArgumentException("No " + currency + " to " + baseCurrency + " rate on or before " + date);
+        }
+        return amount.multiply(rate.getValue()).setScale(2, RoundingMode.HALF_EVEN);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized int reloadRates() {
+        if (!ratesLocation.exists()) {
+            log.warn("FX rate table not found at {}; only {} amounts can be ingested", ratesLocation, baseCurrency);
+            return 0;
+        }
+        Map<String, NavigableMap<LocalDate, BigDecimal>> loaded = new HashMap<>();
+        int count = 0;
+        try (Reader reader = new InputStreamReader(ratesLocation.getInputStream(), StandardCharsets.UTF_8);
+             CSVReader csvReader = new CSVReader(reader)) {
+            csvReader.skip(1);
+            String[] line;
+            while ((line = csvReader.readNext()) != null) {
+                if (line.length < 3 || line[0].isBlank()) {
+                    continue;
+                }
+                loaded.computeIfAbsent(line[1].trim().toUpperCase(Locale.ROOT), currency -> new TreeMap<>())
+                        .put(LocalDate.parse(line[0].trim(), RATE_DATE_FORMAT), new BigDecimal(line[2].trim()));
+                count++;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read FX rates from " + ratesLocation, e);
+        } catch (CsvValidationException e) {
+            throw new IllegalStateException("Invalid FX rates in " + ratesLocation, e);
+        }
+        rates = loaded;
+        log.info("Loaded {} FX rates for {} currencies into {}", count, loaded.size(), baseCurrency);
+        return count;
+    }
+}
@@ -0,0 +1,24 @@
+package com.expense.monthly.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Service interface for pushing ledger changes to connected dashboards.
+ */
+public interface LiveUpdateService {
+
+    /**
+     * Open a live-update stream.
+     *
+     * @param lastEventId Id of the last notification the client received before reconnecting, or null
+     * @return Emitter that receives every later notification
+     */
+    SseEmitter subscribe(String lastEventId);
+
+    /**
+     * Number of open streams.
+     *
+     * @return Subscriber count
+     */
+    int getSubscriberCount();
+}
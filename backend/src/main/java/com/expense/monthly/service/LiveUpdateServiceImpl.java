@@ -0,0 +1,411 @@
+package com.expense.monthly.service;
+
+import com.expense.monthly.dto.ChangeNotificationDTO;
+import com.expense.monthly.event.TransactionsChangedElsewhereEvent;
+import com.expense.monthly.event.TransactionsImportedEvent;
+import com.expense.monthly.event.TransactionsResetEvent;
+import com.expense.monthly.event.TransactionsSavedEvent;
+import com.expense.monthly.model.Transaction;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Implementation of the LiveUpdateService interface.
+ * Each committed batch or reset is summarized and serialized once on the committing thread, then queued for every
+ * open stream. Each stream has its own queue of at most {@code live.queue-size} events, written by one of
+ * {@code live.writer-threads} pooled threads only while it has events, so writers never wait for subscribers and an
+ * idle dashboard costs one parked connection but no thread. A writer takes at most a queue's worth of events from a
+ * stream before giving the others a turn. A client that stops reading holds a writer only until the connector's
+ * write timeout ({@code server.tomcat.connection-timeout}) fails the send, and meanwhile its queue fills and its
+ * stream is closed, so it reconnects and replays what it missed. The last {@code live.replay-size} notifications are kept, so a client that reconnects
+ * with {@code Last-Event-ID} receives what it missed, or a {@code resync} if too much was missed or it was
+ * connected to another instance. Changes made through other instances are only noticed by the periodic
+ * {@link com.expense.monthly.snapshot.WarmStartSnapshot#refresh() refresh}, which turns into a {@code resync}.
+ * Event ids are {@code <instance epoch>-<sequence>}.
+ */
+@Service
+@Slf4j
+public class LiveUpdateServiceImpl implements LiveUpdateService {
+
+    /**
+     * A serialized notification with its stream id.
+     */
+    private static final class Notification {
+        private final long id;
+        private final String type;
+        private final String json;
+
+        private Notification(long id, String type, String json) {
+            this.id = id;
+            this.type = type;
+            this.json = json;
+        }
+    }
+
+    /**
+     * An open stream and the events waiting to be written to it.
+     */
+    private final class Subscriber implements Runnable {
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> pending;
+        private final AtomicBoolean writing = new AtomicBoolean();
+
+        private Subscriber(SseEmitter emitter, int capacity) {
+            this.emitter = emitter;
+            this.pending = new LinkedBlockingQueue<>(capacity);
+        }
+
+        /**
+         * Queue an event and make sure a writer is running, or close the stream if the client has fallen behind.
+         *
+         * @param event Event builder for this stream only; sending consumes it
+         */
+        private void offer(SseEmitter.SseEventBuilder event) {
+            if (!pending.offer(event)) {
+                log.debug("Closing live-update stream whose client fell {} events behind", pending.size());
+                close(null);
+                return;
+            }
+            if (writing.compareAndSet(false, true)) {
+                execute(this);
+            }
+        }
+
+        /**
+         * Write queued events until none are left, or hand the stream back to the pool after a queue's worth so
+         * that a busy stream does not keep a writer from the others. At most one writer runs per stream, so events
+         * stay in order.
+         */
+        @Override
+        public void run() {
+            do {
+                SseEmitter.SseEventBuilder event;
+                int written = 0;
+                while ((event = pending.poll()) != null) {
+                    try {
+                        emitter.send(event);
+                    } catch (IOException | IllegalStateException e) {
+                        close(e);
+                        return;
+                    }
+                    if (++written == queueSize && !pending.isEmpty()) {
+                        execute(this);
+                        return;
+                    }
+                }
+                writing.set(false);
+                // An event queued after the last poll but before the flag was cleared started no writer of its own
+            } while (!pending.isEmpty() && writing.compareAndSet(false, true));
+        }
+
+        /**
+         * Stop sending to the stream and complete it on a writer thread, as completing waits for a send in progress.
+         *
+         * @param error Failed send, or null if the client fell behind
+         */
+        private void close(Exception error) {
+            if (subscribers.remove(this)) {
+                pending.clear();
+                execute(() -> {
+                    if (error == null) {
+                        emitter.complete();
+                    } else {
+                        emitter.completeWithError(error);
+                    }
+                });
+            }
+        }
+    }
+
+    /**
+     * Amount an import added per month and category, read back from its committed rows.
+     */
+    private static final String IMPORT_SUMMARY_SQL = "SELECT transaction_year, transaction_month, LOWER(category), "
+            + "COUNT(*), SUM(COALESCE(base_amount, amount)) FROM transactions WHERE id BETWEEN ? AND ? "
+            + "GROUP BY transaction_year, transaction_month, LOWER(category)";
+
+    /**
+     * Running totals for a batch notification.
+     */
+    private static final class Summary {
+        private long count;
+        private BigDecimal total = BigDecimal.ZERO;
+        private final TreeMap<String, BigDecimal> months = new TreeMap<>();
+        private final TreeMap<String, BigDecimal> categories = new TreeMap<>();
+
+        private void add(int year, int month, String category, long transactions, BigDecimal amount) {
+            count += transactions;
+            total = total.add(amount);
+            months.merge(String.format("%04d-%02d", year, month), amount, BigDecimal::add);
+            categories.merge(category.toLowerCase(Locale.ROOT), amount, BigDecimal::add);
+        }
+
+        private ChangeNotificationDTO toNotification() {
+            return new ChangeNotificationDTO(ChangeNotificationDTO.BATCH, Math.toIntExact(count), total, months, categories);
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final long timeoutMillis;
+    private final long reconnectMillis;
+    private final int replaySize;
+    private final int queueSize;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger writerThreadCount = new AtomicInteger();
+    private final ExecutorService writers;
+
+    /**
+     * Recent notifications, oldest first. Guarded by its own monitor, which is also held while a notification is
+     * queued for every subscriber and while a new subscriber is queued its replay and added, so each stream
+     * receives every notification exactly once and in order.
+     */
+    private final Deque<Notification> recent = new ArrayDeque<>();
+    private long lastId;
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    public LiveUpdateServiceImpl(JdbcTemplate jdbcTemplate,
+                                 ObjectMapper objectMapper,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${live.timeout-ms:1800000}") long timeoutMillis,
+                                 @Value("${live.reconnect-ms:5000}") long reconnectMillis,
+                                 @Value("${live.replay-size:256}") int replaySize,
+                                 @Value("${live.queue-size:64}") int queueSize,
+                                 @Value("${live.writer-threads:4}") int writerThreads) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.timeoutMillis = timeoutMillis;
+        this.reconnectMillis = reconnectMillis;
+        this.replaySize = replaySize;
+        this.queueSize = queueSize;
+        this.writers = Executors.newFixedThreadPool(writerThreads, runnable -> {
+            Thread thread = new Thread(runnable, "live-updates-" + writerThreadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        Gauge.builder("live.subscribers", subscribers, Set::size)
+                .description("Open live-update streams")
+                .register(meterRegistry);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public SseEmitter subscribe(String lastEventId) {
+        SseEmitter emitter = createEmitter();
+        Long resumeAfter = lastEventId == null || lastEventId.isBlank() ? null : parseEventId(lastEventId);
+        synchronized (recent) {
+            List<Notification> missed = resumeAfter == null ? List.of() : missedSince(resumeAfter);
+            // The replay may fill up to the whole history; only what arrives after it counts against the queue
+            Subscriber subscriber = new Subscriber(emitter, queueSize + missed.size() + 1);
+            emitter.onCompletion(() -> subscribers.remove(subscriber));
+            emitter.onTimeout(() -> subscribers.remove(subscriber));
+            emitter.onError(error -> subscribers.remove(subscriber));
+            subscriber.offer(SseEmitter.event().reconnectTime(reconnectMillis).comment("connected"));
+            missed.forEach(notification -> subscriber.offer(event(notification)));
+            subscribers.add(subscriber);
+        }
+        return emitter;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * Push the totals added by a committed batch.
+     *
+     * @param event Saved transactions
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransactionsSaved(TransactionsSavedEvent event) {
+        if (!event.getTransactions().isEmpty()) {
+            publish(summarize(event.getTransactions()));
+        }
+    }
+
+    /**
+     * Push the totals added by a committed import, summed by the database rather than from the imported rows.
+     *
+     * @param event Imported transaction ids
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransactionsImported(TransactionsImportedEvent event) {
+        Summary summary = new Summary();
+        RowCallbackHandler row = rs -> summary.add(rs.getInt(1), rs.getInt(2), rs.getString(3), rs.getLong(4),
+                rs.getBigDecimal(5));
+        event.getIds().forEach((from, to) -> jdbcTemplate.query(IMPORT_SUMMARY_SQL, row, from, to));
+        if (summary.count > 0) {
+            publish(summary.toNotification());
+        }
+    }
+
+    /**
+     * Push a reset.
+     *
+     * @param event Reset event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransactionsReset(TransactionsResetEvent event) {
+        publish(new ChangeNotificationDTO(ChangeNotificationDTO.RESET));
+    }
+
+    /**
+     * Ask every client to reload after other instances have changed the ledger; their events never reach here.
+     *
+     * @param event Change through other instances
+     */
+    @EventListener
+    public void onTransactionsChangedElsewhere(TransactionsChangedElsewhereEvent event) {
+        publish(new ChangeNotificationDTO(ChangeNotificationDTO.RESYNC));
+    }
+
+    /**
+     * Send a comment to every stream, which keeps proxies from closing idle connections and detects dead clients.
+     */
+    @Scheduled(fixedDelayString = "${live.heartbeat-ms:30000}")
+    public void heartbeat() {
+        subscribers.forEach(subscriber -> subscriber.offer(SseEmitter.event().comment("heartbeat")));
+    }
+
+    /**
+     * Close every stream on shutdown; clients reconnect to another instance.
+     */
+    @PreDestroy
+    public void shutdown() {
+        writers.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+    }
+
+    SseEmitter createEmitter() {
+        return new SseEmitter(timeoutMillis);
+    }
+
+    /**
+     * Sum a batch per month and category, keyed like the monthly and category totals endpoints.
+     *
+     * @param transactions Saved transactions
+     * @return Batch notification
+     */
+    static ChangeNotificationDTO summarize(List<Transaction> transactions) {
+        Summary summary = new Summary();
+        for (Transaction transaction : transactions) {
+            summary.add(transaction.getYear(), transaction.getMonth(), transaction.getCategory(), 1,
+                    transaction.amountInBaseCurrency());
+        }
+        return summary.toNotification();
+    }
+
+    private void publish(ChangeNotificationDTO change) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(change);
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize live update", e);
+            return;
+        }
+        synchronized (recent) {
+            Notification notification = new Notification(++lastId, change.getType(), json);
+            recent.addLast(notification);
+            if (recent.size() > replaySize) {
+                recent.removeFirst();
+            }
+            // A builder per stream; builders cannot be shared because sending consumes them
+            subscribers.forEach(subscriber -> subscriber.offer(event(notification)));
+        }
+    }
+
+    private void execute(Runnable task) {
+        try {
+            writers.execute(task);
+        } catch (RejectedExecutionException e) {
+            log.debug("Live updates are shutting down");
+        }
+    }
+
+    /**
+     * Notifications after an id, or a single resync if they are no longer all available.
+     * Must be called while holding the {@code recent} monitor.
+     *
+     * @param eventId Last id the client received; -1 if it came from another instance
+     * @return Notifications to replay
+     */
+    private List<Notification> missedSince(long eventId) {
+        List<Notification> missed = new ArrayList<>();
+        if (eventId == lastId) {
+            return missed;
+        }
+        if (eventId < 0 || eventId > lastId || recent.isEmpty() || recent.getFirst().id > eventId + 1) {
+            // Older notifications were dropped, or the id is from another instance; the client must reload
+            missed.add(new Notification(lastId, ChangeNotificationDTO.RESYNC, "{\"type\":\"resync\"}"));
+            return missed;
+        }
+        for (Notification notification : recent) {
+            if (notification.id > eventId) {
+                missed.add(notification);
+            }
+        }
+        return missed;
+    }
+
+    private SseEmitter.SseEventBuilder event(Notification notification) {
+        return SseEmitter.event()
+                .id(epoch + "-" + notification.id)
+                .name(notification.type)
+                .data(notification.json);
+    }
+
+    /**
+     * Sequence number of an event id issued by this instance.
+     *
+     * @param lastEventId Event id sent by the client
+     * @return Sequence number, or -1 if the id was not issued by this instance
+     */
+    private long parseEventId(String lastEventId) {
+        String prefix = epoch + "-";
+        if (lastEventId.startsWith(prefix)) {
+            try {
+                return Long.parseLong(lastEventId.substring(prefix.length()));
+            } catch (NumberFormatException e) {
+                return -1;
+            }
+        }
+        return -1;
+    }
+}
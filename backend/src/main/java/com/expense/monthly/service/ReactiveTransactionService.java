@@ -0,0 +1,56 @@
+package com.expense.monthly.service;
+
+import com.expense.monthly.dto.TransactionDTO;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * Service interface for non-blocking transaction reads.
+ * Answers match the corresponding TransactionService reads, archived years included, without holding a
+ * request thread while the database works.
+ */
+public interface ReactiveTransactionService {
+
+    /**
+     * List transactions, optionally filtered by category and by a description fragment.
+     *
+     * @param category Optional category (case insensitive)
+     * @param description Optional description fragment (case insensitive)
+     * @return Transactions
+     */
+    Flux<TransactionDTO> listTransactions(String category, String description);
+
+    /**
+     * List transactions for a specific month and year.
+     *
+     * @param month Month (1-12)
+     * @param year Year
+     * @return Transactions
+     */
+    Flux<TransactionDTO> listTransactionsByMonth(int month, int year);
+
+    /**
+     * Calculate the total amount of all transactions, in the base currency.
+     *
+     * @return Total amount
+     */
+    Mono<BigDecimal> calculateTotalAmount();
+
+    /**
+     * Calculate the total amount for each month of a year, in the base currency.
+     *
+     * @param year Year
+     * @return Map of month (1-12) to total, with every month present
+     */
+    Mono<Map<Integer, BigDecimal>> calculateMonthlyTotals(int year);
+
+    /**
+     * Calculate the total amount per lower-cased category, in the base currency.
+     *
+     * @return Map of category to total
+     */
+    Mono<Map<String, BigDecimal>> calculateTotalsByCategory();
+}
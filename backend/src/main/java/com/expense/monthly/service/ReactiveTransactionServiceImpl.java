@@ -0,0 +1,151 @@
+package com.expense.monthly.service;
+
+import com.expense.monthly.dto.TransactionDTO;
+import com.expense.monthly.model.Transaction;
+import com.expense.monthly.repository.ReactiveArchivedTotalRepository;
+import com.expense.monthly.repository.ReactiveTransactionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Implementation of the ReactiveTransactionService interface.
+ * Hot rows and archived totals come from R2DBC. Archived rows only exist as compressed segments read through
+ * JPA, so they are read on the bounded elastic scheduler and merged with the hot rows by date, the same order as
+ * the blocking reads. The archived years and then each year's segments are loaded inside the JDBC pool's READ
+ * bulkhead, one year at a time and only as fast as the subscriber requests rows, which are decoded as they are
+ * emitted; a cancelled stream loads no further year. R2DBC queries need no bulkhead: its pool
+ * ({@code spring.r2dbc.pool.max-size}) is separate from the JDBC pool and bounds concurrent queries by itself.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReactiveTransactionServiceImpl implements ReactiveTransactionService {
+
+    private final ReactiveTransactionRepository reactiveTransactionRepository;
+    private final ReactiveArchivedTotalRepository reactiveArchivedTotalRepository;
+    private final ArchiveService archiveService;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Flux<TransactionDTO> listTransactions(String category, String description) {
+        boolean byCategory = category != null && !category.isEmpty();
+        boolean byDescription = description != null && !description.isEmpty();
+        if (byCategory && byDescription) {
+            return byDate(archived(null, byCategory(category).and(byDescription(description))),
+                    reactiveTransactionRepository.findDtosByCategoryAndDescription(category, description));
+        }
+        if (byCategory) {
+            return byDate(archived(null, byCategory(category)),
+                    reactiveTransactionRepository.findDtosByCategory(category));
+        }
+        if (byDescription) {
+            return byDate(archived(null, byDescription(description)),
+                    reactiveTransactionRepository.findDtosByDescription(description));
+        }
+        return byDate(archived(null, transaction -> true), reactiveTransactionRepository.findAllDtos());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Flux<TransactionDTO> listTransactionsByMonth(int month, int year) {
+        return byDate(archived(year, transaction -> transaction.getMonth() == month),
+                reactiveTransactionRepository.findDtosByMonthAndYear(month, year));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Mono<BigDecimal> calculateTotalAmount() {
+        return Mono.zip(reactiveTransactionRepository.calculateTotalAmount(), reactiveArchivedTotalRepository.calculateTotalAmount(),
+                BigDecimal::add);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Mono<Map<Integer, BigDecimal>> calculateMonthlyTotals(int year) {
+        return reactiveTransactionRepository.calculateMonthlyTotals(year)
+                .concatWith(reactiveArchivedTotalRepository.calculateMonthlyTotals(year))
+                .reduceWith(ReactiveTransactionServiceImpl::emptyYear, (totals, row) -> {
+                    totals.merge((Integer) row[0], (BigDecimal) row[1], BigDecimal::add);
+                    return totals;
+                });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Mono<Map<String, BigDecimal>> calculateTotalsByCategory() {
+        return reactiveTransactionRepository.calculateTotalsByCategory()
+                .concatWith(reactiveArchivedTotalRepository.calculateTotalsByCategory())
+                .reduceWith(HashMap::new, (totals, row) -> {
+                    totals.merge((String) row[0], (BigDecimal) row[1], BigDecimal::add);
+                    return totals;
+                });
+    }
+
+    /**
+     * Archived transactions matching a filter, in date order, read year by year off the subscriber's thread.
+     *
+     * @param year Year to read, or null for every archived year
+     * @param filter Filter applied to each archived transaction
+     * @return Matching archived transactions
+     */
+    private Flux<TransactionDTO> archived(Integer year, Predicate<Transaction> filter) {
+        Flux<Integer> years = year != null
+                ? Flux.just(year)
+                : Mono.fromCallable(archiveService::getArchivedYears)
+                        .subscribeOn(Schedulers.boundedElastic())
+                        .flatMapIterable(Function.identity());
+        // fromStream closes the year's stream on completion or cancellation
+        return years.concatMap(archivedYear -> Flux.fromStream(() -> archiveService.streamArchivedYear(archivedYear))
+                        .subscribeOn(Schedulers.boundedElastic()), 1)
+                .filter(filter)
+                .map(TransactionDTO::fromEntity);
+    }
+
+    /**
+     * Merge archived and hot rows, each in date order, into one list in date order; archived rows come first on
+     * the same date.
+     *
+     * @param archived Archived rows
+     * @param hot Hot rows
+     * @return Rows of both in date order
+     */
+    private static Flux<TransactionDTO> byDate(Flux<TransactionDTO> archived, Flux<TransactionDTO> hot) {
+        return Flux.mergeComparing(Comparator.comparing(TransactionDTO::getDate), archived, hot);
+    }
+
+    private static Map<Integer, BigDecimal> emptyYear() {
+        Map<Integer, BigDecimal> totals = new HashMap<>();
+        for (int month = 1; month <= 12; month++) {
+            totals.put(month, BigDecimal.ZERO);
+        }
+        return totals;
+    }
+
+    private static Predicate<Transaction> byCategory(String category) {
+        return transaction -> transaction.getCategory().equalsIgnoreCase(category);
+    }
+
+    private static Predicate<Transaction> byDescription(String description) {
+        String needle = description.toLowerCase();
+        return transaction -> transaction.getDescription().toLowerCase().contains(needle);
+    }
+}
@@ -0,0 +1,26 @@
+package com.expense.monthly.service;
+
+import com.expense.monthly.dto.RecurringPaymentDTO;
+
+import java.util.List;
+
+/**
+ * Service interface for detecting recurring payments and subscriptions across the whole ledger.
+ */
+public interface RecurringService {
+
+    /**
+     * Get the recurring payments found by the last analysis, highest annual cost first.
+     *
+     * @param activeOnly Whether to leave out payments whose next charge is overdue
+     * @return Recurring payments
+     */
+    List<RecurringPaymentDTO> getRecurringPayments(boolean activeOnly);
+
+    /**
+     * Analyze the ledger now instead of waiting for the next scheduled run.
+     *
+     * @return Number of recurring payments found
+     */
+    int analyze();
+}
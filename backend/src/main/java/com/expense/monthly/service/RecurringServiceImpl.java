@@ -0,0 +1,356 @@
+package com.expense.monthly.service;
+
+import com.expense.monthly.analytics.Merchants;
+import com.expense.monthly.bulkhead.Bulkhead;
+import com.expense.monthly.bulkhead.Workload;
+import com.expense.monthly.dto.RecurringPaymentDTO;
+import com.expense.monthly.event.TransactionsResetEvent;
+import com.expense.monthly.repository.CursorQueries;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PreDestroy;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of the RecurringService interface.
+ * A background job streams the ledger once, partitioning charges by payee key into primitive arrays, and then
+ * sorts and checks each partition on a dedicated fork-join pool. A partition is recurring when at least
+ * {@code recurring.min-occurrences} charges within {@code recurring.amount-tolerance-percent} of its median
+ * amount fall on distinct days and at least three quarters of the gaps between them match one frequency.
+ * The job only runs again once the ledger's row count or highest id has changed, which also picks up
+ * transactions saved by other instances; reads return the last published result.
+ */
+@Service
+@Slf4j
+public class RecurringServiceImpl implements RecurringService {
+
+    /**
+     * Partitions checked sequentially by one fork-join task before it stops splitting.
+     */
+    private static final int PARTITIONS_PER_TASK = 256;
+
+    private static final String LEDGER_SQL = "SELECT COUNT(*), COALESCE(MAX(id), 0) FROM transactions";
+
+    private static final Comparator<RecurringPaymentDTO> HIGHEST_COST_FIRST = Comparator
+            .comparing(RecurringPaymentDTO::getAnnualCost).reversed()
+            .thenComparing(RecurringPaymentDTO::getPayee);
+
+    /**
+     * Recognized charge frequencies with the range of days between two charges that counts as on time.
+     */
+    private enum Frequency {
+        WEEKLY(6, 8),
+        FORTNIGHTLY(13, 16),
+        MONTHLY(27, 33),
+        QUARTERLY(84, 98),
+        YEARLY(355, 375);
+
+        private final int minDays;
+        private final int maxDays;
+
+        Frequency(int minDays, int maxDays) {
+            this.minDays = minDays;
+            this.maxDays = maxDays;
+        }
+
+        boolean matches(int days) {
+            return days >= minDays && days <= maxDays;
+        }
+
+        static Frequency of(int days) {
+            for (Frequency frequency : values()) {
+                if (frequency.matches(days)) {
+                    return frequency;
+                }
+            }
+            return null;
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ArchiveService archiveService;
+    private final int minOccurrences;
+    private final double amountTolerance;
+    private final ForkJoinPool pool;
+
+    /**
+     * Row count and highest id of the ledger read before the last completed run; null until one completes.
+     */
+    private volatile long[] analyzedLedger;
+    private long resetVersion;
+    private volatile List<RecurringPaymentDTO> recurringPayments = Collections.emptyList();
+
+    public RecurringServiceImpl(JdbcTemplate jdbcTemplate,
+                                ArchiveService archiveService,
+                                @Value("${recurring.min-occurrences:3}") int minOccurrences,
+                                @Value("${recurring.amount-tolerance-percent:20}") double amountTolerancePercent,
+                                @Value("${recurring.parallelism:0}") int parallelism) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.archiveService = archiveService;
+        this.minOccurrences = Math.max(2, minOccurrences);
+        this.amountTolerance = amountTolerancePercent / 100.0;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors(),
+                forkJoinPool -> {
+                    ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+                    thread.setName("recurring-" + thread.getPoolIndex());
+                    return thread;
+                }, null, false);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<RecurringPaymentDTO> getRecurringPayments(boolean activeOnly) {
+        List<RecurringPaymentDTO> payments = recurringPayments;
+        return activeOnly
+                ? payments.stream().filter(RecurringPaymentDTO::isActive).collect(Collectors.toList())
+                : payments;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    @Bulkhead(Workload.ANALYTICS)
+    public int analyze() {
+        long[] ledger = ledger();
+        int found = detectAll();
+        analyzedLedger = ledger;
+        return found;
+    }
+
+    /**
+     * Re-run the analysis if transactions were saved or deleted on any instance since the last run.
+     */
+    @Scheduled(initialDelayString = "${recurring.initial-delay-ms:60000}", fixedDelayString = "${recurring.interval-ms:900000}")
+    @Transactional(readOnly = true)
+    @Bulkhead(Workload.ANALYTICS)
+    public void analyzeIfChanged() {
+        long[] ledger = ledger();
+        if (!Arrays.equals(ledger, analyzedLedger)) {
+            detectAll();
+            analyzedLedger = ledger;
+        }
+    }
+
+    /**
+     * Drop the result after all transactions have been deleted.
+     *
+     * @param event Reset event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onTransactionsReset(TransactionsResetEvent event) {
+        resetVersion++;
+        recurringPayments = Collections.emptyList();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private int detectAll() {
+        long start = System.currentTimeMillis();
+        long version;
+        synchronized (this) {
+            version = resetVersion;
+        }
+        Map<String, Series> partitions = new HashMap<>();
+        CursorQueries.stream(jdbcTemplate, "SELECT description, COALESCE(base_amount, amount), date FROM transactions",
+                rs -> add(partitions, rs.getString(1), rs.getBigDecimal(2), rs.getObject(3, LocalDate.class)));
+        archiveService.forEachArchivedTransaction(null,
+                transaction -> add(partitions, transaction.getDescription(), transaction.amountInBaseCurrency(), transaction.getDate()));
+
+        List<Map.Entry<String, Series>> entries = new ArrayList<>(partitions.entrySet());
+        long rows = entries.stream().mapToLong(entry -> entry.getValue().size).sum();
+        List<RecurringPaymentDTO> found = new ArrayList<>(pool.invoke(new DetectTask(entries, 0, entries.size(), LocalDate.now())));
+        found.sort(HIGHEST_COST_FIRST);
+
+        synchronized (this) {
+            // A reset during the scan would otherwise bring back payments that no longer exist
+            if (version == resetVersion) {
+                recurringPayments = Collections.unmodifiableList(found);
+            }
+        }
+        log.info("Found {} recurring payments in {} transactions in {} ms",
+                found.size(), rows, System.currentTimeMillis() - start);
+        return found.size();
+    }
+
+    private long[] ledger() {
+        return jdbcTemplate.queryForObject(LEDGER_SQL, (rs, rowNum) -> new long[]{rs.getLong(1), rs.getLong(2)});
+    }
+
+    private static void add(Map<String, Series> partitions, String description, BigDecimal amount, LocalDate date) {
+        if (amount != null && date != null && amount.signum() > 0) {
+            partitions.computeIfAbsent(Merchants.payeeKey(description), key -> new Series()).add(date, amount, description);
+        }
+    }
+
+    /**
+     * Check one payee's charges for a regular frequency.
+     *
+     * @param payee Payee key
+     * @param series Charges of the payee, in any order
+     * @param minOccurrences Minimum number of regular charges
+     * @param amountTolerance Allowed relative deviation from the median amount
+     * @param today Date used to decide whether the payment is still active
+     * @return Recurring payment, or null if the charges are not regular
+     */
+    static RecurringPaymentDTO detect(String payee, Series series, int minOccurrences, double amountTolerance, LocalDate today) {
+        int size = series.size;
+        if (size < minOccurrences) {
+            return null;
+        }
+        // Sort by day, carrying the original index in the low bits
+        long[] order = new long[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = ((long) series.days[i] << 32) | i;
+        }
+        Arrays.sort(order);
+        long medianCents = median(Arrays.copyOf(series.cents, size));
+        long maxDeviation = (long) (medianCents * amountTolerance);
+
+        // Keep charges close to the usual amount, counting several on one day once
+        int[] days = new int[size];
+        long[] cents = new long[size];
+        int kept = 0;
+        for (long entry : order) {
+            int index = (int) entry;
+            if (Math.abs(series.cents[index] - medianCents) > maxDeviation
+                    || kept > 0 && days[kept - 1] == series.days[index]) {
+                continue;
+            }
+            days[kept] = series.days[index];
+            cents[kept] = series.cents[index];
+            kept++;
+        }
+        if (kept < minOccurrences) {
+            return null;
+        }
+
+        int[] intervals = new int[kept - 1];
+        for (int i = 1; i < kept; i++) {
+            intervals[i - 1] = days[i] - days[i - 1];
+        }
+        int[] sortedIntervals = intervals.clone();
+        Arrays.sort(sortedIntervals);
+        int intervalDays = sortedIntervals[(sortedIntervals.length - 1) / 2];
+        Frequency frequency = Frequency.of(intervalDays);
+        if (frequency == null) {
+            return null;
+        }
+        int regular = 0;
+        for (int interval : intervals) {
+            if (frequency.matches(interval)) {
+                regular++;
+            }
+        }
+        if (regular * 4 < intervals.length * 3) {
+            return null;
+        }
+
+        BigDecimal typicalAmount = BigDecimal.valueOf(median(Arrays.copyOf(cents, kept)), 2);
+        BigDecimal annualCost = typicalAmount.multiply(BigDecimal.valueOf(365))
+                .divide(BigDecimal.valueOf(intervalDays), 2, RoundingMode.HALF_UP);
+        LocalDate firstDate = LocalDate.ofEpochDay(days[0]);
+        LocalDate lastDate = LocalDate.ofEpochDay(days[kept - 1]);
+        // Allow one late charge's worth of slack before calling the payment stopped
+        boolean active = !today.isAfter(lastDate.plusDays(2L * frequency.maxDays - frequency.minDays));
+        return new RecurringPaymentDTO(payee, series.description, frequency.name().toLowerCase(Locale.ROOT),
+                intervalDays, typicalAmount, annualCost, kept, firstDate, lastDate, lastDate.plusDays(intervalDays), active);
+    }
+
+    private static long median(long[] values) {
+        Arrays.sort(values);
+        return values[values.length / 2];
+    }
+
+    /**
+     * Charges of one payee as parallel primitive arrays, so multi-million-row ledgers stay compact.
+     */
+    static final class Series {
+
+        private int[] days = new int[4];
+        private long[] cents = new long[4];
+        private int size;
+        private int latestDay = Integer.MIN_VALUE;
+        private String description;
+
+        void add(LocalDate date, BigDecimal amount, String rawDescription) {
+            if (size == days.length) {
+                days = Arrays.copyOf(days, size * 2);
+                cents = Arrays.copyOf(cents, size * 2);
+            }
+            int day = (int) date.toEpochDay();
+            days[size] = day;
+            cents[size] = amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValue();
+            size++;
+            if (day >= latestDay) {
+                latestDay = day;
+                description = rawDescription;
+            }
+        }
+    }
+
+    /**
+     * Checks a range of partitions, splitting it in half until it is small enough to check sequentially.
+     */
+    private final class DetectTask extends RecursiveTask<List<RecurringPaymentDTO>> {
+
+        private final List<Map.Entry<String, Series>> partitions;
+        private final int from;
+        private final int to;
+        private final LocalDate today;
+
+        private DetectTask(List<Map.Entry<String, Series>> partitions, int from, int to, LocalDate today) {
+            this.partitions = partitions;
+            this.from = from;
+            this.to = to;
+            this.today = today;
+        }
+
+        @Override
+        protected List<RecurringPaymentDTO> compute() {
+            if (to - from <= PARTITIONS_PER_TASK) {
+                List<RecurringPaymentDTO> found = new ArrayList<>();
+                for (int i = from; i < to; i++) {
+                    Map.Entry<String, Series> partition = partitions.get(i);
+                    RecurringPaymentDTO payment = detect(partition.getKey(), partition.getValue(), minOccurrences, amountTolerance, today);
+                    if (payment != null) {
+                        found.add(payment);
+                    }
+                }
+                return found;
+            }
+            int middle = (from + to) >>> 1;
+            DetectTask left = new DetectTask(partitions, from, middle, today);
+            left.fork();
+            List<RecurringPaymentDTO> found = new DetectTask(partitions, middle, to, today).compute();
+            found.addAll(left.join());
+            return found;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.expense.monthly.service;
+
+import com.expense.monthly.dto.GroupTotalDTO;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service interface for ad-hoc aggregates over an in-memory columnar replica of the ledger.
+ * Every hot and archived transaction is scanned; nothing here queries the database.
+ */
+public interface ScanService {
+
+    /**
+     * Aggregate the transactions matching the filters per group.
+     *
+     * @param dimensions Dimensions to group by, outermost first: category, description, year, month, weekday or
+     *                   amount_band; empty for a single total
+     * @param from Optional first date
+     * @param to Optional last date (inclusive)
+     * @param category Optional category (case insensitive)
+     * @param description Optional description fragment (case insensitive)
+     * @param minAmount Optional smallest amount in the base currency
+     * @param maxAmount Optional largest amount in the base currency (inclusive)
+     * @return Non-empty groups in dimension order
+     * @throws IllegalArgumentException If a dimension is unknown or repeated
+     */
+    List<GroupTotalDTO> groupBy(List<String> dimensions, LocalDate from, LocalDate to, String category,
+                                String description, BigDecimal minAmount, BigDecimal maxAmount);
+
+    /**
+     * Describe the replica.
+     *
+     * @return Row count and approximate heap size
+     */
+    Map<String, Long> getStats();
+}
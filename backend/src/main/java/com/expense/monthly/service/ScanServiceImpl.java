@@ -0,0 +1,196 @@
+package com.expense.monthly.service;
+
+import com.expense.monthly.analytics.ColumnarLedger;
+import com.expense.monthly.analytics.ColumnarLedger.Dimension;
+import com.expense.monthly.dto.GroupTotalDTO;
+import com.expense.monthly.event.TransactionsResetEvent;
+import com.expense.monthly.event.TransactionsSavedEvent;
+import com.expense.monthly.model.Transaction;
+import com.expense.monthly.repository.CursorQueries;
+import com.expense.monthly.snapshot.SnapshotParticipant;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.annotation.PreDestroy;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+/**
+ * Implementation of the ScanService interface.
+ * Keeps every hot and archived transaction in a {@link ColumnarLedger}, loaded once at startup and appended to
+ * from each saved batch, and answers group-by queries by scanning it in parallel chunks on a dedicated fork-join
+ * pool of {@code columnar.parallelism} threads. A rebuild fills a new ledger and swaps it in, so scans never see
+ * a partial load. The ledger is saved in the warm-start snapshot. Only created when {@code columnar.enabled} is set.
+ */
+@Service
+@Slf4j
+@ConditionalOnProperty(name = "columnar.enabled", havingValue = "true")
+public class ScanServiceImpl implements ScanService, SnapshotParticipant {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ArchiveService archiveService;
+    private final List<BigDecimal> amountBands;
+    private final ForkJoinPool pool;
+
+    private volatile ColumnarLedger ledger = new ColumnarLedger();
+
+    public ScanServiceImpl(JdbcTemplate jdbcTemplate,
+                           ArchiveService archiveService,
+                           @Value("${columnar.amount-bands:10,25,50,100,250,500,1000}") List<BigDecimal> amountBands,
+                           @Value("${columnar.parallelism:0}") int parallelism) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.archiveService = archiveService;
+        this.amountBands = amountBands;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors(),
+                forkJoinPool -> {
+                    ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+                    thread.setName("columnar-" + thread.getPoolIndex());
+                    return thread;
+                }, null, false);
+    }
+
+    /**
+     * Load every hot and archived transaction into a new ledger.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        ColumnarLedger rebuilt = new ColumnarLedger();
+        CursorQueries.stream(jdbcTemplate,
+                "SELECT date, description, COALESCE(base_amount, amount), category FROM transactions ORDER BY id",
+                rs -> rebuilt.add(rs.getObject(1, LocalDate.class), rs.getString(2),
+                rs.getBigDecimal(3), rs.getString(4)));
+        archiveService.forEachArchivedTransaction(null, transaction -> add(rebuilt, transaction));
+        ledger = rebuilt;
+        log.info("Loaded {} transactions into the columnar replica ({} KB) in {} ms",
+                rebuilt.size(), rebuilt.estimateBytes() / 1024, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Append a committed batch to the ledger.
+     *
+     * @param event Saved transactions
+     */
+    @Override
+    public void onTransactionsSaved(TransactionsSavedEvent event) {
+        ColumnarLedger current = ledger;
+        event.getTransactions().forEach(transaction -> add(current, transaction));
+    }
+
+    /**
+     * Replace the ledger with an empty one after all transactions have been deleted.
+     *
+     * @param event Reset event
+     */
+    @Override
+    public void onTransactionsReset(TransactionsResetEvent event) {
+        ledger = new ColumnarLedger();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getSnapshotName() {
+        return "columnar";
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void writeSnapshot(DataOutput out) throws IOException {
+        ledger.writeTo(out);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void readSnapshot(DataInput in) throws IOException {
+        ledger = ColumnarLedger.readFrom(in);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<GroupTotalDTO> groupBy(List<String> dimensions, LocalDate from, LocalDate to, String category,
+                                       String description, BigDecimal minAmount, BigDecimal maxAmount) {
+        List<Dimension> parsed = new ArrayList<>();
+        for (String name : dimensions) {
+            Dimension dimension = parseDimension(name);
+            if (parsed.contains(dimension)) {
+                throw new IllegalArgumentException("Dimension listed twice: " + name);
+            }
+            parsed.add(dimension);
+        }
+        ColumnarLedger.Filter filter = new ColumnarLedger.Filter()
+                .between(from, to)
+                .category(category)
+                .descriptionContaining(description)
+                .amountBetween(minAmount, maxAmount);
+
+        List<GroupTotalDTO> totals = new ArrayList<>();
+        for (ColumnarLedger.Group group : ledger.groupBy(parsed, amountBands, filter, pool)) {
+            Map<String, String> labels = new LinkedHashMap<>();
+            for (int i = 0; i < parsed.size(); i++) {
+                labels.put(parsed.get(i).name().toLowerCase(Locale.ROOT), group.getLabels().get(i));
+            }
+            BigDecimal total = BigDecimal.valueOf(group.getSum(), 2);
+            totals.add(new GroupTotalDTO(labels, group.getCount(), total,
+                    BigDecimal.valueOf(group.getMin(), 2), BigDecimal.valueOf(group.getMax(), 2),
+                    total.divide(BigDecimal.valueOf(group.getCount()), 2, RoundingMode.HALF_UP)));
+        }
+        return totals;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<String, Long> getStats() {
+        ColumnarLedger current = ledger;
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("rows", (long) current.size());
+        stats.put("estimatedBytes", current.estimateBytes());
+        return stats;
+    }
+
+    /**
+     * Stop the scan pool on shutdown.
+     */
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private static void add(ColumnarLedger ledger, Transaction transaction) {
+        ledger.add(transaction.getDate(), transaction.getDescription(), transaction.amountInBaseCurrency(),
+                transaction.getCategory());
+    }
+
+    private static Dimension parseDimension(String name) {
+        try {
+            return Dimension.valueOf(name.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown dimension: " + name);
+        }
+    }
+}
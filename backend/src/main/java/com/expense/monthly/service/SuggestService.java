@@ -0,0 +1,28 @@
+package com.expense.monthly.service;
+
+import com.expense.monthly.dto.SuggestionDTO;
+
+import java.util.List;
+
+/**
+ * Service interface for typeahead suggestions over descriptions and categories.
+ */
+public interface SuggestService {
+
+    /**
+     * Suggest completions of a prefix.
+     *
+     * @param field Field to complete: "description" or "category"
+     * @param prefix Text typed so far (case insensitive)
+     * @param rank Ranking: "frequency" or "spend"
+     * @param limit Maximum number of suggestions
+     * @return Suggestions, best first
+     * @throws IllegalArgumentException If the field or ranking is unknown
+     */
+    List<SuggestionDTO> suggest(String field, String prefix, String rank, int limit);
+
+    /**
+     * Rebuild the suggestion indexes from the database.
+     */
+    void rebuild();
+}
@@ -0,0 +1,155 @@
+package com.expense.monthly.service;
+
+import com.expense.monthly.analytics.SuggestionTrie;
+import com.expense.monthly.dto.SuggestionDTO;
+import com.expense.monthly.event.TransactionsResetEvent;
+import com.expense.monthly.event.TransactionsSavedEvent;
+import com.expense.monthly.model.Transaction;
+import com.expense.monthly.repository.CursorQueries;
+import com.expense.monthly.snapshot.SnapshotParticipant;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of the SuggestService interface.
+ * Keeps one {@link SuggestionTrie} for descriptions and one for categories, built from grouped aggregates at
+ * startup and updated from each saved batch, so typeahead never touches the database. Both tries are saved in
+ * the warm-start snapshot.
+ */
+@Service
+@Slf4j
+public class SuggestServiceImpl implements SuggestService, SnapshotParticipant {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ArchiveService archiveService;
+    private final SuggestionTrie descriptions;
+    private final SuggestionTrie categories;
+
+    public SuggestServiceImpl(JdbcTemplate jdbcTemplate,
+                              ArchiveService archiveService,
+                              @Value("${suggest.max-results:10}") int maxResults) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.archiveService = archiveService;
+        this.descriptions = new SuggestionTrie(maxResults);
+        this.categories = new SuggestionTrie(maxResults);
+    }
+
+    /**
+     * Add newly saved transactions to the indexes once their transaction has committed.
+     *
+     * @param event Saved transactions
+     */
+    @Override
+    public synchronized void onTransactionsSaved(TransactionsSavedEvent event) {
+        for (Transaction transaction : event.getTransactions()) {
+            BigDecimal amount = transaction.amountInBaseCurrency();
+            descriptions.add(transaction.getDescription(), 1, amount);
+            categories.add(transaction.getCategory(), 1, amount);
+        }
+    }
+
+    /**
+     * Empty the indexes after a reset.
+     *
+     * @param event Reset event
+     */
+    @Override
+    public synchronized void onTransactionsReset(TransactionsResetEvent event) {
+        log.info("Clearing suggestion indexes");
+        descriptions.clear();
+        categories.clear();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getSnapshotName() {
+        return "suggest";
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void writeSnapshot(DataOutput out) throws IOException {
+        descriptions.writeTo(out);
+        categories.writeTo(out);
+    }
+
+    /**
+     * {@inheritDoc}
+     * Completions are re-ranked on load, so a changed {@code suggest.max-results} takes effect.
+     */
+    @Override
+    public synchronized void readSnapshot(DataInput in) throws IOException {
+        descriptions.readFrom(in);
+        categories.readFrom(in);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public synchronized void rebuild() {
+        log.info("Rebuilding suggestion indexes from database");
+        descriptions.clear();
+        categories.clear();
+        load("description", descriptions);
+        load("category", categories);
+        archiveService.forEachArchivedTransaction(null, transaction -> {
+            BigDecimal amount = transaction.amountInBaseCurrency();
+            descriptions.add(transaction.getDescription(), 1, amount);
+            categories.add(transaction.getCategory(), 1, amount);
+        });
+        log.info("Suggestion indexes rebuilt with {} descriptions and {} categories",
+                descriptions.size(), categories.size());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized List<SuggestionDTO> suggest(String field, String prefix, String rank, int limit) {
+        return trie(field).complete(prefix, rank(rank), limit).stream()
+                .map(entry -> new SuggestionDTO(entry.getText(), entry.getCount(), entry.getSpend()))
+                .collect(Collectors.toList());
+    }
+
+    private void load(String column, SuggestionTrie trie) {
+        CursorQueries.stream(jdbcTemplate, "SELECT " + column
+                        + ", COUNT(*), SUM(COALESCE(base_amount, amount)) FROM transactions GROUP BY " + column,
+                rs -> trie.add(rs.getString(1), rs.getLong(2), rs.getBigDecimal(3)));
+    }
+
+    private SuggestionTrie trie(String field) {
+        switch (field.toLowerCase(Locale.ROOT)) {
+            case "description":
+                return descriptions;
+            case "category":
+                return categories;
+            default:
+                throw new IllegalArgumentException("Unknown suggestion field: " + field);
+        }
+    }
+
+    private static SuggestionTrie.Rank rank(String rank) {
+        try {
+            return SuggestionTrie.Rank.valueOf(rank.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown suggestion ranking: " + rank);
+        }
+    }
+}
@@ -5,7 +5,11 @@ import com.expense.monthly.model.Transaction;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
 import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -34,11 +38,48 @@ public interface TransactionService {
     /**
      * Process and save transactions from a CSV file.
      *
+     * Nothing is saved unless the whole file is read.
+     *
      * @param file CSV file
-     * @return List of saved transactions
+     * @return Number of transactions saved
      * @throws IOException If file processing fails
      */
-    List<Transaction> processCSVFile(MultipartFile file) throws IOException;
+    long processCSVFile(MultipartFile file) throws IOException;
+
+    /**
+     * Import transactions from a CSV file on the server's file system, which may be gzip-compressed or a zip
+     * archive of CSV files like an upload. Nothing is saved unless the whole file is read. The file's checksum is
+     * recorded with its rows, and a file with the same contents as one already imported is skipped, so a file that
+     * is imported again after a crash or restart is not saved twice.
+     *
+     * @param file CSV file
+     * @return Number of transactions saved; 0 if the file was already imported
+     * @throws IOException If the file cannot be read
+     */
+    long importCSVFile(Path file) throws IOException;
+
+    /**
+     * Import transactions from a JSON array or newline-delimited JSON objects.
+     * The body is parsed incrementally and saved in chunks, so it is never bound in full.
+     *
+     * @param json JSON content
+     * @return Number of transactions saved
+     * @throws IOException If the content cannot be read or is not valid JSON
+     */
+    long importJson(InputStream json) throws IOException;
+
+    /**
+     * Write transactions as CSV in the same Date/Description/Amount/Currency/Category layout that uploads accept.
+     * Rows are streamed from a database cursor, so memory use does not depend on the number of rows.
+     *
+     * @param from Optional first date to include
+     * @param to Optional last date to include
+     * @param category Optional category to filter by (case insensitive)
+     * @param writer Destination for the CSV output
+     * @return Number of rows written
+     * @throws IOException If writing fails
+     */
+    long exportCSV(LocalDate from, LocalDate to, String category, Writer writer) throws IOException;
 
     /**
      * Get all transactions.
@@ -72,6 +113,47 @@ public interface TransactionService {
      */
     List<Transaction> getTransactionsByDescription(String description);
 
+    /**
+     * List all transactions as DTOs, without loading managed entities.
+     *
+     * @return List of all transactions
+     */
+    List<TransactionDTO> listTransactions();
+
+    /**
+     * List transactions for a specific month and year as DTOs.
+     *
+     * @param month Month (1-12)
+     * @param year Year
+     * @return List of transactions
+     */
+    List<TransactionDTO> listTransactionsByMonth(int month, int year);
+
+    /**
+     * List transactions by category (case insensitive) as DTOs.
+     *
+     * @param category Category name
+     * @return List of transactions
+     */
+    List<TransactionDTO> listTransactionsByCategory(String category);
+
+    /**
+     * List transactions containing the given description (case insensitive) as DTOs.
+     *
+     * @param description Description to search for
+     * @return List of transactions
+     */
+    List<TransactionDTO> listTransactionsByDescription(String description);
+
+    /**
+     * List transactions in a category (case insensitive) containing the given description as DTOs.
+     *
+     * @param category Category name
+     * @param description Description to search for
+     * @return List of transactions
+     */
+    List<TransactionDTO> listTransactionsByCategoryAndDescription(String category, String description);
+
     /**
      * Calculate total amount of all transactions.
      *
@@ -95,7 +177,7 @@ public interface TransactionService {
     Map<String, BigDecimal> calculateTotalsByCategory();
 
     /**
-     * Delete all transactions.
+     * Delete all transactions, and forget which files were imported so they can be imported again.
      */
     void deleteAllTransactions();
 
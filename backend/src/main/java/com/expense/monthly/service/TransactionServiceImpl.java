@@ -1,26 +1,70 @@
 package com.expense.monthly.service;
 
+import com.expense.monthly.bulkhead.Bulkhead;
+import com.expense.monthly.bulkhead.Workload;
 import com.expense.monthly.dto.TransactionDTO;
+import com.expense.monthly.event.IdRanges;
+import com.expense.monthly.event.TransactionsImportedEvent;
+import com.expense.monthly.event.TransactionsResetEvent;
+import com.expense.monthly.event.TransactionsSavedEvent;
+import com.expense.monthly.ingest.CsvArchiveReader;
+import com.expense.monthly.ingest.MappedFileInputStream;
+import com.expense.monthly.model.ImportedFile;
 import com.expense.monthly.model.Transaction;
+import com.expense.monthly.repository.CursorQueries;
+import com.expense.monthly.repository.ImportedFileRepository;
 import com.expense.monthly.repository.TransactionRepository;
+import com.expense.monthly.timing.Phase;
+import com.expense.monthly.timing.RequestTimings;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.opencsv.CSVWriter;
 import com.opencsv.bean.CsvToBean;
 import com.opencsv.bean.CsvToBeanBuilder;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.BufferedReader;
+import javax.persistence.EntityManager;
 import java.io.IOException;
-import java.io.InputStreamReader;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Currency;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 /**
  * Implementation of the TransactionService interface.
@@ -30,17 +74,33 @@ import java.util.stream.Collectors;
 @Slf4j
 public class TransactionServiceImpl implements TransactionService {
 
+    /**
+     * Date format used by the CSV layout, matching the {@code @CsvDate} pattern on {@link TransactionDTO}.
+     */
+    private static final DateTimeFormatter CSV_DATE_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    private static final int INGEST_BATCH_SIZE = 1000;
+
     private final TransactionRepository transactionRepository;
     private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CategorizationService categorizationService;
+    private final FxRateService fxRateService;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+    private final ArchiveService archiveService;
+    private final ImportedFileRepository importedFileRepository;
 
     /**
      * {@inheritDoc}
      */
     @Override
     @Transactional
+    @Bulkhead(Workload.INGEST)
     public Transaction saveTransaction(TransactionDTO transactionDTO) {
         log.info("Saving transaction: {}", transactionDTO);
-        return transactionRepository.save(transactionDTO.toEntity());
+        Transaction saved = transactionRepository.save(toEntity(transactionDTO, 1));
+        eventPublisher.publishEvent(new TransactionsSavedEvent(Collections.singletonList(saved)));
+        return saved;
     }
 
     /**
@@ -48,83 +108,456 @@ public class TransactionServiceImpl implements TransactionService {
      */
     @Override
     @Transactional
+    @Bulkhead(Workload.INGEST)
     public List<Transaction> saveTransactions(List<TransactionDTO> transactions) {
         log.info("Saving {} transactions", transactions.size());
-        List<Transaction> entities = transactions.stream()
-                .map(TransactionDTO::toEntity)
-                .collect(Collectors.toList());
-        return transactionRepository.saveAll(entities);
+        long mapStart = RequestTimings.start();
+        List<Transaction> entities = new ArrayList<>(transactions.size());
+        for (TransactionDTO transaction : transactions) {
+            entities.add(toEntity(transaction, entities.size() + 1));
+        }
+        RequestTimings.stop(Phase.MAP, mapStart);
+        List<Transaction> saved = transactionRepository.saveAll(entities);
+        eventPublisher.publishEvent(new TransactionsSavedEvent(saved));
+        return saved;
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    @Transactional
-    public List<Transaction> processCSVFile(MultipartFile file) throws IOException {
+    @Transactional(rollbackFor = Exception.class)
+    @Bulkhead(Workload.INGEST)
+    public long processCSVFile(MultipartFile file) throws IOException {
         log.info("Processing CSV file: {}", file.getOriginalFilename());
-        try (Reader reader = new BufferedReader(new InputStreamReader(file.getInputStream()))) {
-            CsvToBean<TransactionDTO> csvToBean = new CsvToBeanBuilder<TransactionDTO>(reader)
-                    .withType(TransactionDTO.class)
-                    .withIgnoreLeadingWhiteSpace(true)
-                    .build();
+        IdRanges saved = new IdRanges();
+        CsvArchiveReader.read(file.getInputStream(), file.getOriginalFilename(), (name, reader) -> {
+            long count = parseInBatches(reader, saved);
+            log.info("Parsed {} transactions from CSV: {}", count, name);
+        });
+        return imported(saved);
+    }
+
+    /**
+     * {@inheritDoc}
+     * The file is memory-mapped window by window, and only the ids of saved batches are kept.
+     */
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    @Bulkhead(Workload.INGEST)
+    public long importCSVFile(Path file) throws IOException {
+        String checksum = sha256(file);
+        Optional<ImportedFile> earlier = importedFileRepository.findByChecksum(checksum);
+        if (earlier.isPresent()) {
+            log.info("Skipping CSV file {}: its contents were imported from {} at {}", file,
+                    earlier.get().getFileName(), earlier.get().getImportedAt());
+            return 0;
+        }
+        log.info("Importing CSV file: {}", file);
+        IdRanges saved = new IdRanges();
+        CsvArchiveReader.read(new MappedFileInputStream(file), file.getFileName().toString(), (name, reader) -> {
+            long count = parseInBatches(reader, saved);
+            log.info("Parsed {} transactions from CSV: {}", count, name);
+        });
+        importedFileRepository.save(ImportedFile.builder()
+                .fileName(file.getFileName().toString())
+                .checksum(checksum)
+                .rowCount(saved.count())
+                .importedAt(LocalDateTime.now())
+                .build());
+        return imported(saved);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    @Bulkhead(Workload.INGEST)
+    public long importJson(InputStream json) throws IOException {
+        log.info("Importing JSON transactions");
+        IdRanges saved = new IdRanges();
+        List<TransactionDTO> batch = new ArrayList<>(INGEST_BATCH_SIZE);
+        long parseStart = RequestTimings.start();
+        try (JsonParser parser = objectMapper.getFactory().createParser(json)) {
+            JsonToken token = parser.nextToken();
+            // A top-level array is read element by element; otherwise the body is a sequence of root-level objects
+            boolean array = token == JsonToken.START_ARRAY;
+            if (array) {
+                token = parser.nextToken();
+            }
+            while (token != null && token != JsonToken.END_ARRAY) {
+                if (token != JsonToken.START_OBJECT) {
+                    throw new JsonParseException(parser, "Expected a transaction object but found " + token);
+                }
+                TransactionDTO dto = objectMapper.readValue(parser, TransactionDTO.class);
+                validate(dto, saved.count() + batch.size() + 1);
+                batch.add(dto);
+                if (batch.size() == INGEST_BATCH_SIZE) {
+                    RequestTimings.stop(Phase.PARSE, parseStart);
+                    saveBatch(batch, saved);
+                    batch.clear();
+                    parseStart = RequestTimings.start();
+                }
+                token = parser.nextToken();
+            }
+        }
+        RequestTimings.stop(Phase.PARSE, parseStart);
+        if (!batch.isEmpty()) {
+            saveBatch(batch, saved);
+        }
+        log.info("Imported {} JSON transactions", saved.count());
+        return imported(saved);
+    }
+
+    /**
+     * Save one ingest batch and detach it, so long imports keep a bounded persistence context.
+     * Bulk rows are not put into the second-level cache, where they would only push out the popular views, and
+     * only their ids are kept for the {@link TransactionsImportedEvent} published when the import is complete.
+     *
+     * @param batch Transactions to save
+     * @param saved Receives the ids of the saved transactions
+     */
+    private void saveBatch(List<TransactionDTO> batch, IdRanges saved) {
+        entityManager.unwrap(Session.class).setCacheMode(CacheMode.IGNORE);
+        long mapStart = RequestTimings.start();
+        List<Transaction> entities = new ArrayList<>(batch.size());
+        for (TransactionDTO transaction : batch) {
+            entities.add(toEntity(transaction, saved.count() + entities.size() + 1));
+        }
+        RequestTimings.stop(Phase.MAP, mapStart);
+        for (Transaction transaction : transactionRepository.saveAll(entities)) {
+            saved.add(transaction.getId());
+        }
+        long flushStart = RequestTimings.start();
+        entityManager.flush();
+        entityManager.clear();
+        RequestTimings.stop(Phase.PERSIST, flushStart);
+    }
+
+    /**
+     * Announce a completed import; listeners receive it once the transaction has committed.
+     *
+     * @param saved Ids of the imported transactions
+     * @return Number of imported transactions
+     */
+    /**
+     * Checksum a file's bytes, which identifies its contents whatever it is named.
+     *
+     * @param file File
+     * @return SHA-256 in hex
+     * @throws IOException If the file cannot be read
+     */
+    private static String sha256(Path file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        try (InputStream in = new DigestInputStream(Files.newInputStream(file), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        StringBuilder hex = new StringBuilder(64);
+        for (byte b : digest.digest()) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+
+    private long imported(IdRanges saved) {
+        if (!saved.isEmpty()) {
+            eventPublisher.publishEvent(new TransactionsImportedEvent(saved));
+        }
+        return saved.count();
+    }
+
+    private static void validate(TransactionDTO dto, long position) {
+        if (dto.getDate() == null || dto.getDescription() == null || dto.getAmount() == null) {
+            throw new IllegalArgumentException("Transaction " + position + " must have a date, description and amount");
+        }
+    }
+
+    /**
+     * Convert a DTO to an entity, filling in the category from the description when it has none and
+     * converting the amount to the base currency once so totals never need per-query conversion.
+     *
+     * @param transactionDTO Transaction data
+     * @param row Position of the transaction in its upload, counted from 1, for error messages
+     * @return Transaction entity ready to save
+     * @throws IllegalArgumentException If the currency is not an ISO 4217 code or has no rate for the date
+     */
+    private Transaction toEntity(TransactionDTO transactionDTO, long row) {
+        if (transactionDTO.getCategory() == null || transactionDTO.getCategory().isBlank()) {
+            transactionDTO.setCategory(categorizationService.categorize(transactionDTO.getDescription()));
+        }
+        Transaction transaction = transactionDTO.toEntity();
+        if (transaction.getCurrency() == null || transaction.getCurrency().isBlank()) {
+            transaction.setCurrency(fxRateService.getBaseCurrency());
+        } else {
+            transaction.setCurrency(currencyCode(transaction.getCurrency(), row));
+        }
+        try {
+            transaction.setBaseAmount(fxRateService.toBaseCurrency(
+                    transaction.getAmount(), transaction.getCurrency(), transaction.getDate()));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Row " + row + ": " + e.getMessage(), e);
+        }
+        return transaction;
+    }
 
-            List<TransactionDTO> transactions = csvToBean.parse();
-            log.info("Parsed {} transactions from CSV", transactions.size());
-            return saveTransactions(transactions);
+    /**
+     * Normalize a currency code, which must be a known ISO 4217 code to fit the three-letter column.
+     *
+     * @param currency Currency as given
+     * @param row Position of the transaction in its upload, for the error message
+     * @return Upper-case currency code
+     * @throws IllegalArgumentException If the code is not a known ISO 4217 code
+     */
+    private static String currencyCode(String currency, long row) {
+        String code = currency.trim().toUpperCase(Locale.ROOT);
+        try {
+            if (code.length() == 3 && Currency.getInstance(code) != null) {
+                return code;
+            }
+        } catch (IllegalArgumentException e) {
+            // Not an ISO 4217 code; reported below
+        }
+        throw new IllegalArgumentException("Row " + row + ": unknown currency '" + currency.trim() + "'");
+    }
+
+    /**
+     * Parse CSV rows lazily and save them in fixed-size batches, so the parser never holds more than one batch.
+     *
+     * @param reader CSV text
+     * @param saved Receives the ids of the saved transactions
+     * @return Number of saved transactions
+     */
+    private long parseInBatches(Reader reader, IdRanges saved) {
+        CsvToBean<TransactionDTO> csvToBean = new CsvToBeanBuilder<TransactionDTO>(reader)
+                .withType(TransactionDTO.class)
+                .withIgnoreLeadingWhiteSpace(true)
+                .build();
+
+        long count = 0;
+        List<TransactionDTO> batch = new ArrayList<>(INGEST_BATCH_SIZE);
+        long parseStart = RequestTimings.start();
+        for (TransactionDTO dto : csvToBean) {
+            batch.add(dto);
+            if (batch.size() == INGEST_BATCH_SIZE) {
+                RequestTimings.stop(Phase.PARSE, parseStart);
+                count += batch.size();
+                saveBatch(batch, saved);
+                batch.clear();
+                parseStart = RequestTimings.start();
+            }
+        }
+        RequestTimings.stop(Phase.PARSE, parseStart);
+        if (!batch.isEmpty()) {
+            count += batch.size();
+            saveBatch(batch, saved);
         }
+        return count;
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
+    @Transactional(readOnly = true)
+    @Bulkhead(Workload.ANALYTICS)
+    public long exportCSV(LocalDate from, LocalDate to, String category, Writer writer) throws IOException {
+        log.info("Exporting transactions from: {}, to: {}, category: {}", from, to, category);
+        StringBuilder sql = new StringBuilder("SELECT date, description, amount, currency, category FROM transactions WHERE 1 = 1");
+        List<Object> params = new ArrayList<>();
+        if (from != null) {
+            sql.append(" AND date >= ?");
+            params.add(from);
+        }
+        if (to != null) {
+            sql.append(" AND date <= ?");
+            params.add(to);
+        }
+        if (category != null && !category.isEmpty()) {
+            sql.append(" AND LOWER(category) = LOWER(?)");
+            params.add(category);
+        }
+        sql.append(" ORDER BY date, id");
+
+        CSVWriter csvWriter = new CSVWriter(writer);
+        csvWriter.writeNext(new String[]{"Date", "Description", "Amount", "Currency", "Category"}, false);
+        long[] rows = {0};
+        Consumer<String[]> write = row -> {
+            csvWriter.writeNext(row, false);
+            rows[0]++;
+            // Stop reading early if the client has gone away
+            if (rows[0] % CursorQueries.FETCH_SIZE == 0 && csvWriter.checkError()) {
+                throw new UncheckedIOException("Failed to write CSV export", csvWriter.getException());
+            }
+        };
+        Predicate<Transaction> inRange = transaction -> (from == null || !transaction.getDate().isBefore(from))
+                && (to == null || !transaction.getDate().isAfter(to))
+                && (category == null || category.isEmpty() || category.equalsIgnoreCase(transaction.getCategory()));
+        List<Integer> years = new ArrayList<>();
+        if (archiveService.hasArchives()) {
+            for (int year : category == null || category.isEmpty()
+                    ? archiveService.getArchivedYears()
+                    : archiveService.getArchivedYears(category)) {
+                if ((from == null || year >= from.getYear()) && (to == null || year <= to.getYear())) {
+                    years.add(year);
+                }
+            }
+        }
+        // Archived rows are merged into the hot rows by date: a year can have rows in both tiers
+        try (ArchivedRows archived = new ArchivedRows(years, inRange)) {
+            CursorQueries.stream(jdbcTemplate, sql.toString(), rs -> {
+                LocalDate date = rs.getObject(1, LocalDate.class);
+                while (archived.peek() != null && !archived.peek().getDate().isAfter(date)) {
+                    write.accept(toCsvRow(archived.poll()));
+                }
+                write.accept(new String[]{
+                        date.format(CSV_DATE_FORMAT),
+                        rs.getString(2),
+                        rs.getBigDecimal(3).toPlainString(),
+                        rs.getString(4) != null ? rs.getString(4) : fxRateService.getBaseCurrency(),
+                        rs.getString(5)
+                });
+            }, params.toArray());
+            while (archived.peek() != null) {
+                write.accept(toCsvRow(archived.poll()));
+            }
+        }
+        csvWriter.flush();
+        if (csvWriter.checkError()) {
+            throw new IOException("Failed to write CSV export", csvWriter.getException());
+        }
+        log.info("Exported {} transactions", rows[0]);
+        return rows[0];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Bulkhead(Workload.READ)
     public List<Transaction> getAllTransactions() {
         log.info("Retrieving all transactions");
-        return transactionRepository.findAll();
+        return withArchived(archiveService.getArchivedYears(), transaction -> true, Function.identity(),
+                Transaction::getDate, transactionRepository.findAll());
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
+    @Bulkhead(Workload.READ)
     public List<Transaction> getTransactionsByMonth(int month, int year) {
         log.info("Retrieving transactions for month: {}, year: {}", month, year);
-        return transactionRepository.findByMonthAndYear(month, year);
+        return withArchived(archivedYears(month, year), transaction -> transaction.getMonth() == month, Function.identity(),
+                Transaction::getDate, transactionRepository.findByMonthAndYear(month, year));
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
+    @Bulkhead(Workload.READ)
     public List<Transaction> getTransactionsByCategory(String category) {
         log.info("Retrieving transactions for category: {}", category);
-        return transactionRepository.findByCategoryIgnoreCase(category);
+        return withArchived(archiveService.getArchivedYears(category), byCategory(category), Function.identity(),
+                Transaction::getDate, transactionRepository.findByCategoryIgnoreCase(category));
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
+    @Bulkhead(Workload.READ)
     public List<Transaction> getTransactionsByDescription(String description) {
         log.info("Retrieving transactions containing description: {}", description);
-        return transactionRepository.findByDescriptionContainingIgnoreCase(description);
+        return withArchived(archiveService.getArchivedYears(), byDescription(description), Function.identity(),
+                Transaction::getDate, transactionRepository.findByDescriptionContainingIgnoreCase(description));
+    }
+
+    /**
+     * {@inheritDoc}
+     * Runs in a read-only transaction, so Hibernate neither flushes nor keeps dirty-checking snapshots.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    @Bulkhead(Workload.READ)
+    public List<TransactionDTO> listTransactions() {
+        log.info("Listing all transactions");
+        return withArchived(archiveService.getArchivedYears(), transaction -> true, TransactionServiceImpl::toDto,
+                TransactionDTO::getDate, transactionRepository.findAllDtos());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    @Bulkhead(Workload.READ)
+    public List<TransactionDTO> listTransactionsByMonth(int month, int year) {
+        log.info("Listing transactions for month: {}, year: {}", month, year);
+        return withArchived(archivedYears(month, year), transaction -> transaction.getMonth() == month,
+                TransactionServiceImpl::toDto, TransactionDTO::getDate,
+                transactionRepository.findDtosByMonthAndYear(month, year));
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
+    @Transactional(readOnly = true)
+    @Bulkhead(Workload.READ)
+    public List<TransactionDTO> listTransactionsByCategory(String category) {
+        log.info("Listing transactions for category: {}", category);
+        return withArchived(archiveService.getArchivedYears(category), byCategory(category), TransactionServiceImpl::toDto,
+                TransactionDTO::getDate, transactionRepository.findDtosByCategory(category));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    @Bulkhead(Workload.READ)
+    public List<TransactionDTO> listTransactionsByDescription(String description) {
+        log.info("Listing transactions containing description: {}", description);
+        return withArchived(archiveService.getArchivedYears(), byDescription(description), TransactionServiceImpl::toDto,
+                TransactionDTO::getDate, transactionRepository.findDtosByDescription(description));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    @Bulkhead(Workload.READ)
+    public List<TransactionDTO> listTransactionsByCategoryAndDescription(String category, String description) {
+        log.info("Listing transactions for category: {} containing description: {}", category, description);
+        return withArchived(archiveService.getArchivedYears(category), byCategory(category).and(byDescription(description)),
+                TransactionServiceImpl::toDto, TransactionDTO::getDate,
+                transactionRepository.findDtosByCategoryAndDescription(category, description));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Bulkhead(Workload.ANALYTICS)
     public BigDecimal calculateTotalAmount() {
         log.info("Calculating total amount");
         BigDecimal total = transactionRepository.calculateTotalAmount();
-        return total != null ? total : BigDecimal.ZERO;
+        return (total != null ? total : BigDecimal.ZERO).add(archiveService.getArchivedTotal());
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
+    @Bulkhead(Workload.ANALYTICS)
     public Map<Integer, BigDecimal> calculateMonthlyTotals(int year) {
         log.info("Calculating monthly totals for year: {}", year);
         Map<Integer, BigDecimal> monthlyTotals = new HashMap<>();
@@ -133,6 +566,7 @@ public class TransactionServiceImpl implements TransactionService {
             BigDecimal total = transactionRepository.calculateMonthlyTotal(month, year);
             monthlyTotals.put(month, total != null ? total : BigDecimal.ZERO);
         }
+        archiveService.getArchivedMonthlyTotals(year).forEach((month, total) -> monthlyTotals.merge(month, total, BigDecimal::add));
 
         return monthlyTotals;
     }
@@ -141,22 +575,14 @@ public class TransactionServiceImpl implements TransactionService {
      * {@inheritDoc}
      */
     @Override
+    @Bulkhead(Workload.ANALYTICS)
     public Map<String, BigDecimal> calculateTotalsByCategory() {
         log.info("Calculating totals by category");
-        Map<String, BigDecimal> categoryTotals = new HashMap<>();
-
-        // Get all transactions and group by category
-        List<Transaction> transactions = getAllTransactions();
-        Map<String, List<Transaction>> transactionsByCategory = transactions.stream()
-                .collect(Collectors.groupingBy(transaction -> transaction.getCategory().toLowerCase()));
-
-        // Calculate total for each category
-        transactionsByCategory.forEach((category, categoryTransactions) -> {
-            BigDecimal total = categoryTransactions.stream()
-                    .map(Transaction::getAmount)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-            categoryTotals.put(category, total);
-        });
+        // Group in the database and add the archived totals instead of loading every transaction
+        Map<String, BigDecimal> categoryTotals = new HashMap<>(archiveService.getArchivedCategoryTotals());
+        for (Object[] row : transactionRepository.calculateTotalsByCategory()) {
+            categoryTotals.merge((String) row[0], (BigDecimal) row[1], BigDecimal::add);
+        }
 
         return categoryTotals;
     }
@@ -166,9 +592,12 @@ public class TransactionServiceImpl implements TransactionService {
      */
     @Override
     @Transactional
+    @Bulkhead(Workload.INGEST)
     public void deleteAllTransactions() {
         log.info("Deleting all transactions");
         transactionRepository.deleteAll();
+        importedFileRepository.deleteAll();
+        eventPublisher.publishEvent(new TransactionsResetEvent());
     }
 
     /**
@@ -176,10 +605,141 @@ public class TransactionServiceImpl implements TransactionService {
      */
     @Override
     @Transactional
+    @Bulkhead(Workload.INGEST)
     public void executeH2ResetScript() {
         log.info("Executing H2 specific reset script: DROP ALL OBJECTS");
         jdbcTemplate.execute("DROP ALL OBJECTS");
+        // Hibernate does not see JDBC-level changes, and restarted ids would hit cached segments, so drop them by hand
+        entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getCache().evictAllRegions();
         log.info("H2 database has been cleared. Schema recreation depends on JPA/Hibernate configuration (e.g., ddl-auto) and Spring Boot's datasource initialization.");
     }
 
-}
\ No newline at end of file
+
+    /**
+     * Merge archived transactions that match a filter into the hot results by date.
+     * A year can have rows in both tiers, since rows inserted for it after it was archived stay hot until the next
+     * run, so the combined list is sorted; the sort is stable and lists archived rows first on the same date.
+     *
+     * @param years Archived years that can hold matches; only their segments are decoded
+     * @param filter Filter applied to archived transactions
+     * @param mapper Mapping from archived transaction to result type
+     * @param date Date of a result
+     * @param hot Results from the transactions table
+     * @return Archived matches and hot results in date order, or the hot results as they are without archived years
+     */
+    private <T> List<T> withArchived(Set<Integer> years, Predicate<Transaction> filter, Function<Transaction, T> mapper,
+                                     Function<T, LocalDate> date, List<T> hot) {
+        if (years.isEmpty()) {
+            return hot;
+        }
+        List<T> results = new ArrayList<>();
+        for (int year : years) {
+            archiveService.forEachArchivedTransaction(year, transaction -> {
+                if (filter.test(transaction)) {
+                    results.add(mapper.apply(transaction));
+                }
+            });
+        }
+        results.addAll(hot);
+        results.sort(Comparator.comparing(date));
+        return results;
+    }
+
+    /**
+     * The archived year of a month, if the archived totals show spend in that month.
+     *
+     * @param month Month (1-12)
+     * @param year Year
+     * @return The year, or no years
+     */
+    private Set<Integer> archivedYears(int month, int year) {
+        return archiveService.getArchivedMonthlyTotals(year).containsKey(month)
+                ? Collections.singleton(year)
+                : Collections.emptySet();
+    }
+
+    private String[] toCsvRow(Transaction transaction) {
+        return new String[]{
+                transaction.getDate().format(CSV_DATE_FORMAT),
+                transaction.getDescription(),
+                transaction.getAmount().toPlainString(),
+                transaction.getCurrency() != null ? transaction.getCurrency() : fxRateService.getBaseCurrency(),
+                transaction.getCategory()
+        };
+    }
+
+    private static Predicate<Transaction> byCategory(String category) {
+        return transaction -> transaction.getCategory().equalsIgnoreCase(category);
+    }
+
+    private static Predicate<Transaction> byDescription(String description) {
+        String needle = description.toLowerCase();
+        return transaction -> transaction.getDescription().toLowerCase().contains(needle);
+    }
+
+    private static TransactionDTO toDto(Transaction transaction) {
+        return new TransactionDTO(transaction.getDate(), transaction.getDescription(), transaction.getAmount(),
+                transaction.getCurrency(), transaction.getCategory());
+    }
+
+    /**
+     * Archived transactions of some years that pass a filter, in date order, read one year at a time as they are
+     * taken.
+     */
+    private final class ArchivedRows implements AutoCloseable {
+        private final Iterator<Integer> years;
+        private final Predicate<Transaction> filter;
+        private Stream<Transaction> year;
+        private Iterator<Transaction> rows;
+        private Transaction next;
+
+        private ArchivedRows(List<Integer> years, Predicate<Transaction> filter) {
+            this.years = years.iterator();
+            this.filter = filter;
+        }
+
+        /**
+         * The next transaction, without taking it.
+         *
+         * @return Next transaction, or null after the last one
+         */
+        private Transaction peek() {
+            while (next == null) {
+                if (rows != null && rows.hasNext()) {
+                    Transaction transaction = rows.next();
+                    if (filter.test(transaction)) {
+                        next = transaction;
+                    }
+                } else if (year != null) {
+                    year.close();
+                    year = null;
+                    rows = null;
+                } else if (years.hasNext()) {
+                    year = archiveService.streamArchivedYear(years.next());
+                    rows = year.iterator();
+                } else {
+                    return null;
+                }
+            }
+            return next;
+        }
+
+        /**
+         * Take the next transaction.
+         *
+         * @return Next transaction, or null after the last one
+         */
+        private Transaction poll() {
+            Transaction transaction = peek();
+            next = null;
+            return transaction;
+        }
+
+        @Override
+        public void close() {
+            if (year != null) {
+                year.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.expense.monthly.snapshot;
+
+import com.expense.monthly.event.TransactionsResetEvent;
+import com.expense.monthly.event.TransactionsSavedEvent;
+import com.expense.monthly.model.Transaction;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * In-memory state derived from the ledger that is saved in the warm-start snapshot.
+ * {@link WarmStartSnapshot} delivers every ledger event to all participants under one lock, so a snapshot is a
+ * consistent cut across them; participants must not update their in-memory state from those events themselves.
+ */
+public interface SnapshotParticipant {
+
+    /**
+     * Name of this participant's section in the snapshot file.
+     *
+     * @return Unique section name
+     */
+    String getSnapshotName();
+
+    /**
+     * Rebuild the state from the database.
+     */
+    void rebuild();
+
+    /**
+     * Add a committed batch to the state.
+     *
+     * @param event Saved transactions
+     */
+    void onTransactionsSaved(TransactionsSavedEvent event);
+
+    /**
+     * Drop the state after all transactions have been deleted.
+     *
+     * @param event Reset event
+     */
+    void onTransactionsReset(TransactionsResetEvent event);
+
+    /**
+     * Add transactions saved after the snapshot was written, while restoring it at startup.
+     * Defaults to handling them like a saved batch; participants with side effects should override this.
+     *
+     * @param transactions Transactions in id order
+     */
+    default void catchUp(List<Transaction> transactions) {
+        onTransactionsSaved(new TransactionsSavedEvent(transactions));
+    }
+
+    /**
+     * Write the state.
+     *
+     * @param out Destination
+     * @throws IOException If writing fails
+     */
+    void writeSnapshot(DataOutput out) throws IOException;
+
+    /**
+     * Replace the state with one written by {@link #writeSnapshot}.
+     *
+     * @param in Source
+     * @throws IOException If reading fails or the state was written with incompatible settings
+     */
+    void readSnapshot(DataInput in) throws IOException;
+}
@@ -0,0 +1,464 @@
+package com.expense.monthly.snapshot;
+
+import com.expense.monthly.event.TransactionsChangedElsewhereEvent;
+import com.expense.monthly.event.TransactionsImportedEvent;
+import com.expense.monthly.event.TransactionsResetEvent;
+import com.expense.monthly.event.TransactionsSavedEvent;
+import com.expense.monthly.ingest.MappedFileInputStream;
+import com.expense.monthly.model.Transaction;
+import com.expense.monthly.repository.CursorQueries;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PreDestroy;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Owns the in-memory state derived from the ledger and its warm-start snapshot.
+ * Every {@link SnapshotParticipant} receives the startup, saved and reset events from here, under one lock,
+ * with bulk imports read back from the database in batches once they have committed,
+ * along with the highest transaction id and the number of transactions the state reflects. Every
+ * {@code snapshot.interval-ms}, and on shutdown, a changed state is written to {@code snapshot.path} as a
+ * versioned binary file. At startup that file is memory-mapped and restored, the transactions saved after it
+ * are replayed, and the result is only kept if it accounts for every hot and archived transaction; otherwise,
+ * or without a snapshot, each participant rebuilds from the database as before. Every {@code snapshot.refresh-ms}
+ * the ledger is compared with the state, so transactions saved through other replicas are caught up with too.
+ * Startup and refresh read the database in one repeatable-read transaction, pinned between local commits, so
+ * they see the same ledger as its events do.
+ */
+@Component
+@Slf4j
+public class WarmStartSnapshot {
+
+    private static final int MAGIC = 0x45585053;
+    private static final int FORMAT_VERSION = 1;
+    private static final int CATCH_UP_BATCH_SIZE = 1000;
+    private static final String LEDGER_SQL = "SELECT (SELECT COUNT(*) FROM transactions) "
+            + "+ (SELECT COALESCE(SUM(row_count), 0) FROM archive_segments), "
+            + "(SELECT COALESCE(MAX(id), 0) FROM transactions)";
+
+    private final List<SnapshotParticipant> participants;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Path file;
+
+    /**
+     * Highest transaction id reflected in the state. Guarded by this.
+     */
+    private long watermark;
+
+    /**
+     * Number of hot and archived transactions reflected in the state. Guarded by this.
+     */
+    private long rows;
+
+    /**
+     * Incremented on every change, so unchanged state is not written again. Guarded by this.
+     */
+    private long version;
+    private long writtenVersion = -1;
+    private long resetVersion;
+
+    /**
+     * Set once the state has been restored or rebuilt at startup. Guarded by this.
+     */
+    private boolean started;
+
+    /**
+     * Held while writing the file, so the scheduled and shutdown writes never interleave.
+     */
+    private final Object fileLock = new Object();
+
+    /**
+     * Shared by transactions from just before they commit a ledger change until their events have been delivered,
+     * and taken exclusively to read the ledger at a point between local commits.
+     */
+    private final ReentrantReadWriteLock commitGate = new ReentrantReadWriteLock();
+
+    public WarmStartSnapshot(List<SnapshotParticipant> participants,
+                             JdbcTemplate jdbcTemplate,
+                             ApplicationEventPublisher eventPublisher,
+                             @Value("${snapshot.path:}") String path) {
+        this.participants = participants;
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        this.file = path.isBlank() ? null : Paths.get(path).toAbsolutePath();
+    }
+
+    /**
+     * Restore the snapshot, or rebuild every participant from the database, once the application has started and
+     * before any other startup listener, such as the drop-folder watcher, can write to the ledger.
+     * The ledger is first read with the commit gate closed, which pins the transaction's repeatable-read snapshot
+     * at a point where every local commit has either been delivered already or is still to be, so no transaction
+     * committed during startup is counted by both the database reads and its event.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public void onApplicationReady() {
+        withPinnedLedger(ledger -> {
+            started = true;
+            if (file != null && Files.isRegularFile(file)) {
+                long start = System.nanoTime();
+                try {
+                    long caughtUp = restore(ledger[0]);
+                    writtenVersion = version;
+                    log.info("Restored warm-start snapshot {} with {} later transactions in {} ms",
+                            file, caughtUp, (System.nanoTime() - start) / 1_000_000);
+                    return;
+                } catch (IOException | RuntimeException e) {
+                    log.warn("Discarding warm-start snapshot {}: {}", file, e.getMessage());
+                }
+            }
+            rebuild(ledger);
+        });
+    }
+
+    /**
+     * Bring the state up to date with transactions saved or deleted through other instances, which deliver no
+     * events here. Transactions after the watermark are replayed; if the state still does not account for every
+     * transaction, for instance after a reset elsewhere, every participant rebuilds. Either way a
+     * {@link TransactionsChangedElsewhereEvent} follows, so this poll also bounds how stale other instances' live
+     * updates can be.
+     */
+    @Scheduled(fixedDelayString = "${snapshot.refresh-ms:60000}", initialDelayString = "${snapshot.refresh-ms:60000}")
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public void refresh() {
+        boolean[] changed = new boolean[1];
+        withPinnedLedger(ledger -> {
+            if (!started || (ledger[0] == rows && ledger[1] == watermark)) {
+                return;
+            }
+            changed[0] = true;
+            long before = rows;
+            catchUp();
+            if (rows == ledger[0]) {
+                log.info("Caught up with {} transactions saved by other instances", rows - before);
+                return;
+            }
+            log.info("In-memory state accounts for {} transactions, ledger has {}; rebuilding", rows, ledger[0]);
+            rebuild(ledger);
+        });
+        // Published outside the state lock, so listeners never hold up local commits
+        if (changed[0]) {
+            eventPublisher.publishEvent(new TransactionsChangedElsewhereEvent());
+        }
+    }
+
+    /**
+     * Hold the commit gate open from just before a ledger change commits until its events have been delivered.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT,
+            classes = {TransactionsSavedEvent.class, TransactionsImportedEvent.class, TransactionsResetEvent.class})
+    public void onLedgerCommitting() {
+        Lock gate = commitGate.readLock();
+        gate.lock();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                gate.unlock();
+            }
+        });
+    }
+
+    /**
+     * Deliver a committed batch to every participant.
+     *
+     * @param event Saved transactions
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onTransactionsSaved(TransactionsSavedEvent event) {
+        participants.forEach(participant -> participant.onTransactionsSaved(event));
+        advance(event.getTransactions());
+    }
+
+    /**
+     * Read a committed import back from the database and deliver it to every participant in batches.
+     * The rows are read on the importing transaction's connection, which stays bound until its commit has been
+     * fully processed, rather than on a second connection taken from the pool.
+     *
+     * @param event Imported transaction ids
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onTransactionsImported(TransactionsImportedEvent event) {
+        List<Transaction> batch = new ArrayList<>(CATCH_UP_BATCH_SIZE);
+        event.getIds().forEach((from, to) -> read("id BETWEEN ? AND ?", batch, this::deliver, from, to));
+        if (!batch.isEmpty()) {
+            deliver(batch);
+        }
+    }
+
+    /**
+     * Deliver a reset to every participant and delete the snapshot.
+     *
+     * @param event Reset event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onTransactionsReset(TransactionsResetEvent event) {
+        participants.forEach(participant -> participant.onTransactionsReset(event));
+        watermark = 0;
+        rows = 0;
+        version++;
+        resetVersion = version;
+        if (file != null) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("Failed to delete warm-start snapshot {}", file, e);
+            }
+        }
+    }
+
+    /**
+     * Write the snapshot if the state has changed since it was last written.
+     */
+    @Scheduled(fixedDelayString = "${snapshot.interval-ms:300000}", initialDelayString = "${snapshot.interval-ms:300000}")
+    public void writeSnapshot() {
+        if (file == null) {
+            return;
+        }
+        synchronized (fileLock) {
+            byte[] data;
+            long snapshotVersion;
+            // Only the in-memory cut is taken under the state lock; the file is written without blocking events
+            synchronized (this) {
+                if (version == writtenVersion) {
+                    return;
+                }
+                try {
+                    data = serialize();
+                } catch (IOException e) {
+                    log.error("Failed to serialize warm-start snapshot", e);
+                    return;
+                }
+                snapshotVersion = version;
+            }
+            try {
+                Files.createDirectories(file.getParent());
+                Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+                Files.write(temp, data);
+                // A reset while the file was being written has deleted the snapshot; the stale copy must not replace it
+                synchronized (this) {
+                    if (resetVersion > snapshotVersion) {
+                        Files.delete(temp);
+                        return;
+                    }
+                    Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                    writtenVersion = snapshotVersion;
+                }
+            } catch (IOException e) {
+                log.error("Failed to write warm-start snapshot {}", file, e);
+                return;
+            }
+            log.info("Wrote warm-start snapshot {} ({} bytes)", file, data.length);
+        }
+    }
+
+    /**
+     * Write a final snapshot on shutdown, so the next start only replays what other instances saved since.
+     */
+    @PreDestroy
+    public void onShutdown() {
+        writeSnapshot();
+    }
+
+    /**
+     * Read the ledger with the commit gate closed, then run an action on the state with it.
+     * Under repeatable read the first query pins the transaction's snapshot, so the action's later queries see no
+     * local commit whose events have not been delivered yet; those wait for the action to finish.
+     *
+     * @param action Receives the ledger size and highest id
+     */
+    private void withPinnedLedger(Consumer<long[]> action) {
+        Lock gate = commitGate.writeLock();
+        gate.lock();
+        boolean gated = true;
+        try {
+            // The gate is taken before the monitor, as committing threads hold it while waiting for the monitor
+            synchronized (this) {
+                long[] ledger = ledger();
+                gate.unlock();
+                gated = false;
+                action.accept(ledger);
+            }
+        } finally {
+            if (gated) {
+                gate.unlock();
+            }
+        }
+    }
+
+    /**
+     * Rebuild every participant from the database.
+     *
+     * @param ledger Ledger size and highest id, read in the same snapshot as the participants' queries
+     */
+    private void rebuild(long[] ledger) {
+        long start = System.nanoTime();
+        participants.forEach(SnapshotParticipant::rebuild);
+        rows = ledger[0];
+        watermark = ledger[1];
+        version++;
+        log.info("Rebuilt in-memory state for {} transactions in {} ms", rows, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Restore the snapshot and replay the transactions saved after it.
+     *
+     * @param expected Number of hot and archived transactions in the ledger
+     * @return Number of replayed transactions
+     * @throws IOException If the snapshot cannot be read
+     * @throws IllegalStateException If the restored state does not account for every transaction
+     */
+    private long restore(long expected) throws IOException {
+        Map<String, SnapshotParticipant> byName = new HashMap<>();
+        participants.forEach(participant -> byName.put(participant.getSnapshotName(), participant));
+        try (DataInputStream in = new DataInputStream(new MappedFileInputStream(file))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+                throw new IOException("Unsupported snapshot format");
+            }
+            watermark = in.readLong();
+            rows = in.readLong();
+            int sections = in.readInt();
+            if (sections != byName.size()) {
+                throw new IOException("Snapshot has " + sections + " sections, expected " + byName.size());
+            }
+            for (int i = 0; i < sections; i++) {
+                String name = in.readUTF();
+                SnapshotParticipant participant = byName.remove(name);
+                if (participant == null) {
+                    throw new IOException("Unexpected snapshot section: " + name);
+                }
+                participant.readSnapshot(in);
+            }
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Snapshot is truncated");
+            }
+        }
+
+        long snapshotRows = rows;
+        catchUp();
+        if (rows != expected) {
+            throw new IllegalStateException("Snapshot accounts for " + rows + " transactions, ledger has " + expected);
+        }
+        version++;
+        return rows - snapshotRows;
+    }
+
+    private void catchUp() {
+        List<Transaction> batch = new ArrayList<>(CATCH_UP_BATCH_SIZE);
+        read("id > ?", batch, this::replay, watermark);
+        if (!batch.isEmpty()) {
+            replay(batch);
+        }
+    }
+
+    /**
+     * Stream the transactions matching a condition in id order, handing them over in batches.
+     * The handler empties the batch; the last, partial batch is left for the caller.
+     *
+     * @param condition SQL condition on the transactions table
+     * @param batch Buffer for the current batch
+     * @param handler Receives each full batch
+     * @param params Values for the condition's placeholders
+     */
+    private void read(String condition, List<Transaction> batch, Consumer<List<Transaction>> handler, Object... params) {
+        CursorQueries.stream(jdbcTemplate, "SELECT id, date, description, amount, currency, base_amount, category "
+                + "FROM transactions WHERE " + condition + " ORDER BY id", rs -> {
+            LocalDate date = rs.getObject(2, LocalDate.class);
+            batch.add(Transaction.builder()
+                    .id(rs.getLong(1))
+                    .date(date)
+                    .description(rs.getString(3))
+                    .amount(rs.getBigDecimal(4))
+                    .currency(rs.getString(5))
+                    .baseAmount(rs.getBigDecimal(6))
+                    .category(rs.getString(7))
+                    .month(date.getMonthValue())
+                    .year(date.getYear())
+                    .build());
+            if (batch.size() == CATCH_UP_BATCH_SIZE) {
+                handler.accept(batch);
+            }
+        }, params);
+    }
+
+    private void replay(List<Transaction> batch) {
+        List<Transaction> transactions = new ArrayList<>(batch);
+        participants.forEach(participant -> participant.catchUp(transactions));
+        advance(transactions);
+        batch.clear();
+    }
+
+    private void deliver(List<Transaction> batch) {
+        TransactionsSavedEvent event = new TransactionsSavedEvent(new ArrayList<>(batch));
+        participants.forEach(participant -> participant.onTransactionsSaved(event));
+        advance(event.getTransactions());
+        batch.clear();
+    }
+
+    private void advance(List<Transaction> transactions) {
+        for (Transaction transaction : transactions) {
+            if (transaction.getId() != null) {
+                watermark = Math.max(watermark, transaction.getId());
+            }
+        }
+        rows += transactions.size();
+        version++;
+    }
+
+    private byte[] serialize() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeLong(watermark);
+            out.writeLong(rows);
+            out.writeInt(participants.size());
+            for (SnapshotParticipant participant : participants) {
+                out.writeUTF(participant.getSnapshotName());
+                participant.writeSnapshot(out);
+            }
+            out.writeInt(MAGIC);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Count the hot and archived transactions and find the highest hot id, in one statement.
+     *
+     * @return Transaction count and highest id
+     */
+    private long[] ledger() {
+        return jdbcTemplate.queryForObject(LEDGER_SQL, (rs, rowNum) -> new long[]{rs.getLong(1), rs.getLong(2)});
+    }
+}
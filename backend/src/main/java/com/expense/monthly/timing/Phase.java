@@ -0,0 +1,39 @@
+package com.expense.monthly.timing;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Phases of a request reported in {@code Server-Timing} headers and the slow-request log.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum Phase {
+
+    /**
+     * Reading CSV or JSON input into DTOs.
+     */
+    PARSE("parse"),
+
+    /**
+     * Inserts, deletes and flushes.
+     */
+    PERSIST("persist"),
+
+    /**
+     * Repository reads.
+     */
+    QUERY("query"),
+
+    /**
+     * Converting between DTOs and entities, including categorization and currency conversion.
+     */
+    MAP("map"),
+
+    /**
+     * Writing the response body after the controller returned.
+     */
+    SERIALIZE("serialize");
+
+    private final String metricName;
+}
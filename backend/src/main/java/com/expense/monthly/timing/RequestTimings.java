@@ -0,0 +1,113 @@
+package com.expense.monthly.timing;
+
+import java.util.Locale;
+
+/**
+ * Per-request phase durations for sampled requests.
+ * Instrumented code brackets a phase with {@link #start()} and {@link #stop(Phase, long)}; both are a single
+ * thread-local lookup when the current request is not sampled, so the calls can stay in hot paths.
+ */
+public final class RequestTimings {
+
+    private static final ThreadLocal<RequestTimings> CURRENT = new ThreadLocal<>();
+
+    private final long startedAt = System.nanoTime();
+    private final long[] nanos = new long[Phase.values().length];
+    private long handlerReturnedAt;
+
+    private RequestTimings() {
+    }
+
+    /**
+     * Start recording phases for the request on the current thread.
+     *
+     * @return Timings of the request
+     */
+    static RequestTimings begin() {
+        RequestTimings timings = new RequestTimings();
+        CURRENT.set(timings);
+        return timings;
+    }
+
+    /**
+     * Stop recording phases on the current thread.
+     */
+    static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Timings of the request on the current thread.
+     *
+     * @return Timings, or null when the request is not sampled
+     */
+    static RequestTimings current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Mark the start of a phase.
+     *
+     * @return Start time to pass to {@link #stop(Phase, long)}, or 0 when the request is not sampled
+     */
+    public static long start() {
+        return CURRENT.get() != null ? System.nanoTime() : 0L;
+    }
+
+    /**
+     * Add the time since {@code start} to a phase.
+     *
+     * @param phase Phase that ran
+     * @param start Value returned by {@link #start()}
+     */
+    public static void stop(Phase phase, long start) {
+        RequestTimings timings = CURRENT.get();
+        if (timings != null && start != 0L) {
+            timings.nanos[phase.ordinal()] += System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * Record that the controller returned, so the rest of the request counts as serialization.
+     */
+    void handlerReturned() {
+        handlerReturnedAt = System.nanoTime();
+    }
+
+    /**
+     * Attribute everything after the controller returned to {@link Phase#SERIALIZE}.
+     */
+    void finish() {
+        if (handlerReturnedAt != 0L) {
+            nanos[Phase.SERIALIZE.ordinal()] += System.nanoTime() - handlerReturnedAt;
+        }
+    }
+
+    long getNanos(Phase phase) {
+        return nanos[phase.ordinal()];
+    }
+
+    /**
+     * Format the phases recorded so far as a {@code Server-Timing} header value, e.g.
+     * {@code parse;dur=12.4, persist;dur=80.1, total;dur=95.0}.
+     *
+     * @return Header value
+     */
+    String toServerTiming() {
+        StringBuilder header = new StringBuilder();
+        for (Phase phase : Phase.values()) {
+            if (nanos[phase.ordinal()] > 0) {
+                appendMetric(header, phase.getMetricName(), nanos[phase.ordinal()]);
+            }
+        }
+        appendMetric(header, "total", System.nanoTime() - startedAt);
+        return header.toString();
+    }
+
+    private static void appendMetric(StringBuilder header, String name, long nanos) {
+        if (header.length() > 0) {
+            header.append(", ");
+        }
+        header.append(name).append(";dur=").append(String.format(Locale.ROOT, "%.1f", nanos / 1_000_000.0));
+    }
+}
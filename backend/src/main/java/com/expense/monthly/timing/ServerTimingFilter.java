@@ -0,0 +1,143 @@
+package com.expense.monthly.timing;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reports where API request time went.
+ * A sampled fraction of requests ({@code timing.sample-rate}) records phase durations and returns them in a
+ * {@code Server-Timing} header. The header is added just before the body starts, so it covers everything up
+ * to that point; serialization time only appears in the slow-request log.
+ * Every request taking at least {@code timing.slow-threshold-ms} is logged, with the phase breakdown when it
+ * was sampled.
+ */
+@Component
+@Slf4j
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    private static final String SERVER_TIMING = "Server-Timing";
+
+    private final double sampleRate;
+    private final long slowThresholdNanos;
+
+    public ServerTimingFilter(@Value("${timing.sample-rate:0.05}") double sampleRate,
+                              @Value("${timing.slow-threshold-ms:1000}") long slowThresholdMillis) {
+        this.sampleRate = sampleRate;
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMillis);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        boolean sampled = sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate;
+        if (!sampled) {
+            try {
+                chain.doFilter(request, response);
+            } finally {
+                logIfSlow(request, response, start, null);
+            }
+            return;
+        }
+
+        RequestTimings timings = RequestTimings.begin();
+        ServerTimingResponse timedResponse = new ServerTimingResponse(response, timings);
+        try {
+            chain.doFilter(request, timedResponse);
+            timedResponse.addServerTiming();
+        } finally {
+            RequestTimings.end();
+            timings.finish();
+            logIfSlow(request, response, start, timings);
+        }
+    }
+
+    private void logIfSlow(HttpServletRequest request, HttpServletResponse response, long start, RequestTimings timings) {
+        long elapsed = System.nanoTime() - start;
+        if (elapsed < slowThresholdNanos || request.isAsyncStarted()) {
+            return;
+        }
+        StringBuilder message = new StringBuilder("slow-request method=").append(request.getMethod())
+                .append(" uri=").append(request.getRequestURI())
+                .append(" status=").append(response.getStatus())
+                .append(" total_ms=").append(TimeUnit.NANOSECONDS.toMillis(elapsed))
+                .append(" sampled=").append(timings != null);
+        if (timings != null) {
+            for (Phase phase : Phase.values()) {
+                message.append(' ').append(phase.getMetricName()).append("_ms=")
+                        .append(TimeUnit.NANOSECONDS.toMillis(timings.getNanos(phase)));
+            }
+        }
+        log.warn(message.toString());
+    }
+
+    /**
+     * Adds the {@code Server-Timing} header as soon as the body is about to be written, while headers can
+     * still be changed.
+     */
+    private static final class ServerTimingResponse extends HttpServletResponseWrapper {
+
+        private final RequestTimings timings;
+        private boolean headerAdded;
+
+        ServerTimingResponse(HttpServletResponse response, RequestTimings timings) {
+            super(response);
+            this.timings = timings;
+        }
+
+        void addServerTiming() {
+            if (!headerAdded && !isCommitted()) {
+                setHeader(SERVER_TIMING, timings.toServerTiming());
+            }
+            headerAdded = true;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            addServerTiming();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            addServerTiming();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            addServerTiming();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            addServerTiming();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            addServerTiming();
+            super.sendError(sc);
+        }
+    }
+}
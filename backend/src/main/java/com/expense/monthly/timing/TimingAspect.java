@@ -0,0 +1,44 @@
+package com.expense.monthly.timing;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Times repository calls and marks when controllers return, for sampled requests only.
+ */
+@Aspect
+@Component
+public class TimingAspect {
+
+    /**
+     * Repository writes count as {@link Phase#PERSIST}, everything else as {@link Phase#QUERY}.
+     */
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        long start = RequestTimings.start();
+        if (start == 0L) {
+            return joinPoint.proceed();
+        }
+        String method = joinPoint.getSignature().getName();
+        Phase phase = method.startsWith("save") || method.startsWith("delete") ? Phase.PERSIST : Phase.QUERY;
+        try {
+            return joinPoint.proceed();
+        } finally {
+            RequestTimings.stop(phase, start);
+        }
+    }
+
+    @Around("@within(org.springframework.web.bind.annotation.RestController)")
+    public Object markHandlerReturn(ProceedingJoinPoint joinPoint) throws Throwable {
+        try {
+            return joinPoint.proceed();
+        } finally {
+            RequestTimings timings = RequestTimings.current();
+            if (timings != null) {
+                timings.handlerReturned();
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.expense.monthly.analytics;
+
+import com.expense.monthly.analytics.ColumnarLedger.Dimension;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for ColumnarLedger.
+ */
+class ColumnarLedgerTest {
+
+    private static final List<BigDecimal> BANDS = Arrays.asList(new BigDecimal("10"), new BigDecimal("100"));
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void testGroupByCategoryAndMonthWithFilters() {
+        ColumnarLedger ledger = new ColumnarLedger();
+        ledger.add(LocalDate.of(2024, 1, 5), "TESCO STORES", new BigDecimal("12.50"), "Groceries");
+        ledger.add(LocalDate.of(2024, 1, 20), "Tesco Express", new BigDecimal("7.25"), "groceries");
+        ledger.add(LocalDate.of(2024, 3, 2), "TESCO STORES", new BigDecimal("30.00"), "Groceries ");
+        ledger.add(LocalDate.of(2024, 1, 1), "Landlord", new BigDecimal("950.00"), "Rent");
+        ledger.add(LocalDate.of(2023, 12, 31), "TESCO STORES", new BigDecimal("99.99"), "Groceries");
+
+        List<ColumnarLedger.Group> groups = ledger.groupBy(Arrays.asList(Dimension.CATEGORY, Dimension.MONTH), BANDS,
+                new ColumnarLedger.Filter().between(LocalDate.of(2024, 1, 1), null), pool);
+
+        assertEquals(3, groups.size());
+        assertEquals(Arrays.asList("groceries", "2024-01"), groups.get(0).getLabels());
+        assertEquals(2, groups.get(0).getCount());
+        assertEquals(1975, groups.get(0).getSum());
+        assertEquals(725, groups.get(0).getMin());
+        assertEquals(1250, groups.get(0).getMax());
+        assertEquals(Arrays.asList("groceries", "2024-03"), groups.get(1).getLabels());
+        assertEquals(Arrays.asList("rent", "2024-01"), groups.get(2).getLabels());
+
+        List<ColumnarLedger.Group> tesco = ledger.groupBy(Collections.singletonList(Dimension.AMOUNT_BAND), BANDS,
+                new ColumnarLedger.Filter().descriptionContaining("tesco").amountBetween(null, new BigDecimal("50")), pool);
+
+        assertEquals(2, tesco.size());
+        assertEquals(Collections.singletonList("<10.00"), tesco.get(0).getLabels());
+        assertEquals(Collections.singletonList("10.00-100.00"), tesco.get(1).getLabels());
+        assertEquals(2, tesco.get(1).getCount());
+        assertTrue(ledger.groupBy(Collections.emptyList(), BANDS, new ColumnarLedger.Filter().category("travel"), pool).isEmpty());
+    }
+
+    @Test
+    void testParallelScanMatchesSequentialTotals() {
+        ColumnarLedger ledger = new ColumnarLedger();
+        long[] expectedByWeekday = new long[7];
+        LocalDate start = LocalDate.of(2020, 1, 1);
+        for (int i = 0; i < 300_000; i++) {
+            LocalDate date = start.plusDays(i % 1500);
+            long cents = 100 + (i * 37L) % 20_000;
+            ledger.add(date, "Merchant " + (i % 5000), BigDecimal.valueOf(cents, 2), "category-" + (i % 12));
+            expectedByWeekday[date.getDayOfWeek().getValue() - 1] += cents;
+        }
+
+        List<ColumnarLedger.Group> groups = ledger.groupBy(Collections.singletonList(Dimension.WEEKDAY), BANDS,
+                new ColumnarLedger.Filter(), pool);
+        List<ColumnarLedger.Group> byDescriptionAndMonth = ledger.groupBy(
+                Arrays.asList(Dimension.DESCRIPTION, Dimension.MONTH), BANDS, new ColumnarLedger.Filter(), pool);
+
+        assertEquals(7, groups.size());
+        assertEquals("MONDAY", groups.get(0).getLabels().get(0));
+        for (int day = 0; day < 7; day++) {
+            assertEquals(expectedByWeekday[day], groups.get(day).getSum());
+        }
+        assertEquals(300_000, byDescriptionAndMonth.stream().mapToLong(ColumnarLedger.Group::getCount).sum());
+        assertEquals(Arrays.asList("Merchant 0", "2020-01"), byDescriptionAndMonth.get(0).getLabels());
+    }
+
+    @Test
+    void testSnapshotRoundTrip() throws IOException {
+        ColumnarLedger ledger = new ColumnarLedger();
+        ledger.add(LocalDate.of(2024, 2, 29), "Spotify", new BigDecimal("10.99"), "Entertainment");
+        ledger.add(LocalDate.of(2024, 3, 1), "Trainline", new BigDecimal("-42.10"), "Travel");
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ledger.writeTo(new DataOutputStream(bytes));
+        ColumnarLedger restored = ColumnarLedger.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        restored.add(LocalDate.of(2024, 3, 2), "Spotify", new BigDecimal("10.99"), "entertainment");
+
+        List<ColumnarLedger.Group> groups = restored.groupBy(Collections.singletonList(Dimension.CATEGORY), BANDS,
+                new ColumnarLedger.Filter(), pool);
+        assertEquals(3, restored.size());
+        assertEquals(Collections.singletonList("entertainment"), groups.get(0).getLabels());
+        assertEquals(2198, groups.get(0).getSum());
+        assertEquals(-4210, groups.get(1).getSum());
+    }
+}
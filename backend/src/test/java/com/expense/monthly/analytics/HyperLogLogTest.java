@@ -0,0 +1,50 @@
+package com.expense.monthly.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for HyperLogLog.
+ */
+class HyperLogLogTest {
+
+    @Test
+    void testCardinalityWithinErrorBound() {
+        HyperLogLog hll = new HyperLogLog(12);
+        for (int i = 0; i < 100_000; i++) {
+            hll.offer("merchant-" + i);
+            // Duplicates must not change the estimate
+            hll.offer("merchant-" + (i % 10));
+        }
+
+        long estimate = hll.cardinality();
+        assertTrue(Math.abs(estimate - 100_000) < 100_000 * 0.05, "estimate was " + estimate);
+    }
+
+    @Test
+    void testSmallCardinalityIsExactEnough() {
+        HyperLogLog hll = new HyperLogLog(12);
+        hll.offer("tesco");
+        hll.offer("tesco");
+        hll.offer("amazon");
+
+        assertEquals(2, hll.cardinality());
+    }
+
+    @Test
+    void testMerge() {
+        HyperLogLog january = new HyperLogLog(12);
+        HyperLogLog february = new HyperLogLog(12);
+        for (int i = 0; i < 1000; i++) {
+            january.offer("merchant-" + i);
+            february.offer("merchant-" + (i + 500));
+        }
+
+        january.merge(february);
+
+        long estimate = january.cardinality();
+        assertTrue(Math.abs(estimate - 1500) < 1500 * 0.05, "estimate was " + estimate);
+    }
+}
@@ -0,0 +1,103 @@
+package com.expense.monthly.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for QuantileSketch.
+ */
+class QuantileSketchTest {
+
+    private static final double[] QUANTILES = {0, 0.01, 0.1, 0.25, 0.5, 0.75, 0.9, 0.95, 0.99, 0.999, 1};
+
+    @Test
+    void testQuantilesWithinRelativeAccuracy() {
+        QuantileSketch sketch = new QuantileSketch(0.01);
+        for (int i = 1; i <= 10_000; i++) {
+            sketch.add(i);
+        }
+
+        assertEquals(5000, sketch.quantile(0.5), 5000 * 0.01);
+        assertEquals(9900, sketch.quantile(0.99), 9900 * 0.01);
+        assertEquals(1, sketch.quantile(0), 0.01);
+    }
+
+    @Test
+    void testSkewedAmountsStayWithinRelativeAccuracyOfExactQuantiles() {
+        // Log-normal amounts span several orders of magnitude, like real spend
+        Random random = new Random(42);
+        double[] values = new double[50_000];
+        for (double accuracy : new double[]{0.01, 0.05}) {
+            QuantileSketch sketch = new QuantileSketch(accuracy);
+            for (int i = 0; i < values.length; i++) {
+                values[i] = Math.exp(3 + 2 * random.nextGaussian());
+                sketch.add(values[i]);
+            }
+            double[] sorted = values.clone();
+            Arrays.sort(sorted);
+
+            for (double quantile : QUANTILES) {
+                double exact = sorted[(int) Math.floor(quantile * (sorted.length - 1))];
+                double estimate = sketch.quantile(quantile);
+                assertTrue(Math.abs(estimate - exact) <= exact * accuracy,
+                        "q" + quantile + " estimated " + estimate + ", exact " + exact + " at " + accuracy);
+            }
+        }
+    }
+
+    @Test
+    void testNegativeAndZeroValuesKeepTheirOrder() {
+        QuantileSketch sketch = new QuantileSketch(0.01);
+        for (int i = 0; i < 100; i++) {
+            sketch.add(-500);
+            sketch.add(0);
+            sketch.add(20);
+        }
+
+        assertEquals(-500, sketch.quantile(0), 5);
+        assertEquals(0, sketch.quantile(0.5));
+        assertEquals(20, sketch.quantile(1), 0.2);
+        assertEquals(300, sketch.getCount());
+    }
+
+    @Test
+    void testEmptySketchAndInvalidArguments() {
+        QuantileSketch sketch = new QuantileSketch(0.01);
+
+        assertTrue(Double.isNaN(sketch.quantile(0.5)));
+        assertThrows(IllegalArgumentException.class, () -> sketch.quantile(-0.1));
+        assertThrows(IllegalArgumentException.class, () -> sketch.quantile(1.1));
+        assertThrows(IllegalArgumentException.class, () -> new QuantileSketch(0));
+        assertThrows(IllegalArgumentException.class, () -> new QuantileSketch(1));
+    }
+
+    @Test
+    void testSerializationRoundTrip() throws IOException {
+        // Arrange
+        QuantileSketch sketch = new QuantileSketch(0.02);
+        for (int i = -50; i <= 1000; i++) {
+            sketch.add(i * 1.5);
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        // Act
+        sketch.writeTo(new DataOutputStream(bytes));
+        QuantileSketch restored = QuantileSketch.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        // Assert
+        assertEquals(sketch.getCount(), restored.getCount());
+        assertEquals(sketch.getRelativeAccuracy(), restored.getRelativeAccuracy());
+        for (double quantile : QUANTILES) {
+            assertEquals(sketch.quantile(quantile), restored.quantile(quantile));
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.expense.monthly.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for SpaceSavingTopK.
+ */
+class SpaceSavingTopKTest {
+
+    @Test
+    void testHeavyHittersSurviveEviction() {
+        SpaceSavingTopK topK = new SpaceSavingTopK(10);
+        for (int i = 0; i < 1000; i++) {
+            topK.offer("rent", 100);
+            topK.offer("groceries", 50);
+            topK.offer("one-off-" + i, 1);
+        }
+
+        List<SpaceSavingTopK.Counter> top = topK.top(2);
+        assertEquals(10, topK.size());
+        assertEquals("rent", top.get(0).getKey());
+        assertEquals("groceries", top.get(1).getKey());
+        assertTrue(top.get(0).getWeight() >= 100_000);
+    }
+
+    @Test
+    void testTopOfNonPositiveCountIsEmpty() {
+        SpaceSavingTopK topK = new SpaceSavingTopK(10);
+        topK.offer("rent", 100);
+
+        assertTrue(topK.top(0).isEmpty());
+        assertTrue(topK.top(-1).isEmpty());
+    }
+}
@@ -0,0 +1,119 @@
+package com.expense.monthly.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for SuggestionTrie.
+ */
+public class SuggestionTrieTest {
+
+    @Test
+    void testCompletesPrefixesAcrossSplitEdges() {
+        // Arrange
+        SuggestionTrie trie = new SuggestionTrie(5);
+        trie.add("Tesco Store", 3, new BigDecimal("30.00"));
+        trie.add("Tesco Express", 1, new BigDecimal("90.00"));
+        trie.add("Test Valley Water", 2, new BigDecimal("40.00"));
+        trie.add("Netflix", 1, new BigDecimal("9.99"));
+
+        // Act
+        List<String> byFrequency = texts(trie.complete("TES", SuggestionTrie.Rank.FREQUENCY, 10));
+        List<String> bySpend = texts(trie.complete("tesco", SuggestionTrie.Rank.SPEND, 10));
+
+        // Assert
+        assertEquals(List.of("Tesco Store", "Test Valley Water", "Tesco Express"), byFrequency);
+        assertEquals(List.of("Tesco Express", "Tesco Store"), bySpend);
+        assertEquals(List.of("Tesco Store"), texts(trie.complete("tesco  s", SuggestionTrie.Rank.FREQUENCY, 10)));
+        assertTrue(trie.complete("tesx", SuggestionTrie.Rank.FREQUENCY, 10).isEmpty());
+        assertTrue(trie.complete("tesco stores", SuggestionTrie.Rank.FREQUENCY, 10).isEmpty());
+        assertEquals(4, trie.size());
+    }
+
+    @Test
+    void testSnapshotRoundTrip() throws IOException {
+        // Arrange
+        SuggestionTrie trie = new SuggestionTrie(5);
+        trie.add("Tesco Store", 3, new BigDecimal("30.00"));
+        trie.add("Tesco Express", 1, new BigDecimal("90.00"));
+        trie.add("Netflix", 2, new BigDecimal("19.98"));
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        trie.writeTo(new DataOutputStream(bytes));
+
+        // Act
+        SuggestionTrie restored = new SuggestionTrie(5);
+        restored.add("Stale", 1, BigDecimal.ONE);
+        restored.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        // Assert
+        assertEquals(3, restored.size());
+        List<SuggestionTrie.Entry> tesco = restored.complete("tes", SuggestionTrie.Rank.SPEND, 10);
+        assertEquals(List.of("Tesco Express", "Tesco Store"), texts(tesco));
+        assertEquals(3, tesco.get(1).getCount());
+        assertEquals(new BigDecimal("19.98"), restored.complete("net", SuggestionTrie.Rank.SPEND, 1).get(0).getSpend());
+        assertTrue(restored.complete("stale", SuggestionTrie.Rank.FREQUENCY, 10).isEmpty());
+    }
+
+    @Test
+    void testRepeatedKeysAccumulate() {
+        // Arrange
+        SuggestionTrie trie = new SuggestionTrie(5);
+
+        // Act
+        trie.add("Rent", 1, new BigDecimal("1200.00"));
+        trie.add("  rent ", 1, new BigDecimal("1200.00"));
+
+        // Assert
+        SuggestionTrie.Entry entry = trie.complete("r", SuggestionTrie.Rank.SPEND, 1).get(0);
+        assertEquals("Rent", entry.getText());
+        assertEquals(2, entry.getCount());
+        assertEquals(new BigDecimal("2400.00"), entry.getSpend());
+        assertEquals(1, trie.size());
+    }
+
+    @Test
+    void testCachedRankingsMatchFullScan() {
+        // Arrange: random keys with a few refunds, so both the offer and rebuild paths are exercised
+        SuggestionTrie trie = new SuggestionTrie(3);
+        TreeMap<String, BigDecimal> spend = new TreeMap<>();
+        Random random = new Random(7);
+        String[] words = {"amazon", "amazing", "amaz", "apple", "app", "apply", "bus", "bust", "busy"};
+        for (int i = 0; i < 500; i++) {
+            String key = words[random.nextInt(words.length)] + (random.nextInt(3) == 0 ? " " + random.nextInt(5) : "");
+            BigDecimal amount = BigDecimal.valueOf(random.nextInt(200) - 20);
+            trie.add(key, 1, amount);
+            spend.merge(key, amount, BigDecimal::add);
+        }
+
+        // Act & Assert
+        for (String prefix : new String[] {"", "a", "ama", "amaz", "app", "bu", "bus", "amazon 1"}) {
+            List<String> expected = spend.entrySet().stream()
+                    .filter(e -> e.getKey().startsWith(prefix))
+                    .sorted(Map.Entry.<String, BigDecimal>comparingByValue().reversed())
+                    .limit(3)
+                    .map(e -> e.getValue().toPlainString())
+                    .collect(Collectors.toList());
+            List<String> actual = trie.complete(prefix, SuggestionTrie.Rank.SPEND, 3).stream()
+                    .map(e -> e.getSpend().toPlainString())
+                    .collect(Collectors.toList());
+            assertEquals(expected, actual, "prefix '" + prefix + "'");
+        }
+    }
+
+    private static List<String> texts(List<SuggestionTrie.Entry> entries) {
+        return entries.stream().map(SuggestionTrie.Entry::getText).collect(Collectors.toList());
+    }
+}
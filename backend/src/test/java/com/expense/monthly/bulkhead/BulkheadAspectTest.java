@@ -0,0 +1,98 @@
+package com.expense.monthly.bulkhead;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for BulkheadAspect.
+ */
+public class BulkheadAspectTest {
+
+    private SimpleMeterRegistry registry;
+    private BulkheadAspect aspect;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("bulkhead.analytics.max-concurrent", "1");
+        aspect = new BulkheadAspect(environment, registry, 50);
+    }
+
+    @Test
+    void testFullBulkheadRejectsOnlyItsOwnWorkload() throws Throwable {
+        // Arrange
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ProceedingJoinPoint slowQuery = joinPoint();
+        when(slowQuery.proceed()).thenAnswer(invocation -> {
+            entered.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return "slow";
+        });
+        ProceedingJoinPoint quickQuery = joinPoint();
+        when(quickQuery.proceed()).thenReturn("quick");
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            // Act
+            Future<Object> slow = executor.submit(() -> {
+                try {
+                    return aspect.run(slowQuery, Workload.ANALYTICS);
+                } catch (Throwable t) {
+                    throw new IllegalStateException(t);
+                }
+            });
+            assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+            // Assert
+            assertThrows(BulkheadFullException.class, () -> aspect.run(quickQuery, Workload.ANALYTICS));
+            assertEquals("quick", aspect.run(quickQuery, Workload.READ));
+            assertEquals(1.0, registry.get("bulkhead.rejected").tag("workload", "analytics").counter().count());
+            assertEquals(1.0, registry.get("bulkhead.active").tag("workload", "analytics").gauge().value());
+            release.countDown();
+            assertEquals("slow", slow.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testNestedCallRunsInsideOuterBulkhead() throws Throwable {
+        // Arrange
+        ProceedingJoinPoint inner = joinPoint();
+        when(inner.proceed()).thenReturn("inner");
+        ProceedingJoinPoint outer = joinPoint();
+        when(outer.proceed()).thenAnswer(invocation -> aspect.run(inner, Workload.ANALYTICS));
+
+        // Act
+        Object result = aspect.run(outer, Workload.ANALYTICS);
+
+        // Assert
+        assertEquals("inner", result);
+        assertEquals(0.0, registry.get("bulkhead.active").tag("workload", "analytics").gauge().value());
+        assertEquals(1, registry.get("bulkhead.wait").tag("workload", "analytics").timer().count());
+    }
+
+    private ProceedingJoinPoint joinPoint() {
+        ProceedingJoinPoint joinPoint = mock(ProceedingJoinPoint.class);
+        Signature signature = mock(Signature.class);
+        when(joinPoint.getSignature()).thenReturn(signature);
+        when(signature.toShortString()).thenReturn("query()");
+        return joinPoint;
+    }
+}
@@ -0,0 +1,213 @@
+package com.expense.monthly.bulkhead;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that the pool and bulkhead sizes in application.properties fit together: with every bulkhead full, and
+ * every ingest call also holding the connection it records budget alerts on, no thread waits for a connection.
+ */
+@SpringJUnitConfig(BulkheadConnectionPoolTest.Config.class)
+@TestPropertySource(locations = "classpath:application.properties")
+public class BulkheadConnectionPoolTest {
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private HikariDataSource dataSource;
+
+    @Autowired
+    private Calls calls;
+
+    @Test
+    void testFullBulkheadsNeverQueueForConnections() throws Exception {
+        // Arrange
+        int ingest = maxConcurrent(Workload.INGEST);
+        int read = maxConcurrent(Workload.READ);
+        int analytics = maxConcurrent(Workload.ANALYTICS);
+        int expectedConnections = 2 * ingest + read + analytics;
+        CountDownLatch release = new CountDownLatch(1);
+        List<Callable<Void>> work = new ArrayList<>();
+        for (int i = 0; i <= ingest; i++) {
+            work.add(() -> calls.ingest(release));
+        }
+        for (int i = 0; i <= read; i++) {
+            work.add(() -> calls.read(release));
+        }
+        for (int i = 0; i <= analytics; i++) {
+            work.add(() -> calls.analytics(release));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(work.size());
+
+        try {
+            // Act
+            List<Future<Void>> futures = new ArrayList<>();
+            for (Callable<Void> call : work) {
+                futures.add(executor.submit(call));
+            }
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (dataSource.getHikariPoolMXBean().getActiveConnections() < expectedConnections
+                    && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            Thread.sleep(100);
+
+            // Assert
+            assertEquals(expectedConnections, dataSource.getHikariPoolMXBean().getActiveConnections());
+            assertEquals(0, dataSource.getHikariPoolMXBean().getThreadsAwaitingConnection());
+            assertTrue(expectedConnections <= dataSource.getMaximumPoolSize());
+            release.countDown();
+            for (Future<Void> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    private int maxConcurrent(Workload workload) {
+        return environment.getRequiredProperty("bulkhead." + workload.getKey() + ".max-concurrent", Integer.class);
+    }
+
+    /**
+     * Service calls that hold their connections until released, shaped like the application's.
+     */
+    static class Calls {
+
+        private final JdbcTemplate jdbcTemplate;
+        private final Alerts alerts;
+
+        Calls(JdbcTemplate jdbcTemplate, Alerts alerts) {
+            this.jdbcTemplate = jdbcTemplate;
+            this.alerts = alerts;
+        }
+
+        /**
+         * Saves a batch, then records alerts after commit like the budget service does.
+         */
+        @Bulkhead(Workload.INGEST)
+        @Transactional
+        public Void ingest(CountDownLatch release) {
+            jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    alerts.record(release);
+                }
+            });
+            return null;
+        }
+
+        @Bulkhead(Workload.READ)
+        @Transactional(readOnly = true)
+        public Void read(CountDownLatch release) throws InterruptedException {
+            jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+            release.await(10, TimeUnit.SECONDS);
+            return null;
+        }
+
+        @Bulkhead(Workload.ANALYTICS)
+        @Transactional(readOnly = true)
+        public Void analytics(CountDownLatch release) throws InterruptedException {
+            jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+            release.await(10, TimeUnit.SECONDS);
+            return null;
+        }
+    }
+
+    static class Alerts {
+
+        private final JdbcTemplate jdbcTemplate;
+
+        Alerts(JdbcTemplate jdbcTemplate) {
+            this.jdbcTemplate = jdbcTemplate;
+        }
+
+        @Transactional(propagation = Propagation.REQUIRES_NEW)
+        public void record(CountDownLatch release) {
+            jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Configuration
+    @EnableAspectJAutoProxy(proxyTargetClass = true)
+    @EnableTransactionManagement
+    static class Config {
+
+        @Bean
+        HikariDataSource dataSource(Environment environment) {
+            HikariConfig config = new HikariConfig();
+            config.setJdbcUrl("jdbc:h2:mem:bulkheads;DB_CLOSE_DELAY=-1");
+            config.setMaximumPoolSize(
+                    environment.getRequiredProperty("spring.datasource.hikari.maximum-pool-size", Integer.class));
+            return new HikariDataSource(config);
+        }
+
+        @Bean
+        PlatformTransactionManager transactionManager(HikariDataSource dataSource) {
+            return new DataSourceTransactionManager(dataSource);
+        }
+
+        @Bean
+        JdbcTemplate jdbcTemplate(HikariDataSource dataSource) {
+            return new JdbcTemplate(dataSource);
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        BulkheadAspect bulkheadAspect(Environment environment, MeterRegistry meterRegistry) {
+            return new BulkheadAspect(environment, meterRegistry,
+                    environment.getRequiredProperty("bulkhead.max-wait-ms", Long.class));
+        }
+
+        @Bean
+        Alerts alerts(JdbcTemplate jdbcTemplate) {
+            return new Alerts(jdbcTemplate);
+        }
+
+        @Bean
+        Calls calls(JdbcTemplate jdbcTemplate, Alerts alerts) {
+            return new Calls(jdbcTemplate, alerts);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.expense.monthly.config;
+
+import com.expense.monthly.dto.TransactionDTO;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for ColumnarTransactionsHttpMessageConverter.
+ */
+public class ColumnarTransactionsHttpMessageConverterTest {
+
+    private static final Type TRANSACTION_LIST = new TypeReference<List<TransactionDTO>>() { }.getType();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ColumnarTransactionsHttpMessageConverter converter =
+            new ColumnarTransactionsHttpMessageConverter(objectMapper);
+
+    @Test
+    void testWritesOneArrayPerField() throws Exception {
+        // Arrange
+        List<TransactionDTO> transactions = Arrays.asList(
+                new TransactionDTO(LocalDate.of(2023, 1, 15), "Grocery shopping", new BigDecimal("125.50"), "GBP", "Groceries"),
+                new TransactionDTO(LocalDate.of(2023, 1, 20), "Monthly rent", new BigDecimal("1200.00"), null, "Housing"));
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+
+        // Act
+        converter.write(transactions, TRANSACTION_LIST, ColumnarTransactionsHttpMessageConverter.COLUMNAR_JSON, output);
+
+        // Assert
+        JsonNode json = objectMapper.readTree(output.getBodyAsString());
+        assertEquals(2, json.get("count").asInt());
+        assertEquals("2023-01-20", json.get("date").get(1).asText());
+        assertEquals("Grocery shopping", json.get("description").get(0).asText());
+        assertEquals(0, new BigDecimal("1200.00").compareTo(json.get("amount").get(1).decimalValue()));
+        assertTrue(json.get("currency").get(1).isNull());
+        assertEquals("Housing", json.get("category").get(1).asText());
+    }
+
+    @Test
+    void testOnlyWritesTransactionLists() {
+        // Arrange
+        Type totals = new TypeReference<Map<String, BigDecimal>>() { }.getType();
+        Type strings = new TypeReference<List<String>>() { }.getType();
+
+        // Act & Assert
+        assertTrue(converter.canWrite(TRANSACTION_LIST, List.class, ColumnarTransactionsHttpMessageConverter.COLUMNAR_JSON));
+        assertFalse(converter.canWrite(totals, Map.class, ColumnarTransactionsHttpMessageConverter.COLUMNAR_JSON));
+        assertFalse(converter.canWrite(strings, List.class, ColumnarTransactionsHttpMessageConverter.COLUMNAR_JSON));
+        assertFalse(converter.canRead(TRANSACTION_LIST, null, ColumnarTransactionsHttpMessageConverter.COLUMNAR_JSON));
+        assertFalse(converter.canWrite(TRANSACTION_LIST, List.class, null));
+        assertFalse(converter.canWrite(TRANSACTION_LIST, List.class, MediaType.ALL));
+    }
+}
@@ -0,0 +1,57 @@
+package com.expense.monthly.config;
+
+import com.expense.monthly.model.ArchiveSegment;
+import org.junit.jupiter.api.Test;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SecondLevelCacheConfiguration.
+ */
+class SecondLevelCacheConfigurationTest {
+
+    @Test
+    void testEachContextGetsItsOwnCacheManager() {
+        // Arrange
+        SecondLevelCacheConfiguration configuration = new SecondLevelCacheConfiguration();
+        CacheManager first = configuration.hibernateCacheManager(4, 1, 60);
+
+        // Act
+        CacheManager second = configuration.hibernateCacheManager(4, 1, 60);
+        first.close();
+
+        // Assert
+        assertNotSame(first, second);
+        assertFalse(second.isClosed());
+        assertNotNull(second.getCache(ArchiveSegment.class.getName()));
+        second.close();
+    }
+
+    @Test
+    void testSegmentRegionIsBoundedByBytes() {
+        // Arrange
+        CacheManager cacheManager = new SecondLevelCacheConfiguration().hibernateCacheManager(4, 1, 60);
+        Cache<Object, Object> segments = cacheManager.getCache(ArchiveSegment.class.getName());
+
+        try {
+            // Act
+            segments.put("oversized", new byte[2 * 1024 * 1024]);
+            for (int i = 0; i < 8; i++) {
+                segments.put(i, new byte[768 * 1024]);
+            }
+
+            // Assert
+            assertNull(segments.get("oversized"));
+            long cached = 0;
+            for (int i = 0; i < 8; i++) {
+                cached += segments.get(i) != null ? 1 : 0;
+            }
+            assertTrue(cached > 0 && cached <= 5, "cached " + cached + " of 8");
+        } finally {
+            cacheManager.close();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.expense.monthly.config;
+
+import com.expense.monthly.controller.TransactionController;
+import com.expense.monthly.dto.TransactionDTO;
+import com.expense.monthly.ingest.IngestAdmissionControl;
+import com.expense.monthly.service.LiveUpdateService;
+import com.expense.monthly.service.TransactionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collections;
+
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests content negotiation with the converters registered by WebConfiguration.
+ */
+@WebMvcTest(TransactionController.class)
+public class WebConfigurationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private TransactionService transactionService;
+
+    @MockBean
+    private IngestAdmissionControl ingestAdmissionControl;
+
+    @MockBean
+    private LiveUpdateService liveUpdateService;
+
+    @BeforeEach
+    void setup() {
+        when(transactionService.listTransactions()).thenReturn(Collections.singletonList(
+                new TransactionDTO(LocalDate.of(2023, 1, 15), "Grocery shopping", new BigDecimal("125.50"), "Groceries")));
+    }
+
+    @Test
+    void testJsonIsTheDefault() throws Exception {
+        mockMvc.perform(get("/api/transactions"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$[0].description", is("Grocery shopping")));
+
+        mockMvc.perform(get("/api/transactions").accept(MediaType.ALL))
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void testColumnarJsonOnRequest() throws Exception {
+        mockMvc.perform(get("/api/transactions").accept(ColumnarTransactionsHttpMessageConverter.COLUMNAR_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(ColumnarTransactionsHttpMessageConverter.COLUMNAR_JSON))
+                .andExpect(jsonPath("$.count", is(1)))
+                .andExpect(jsonPath("$.description[0]", is("Grocery shopping")));
+    }
+
+    @Test
+    void testBinaryFormatsOnRequest() throws Exception {
+        mockMvc.perform(get("/api/transactions").accept(MediaType.parseMediaType("application/x-jackson-smile")))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.parseMediaType("application/x-jackson-smile")));
+    }
+}
@@ -1,6 +1,12 @@
 package com.expense.monthly.controller;
 
-import com.expense.monthly.model.Transaction;
+import com.expense.monthly.bulkhead.BulkheadExceptionHandler;
+import com.expense.monthly.bulkhead.BulkheadFullException;
+import com.expense.monthly.bulkhead.Workload;
+import com.expense.monthly.dto.TransactionDTO;
+import com.expense.monthly.ingest.IngestAdmissionControl;
+import com.expense.monthly.ingest.IngestRejectedException;
+import com.expense.monthly.service.LiveUpdateService;
 import com.expense.monthly.service.TransactionService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -8,9 +14,12 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.io.Writer;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.Arrays;
@@ -20,6 +29,9 @@ import java.util.Map;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -33,6 +45,12 @@ public class TransactionControllerTest {
     @Mock
     private TransactionService transactionService;
 
+    @Mock
+    private IngestAdmissionControl ingestAdmissionControl;
+
+    @Mock
+    private LiveUpdateService liveUpdateService;
+
     @InjectMocks
     private TransactionController transactionController;
 
@@ -40,7 +58,9 @@ public class TransactionControllerTest {
 
     @org.junit.jupiter.api.BeforeEach
     public void setup() {
-        mockMvc = MockMvcBuilders.standaloneSetup(transactionController).build();
+        mockMvc = MockMvcBuilders.standaloneSetup(transactionController)
+                .setControllerAdvice(new BulkheadExceptionHandler())
+                .build();
     }
 
     public static void main(String[] args) {
@@ -51,28 +71,12 @@ public class TransactionControllerTest {
     @Test
     void testGetAllTransactions() throws Exception {
         // Arrange
-        List<Transaction> transactions = Arrays.asList(
-                Transaction.builder()
-                        .id(1L)
-                        .date(LocalDate.of(2023, 1, 15))
-                        .description("Grocery shopping")
-                        .amount(new BigDecimal("125.50"))
-                        .category("Groceries")
-                        .month(1)
-                        .year(2023)
-                        .build(),
-                Transaction.builder()
-                        .id(2L)
-                        .date(LocalDate.of(2023, 1, 20))
-                        .description("Monthly rent")
-                        .amount(new BigDecimal("1200.00"))
-                        .category("Housing")
-                        .month(1)
-                        .year(2023)
-                        .build()
+        List<TransactionDTO> transactions = Arrays.asList(
+                new TransactionDTO(LocalDate.of(2023, 1, 15), "Grocery shopping", new BigDecimal("125.50"), "Groceries"),
+                new TransactionDTO(LocalDate.of(2023, 1, 20), "Monthly rent", new BigDecimal("1200.00"), "Housing")
         );
 
-        when(transactionService.getAllTransactions()).thenReturn(transactions);
+        when(transactionService.listTransactions()).thenReturn(transactions);
 
         // Act & Assert
         mockMvc.perform(get("/api/transactions")
@@ -82,7 +86,7 @@ public class TransactionControllerTest {
                 .andExpect(jsonPath("$[0].description", is("Grocery shopping")))
                 .andExpect(jsonPath("$[1].description", is("Monthly rent")));
 
-        verify(transactionService, times(1)).getAllTransactions();
+        verify(transactionService, times(1)).listTransactions();
     }
 
     @Test
@@ -90,28 +94,12 @@ public class TransactionControllerTest {
         // Arrange
         String category = "Groceries";
 
-        List<Transaction> filteredTransactions = Arrays.asList(
-                Transaction.builder()
-                        .id(1L)
-                        .date(LocalDate.of(2023, 1, 15))
-                        .description("Grocery shopping")
-                        .amount(new BigDecimal("125.50"))
-                        .category("Groceries")
-                        .month(1)
-                        .year(2023)
-                        .build(),
-                Transaction.builder()
-                        .id(3L)
-                        .date(LocalDate.of(2023, 2, 10))
-                        .description("Supermarket")
-                        .amount(new BigDecimal("85.75"))
-                        .category("Groceries")
-                        .month(2)
-                        .year(2023)
-                        .build()
+        List<TransactionDTO> filteredTransactions = Arrays.asList(
+                new TransactionDTO(LocalDate.of(2023, 1, 15), "Grocery shopping", new BigDecimal("125.50"), "Groceries"),
+                new TransactionDTO(LocalDate.of(2023, 2, 10), "Supermarket", new BigDecimal("85.75"), "Groceries")
         );
 
-        when(transactionService.getTransactionsByCategory(category)).thenReturn(filteredTransactions);
+        when(transactionService.listTransactionsByCategory(category)).thenReturn(filteredTransactions);
 
         // Act & Assert
         mockMvc.perform(get("/api/transactions")
@@ -122,8 +110,8 @@ public class TransactionControllerTest {
                 .andExpect(jsonPath("$[0].description", is("Grocery shopping")))
                 .andExpect(jsonPath("$[1].description", is("Supermarket")));
 
-        verify(transactionService, times(1)).getTransactionsByCategory(category);
-        verify(transactionService, never()).getAllTransactions();
+        verify(transactionService, times(1)).listTransactionsByCategory(category);
+        verify(transactionService, never()).listTransactions();
     }
 
     @Test
@@ -132,28 +120,12 @@ public class TransactionControllerTest {
         int month = 1;
         int year = 2023;
 
-        List<Transaction> transactions = Arrays.asList(
-                Transaction.builder()
-                        .id(1L)
-                        .date(LocalDate.of(2023, 1, 15))
-                        .description("Grocery shopping")
-                        .amount(new BigDecimal("125.50"))
-                        .category("Groceries")
-                        .month(1)
-                        .year(2023)
-                        .build(),
-                Transaction.builder()
-                        .id(2L)
-                        .date(LocalDate.of(2023, 1, 20))
-                        .description("Monthly rent")
-                        .amount(new BigDecimal("1200.00"))
-                        .category("Housing")
-                        .month(1)
-                        .year(2023)
-                        .build()
+        List<TransactionDTO> transactions = Arrays.asList(
+                new TransactionDTO(LocalDate.of(2023, 1, 15), "Grocery shopping", new BigDecimal("125.50"), "Groceries"),
+                new TransactionDTO(LocalDate.of(2023, 1, 20), "Monthly rent", new BigDecimal("1200.00"), "Housing")
         );
 
-        when(transactionService.getTransactionsByMonth(month, year)).thenReturn(transactions);
+        when(transactionService.listTransactionsByMonth(month, year)).thenReturn(transactions);
 
         // Act & Assert
         mockMvc.perform(get("/api/transactions/month")
@@ -165,7 +137,7 @@ public class TransactionControllerTest {
                 .andExpect(jsonPath("$[0].description", is("Grocery shopping")))
                 .andExpect(jsonPath("$[1].description", is("Monthly rent")));
 
-        verify(transactionService, times(1)).getTransactionsByMonth(month, year);
+        verify(transactionService, times(1)).listTransactionsByMonth(month, year);
     }
 
     @Test
@@ -173,28 +145,12 @@ public class TransactionControllerTest {
         // Arrange
         String category = "Groceries";
 
-        List<Transaction> transactions = Arrays.asList(
-                Transaction.builder()
-                        .id(1L)
-                        .date(LocalDate.of(2023, 1, 15))
-                        .description("Grocery shopping")
-                        .amount(new BigDecimal("125.50"))
-                        .category("Groceries")
-                        .month(1)
-                        .year(2023)
-                        .build(),
-                Transaction.builder()
-                        .id(3L)
-                        .date(LocalDate.of(2023, 2, 10))
-                        .description("Supermarket")
-                        .amount(new BigDecimal("85.75"))
-                        .category("Groceries")
-                        .month(2)
-                        .year(2023)
-                        .build()
+        List<TransactionDTO> transactions = Arrays.asList(
+                new TransactionDTO(LocalDate.of(2023, 1, 15), "Grocery shopping", new BigDecimal("125.50"), "Groceries"),
+                new TransactionDTO(LocalDate.of(2023, 2, 10), "Supermarket", new BigDecimal("85.75"), "Groceries")
         );
 
-        when(transactionService.getTransactionsByCategory(category)).thenReturn(transactions);
+        when(transactionService.listTransactionsByCategory(category)).thenReturn(transactions);
 
         // Act & Assert
         mockMvc.perform(get("/api/transactions/category/{category}", category)
@@ -204,7 +160,7 @@ public class TransactionControllerTest {
                 .andExpect(jsonPath("$[0].description", is("Grocery shopping")))
                 .andExpect(jsonPath("$[1].description", is("Supermarket")));
 
-        verify(transactionService, times(1)).getTransactionsByCategory(category);
+        verify(transactionService, times(1)).listTransactionsByCategory(category);
     }
 
     @Test
@@ -272,4 +228,93 @@ public class TransactionControllerTest {
 
         verify(transactionService, times(1)).deleteAllTransactions();
     }
+
+    @Test
+    void testExportTransactionsAsCsv() throws Exception {
+        // Arrange
+        doAnswer(invocation -> {
+            Writer writer = invocation.getArgument(3);
+            writer.write("Date,Description,Amount,Category\n15/01/2023,Grocery shopping,125.50,Groceries\n");
+            return 1L;
+        }).when(transactionService).exportCSV(isNull(), isNull(), eq("Groceries"), any(Writer.class));
+
+        // Act & Assert
+        MvcResult result = mockMvc.perform(get("/api/transactions/export")
+                        .param("format", "csv")
+                        .param("category", "Groceries"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"transactions.csv\""))
+                .andExpect(content().string("Date,Description,Amount,Category\n15/01/2023,Grocery shopping,125.50,Groceries\n"));
+    }
+
+    @Test
+    void testExportTransactionsRejectsUnknownFormat() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/transactions/export")
+                        .param("format", "xlsx"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(transactionService);
+    }
+
+    @Test
+    void testBatchImportRejectedWhenAdmissionQueueIsFull() throws Exception {
+        // Arrange
+        when(ingestAdmissionControl.acquire()).thenThrow(new IngestRejectedException("Too many imports in progress", 30));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/transactions/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "30"));
+
+        verifyNoInteractions(transactionService);
+    }
+
+    @Test
+    void testUploadReturnsCountWithoutTransactions() throws Exception {
+        // Arrange
+        MockMultipartFile file = new MockMultipartFile("file", "transactions.csv", "text/csv",
+                "Date,Description,Amount,Category\n15/01/2023,Grocery shopping,125.50,Groceries\n".getBytes());
+        when(transactionService.processCSVFile(any())).thenReturn(1L);
+
+        // Act & Assert
+        mockMvc.perform(multipart("/api/transactions/upload").file(file))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count", is(1)))
+                .andExpect(jsonPath("$.transactions").doesNotExist());
+    }
+
+    @Test
+    void testUploadWithUnknownCurrencyIsABadRequest() throws Exception {
+        // Arrange
+        MockMultipartFile file = new MockMultipartFile("file", "transactions.csv", "text/csv",
+                "Date,Description,Amount,Currency,Category\n15/01/2023,Shop,1.00,XYZ,Groceries\n".getBytes());
+        when(transactionService.processCSVFile(any()))
+                .thenThrow(new IllegalArgumentException("Row 1: unknown currency 'XYZ'"));
+
+        // Act & Assert
+        mockMvc.perform(multipart("/api/transactions/upload").file(file))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("Row 1: unknown currency 'XYZ'")));
+    }
+
+    @Test
+    void testUploadWithFullBulkheadIsServiceUnavailable() throws Exception {
+        // Arrange
+        MockMultipartFile file = new MockMultipartFile("file", "transactions.csv", "text/csv",
+                "Date,Description,Amount,Category\n15/01/2023,Grocery shopping,125.50,Groceries\n".getBytes());
+        when(transactionService.processCSVFile(any())).thenThrow(new BulkheadFullException(Workload.INGEST, 5));
+
+        // Act & Assert
+        mockMvc.perform(multipart("/api/transactions/upload").file(file))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "5"))
+                .andExpect(jsonPath("$.message", is("No capacity available for ingest work")));
+    }
 }
@@ -0,0 +1,68 @@
+package com.expense.monthly.ingest;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Unit tests for CsvArchiveReader.
+ */
+class CsvArchiveReaderTest {
+
+    private static final String CSV = "Date,Description,Amount,Category\n15/01/2023,Grocery shopping,125.50,Groceries\n";
+
+    @Test
+    void testReadsPlainCsv() throws IOException {
+        List<String> documents = readAll(CSV.getBytes(StandardCharsets.UTF_8), "january.csv");
+
+        assertEquals(List.of("january.csv=" + CSV.trim()), documents);
+    }
+
+    @Test
+    void testReadsGzipCsv() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            gzip.write(CSV.getBytes(StandardCharsets.UTF_8));
+        }
+
+        List<String> documents = readAll(bytes.toByteArray(), "january.csv.gz");
+
+        assertEquals(List.of("january.csv.gz=" + CSV.trim()), documents);
+    }
+
+    @Test
+    void testReadsEveryCsvEntryInZip() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(bytes)) {
+            zip.putNextEntry(new ZipEntry("2023/january.csv"));
+            zip.write(CSV.getBytes(StandardCharsets.UTF_8));
+            zip.putNextEntry(new ZipEntry("README.txt"));
+            zip.write("not a csv".getBytes(StandardCharsets.UTF_8));
+            zip.putNextEntry(new ZipEntry("2023/february.CSV"));
+            zip.write(CSV.getBytes(StandardCharsets.UTF_8));
+        }
+
+        List<String> documents = readAll(bytes.toByteArray(), "2023.zip");
+
+        assertEquals(List.of("2023/january.csv=" + CSV.trim(), "2023/february.CSV=" + CSV.trim()), documents);
+    }
+
+    private static List<String> readAll(byte[] content, String name) throws IOException {
+        List<String> documents = new ArrayList<>();
+        CsvArchiveReader.read(new ByteArrayInputStream(content), name, (entryName, reader) ->
+                documents.add(entryName + "=" + new BufferedReader(reader).lines().collect(Collectors.joining("\n"))));
+        return documents;
+    }
+}
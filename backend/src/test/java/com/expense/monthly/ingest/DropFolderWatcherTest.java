@@ -0,0 +1,95 @@
+package com.expense.monthly.ingest;
+
+import com.expense.monthly.service.TransactionService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for DropFolderWatcher.
+ */
+public class DropFolderWatcherTest {
+
+    @TempDir
+    Path folder;
+
+    private final TransactionService transactionService = mock(TransactionService.class);
+
+    private DropFolderWatcher watcher(IngestAdmissionControl admissionControl, long settleMillis) {
+        return new DropFolderWatcher(transactionService, admissionControl, folder.toString(), settleMillis);
+    }
+
+    private IngestAdmissionControl admissionControl() {
+        return new IngestAdmissionControl(new SimpleMeterRegistry(), 1, 0, 10, 5);
+    }
+
+    @Test
+    void testImportedFileIsMovedToProcessed() throws IOException {
+        // Arrange
+        Path file = Files.writeString(folder.resolve("2019.csv"), "Date,Description,Amount,Category\n");
+        Files.writeString(folder.resolve("notes.txt"), "ignored");
+        when(transactionService.importCSVFile(file)).thenReturn(1L);
+
+        // Act
+        watcher(admissionControl(), 0).scan();
+
+        // Assert
+        verify(transactionService, times(1)).importCSVFile(any());
+        assertFalse(Files.exists(file));
+        assertTrue(Files.exists(folder.resolve("processed").resolve("2019.csv")));
+        assertTrue(Files.exists(folder.resolve("notes.txt")));
+    }
+
+    @Test
+    void testFailedFileIsMovedToFailed() throws IOException {
+        // Arrange
+        Path file = Files.writeString(folder.resolve("broken.csv"), "not,a,ledger\n");
+        when(transactionService.importCSVFile(file)).thenThrow(new IllegalArgumentException("Bad row"));
+
+        // Act
+        watcher(admissionControl(), 0).scan();
+
+        // Assert
+        assertFalse(Files.exists(file));
+        assertTrue(Files.exists(folder.resolve("failed").resolve("broken.csv")));
+    }
+
+    @Test
+    void testFileIsDeferredWhileIngestIsSaturated() throws IOException {
+        // Arrange
+        Path file = Files.writeString(folder.resolve("2020.csv"), "Date,Description,Amount,Category\n");
+        IngestAdmissionControl admissionControl = admissionControl();
+        IngestAdmissionControl.Permit held = admissionControl.acquire();
+
+        // Act
+        watcher(admissionControl, 0).scan();
+
+        // Assert
+        verifyNoInteractions(transactionService);
+        assertTrue(Files.exists(file));
+        held.close();
+    }
+
+    @Test
+    void testFileStillBeingWrittenIsLeftAlone() throws IOException {
+        // Arrange
+        Path file = Files.writeString(folder.resolve("copying.csv"), "Date,Description,Amount,Category\n");
+        Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+
+        // Act
+        watcher(admissionControl(), 60_000).scan();
+
+        // Assert
+        verifyNoInteractions(transactionService);
+        assertTrue(Files.exists(file));
+    }
+}
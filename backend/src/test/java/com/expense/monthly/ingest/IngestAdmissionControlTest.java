@@ -0,0 +1,83 @@
+package com.expense.monthly.ingest;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for IngestAdmissionControl.
+ */
+public class IngestAdmissionControlTest {
+
+    @Test
+    void testRejectsWhenNoSlotFreesUpInTime() {
+        // Arrange
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        IngestAdmissionControl control = new IngestAdmissionControl(registry, 1, 1, 10, 5);
+        IngestAdmissionControl.Permit held = control.acquire();
+
+        // Act
+        IngestRejectedException e = assertThrows(IngestRejectedException.class, control::acquire);
+
+        // Assert
+        assertEquals(5, e.getRetryAfterSeconds());
+        assertEquals(1.0, registry.get("ingest.admission.rejected").counter().count());
+        assertEquals(1.0, registry.get("ingest.admission.active").gauge().value());
+        held.close();
+    }
+
+    @Test
+    void testRejectsImmediatelyWhenQueueIsFull() {
+        // Arrange
+        IngestAdmissionControl control = new IngestAdmissionControl(new SimpleMeterRegistry(), 1, 0, 60000, 5);
+        control.acquire();
+
+        // Act
+        long start = System.nanoTime();
+        assertThrows(IngestRejectedException.class, control::acquire);
+
+        // Assert
+        assertTrue(System.nanoTime() - start < 1_000_000_000L);
+        assertEquals(0, control.getQueued());
+    }
+
+    @Test
+    void testClosingPermitAdmitsNextImport() {
+        // Arrange
+        IngestAdmissionControl control = new IngestAdmissionControl(new SimpleMeterRegistry(), 1, 1, 10, 5);
+
+        // Act
+        control.acquire().close();
+        IngestAdmissionControl.Permit next = control.acquire();
+
+        // Assert
+        assertNotNull(next);
+        next.close();
+        next.close();
+        assertNotNull(control.acquire());
+    }
+
+    @Test
+    void testNewImportDoesNotOvertakeQueuedImport() throws Exception {
+        // Arrange
+        IngestAdmissionControl control = new IngestAdmissionControl(new SimpleMeterRegistry(), 1, 2, 200, 5);
+        IngestAdmissionControl.Permit held = control.acquire();
+        AtomicReference<IngestAdmissionControl.Permit> admitted = new AtomicReference<>();
+        Thread waiting = new Thread(() -> admitted.set(control.acquire()));
+        waiting.start();
+        while (waiting.getState() != Thread.State.TIMED_WAITING) {
+            Thread.sleep(1);
+        }
+
+        // Act
+        held.close();
+        assertThrows(IngestRejectedException.class, control::acquire);
+
+        // Assert
+        waiting.join(1000);
+        assertNotNull(admitted.get());
+    }
+}
@@ -0,0 +1,56 @@
+package com.expense.monthly.ingest;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Unit tests for KeywordMatcher.
+ */
+class KeywordMatcherTest {
+
+    @Test
+    void testLongestKeywordWins() {
+        Map<String, String> rules = new HashMap<>();
+        rules.put("amazon", "Shopping");
+        rules.put("amazon prime", "Subscriptions");
+        rules.put("uber", "Transport");
+        rules.put("uber eats", "Dining");
+        KeywordMatcher<String> matcher = KeywordMatcher.of(rules);
+
+        assertEquals("Subscriptions", matcher.match("AMAZON PRIME*MEMBERSHIP"));
+        assertEquals("Shopping", matcher.match("Amazon Marketplace"));
+        assertEquals("Dining", matcher.match("UBER EATS LONDON"));
+        assertEquals("Transport", matcher.match("Uber trip"));
+        assertNull(matcher.match("Unknown merchant"));
+    }
+
+    @Test
+    void testOnlyWholeWordsMatch() {
+        Map<String, String> rules = new HashMap<>();
+        rules.put("rent", "Housing");
+        rules.put("bp", "Fuel");
+        KeywordMatcher<String> matcher = KeywordMatcher.of(rules);
+
+        assertEquals("Housing", matcher.match("Monthly rent"));
+        assertEquals("Housing", matcher.match("RENT-JANUARY"));
+        assertEquals("Fuel", matcher.match("BP 1234 LONDON"));
+        assertNull(matcher.match("Current account fee"));
+        assertNull(matcher.match("HBPL payments"));
+    }
+
+    @Test
+    void testMatchesThroughFailureLinks() {
+        Map<String, String> rules = new HashMap<>();
+        rules.put("card payment", "A");
+        rules.put("payment to tesco", "B");
+        KeywordMatcher<String> matcher = KeywordMatcher.of(rules);
+
+        assertEquals("A", matcher.match("card payment to asda"));
+        assertEquals("B", matcher.match("card payment to tesco"));
+    }
+}
@@ -0,0 +1,56 @@
+package com.expense.monthly.ingest;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for MappedFileInputStream.
+ */
+public class MappedFileInputStreamTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testReadsAcrossWindowBoundaries() throws IOException {
+        // Arrange
+        byte[] content = new byte[1000];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) i;
+        }
+        Path file = Files.write(directory.resolve("data.bin"), content);
+
+        // Act
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+        try (MappedFileInputStream in = new MappedFileInputStream(file, 64)) {
+            read.write(in.read());
+            byte[] buffer = new byte[100];
+            int count;
+            while ((count = in.read(buffer, 0, buffer.length)) != -1) {
+                read.write(buffer, 0, count);
+            }
+            assertEquals(-1, in.read());
+        }
+
+        // Assert
+        assertArrayEquals(content, read.toByteArray());
+    }
+
+    @Test
+    void testEmptyFile() throws IOException {
+        // Arrange
+        Path file = Files.createFile(directory.resolve("empty.csv"));
+
+        // Act & Assert
+        try (MappedFileInputStream in = new MappedFileInputStream(file)) {
+            assertEquals(-1, in.read(new byte[10], 0, 10));
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package com.expense.monthly.loadtest;
+
+import com.expense.monthly.MonthlyExpenseApplication;
+import com.expense.monthly.testdata.LedgerGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HTTP load-test harness for the transaction API.
+ * Starts the application on an in-memory H2 database (unless {@code loadtest.base-url} points at a running
+ * instance), seeds a {@link LedgerGenerator} ledger through the upload endpoint, drives a weighted mix of upload, listing
+ * and totals requests from concurrent clients, and writes per-endpoint throughput and latency percentiles
+ * as JSON.
+ *
+ * <p>Run with {@code mvn -Ploadtest verify}; tune with the {@code loadtest.*} system properties below.
+ */
+public class LoadTestHarness {
+
+    private static final LocalDate LEDGER_START = LocalDate.of(2022, 1, 1);
+    private static final LocalDate LEDGER_END = LocalDate.of(2023, 12, 31);
+    private static final String[] CATEGORIES = {"Groceries", "Housing", "Utilities", "Dining", "Transport", "Shopping"};
+    private static final String BOUNDARY = "loadtest-boundary";
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+    private final String baseUrl;
+    private final Map<String, LatencyRecorder> recorders = new LinkedHashMap<>();
+
+    LoadTestHarness(String baseUrl) {
+        this.baseUrl = baseUrl;
+        for (Endpoint endpoint : Endpoint.values()) {
+            recorders.put(endpoint.name, new LatencyRecorder());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int clients = Integer.getInteger("loadtest.clients", 32);
+        int durationSeconds = Integer.getInteger("loadtest.duration-seconds", 30);
+        int warmupSeconds = Integer.getInteger("loadtest.warmup-seconds", 5);
+        int seedRows = Integer.getInteger("loadtest.seed-rows", 50_000);
+        Path output = Paths.get(System.getProperty("loadtest.output", "target/loadtest/results.json"));
+        String baseUrl = System.getProperty("loadtest.base-url");
+
+        ConfigurableApplicationContext context = null;
+        if (baseUrl == null) {
+            context = SpringApplication.run(MonthlyExpenseApplication.class,
+                    "--server.port=0",
+                    "--spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1",
+                    "--spring.datasource.driverClassName=org.h2.Driver",
+                    "--spring.datasource.username=sa",
+                    "--spring.datasource.password=",
+                    "--logging.level.com.expense.monthly=WARN",
+                    "--logging.level.org.springframework=WARN");
+            baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        }
+
+        try {
+            LoadTestHarness harness = new LoadTestHarness(baseUrl);
+            harness.seed(seedRows);
+            System.out.printf("Warming up %d clients for %ds against %s%n", clients, warmupSeconds, baseUrl);
+            harness.run(clients, warmupSeconds);
+            harness.recorders.replaceAll((name, recorder) -> new LatencyRecorder());
+            System.out.printf("Measuring %d clients for %ds%n", clients, durationSeconds);
+            double elapsed = harness.run(clients, durationSeconds);
+            harness.writeReport(output, clients, seedRows, elapsed);
+            System.out.println("Load test results written to " + output.toAbsolutePath());
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    /**
+     * Seed the ledger through the upload endpoint in chunks.
+     *
+     * @param rows Number of rows to seed
+     */
+    void seed(int rows) throws IOException, InterruptedException {
+        Random random = new Random(42);
+        int chunk = 10_000;
+        for (int offset = 0; offset < rows; offset += chunk) {
+            HttpResponse<String> response = send(uploadRequest(random, Math.min(chunk, rows - offset)));
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Seeding failed with status " + response.statusCode() + ": " + response.body());
+            }
+        }
+        System.out.printf("Seeded %d transactions%n", rows);
+    }
+
+    /**
+     * Run the traffic mix from concurrent clients for a fixed duration.
+     *
+     * @param clients Number of concurrent clients
+     * @param seconds Duration in seconds
+     * @return Elapsed time in seconds
+     */
+    double run(int clients, int seconds) throws InterruptedException {
+        Instant deadline = Instant.now().plusSeconds(seconds);
+        long start = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        for (int i = 0; i < clients; i++) {
+            executor.submit(() -> {
+                Random random = ThreadLocalRandom.current();
+                while (Instant.now().isBefore(deadline)) {
+                    Endpoint endpoint = Endpoint.pick(random);
+                    HttpRequest request = endpoint.request(this, random);
+                    long begin = System.nanoTime();
+                    boolean success;
+                    try {
+                        success = send(request).statusCode() / 100 == 2;
+                    } catch (IOException e) {
+                        success = false;
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    recorders.get(endpoint.name).record(System.nanoTime() - begin, success);
+                }
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(seconds + 60L, TimeUnit.SECONDS);
+        return (System.nanoTime() - start) / 1e9;
+    }
+
+    private void writeReport(Path output, int clients, int seedRows, double elapsed) throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("timestamp", Instant.now().toString());
+        report.put("baseUrl", baseUrl);
+        report.put("clients", clients);
+        report.put("seedRows", seedRows);
+        report.put("durationSeconds", Math.round(elapsed * 1000) / 1000.0);
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        recorders.forEach((name, recorder) -> endpoints.put(name, recorder.summarize(elapsed)));
+        report.put("endpoints", endpoints);
+
+        if (output.getParent() != null) {
+            Files.createDirectories(output.getParent());
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(output.toFile(), report);
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(60)).GET().build();
+    }
+
+    private HttpRequest uploadRequest(Random random, int rows) {
+        StringWriter csv = new StringWriter();
+        try {
+            new LedgerGenerator(random.nextLong(), LEDGER_START, LEDGER_END).writeCsv(rows, csv);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        String body = "--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"loadtest.csv\"\r\n"
+                + "Content-Type: text/csv\r\n\r\n"
+                + csv
+                + "\r\n--" + BOUNDARY + "--\r\n";
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/api/transactions/upload"))
+                .timeout(Duration.ofSeconds(300))
+                .header("Content-Type", "multipart/form-data; boundary=" + BOUNDARY)
+                .POST(HttpRequest.BodyPublishers.ofString(body, StandardCharsets.UTF_8))
+                .build();
+    }
+
+    /**
+     * Endpoints in the traffic mix with their relative weights.
+     */
+    private enum Endpoint {
+        UPLOAD("upload", 2) {
+            @Override
+            HttpRequest request(LoadTestHarness harness, Random random) {
+                return harness.uploadRequest(random, 100);
+            }
+        },
+        LIST_BY_CATEGORY("list-by-category", 20) {
+            @Override
+            HttpRequest request(LoadTestHarness harness, Random random) {
+                return harness.get("/api/transactions/category/" + CATEGORIES[random.nextInt(CATEGORIES.length)]);
+            }
+        },
+        LIST_BY_MONTH("list-by-month", 30) {
+            @Override
+            HttpRequest request(LoadTestHarness harness, Random random) {
+                return harness.get("/api/transactions/month?month=" + (1 + random.nextInt(12)) + "&year=" + (2022 + random.nextInt(2)));
+            }
+        },
+        TOTAL("total", 16) {
+            @Override
+            HttpRequest request(LoadTestHarness harness, Random random) {
+                return harness.get("/api/transactions/total");
+            }
+        },
+        MONTHLY_TOTALS("monthly-totals", 16) {
+            @Override
+            HttpRequest request(LoadTestHarness harness, Random random) {
+                return harness.get("/api/transactions/monthly-totals?year=" + (2022 + random.nextInt(2)));
+            }
+        },
+        CATEGORY_TOTALS("category-totals", 16) {
+            @Override
+            HttpRequest request(LoadTestHarness harness, Random random) {
+                return harness.get("/api/transactions/category-totals");
+            }
+        };
+
+        private static final int TOTAL_WEIGHT = totalWeight();
+
+        private final String name;
+        private final int weight;
+
+        Endpoint(String name, int weight) {
+            this.name = name;
+            this.weight = weight;
+        }
+
+        abstract HttpRequest request(LoadTestHarness harness, Random random);
+
+        static Endpoint pick(Random random) {
+            int roll = random.nextInt(TOTAL_WEIGHT);
+            for (Endpoint endpoint : values()) {
+                roll -= endpoint.weight;
+                if (roll < 0) {
+                    return endpoint;
+                }
+            }
+            return LIST_BY_MONTH;
+        }
+
+        private static int totalWeight() {
+            int total = 0;
+            for (Endpoint endpoint : values()) {
+                total += endpoint.weight;
+            }
+            return total;
+        }
+    }
+}
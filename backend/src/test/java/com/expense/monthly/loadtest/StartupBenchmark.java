@@ -0,0 +1,137 @@
+package com.expense.monthly.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures time-to-readiness of the packaged application.
+ * Each variant (a Spring profile) is started several times as a separate JVM against a shared H2 file database,
+ * and the time until {@code /actuator/health/readiness} reports UP is recorded. Results are written as JSON.
+ *
+ * <p>Run with {@code mvn -Ploadtest package exec:java -Dexec.mainClass=com.expense.monthly.loadtest.StartupBenchmark};
+ * pass e.g. {@code -Dstartup.jvm-args="-XX:SharedArchiveFile=app.jsa"} to measure a class-data-sharing archive.
+ */
+public class StartupBenchmark {
+
+    private static final HttpClient CLIENT = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+
+    public static void main(String[] args) throws Exception {
+        Path jar = Paths.get(System.getProperty("startup.jar", findJar()));
+        List<String> variants = Arrays.asList(System.getProperty("startup.variants", "default,faststart").split(","));
+        int runs = Integer.getInteger("startup.runs", 5);
+        String jvmArgs = System.getProperty("startup.jvm-args", "");
+        Path output = Paths.get(System.getProperty("startup.output", "target/loadtest/startup.json"));
+        Path database = Paths.get("target/startup-benchmark/expense_db").toAbsolutePath();
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("timestamp", Instant.now().toString());
+        report.put("jar", jar.toString());
+        report.put("jvmArgs", jvmArgs);
+        Map<String, Object> results = new LinkedHashMap<>();
+        for (String variant : variants) {
+            List<Long> millis = new ArrayList<>();
+            for (int run = 0; run < runs; run++) {
+                long elapsed = timeToReady(jar, variant.trim(), jvmArgs, database);
+                System.out.printf("%s run %d: ready in %d ms%n", variant, run + 1, elapsed);
+                millis.add(elapsed);
+            }
+            results.put(variant, summarize(millis));
+        }
+        report.put("variants", results);
+
+        if (output.getParent() != null) {
+            Files.createDirectories(output.getParent());
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(output.toFile(), report);
+        System.out.println("Startup results written to " + output.toAbsolutePath());
+    }
+
+    private static long timeToReady(Path jar, String profile, String jvmArgs, Path database) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        if (!jvmArgs.isBlank()) {
+            command.addAll(Arrays.asList(jvmArgs.trim().split("\\s+")));
+        }
+        command.addAll(Arrays.asList("-jar", jar.toString(),
+                "--server.port=" + port,
+                "--spring.profiles.active=" + profile,
+                "--spring.datasource.url=jdbc:h2:file:" + database,
+                "--spring.datasource.driverClassName=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect"));
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            HttpRequest readiness = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/actuator/health/readiness"))
+                    .timeout(Duration.ofSeconds(1))
+                    .build();
+            while (process.isAlive()) {
+                try {
+                    HttpResponse<String> response = CLIENT.send(readiness, HttpResponse.BodyHandlers.ofString());
+                    if (response.statusCode() == 200) {
+                        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    }
+                } catch (IOException e) {
+                    // Not listening yet
+                }
+                Thread.sleep(20);
+            }
+            throw new IllegalStateException(profile + " exited with status " + process.exitValue() + " before becoming ready");
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private static Map<String, Object> summarize(List<Long> millis) {
+        List<Long> sorted = new ArrayList<>(millis);
+        sorted.sort(null);
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("runsMs", millis);
+        summary.put("minMs", sorted.get(0));
+        summary.put("medianMs", sorted.get(sorted.size() / 2));
+        summary.put("maxMs", sorted.get(sorted.size() - 1));
+        return summary;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static String findJar() {
+        File[] jars = new File("target").listFiles((dir, name) -> name.endsWith(".jar") && !name.endsWith("-plain.jar"));
+        if (jars == null || jars.length == 0) {
+            throw new IllegalStateException("No jar in target/; run mvn package first or set -Dstartup.jar");
+        }
+        return jars[0].getPath();
+    }
+}
@@ -1,5 +1,6 @@
 package com.expense.monthly.repository;
 
+import com.expense.monthly.dto.TransactionDTO;
 import com.expense.monthly.model.Transaction;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -9,6 +10,7 @@ import org.springframework.test.context.ActiveProfiles;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -53,4 +55,23 @@ public class TransactionRepositoryTest {
         assertEquals(1, foundTransactions.size());
         assertEquals("Test Transaction", foundTransactions.get(0).getDescription());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testDescriptionSearchMatchesWildcardsLiterally() {
+        transactionRepository.saveAll(List.of(
+                Transaction.builder().date(LocalDate.of(2023, 2, 1)).description("50% off sale")
+                        .amount(new BigDecimal("1.00")).category("Shopping").build(),
+                Transaction.builder().date(LocalDate.of(2023, 2, 2)).description("500 offers")
+                        .amount(new BigDecimal("2.00")).category("Shopping").build(),
+                Transaction.builder().date(LocalDate.of(2023, 2, 3)).description("axb shop")
+                        .amount(new BigDecimal("3.00")).category("Shopping").build()));
+
+        assertEquals(List.of("50% off sale"), descriptions(transactionRepository.findDtosByDescription("0%")));
+        assertEquals(0, transactionRepository.findDtosByDescription("a_b").size());
+        assertEquals(0, transactionRepository.findDtosByCategoryAndDescription("shopping", "a_b").size());
+    }
+
+    private static List<String> descriptions(List<TransactionDTO> transactions) {
+        return transactions.stream().map(TransactionDTO::getDescription).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,150 @@
+package com.expense.monthly.service;
+
+import com.expense.monthly.event.TransactionsResetEvent;
+import com.expense.monthly.event.TransactionsSavedEvent;
+import com.expense.monthly.model.Transaction;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static com.expense.monthly.testdata.TestTransactions.transaction;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for AnalyticsServiceImpl.
+ */
+class AnalyticsServiceImplTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private ArchiveService archiveService;
+    private AnalyticsServiceImpl analyticsService;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        archiveService = mock(ArchiveService.class);
+        analyticsService = new AnalyticsServiceImpl(jdbcTemplate, archiveService, 16, 12, 0.01);
+    }
+
+    @Test
+    void testSavedTransactionsAreFoldedIntoEverySketch() {
+        // Act
+        analyticsService.onTransactionsSaved(new TransactionsSavedEvent(Arrays.asList(
+                transaction(LocalDate.of(2023, 1, 5), "Tesco", "Groceries", "40.00"),
+                transaction(LocalDate.of(2023, 1, 9), " TESCO ", "Groceries", "20.00"),
+                transaction(LocalDate.of(2023, 2, 1), "Landlord", "Rent", "800.00"),
+                transaction(LocalDate.of(2023, 2, 3), "Refund", "Shopping", "-10.00"))));
+
+        // Assert
+        List<Map<String, Object>> top = analyticsService.getTopMerchants(2);
+        assertEquals(2, top.size());
+        assertEquals("landlord", top.get(0).get("merchant"));
+        assertEquals(new BigDecimal("800.00"), top.get(0).get("spend"));
+        assertEquals("tesco", top.get(1).get("merchant"));
+        assertEquals(new BigDecimal("60.00"), top.get(1).get("spend"));
+        assertEquals(1, analyticsService.countDistinctMerchants(1, 2023));
+        assertEquals(2, analyticsService.countDistinctMerchants(2, 2023));
+        assertEquals(3, analyticsService.countDistinctMerchants(2023));
+        Map<Double, BigDecimal> percentiles = analyticsService.getAmountPercentiles(List.of(0.0, 1.0));
+        assertEquals(-10.0, percentiles.get(0.0).doubleValue(), 0.1);
+        assertEquals(800.0, percentiles.get(1.0).doubleValue(), 8.0);
+    }
+
+    @Test
+    void testResetClearsEverySketch() {
+        // Arrange
+        analyticsService.onTransactionsSaved(new TransactionsSavedEvent(List.of(
+                transaction(LocalDate.of(2023, 1, 5), "Tesco", "Groceries", "40.00"))));
+
+        // Act
+        analyticsService.onTransactionsReset(new TransactionsResetEvent());
+
+        // Assert
+        assertTrue(analyticsService.getTopMerchants(10).isEmpty());
+        assertEquals(0, analyticsService.countDistinctMerchants(2023));
+        assertEquals(BigDecimal.ZERO, analyticsService.getAmountPercentiles(List.of(0.5)).get(0.5));
+    }
+
+    @Test
+    void testSnapshotRoundTrip() throws IOException {
+        // Arrange
+        analyticsService.onTransactionsSaved(new TransactionsSavedEvent(Arrays.asList(
+                transaction(LocalDate.of(2023, 1, 5), "Tesco", "Groceries", "40.00"),
+                transaction(LocalDate.of(2023, 3, 2), "Amazon", "Shopping", "15.99"),
+                transaction(LocalDate.of(2024, 3, 2), "Amazon", "Shopping", "25.00"))));
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        analyticsService.writeSnapshot(new DataOutputStream(bytes));
+        AnalyticsServiceImpl restored = new AnalyticsServiceImpl(jdbcTemplate, archiveService, 16, 12, 0.01);
+
+        // Act
+        restored.readSnapshot(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        // Assert
+        assertEquals(analyticsService.getTopMerchants(10), restored.getTopMerchants(10));
+        assertEquals(2, restored.countDistinctMerchants(2023));
+        assertEquals(1, restored.countDistinctMerchants(3, 2024));
+        List<Double> quantiles = List.of(0.0, 0.5, 1.0);
+        assertEquals(analyticsService.getAmountPercentiles(quantiles), restored.getAmountPercentiles(quantiles));
+    }
+
+    @Test
+    void testSnapshotWithOtherSettingsIsRejected() throws IOException {
+        // Arrange
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        analyticsService.writeSnapshot(new DataOutputStream(bytes));
+        AnalyticsServiceImpl resized = new AnalyticsServiceImpl(jdbcTemplate, archiveService, 32, 12, 0.01);
+
+        // Act & Assert
+        assertThrows(IOException.class,
+                () -> resized.readSnapshot(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testRebuildReadsHotAndArchivedTransactions() throws Exception {
+        // Arrange
+        analyticsService.onTransactionsSaved(new TransactionsSavedEvent(List.of(
+                transaction(LocalDate.of(2023, 1, 5), "Stale", "Groceries", "1.00"))));
+        doAnswer(invocation -> {
+            ResultSet rs = mock(ResultSet.class);
+            when(rs.getString(1)).thenReturn("Tesco");
+            when(rs.getBigDecimal(2)).thenReturn(new BigDecimal("40.00"));
+            when(rs.getObject(3, LocalDate.class)).thenReturn(LocalDate.of(2023, 1, 5));
+            invocation.getArgument(1, RowCallbackHandler.class).processRow(rs);
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+        doAnswer(invocation -> {
+            Consumer<Transaction> consumer = invocation.getArgument(1);
+            consumer.accept(transaction(LocalDate.of(2019, 6, 1), "Landlord", "Rent", "700.00"));
+            return null;
+        }).when(archiveService).forEachArchivedTransaction(isNull(), any(Consumer.class));
+
+        // Act
+        analyticsService.rebuild();
+
+        // Assert
+        List<Map<String, Object>> top = analyticsService.getTopMerchants(10);
+        assertEquals(2, top.size());
+        assertEquals("landlord", top.get(0).get("merchant"));
+        assertEquals("tesco", top.get(1).get("merchant"));
+        assertEquals(1, analyticsService.countDistinctMerchants(6, 2019));
+    }
+}
@@ -0,0 +1,128 @@
+package com.expense.monthly.service;
+
+import com.expense.monthly.dto.SpendAnomalyDTO;
+import com.expense.monthly.event.TransactionsResetEvent;
+import com.expense.monthly.event.TransactionsSavedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static com.expense.monthly.testdata.TestTransactions.transaction;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit tests for AnomalyServiceImpl.
+ */
+class AnomalyServiceImplTest {
+
+    private AnomalyServiceImpl anomalyService;
+
+    @BeforeEach
+    void setUp() {
+        anomalyService = new AnomalyServiceImpl(mock(JdbcTemplate.class), 3.0, 20, 3);
+    }
+
+    @Test
+    void testFlagsMonthWellAboveHistory() {
+        // Arrange: four ordinary months of groceries, then a spike
+        anomalyService.onTransactionsSaved(new TransactionsSavedEvent(Arrays.asList(
+                transaction("Groceries", 2023, 1, "100.00"),
+                transaction("Groceries", 2023, 2, "110.00"),
+                transaction("groceries", 2023, 3, "95.00"),
+                transaction("Groceries", 2023, 4, "105.00"))));
+
+        // Act
+        anomalyService.onTransactionsSaved(new TransactionsSavedEvent(Collections.singletonList(
+                transaction("Groceries", 2023, 5, "400.00"))));
+
+        // Assert
+        List<SpendAnomalyDTO> anomalies = anomalyService.getAnomalies();
+        assertEquals(1, anomalies.size());
+        SpendAnomalyDTO anomaly = anomalies.get(0);
+        assertEquals("groceries", anomaly.getCategory());
+        assertEquals(5, anomaly.getMonth());
+        assertEquals(2023, anomaly.getYear());
+        assertEquals(new BigDecimal("102.50"), anomaly.getHistoricalMean());
+        assertEquals(4, anomaly.getHistoryMonths());
+        assertTrue(anomaly.getZScore() > 3.0);
+        assertEquals(anomalies, anomalyService.getAnomalies(5, 2023));
+        assertTrue(anomalyService.getAnomalies(4, 2023).isEmpty());
+    }
+
+    @Test
+    void testFlagClearedWhenHistoryCatchesUp() {
+        // Arrange
+        anomalyService.onTransactionsSaved(new TransactionsSavedEvent(Arrays.asList(
+                transaction("Rent", 2023, 1, "1000.00"),
+                transaction("Rent", 2023, 2, "1000.00"),
+                transaction("Rent", 2023, 3, "1000.00"),
+                transaction("Rent", 2023, 4, "1500.00"))));
+        assertEquals(1, anomalyService.getAnomalies().size());
+        assertNull(anomalyService.getAnomalies().get(0).getZScore());
+
+        // Act: a late upload for an earlier month raises the baseline
+        anomalyService.onTransactionsSaved(new TransactionsSavedEvent(Collections.singletonList(
+                transaction("Rent", 2023, 2, "1000.00"))));
+
+        // Assert
+        assertTrue(anomalyService.getAnomalies().isEmpty());
+    }
+
+    @Test
+    void testSmallIncreasesAndShortHistoryAreIgnored() {
+        // Act
+        anomalyService.onTransactionsSaved(new TransactionsSavedEvent(Arrays.asList(
+                transaction("Utilities", 2023, 1, "50.00"),
+                transaction("Utilities", 2023, 2, "50.00"),
+                transaction("Utilities", 2023, 3, "50.00"),
+                transaction("Utilities", 2023, 4, "55.00"),
+                transaction("Travel", 2023, 1, "10.00"),
+                transaction("Travel", 2023, 2, "900.00"))));
+
+        // Assert
+        assertTrue(anomalyService.getAnomalies().isEmpty());
+    }
+
+    @Test
+    void testMonthsWithoutSpendCountAsZero() {
+        // Arrange: no rent was paid in February
+        anomalyService.onTransactionsSaved(new TransactionsSavedEvent(Arrays.asList(
+                transaction("Rent", 2023, 1, "1000.00"),
+                transaction("Rent", 2023, 3, "1000.00"),
+                transaction("Rent", 2023, 4, "1000.00"))));
+
+        // Act
+        anomalyService.onTransactionsSaved(new TransactionsSavedEvent(Collections.singletonList(
+                transaction("Rent", 2023, 5, "3000.00"))));
+
+        // Assert
+        List<SpendAnomalyDTO> anomalies = anomalyService.getAnomalies();
+        assertEquals(1, anomalies.size());
+        assertEquals(4, anomalies.get(0).getHistoryMonths());
+        assertEquals(new BigDecimal("750.00"), anomalies.get(0).getHistoricalMean());
+        assertNotNull(anomalies.get(0).getZScore());
+    }
+
+    @Test
+    void testResetClearsAnomalies() {
+        // Arrange
+        anomalyService.onTransactionsSaved(new TransactionsSavedEvent(Arrays.asList(
+                transaction("Rent", 2023, 1, "1000.00"),
+                transaction("Rent", 2023, 2, "1000.00"),
+                transaction("Rent", 2023, 3, "1000.00"),
+                transaction("Rent", 2023, 4, "2000.00"))));
+
+        // Act
+        anomalyService.onTransactionsReset(new TransactionsResetEvent());
+
+        // Assert
+        assertTrue(anomalyService.getAnomalies().isEmpty());
+        assertTrue(anomalyService.getAnomalies(4, 2023).isEmpty());
+    }
+}
@@ -0,0 +1,229 @@
+package com.expense.monthly.service;
+
+import com.expense.monthly.model.ArchiveSegment;
+import com.expense.monthly.model.ArchivedTotal;
+import com.expense.monthly.model.Transaction;
+import com.expense.monthly.repository.ArchiveSegmentRepository;
+import com.expense.monthly.repository.ArchivedTotalRepository;
+import com.expense.monthly.repository.TransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ArchiveServiceImpl.
+ */
+class ArchiveServiceImplTest {
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private ArchiveSegmentRepository archiveSegmentRepository;
+
+    @Mock
+    private ArchivedTotalRepository archivedTotalRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private ArchiveServiceImpl archiveService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        archiveService = new ArchiveServiceImpl(transactionRepository, archiveSegmentRepository,
+                archivedTotalRepository, jdbcTemplate, 2, 100_000);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testArchiveYearWritesSegmentThatReadsBack() throws Exception {
+        // Arrange
+        stubTwoRowsIn2020();
+
+        // Act
+        long archived = archiveService.archiveYear(2020);
+
+        // Assert
+        assertEquals(2, archived);
+        ArgumentCaptor<ArchiveSegment> segment = ArgumentCaptor.forClass(ArchiveSegment.class);
+        verify(archiveSegmentRepository).save(segment.capture());
+        assertEquals(2020, segment.getValue().getYear());
+        assertEquals(2, segment.getValue().getRowCount());
+        ArgumentCaptor<Collection<ArchivedTotal>> savedTotals = ArgumentCaptor.forClass(Collection.class);
+        verify(archivedTotalRepository).saveAll(savedTotals.capture());
+        ArchivedTotal total = savedTotals.getValue().iterator().next();
+        assertEquals(3, total.getMonth());
+        assertEquals("groceries", total.getCategory());
+        assertEquals(new BigDecimal("11.25"), total.getTotal());
+
+        // Act: read the segment back
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(1L);
+        when(archiveSegmentRepository.findArchivedYears()).thenReturn(List.of(2020));
+        when(archiveSegmentRepository.findIdsByYear(2020)).thenReturn(List.of(5L));
+        when(archiveSegmentRepository.findById(5L)).thenReturn(Optional.of(segment.getValue()));
+        List<Transaction> restored = new ArrayList<>();
+        archiveService.forEachArchivedTransaction(2020, restored::add);
+
+        // Assert
+        assertEquals(2, restored.size());
+        Transaction first = restored.get(0);
+        assertEquals(LocalDate.of(2020, 3, 1), first.getDate());
+        assertEquals("Supermarket, \"Main St\"", first.getDescription());
+        assertEquals(new BigDecimal("12.50"), first.getAmount());
+        assertEquals("USD", first.getCurrency());
+        assertEquals(new BigDecimal("11.25"), first.getBaseAmount());
+        assertEquals(3, first.getMonth());
+        assertEquals(2020, first.getYear());
+        Transaction second = restored.get(1);
+        assertNull(second.getCurrency());
+        assertNull(second.getBaseAmount());
+        assertEquals("Transport", second.getCategory());
+    }
+
+    @Test
+    void testArchiveYearWithoutTransactionsDoesNothing() {
+        // Act
+        long archived = archiveService.archiveYear(2019);
+
+        // Assert
+        assertEquals(0, archived);
+        verify(archiveSegmentRepository, never()).save(any());
+        verify(transactionRepository, never()).deleteByYearUpTo(anyInt(), anyLong());
+    }
+
+    @Test
+    void testArchivedYearsReloadOnlyWhenANewSegmentExists() {
+        // Arrange
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(1L, 1L, 2L);
+        when(archiveSegmentRepository.findArchivedYears()).thenReturn(List.of(2020)).thenReturn(List.of(2020, 2021));
+
+        // Act
+        archiveService.getArchivedYears();
+        archiveService.getArchivedYears();
+        Set<Integer> years = archiveService.getArchivedYears();
+
+        // Assert
+        assertEquals(Set.of(2020, 2021), years);
+        verify(archiveSegmentRepository, times(2)).findArchivedYears();
+    }
+
+    @Test
+    void testArchiveYearRejectsHotYears() {
+        // Arrange
+        int firstHotYear = LocalDate.now().getYear() - 1;
+
+        // Act & Assert
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> archiveService.archiveYear(firstHotYear));
+        assertEquals("Only years before " + firstHotYear + " can be archived", e.getMessage());
+        verifyNoInteractions(jdbcTemplate, archiveSegmentRepository, transactionRepository);
+    }
+
+    @Test
+    void testArchiveYearSplitsRowsIntoSegments() throws Exception {
+        // Arrange
+        archiveService = new ArchiveServiceImpl(transactionRepository, archiveSegmentRepository,
+                archivedTotalRepository, jdbcTemplate, 2, 1);
+        stubTwoRowsIn2020();
+
+        // Act
+        long archived = archiveService.archiveYear(2020);
+
+        // Assert
+        assertEquals(2, archived);
+        ArgumentCaptor<ArchiveSegment> segments = ArgumentCaptor.forClass(ArchiveSegment.class);
+        verify(archiveSegmentRepository, times(2)).save(segments.capture());
+        assertEquals(1, segments.getAllValues().get(0).getRowCount());
+        assertEquals(1, segments.getAllValues().get(1).getRowCount());
+    }
+
+    @Test
+    void testYearIsReadBackInDateOrderAcrossSegments() throws Exception {
+        // Arrange: the second segment was written by a later run and holds a row dated between the first's
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(2L);
+        when(archiveSegmentRepository.findArchivedYears()).thenReturn(List.of(2020));
+        when(archiveSegmentRepository.findIdsByYear(2020)).thenReturn(List.of(1L, 2L));
+        when(archiveSegmentRepository.findById(1L)).thenReturn(Optional.of(segment(1L,
+                "2020-01-05,First run,1.00,,,Rent", "2020-06-01,First run,2.00,,,Rent")));
+        when(archiveSegmentRepository.findById(2L)).thenReturn(Optional.of(segment(2L,
+                "2020-01-05,Second run,3.00,,,Rent", "2020-03-01,Second run,4.00,,,Rent")));
+
+        // Act
+        List<Transaction> transactions;
+        try (Stream<Transaction> year = archiveService.streamArchivedYear(2020)) {
+            transactions = year.collect(Collectors.toList());
+        }
+
+        // Assert
+        assertEquals(List.of("1.00", "3.00", "4.00", "2.00"), transactions.stream()
+                .map(transaction -> transaction.getAmount().toPlainString()).collect(Collectors.toList()));
+        assertEquals(0, archiveService.streamArchivedYear(2019).count());
+    }
+
+    private void stubTwoRowsIn2020() throws Exception {
+        ResultSet rows = mock(ResultSet.class);
+        when(rows.getLong(1)).thenReturn(7L, 9L);
+        when(rows.getObject(2, LocalDate.class)).thenReturn(LocalDate.of(2020, 3, 1), LocalDate.of(2020, 3, 5));
+        when(rows.getString(3)).thenReturn("Supermarket, \"Main St\"", "Bus");
+        when(rows.getBigDecimal(4)).thenReturn(new BigDecimal("12.50"), new BigDecimal("3.00"));
+        when(rows.getString(5)).thenReturn("USD").thenReturn(null);
+        when(rows.getBigDecimal(6)).thenReturn(new BigDecimal("11.25")).thenReturn(null);
+        when(rows.getString(7)).thenReturn("Groceries", "Transport");
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            handler.processRow(rows);
+            handler.processRow(rows);
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+
+        ResultSet totals = mock(ResultSet.class);
+        when(totals.getInt(1)).thenReturn(3);
+        when(totals.getString(2)).thenReturn("groceries");
+        when(totals.getBigDecimal(3)).thenReturn(new BigDecimal("11.25"));
+        when(totals.getLong(4)).thenReturn(1L);
+        doAnswer(invocation -> {
+            ((RowCallbackHandler) invocation.getArgument(1)).processRow(totals);
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), eq(2020), eq(9L));
+        when(archivedTotalRepository.findByYear(2020)).thenReturn(Collections.emptyList());
+        when(transactionRepository.deleteByYearUpTo(2020, 9L)).thenReturn(2);
+    }
+
+    private static ArchiveSegment segment(long id, String... rows) throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (Writer writer = new OutputStreamWriter(new GZIPOutputStream(bytes), StandardCharsets.UTF_8)) {
+            for (String row : rows) {
+                writer.write(row + "\n");
+            }
+        }
+        return ArchiveSegment.builder().id(id).year(2020).rowCount(rows.length).data(bytes.toByteArray()).build();
+    }
+}
@@ -0,0 +1,116 @@
+package com.expense.monthly.service;
+
+import com.expense.monthly.dto.BudgetDTO;
+import com.expense.monthly.dto.BudgetStatusDTO;
+import com.expense.monthly.event.TransactionsSavedEvent;
+import com.expense.monthly.model.Budget;
+import com.expense.monthly.model.BudgetAlert;
+import com.expense.monthly.model.Transaction;
+import com.expense.monthly.repository.BudgetAlertRepository;
+import com.expense.monthly.repository.BudgetRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for BudgetServiceImpl.
+ */
+class BudgetServiceImplTest {
+
+    @Mock
+    private BudgetRepository budgetRepository;
+
+    @Mock
+    private BudgetAlertRepository budgetAlertRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private BudgetServiceImpl budgetService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(budgetRepository.findByCategory("groceries")).thenReturn(Optional.empty());
+        when(budgetRepository.save(any(Budget.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        budgetService.saveBudget(new BudgetDTO("Groceries", new BigDecimal("100.00"), 80));
+        when(budgetRepository.findAll()).thenReturn(Collections.singletonList(
+                new Budget(1L, "groceries", new BigDecimal("100.00"), 80)));
+    }
+
+    @Test
+    void testAlertsRaisedOnceWhenThresholdsCrossed() {
+        // Act: 50 spent, then 85 (crosses 80%), then 110 (crosses 100%), then 120 (nothing new)
+        budgetService.onTransactionsSaved(savedEvent("50.00"));
+        budgetService.onTransactionsSaved(savedEvent("35.00"));
+        budgetService.onTransactionsSaved(savedEvent("25.00"));
+        budgetService.onTransactionsSaved(savedEvent("10.00"));
+
+        // Assert
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<BudgetAlert>> captor = ArgumentCaptor.forClass(List.class);
+        verify(budgetAlertRepository, times(2)).saveAll(captor.capture());
+        assertEquals(80, captor.getAllValues().get(0).get(0).getThresholdPercent());
+        assertEquals(new BigDecimal("85.00"), captor.getAllValues().get(0).get(0).getSpent());
+        assertEquals(100, captor.getAllValues().get(1).get(0).getThresholdPercent());
+    }
+
+    @Test
+    void testBudgetStatusReadsRunningTotals() {
+        // Act
+        budgetService.onTransactionsSaved(savedEvent("40.00"));
+        List<BudgetStatusDTO> status = budgetService.getBudgetStatus(1, 2023);
+
+        // Assert
+        assertEquals(1, status.size());
+        assertEquals(new BigDecimal("40.00"), status.get(0).getSpent());
+        assertEquals(new BigDecimal("60.00"), status.get(0).getRemaining());
+        assertEquals(new BigDecimal("40.00"), status.get(0).getPercentUsed());
+        verify(budgetAlertRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void testBudgetsSavedElsewhereAreSeenAndUncommittedOnesAreNot() {
+        // Arrange: another instance has committed a rent budget; the groceries save above is not in the table
+        when(budgetRepository.findAll()).thenReturn(Collections.singletonList(
+                new Budget(2L, "rent", new BigDecimal("1000.00"), 90)));
+
+        // Act
+        List<BudgetDTO> budgets = budgetService.getBudgets();
+        budgetService.onTransactionsSaved(savedEvent("500.00"));
+
+        // Assert
+        assertEquals(1, budgets.size());
+        assertEquals("rent", budgets.get(0).getCategory());
+        assertEquals("rent", budgetService.getBudgetStatus(1, 2023).get(0).getCategory());
+        verify(budgetAlertRepository, never()).saveAll(anyList());
+    }
+
+    private static TransactionsSavedEvent savedEvent(String amount) {
+        Transaction transaction = Transaction.builder()
+                .date(LocalDate.of(2023, 1, 15))
+                .description("Supermarket")
+                .amount(new BigDecimal(amount))
+                .category("GROCERIES")
+                .month(1)
+                .year(2023)
+                .build();
+        return new TransactionsSavedEvent(Collections.singletonList(transaction));
+    }
+}
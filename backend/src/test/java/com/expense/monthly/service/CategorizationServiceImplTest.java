@@ -0,0 +1,46 @@
+package com.expense.monthly.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit tests for CategorizationServiceImpl.
+ */
+class CategorizationServiceImplTest {
+
+    @Test
+    void testPatternsApplyOnlyWhenNoKeywordMatches() {
+        // Arrange
+        CategorizationServiceImpl service = new CategorizationServiceImpl(rules(
+                "Keyword,Category\ntesco,Groceries\n/^card \\d{4} /,Cash\n/tesco|amzn *mktp/,Shopping\n"));
+
+        // Act
+        int loaded = service.reloadRules();
+
+        // Assert
+        assertEquals(3, loaded);
+        assertEquals("Groceries", service.categorize("TESCO STORES 2231"));
+        assertEquals("Shopping", service.categorize("AMZN Mktp UK*2K4"));
+        assertEquals("Cash", service.categorize("CARD 4821 WITHDRAWAL"));
+        assertEquals(CategorizationService.UNCATEGORIZED, service.categorize("Unknown merchant"));
+    }
+
+    @Test
+    void testInservicePatternKeepsPreviousRules() {
+        // Arrange
+        CategorizationServiceImpl service = new CategorizationServiceImpl(rules("Keyword,Category\n/[unclosed/,Shopping\n"));
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, service::reloadRules);
+        assertEquals(CategorizationService.UNCATEGORIZED, service.categorize("unclosed"));
+    }
+
+    private static ByteArrayResource rules(String csv) {
+        return new ByteArrayResource(csv.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,51 @@
+package com.expense.monthly.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit tests for FxRateServiceImpl.
+ */
+class FxRateServiceImplTest {
+
+    private FxRateServiceImpl fxRateService;
+
+    @BeforeEach
+    void setUp() {
+        String rates = "Date,Currency,Rate\n01/01/2023,EUR,0.90\n01/07/2023,EUR,0.80\n";
+        fxRateService = new FxRateServiceImpl("gbp", new ByteArrayResource(rates.getBytes(StandardCharsets.UTF_8)));
+        fxRateService.init();
+    }
+
+    @Test
+    void testUsesMostRecentRateOnOrBeforeDate() {
+        assertEquals(new BigDecimal("90.00"),
+                fxRateService.toBaseCurrency(new BigDecimal("100.00"), "EUR", LocalDate.of(2023, 6, 30)));
+        assertEquals(new BigDecimal("80.00"),
+                fxRateService.toBaseCurrency(new BigDecimal("100.00"), "eur", LocalDate.of(2023, 7, 1)));
+    }
+
+    @Test
+    void testBaseCurrencyIsNotConverted() {
+        BigDecimal amount = new BigDecimal("12.34");
+
+        assertEquals(amount, fxRateService.toBaseCurrency(amount, "GBP", LocalDate.of(2020, 1, 1)));
+        assertEquals(amount, fxRateService.toBaseCurrency(amount, null, LocalDate.of(2020, 1, 1)));
+    }
+
+    @Test
+    void testMissingRateIsRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> fxRateService.toBaseCurrency(BigDecimal.ONE, "EUR", LocalDate.of(2022, 12, 31)));
+        assertThrows(IllegalArgumentException.class,
+                () -> fxRateService.toBaseCurrency(BigDecimal.ONE, "USD", LocalDate.of(2023, 12, 31)));
+    }
+}
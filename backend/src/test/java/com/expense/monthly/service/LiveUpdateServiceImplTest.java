@@ -0,0 +1,320 @@
+package com.expense.monthly.service;
+
+import com.expense.monthly.dto.ChangeNotificationDTO;
+import com.expense.monthly.event.IdRanges;
+import com.expense.monthly.event.TransactionsChangedElsewhereEvent;
+import com.expense.monthly.event.TransactionsImportedEvent;
+import com.expense.monthly.event.TransactionsResetEvent;
+import com.expense.monthly.event.TransactionsSavedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static com.expense.monthly.testdata.TestTransactions.transaction;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for LiveUpdateServiceImpl.
+ */
+class LiveUpdateServiceImplTest {
+
+    private static final Pattern EVENT_ID = Pattern.compile("^id:(\\S+)$", Pattern.MULTILINE);
+
+    private CapturingLiveUpdateService liveUpdateService;
+
+    @BeforeEach
+    void setUp() {
+        liveUpdateService = new CapturingLiveUpdateService();
+    }
+
+    @AfterEach
+    void tearDown() {
+        liveUpdateService.shutdown();
+    }
+
+    @Test
+    void testSummarizeGroupsByMonthAndCategory() {
+        // Act
+        ChangeNotificationDTO change = LiveUpdateServiceImpl.summarize(Arrays.asList(
+                transaction("Groceries", 2023, 1, "10.00"),
+                transaction("groceries", 2023, 1, "5.50"),
+                transaction("Rent", 2023, 2, "800.00")));
+
+        // Assert
+        assertEquals(ChangeNotificationDTO.BATCH, change.getType());
+        assertEquals(3, change.getCount());
+        assertEquals(new BigDecimal("815.50"), change.getTotal());
+        assertEquals(new BigDecimal("15.50"), change.getMonths().get("2023-01"));
+        assertEquals(new BigDecimal("800.00"), change.getMonths().get("2023-02"));
+        assertEquals(new BigDecimal("15.50"), change.getCategories().get("groceries"));
+        assertEquals(new BigDecimal("800.00"), change.getCategories().get("rent"));
+    }
+
+    @Test
+    void testImportIsSummarizedByTheDatabase() throws Exception {
+        // Arrange
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            ResultSet rs = mock(ResultSet.class);
+            when(rs.getInt(1)).thenReturn(2023);
+            when(rs.getInt(2)).thenReturn(invocation.getArgument(2, Long.class).intValue());
+            when(rs.getString(3)).thenReturn("groceries");
+            when(rs.getLong(4)).thenReturn(2L);
+            when(rs.getBigDecimal(5)).thenReturn(new BigDecimal("20.00"));
+            handler.processRow(rs);
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), anyLong(), anyLong());
+        liveUpdateService.shutdown();
+        liveUpdateService = new CapturingLiveUpdateService(jdbcTemplate);
+        liveUpdateService.subscribe(null);
+        CapturingEmitter live = liveUpdateService.lastEmitter;
+        assertTrue(live.next().contains("connected"));
+        awaitSubscribers(1);
+        IdRanges ids = new IdRanges();
+        ids.add(1);
+        ids.add(2);
+        ids.add(5);
+        ids.add(6);
+
+        // Act
+        liveUpdateService.onTransactionsImported(new TransactionsImportedEvent(ids));
+
+        // Assert
+        String batch = live.next();
+        assertTrue(batch.contains("event:batch"));
+        assertTrue(batch.contains("\"count\":4"));
+        assertTrue(batch.contains("\"total\":40.00"));
+        assertTrue(batch.contains("\"2023-01\":20.00"));
+        assertTrue(batch.contains("\"2023-05\":20.00"));
+        verify(jdbcTemplate, times(2)).query(anyString(), any(RowCallbackHandler.class), anyLong(), anyLong());
+    }
+
+    @Test
+    void testBroadcastsAndReplaysMissedNotifications() throws InterruptedException {
+        // Arrange
+        liveUpdateService.subscribe(null);
+        CapturingEmitter live = liveUpdateService.lastEmitter;
+        assertTrue(live.next().contains("connected"));
+        awaitSubscribers(1);
+
+        // Act
+        liveUpdateService.onTransactionsSaved(new TransactionsSavedEvent(Collections.singletonList(
+                transaction("Groceries", 2023, 1, "10.00"))));
+        String first = live.next();
+        liveUpdateService.onTransactionsReset(new TransactionsResetEvent());
+        String second = live.next();
+
+        liveUpdateService.subscribe(eventId(first));
+        CapturingEmitter resumed = liveUpdateService.lastEmitter;
+
+        // Assert
+        assertTrue(first.contains("event:batch"));
+        assertTrue(first.contains("\"total\":10.00"));
+        assertTrue(second.contains("event:reset"));
+        assertTrue(resumed.next().contains("connected"));
+        String replayed = resumed.next();
+        assertEquals(eventId(second), eventId(replayed));
+        assertTrue(replayed.contains("event:reset"));
+        awaitSubscribers(2);
+        assertNull(resumed.events.poll());
+    }
+
+    @Test
+    void testStalledSubscriberDoesNotHoldUpOthers() throws InterruptedException {
+        // Arrange
+        liveUpdateService.shutdown();
+        liveUpdateService = new CapturingLiveUpdateService(mock(JdbcTemplate.class), 2);
+        CountDownLatch release = new CountDownLatch(1);
+        liveUpdateService.stall = release;
+        liveUpdateService.subscribe(null);
+        liveUpdateService.stall = null;
+        liveUpdateService.subscribe(null);
+        CapturingEmitter live = liveUpdateService.lastEmitter;
+        assertTrue(live.next().contains("connected"));
+
+        try {
+            // Act & Assert
+            for (int i = 0; i < 4; i++) {
+                liveUpdateService.onTransactionsReset(new TransactionsResetEvent());
+                assertTrue(live.next().contains("event:reset"));
+            }
+            assertEquals(1, liveUpdateService.getSubscriberCount());
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void testStreamsShareABoundedPoolOfWriters() throws InterruptedException {
+        // Arrange
+        liveUpdateService.shutdown();
+        liveUpdateService = new CapturingLiveUpdateService(mock(JdbcTemplate.class), 4, 2);
+        CountDownLatch release = new CountDownLatch(1);
+        liveUpdateService.stall = release;
+        liveUpdateService.subscribe(null);
+        liveUpdateService.stall = null;
+        CapturingEmitter[] live = new CapturingEmitter[10];
+        for (int i = 0; i < live.length; i++) {
+            liveUpdateService.subscribe(null);
+            live[i] = liveUpdateService.lastEmitter;
+        }
+
+        try {
+            // Act
+            for (int i = 0; i < 3; i++) {
+                liveUpdateService.onTransactionsReset(new TransactionsResetEvent());
+            }
+
+            // Assert
+            for (CapturingEmitter emitter : live) {
+                assertTrue(emitter.next().contains("connected"));
+                for (int i = 0; i < 3; i++) {
+                    assertTrue(emitter.next().contains("event:reset"));
+                }
+            }
+            assertEquals(1, liveUpdateService.senders.size());
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void testChangesElsewhereRequestResync() throws InterruptedException {
+        // Arrange
+        liveUpdateService.subscribe(null);
+        CapturingEmitter live = liveUpdateService.lastEmitter;
+        assertTrue(live.next().contains("connected"));
+
+        // Act
+        liveUpdateService.onTransactionsChangedElsewhere(new TransactionsChangedElsewhereEvent());
+
+        // Assert
+        assertTrue(live.next().contains("event:resync"));
+    }
+
+    @Test
+    void testUnknownEventIdRequestsResync() throws InterruptedException {
+        // Arrange
+        liveUpdateService.onTransactionsReset(new TransactionsResetEvent());
+
+        // Act
+        liveUpdateService.subscribe("previous-instance-1");
+        CapturingEmitter emitter = liveUpdateService.lastEmitter;
+
+        // Assert
+        assertTrue(emitter.next().contains("connected"));
+        assertTrue(emitter.next().contains("event:resync"));
+    }
+
+    private void awaitSubscribers(int expected) throws InterruptedException {
+        for (int attempt = 0; attempt < 100 && liveUpdateService.getSubscriberCount() < expected; attempt++) {
+            Thread.sleep(10);
+        }
+        assertEquals(expected, liveUpdateService.getSubscriberCount());
+    }
+
+    private static String eventId(String event) {
+        Matcher matcher = EVENT_ID.matcher(event);
+        assertTrue(matcher.find(), "event has no id: " + event);
+        return matcher.group(1);
+    }
+
+    /**
+     * Service whose streams record events instead of writing to a response.
+     */
+    private static class CapturingLiveUpdateService extends LiveUpdateServiceImpl {
+
+        private volatile CapturingEmitter lastEmitter;
+        private volatile CountDownLatch stall;
+        private final Set<String> senders = ConcurrentHashMap.newKeySet();
+
+        CapturingLiveUpdateService() {
+            this(mock(JdbcTemplate.class));
+        }
+
+        CapturingLiveUpdateService(JdbcTemplate jdbcTemplate) {
+            this(jdbcTemplate, 64);
+        }
+
+        CapturingLiveUpdateService(JdbcTemplate jdbcTemplate, int queueSize) {
+            this(jdbcTemplate, queueSize, 4);
+        }
+
+        CapturingLiveUpdateService(JdbcTemplate jdbcTemplate, int queueSize, int writerThreads) {
+            super(jdbcTemplate, new ObjectMapper(), new SimpleMeterRegistry(), 60_000, 5_000, 16, queueSize,
+                    writerThreads);
+        }
+
+        @Override
+        SseEmitter createEmitter() {
+            lastEmitter = new CapturingEmitter(stall, senders);
+            return lastEmitter;
+        }
+    }
+
+    private static class CapturingEmitter extends SseEmitter {
+
+        private final BlockingQueue<String> events = new LinkedBlockingQueue<>();
+
+        /**
+         * Blocks every send until counted down, like a client that stopped reading; null sends at once.
+         */
+        private final CountDownLatch stall;
+
+        /**
+         * Names of the threads that completed a send, shared by every stream of a service.
+         */
+        private final Set<String> senders;
+
+        CapturingEmitter(CountDownLatch stall, Set<String> senders) {
+            this.stall = stall;
+            this.senders = senders;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (stall != null) {
+                try {
+                    stall.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException(e);
+                }
+            }
+            StringBuilder text = new StringBuilder();
+            builder.build().forEach(data -> text.append(data.getData()));
+            senders.add(Thread.currentThread().getName());
+            events.add(text.toString());
+        }
+
+        String next() throws InterruptedException {
+            String event = events.poll(5, TimeUnit.SECONDS);
+            assertNotNull(event, "no event received");
+            return event;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.expense.monthly.service;
+
+import com.expense.monthly.dto.TransactionDTO;
+import com.expense.monthly.repository.ReactiveArchivedTotalRepository;
+import com.expense.monthly.repository.ReactiveTransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static com.expense.monthly.testdata.TestTransactions.transaction;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ReactiveTransactionServiceImpl.
+ */
+class ReactiveTransactionServiceImplTest {
+
+    @Mock
+    private ReactiveTransactionRepository reactiveTransactionRepository;
+
+    @Mock
+    private ReactiveArchivedTotalRepository reactiveArchivedTotalRepository;
+
+    @Mock
+    private ArchiveService archiveService;
+
+    private ReactiveTransactionServiceImpl reactiveTransactionService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        reactiveTransactionService = new ReactiveTransactionServiceImpl(
+                reactiveTransactionRepository, reactiveArchivedTotalRepository, archiveService);
+    }
+
+    @Test
+    void testTotalsIncludeArchivedYears() {
+        // Arrange
+        when(reactiveTransactionRepository.calculateTotalAmount()).thenReturn(Mono.just(new BigDecimal("100.00")));
+        when(reactiveArchivedTotalRepository.calculateTotalAmount()).thenReturn(Mono.just(new BigDecimal("25.50")));
+        when(reactiveTransactionRepository.calculateMonthlyTotals(2023)).thenReturn(Flux.just(
+                new Object[]{1, new BigDecimal("40.00")}, new Object[]{3, new BigDecimal("60.00")}));
+        when(reactiveArchivedTotalRepository.calculateMonthlyTotals(2023)).thenReturn(Flux.just(
+                new Object[]{3, new BigDecimal("5.50")}, new Object[]{4, new BigDecimal("20.00")}));
+        when(reactiveTransactionRepository.calculateTotalsByCategory()).thenReturn(Flux.<Object[]>just(
+                new Object[]{"groceries", new BigDecimal("100.00")}));
+        when(reactiveArchivedTotalRepository.calculateTotalsByCategory()).thenReturn(Flux.just(
+                new Object[]{"groceries", new BigDecimal("5.50")}, new Object[]{"rent", new BigDecimal("20.00")}));
+
+        // Act
+        BigDecimal total = reactiveTransactionService.calculateTotalAmount().block();
+        Map<Integer, BigDecimal> monthly = reactiveTransactionService.calculateMonthlyTotals(2023).block();
+        Map<String, BigDecimal> categories = reactiveTransactionService.calculateTotalsByCategory().block();
+
+        // Assert
+        assertEquals(new BigDecimal("125.50"), total);
+        assertEquals(12, monthly.size());
+        assertEquals(new BigDecimal("40.00"), monthly.get(1));
+        assertEquals(BigDecimal.ZERO, monthly.get(2));
+        assertEquals(new BigDecimal("65.50"), monthly.get(3));
+        assertEquals(new BigDecimal("20.00"), monthly.get(4));
+        assertEquals(new BigDecimal("105.50"), categories.get("groceries"));
+        assertEquals(new BigDecimal("20.00"), categories.get("rent"));
+    }
+
+    @Test
+    void testListsMergeArchivedAndHotRowsByDate() {
+        // Arrange: a row for 2020 was saved after the year was archived
+        TransactionDTO hot = new TransactionDTO(LocalDate.of(2020, 3, 2), "Tesco", new BigDecimal("12.00"), "GBP", "Groceries");
+        when(reactiveTransactionRepository.findDtosByMonthAndYear(3, 2020)).thenReturn(Flux.just(hot));
+        when(archiveService.streamArchivedYear(2020)).thenReturn(Stream.of(
+                transaction(LocalDate.of(2020, 3, 1), "Archived shop", "Groceries", "9.99"),
+                transaction(LocalDate.of(2020, 3, 5), "Archived later", "Groceries", "9.99"),
+                transaction(LocalDate.of(2020, 4, 1), "Other month", "Groceries", "9.99")));
+
+        // Act
+        List<TransactionDTO> transactions = reactiveTransactionService.listTransactionsByMonth(3, 2020).collectList().block();
+
+        // Assert
+        assertEquals(3, transactions.size());
+        assertEquals("Archived shop", transactions.get(0).getDescription());
+        assertEquals(hot, transactions.get(1));
+        assertEquals("Archived later", transactions.get(2).getDescription());
+    }
+
+    @Test
+    void testListsSkipArchiveWhenNothingIsArchived() {
+        // Arrange
+        when(archiveService.getArchivedYears()).thenReturn(Set.of());
+        when(reactiveTransactionRepository.findDtosByCategory("Rent")).thenReturn(Flux.empty());
+
+        // Act
+        List<TransactionDTO> transactions = reactiveTransactionService.listTransactions("Rent", "").collectList().block();
+
+        // Assert
+        assertTrue(transactions.isEmpty());
+        verify(archiveService, never()).streamArchivedYear(anyInt());
+        verify(reactiveTransactionRepository, never()).findAllDtos();
+    }
+
+    @Test
+    void testCancelledListLoadsNoFurtherYearsAndClosesTheCurrentOne() {
+        // Arrange
+        AtomicBoolean closed = new AtomicBoolean();
+        when(reactiveTransactionRepository.findAllDtos()).thenReturn(Flux.empty());
+        when(archiveService.getArchivedYears()).thenReturn(new TreeSet<>(Set.of(2019, 2020)));
+        when(archiveService.streamArchivedYear(2019)).thenReturn(Stream.of(
+                transaction(LocalDate.of(2019, 1, 1), "First", "Rent", "500.00"),
+                transaction(LocalDate.of(2019, 2, 1), "Second", "Rent", "500.00")).onClose(() -> closed.set(true)));
+
+        // Act
+        List<TransactionDTO> transactions = reactiveTransactionService.listTransactions(null, null)
+                .take(1).collectList().block();
+
+        // Assert
+        assertEquals(1, transactions.size());
+        assertEquals("First", transactions.get(0).getDescription());
+        assertTrue(closed.get());
+        verify(archiveService, never()).streamArchivedYear(2020);
+    }
+}
@@ -0,0 +1,125 @@
+package com.expense.monthly.service;
+
+import com.expense.monthly.dto.RecurringPaymentDTO;
+import com.expense.monthly.event.TransactionsResetEvent;
+import com.expense.monthly.model.Transaction;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static com.expense.monthly.testdata.TestTransactions.transaction;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit tests for RecurringServiceImpl.
+ */
+class RecurringServiceImplTest {
+
+    private ArchiveService archiveService;
+    private RecurringServiceImpl recurringService;
+
+    @BeforeEach
+    void setUp() {
+        archiveService = mock(ArchiveService.class);
+        recurringService = new RecurringServiceImpl(mock(JdbcTemplate.class), archiveService, 3, 20, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        recurringService.shutdown();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testFindsMonthlySubscriptionAcrossReferenceNumbers() {
+        // Arrange: a monthly subscription with changing references, an irregular shop and a one-off purchase
+        List<Transaction> ledger = Arrays.asList(
+                transaction(LocalDate.of(2023, 3, 15), "NETFLIX.COM 4821", "General", "9.99"),
+                transaction(LocalDate.of(2023, 1, 15), "Netflix.com  9917", "General", "9.99"),
+                transaction(LocalDate.of(2023, 2, 15), "NETFLIX.COM 1204", "General", "9.99"),
+                transaction(LocalDate.of(2023, 4, 15), "NETFLIX.COM 5531", "General", "10.99"),
+                transaction(LocalDate.of(2023, 5, 15), "NETFLIX.COM 7710", "General", "10.99"),
+                transaction(LocalDate.of(2023, 6, 15), "NETFLIX.COM 0082", "General", "10.99"),
+                transaction(LocalDate.of(2023, 1, 2), "Corner Shop", "General", "4.20"),
+                transaction(LocalDate.of(2023, 1, 5), "Corner Shop", "General", "4.50"),
+                transaction(LocalDate.of(2023, 2, 20), "Corner Shop", "General", "3.90"),
+                transaction(LocalDate.of(2023, 3, 1), "Corner Shop", "General", "4.10"),
+                transaction(LocalDate.of(2023, 4, 2), "Sofa Warehouse", "General", "899.00"));
+        doAnswer(invocation -> {
+            ledger.forEach(invocation.<Consumer<Transaction>>getArgument(1));
+            return null;
+        }).when(archiveService).forEachArchivedTransaction(isNull(), any(Consumer.class));
+
+        // Act
+        int found = recurringService.analyze();
+
+        // Assert
+        assertEquals(1, found);
+        RecurringPaymentDTO payment = recurringService.getRecurringPayments(false).get(0);
+        assertEquals("netflix.com", payment.getPayee());
+        assertEquals("NETFLIX.COM 0082", payment.getDescription());
+        assertEquals("monthly", payment.getFrequency());
+        assertEquals(31, payment.getIntervalDays());
+        assertEquals(6, payment.getOccurrences());
+        assertEquals(new BigDecimal("10.99"), payment.getTypicalAmount());
+        assertEquals(new BigDecimal("129.40"), payment.getAnnualCost());
+        assertEquals(LocalDate.of(2023, 1, 15), payment.getFirstDate());
+        assertEquals(LocalDate.of(2023, 7, 16), payment.getNextExpectedDate());
+        assertFalse(payment.isActive());
+        assertTrue(recurringService.getRecurringPayments(true).isEmpty());
+
+        recurringService.onTransactionsReset(new TransactionsResetEvent());
+        assertTrue(recurringService.getRecurringPayments(false).isEmpty());
+    }
+
+    @Test
+    void testIgnoresOutlierAmountsAndSameDayDuplicates() {
+        // Arrange: weekly gym charges with a one-off joining fee and a duplicated charge
+        LocalDate today = LocalDate.of(2024, 3, 1);
+        RecurringServiceImpl.Series series = new RecurringServiceImpl.Series();
+        for (int week = 0; week < 8; week++) {
+            series.add(today.minusWeeks(week), new BigDecimal("12.00"), "Gym");
+        }
+        series.add(today.minusWeeks(3), new BigDecimal("12.00"), "Gym");
+        series.add(today.minusWeeks(8), new BigDecimal("150.00"), "Gym joining fee");
+
+        // Act
+        RecurringPaymentDTO payment = RecurringServiceImpl.detect("gym", series, 3, 0.2, today);
+
+        // Assert
+        assertNotNull(payment);
+        assertEquals("weekly", payment.getFrequency());
+        assertEquals(8, payment.getOccurrences());
+        assertEquals(new BigDecimal("12.00"), payment.getTypicalAmount());
+        assertEquals(new BigDecimal("625.71"), payment.getAnnualCost());
+        assertTrue(payment.isActive());
+    }
+
+    @Test
+    void testIrregularChargesAreNotRecurring() {
+        // Arrange
+        RecurringServiceImpl.Series series = new RecurringServiceImpl.Series();
+        LocalDate date = LocalDate.of(2023, 1, 1);
+        for (int gap : new int[]{3, 40, 9, 70, 18}) {
+            date = date.plusDays(gap);
+            series.add(date, new BigDecimal("25.00"), "Taxi");
+        }
+
+        // Act
+        RecurringPaymentDTO payment = RecurringServiceImpl.detect("taxi", series, 3, 0.2, LocalDate.of(2023, 6, 1));
+
+        // Assert
+        assertNull(payment);
+    }
+}
@@ -1,20 +1,50 @@
 package com.expense.monthly.service;
 
 import com.expense.monthly.dto.TransactionDTO;
+import com.expense.monthly.event.TransactionsImportedEvent;
+import com.expense.monthly.event.TransactionsSavedEvent;
+import com.expense.monthly.model.ImportedFile;
 import com.expense.monthly.model.Transaction;
+import com.expense.monthly.repository.ImportedFileRepository;
 import com.expense.monthly.repository.TransactionRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-
+import org.mockito.Spy;
+import org.mockito.invocation.InvocationOnMock;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import javax.persistence.EntityManager;
+import java.io.ByteArrayInputStream;
+import java.io.StringWriter;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.ResultSet;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
-
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.expense.monthly.testdata.TestTransactions.transaction;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
@@ -27,12 +57,47 @@ class TransactionServiceTest {
     @Mock
     private TransactionRepository transactionRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private CategorizationService categorizationService;
+
+    @Mock
+    private FxRateService fxRateService;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private ArchiveService archiveService;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private ImportedFileRepository importedFileRepository;
+
+    @TempDir
+    Path folder;
+
+    private static long lastId;
+
+    // Created after injection: Session is also an EntityManager and would otherwise be injected in its place
+    private Session session;
+
     @InjectMocks
     private TransactionServiceImpl transactionService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        session = mock(Session.class);
+        when(entityManager.unwrap(Session.class)).thenReturn(session);
+        when(archiveService.getArchivedTotal()).thenReturn(BigDecimal.ZERO);
     }
 
     @Test
@@ -164,6 +229,21 @@ class TransactionServiceTest {
         verify(transactionRepository, times(1)).findAll();
     }
 
+    @Test
+    void testListTransactionsByMonthUsesProjection() {
+        // Arrange
+        List<TransactionDTO> dtos = Arrays.asList(
+                new TransactionDTO(LocalDate.of(2023, 1, 15), "Grocery shopping", new BigDecimal("125.50"), "Groceries"));
+        when(transactionRepository.findDtosByMonthAndYear(1, 2023)).thenReturn(dtos);
+
+        // Act
+        List<TransactionDTO> results = transactionService.listTransactionsByMonth(1, 2023);
+
+        // Assert
+        assertEquals(dtos, results);
+        verify(transactionRepository, never()).findByMonthAndYear(anyInt(), anyInt());
+    }
+
     @Test
     void testCalculateTotalAmount() {
         // Arrange
@@ -202,6 +282,104 @@ class TransactionServiceTest {
         verify(transactionRepository, times(12)).calculateMonthlyTotal(anyInt(), eq(year));
     }
 
+    @Test
+    void testTotalsIncludeArchivedYears() {
+        // Arrange
+        when(transactionRepository.calculateTotalAmount()).thenReturn(new BigDecimal("100.00"));
+        when(archiveService.getArchivedTotal()).thenReturn(new BigDecimal("250.00"));
+        when(archiveService.getArchivedMonthlyTotals(2020)).thenReturn(Map.of(3, new BigDecimal("40.00")));
+        when(archiveService.getArchivedCategoryTotals()).thenReturn(Map.of("groceries", new BigDecimal("30.00")));
+        when(transactionRepository.calculateTotalsByCategory()).thenReturn(List.of(
+                new Object[]{"groceries", new BigDecimal("20.00")},
+                new Object[]{"transport", new BigDecimal("5.00")}));
+
+        // Act
+        BigDecimal total = transactionService.calculateTotalAmount();
+        Map<Integer, BigDecimal> monthlyTotals = transactionService.calculateMonthlyTotals(2020);
+        Map<String, BigDecimal> categoryTotals = transactionService.calculateTotalsByCategory();
+
+        // Assert
+        assertEquals(new BigDecimal("350.00"), total);
+        assertEquals(new BigDecimal("40.00"), monthlyTotals.get(3));
+        assertEquals(BigDecimal.ZERO, monthlyTotals.get(4));
+        assertEquals(new BigDecimal("50.00"), categoryTotals.get("groceries"));
+        assertEquals(new BigDecimal("5.00"), categoryTotals.get("transport"));
+    }
+
+    @Test
+    void testCategoryListingOnlyDecodesArchivedYearsWithThatCategory() {
+        // Arrange
+        when(archiveService.getArchivedYears("Groceries")).thenReturn(Set.of(2020));
+        when(transactionRepository.findDtosByCategory("Groceries")).thenReturn(List.of());
+
+        // Act
+        transactionService.listTransactionsByCategory("Groceries");
+
+        // Assert
+        verify(archiveService).forEachArchivedTransaction(eq(2020), any());
+        verify(archiveService, never()).getArchivedYears();
+    }
+
+    @Test
+    void testListingMergesArchivedRowsIntoHotRowsByDate() {
+        // Arrange: a row for 2020 was saved after the year was archived
+        when(archiveService.getArchivedYears()).thenReturn(Set.of(2020));
+        doAnswer(invocation -> {
+            Consumer<Transaction> consumer = invocation.getArgument(1);
+            consumer.accept(transaction(LocalDate.of(2020, 3, 1), "Archived early", "Groceries", "1.00"));
+            consumer.accept(transaction(LocalDate.of(2020, 3, 10), "Archived late", "Groceries", "2.00"));
+            return null;
+        }).when(archiveService).forEachArchivedTransaction(eq(2020), any());
+        when(transactionRepository.findAllDtos()).thenReturn(List.of(
+                new TransactionDTO(LocalDate.of(2024, 1, 1), "Hot", new BigDecimal("3.00"), "Groceries"),
+                new TransactionDTO(LocalDate.of(2020, 3, 5), "Late arrival", new BigDecimal("4.00"), "Groceries")));
+
+        // Act
+        List<TransactionDTO> transactions = transactionService.listTransactions();
+
+        // Assert
+        assertEquals(List.of("Archived early", "Late arrival", "Archived late", "Hot"),
+                transactions.stream().map(TransactionDTO::getDescription).collect(Collectors.toList()));
+    }
+
+    @Test
+    void testExportMergesArchivedRowsIntoHotRowsByDate() throws Exception {
+        // Arrange
+        when(fxRateService.getBaseCurrency()).thenReturn("GBP");
+        when(archiveService.hasArchives()).thenReturn(true);
+        when(archiveService.getArchivedYears()).thenReturn(new TreeSet<>(Set.of(2019, 2020)));
+        when(archiveService.streamArchivedYear(2019)).thenReturn(Stream.of(
+                transaction(LocalDate.of(2019, 12, 31), "Archived 2019", "Rent", "5.00")));
+        when(archiveService.streamArchivedYear(2020)).thenReturn(Stream.of(
+                transaction(LocalDate.of(2020, 3, 1), "Archived early", "Groceries", "1.00"),
+                transaction(LocalDate.of(2020, 3, 10), "Archived late", "Groceries", "2.00")));
+        ResultSet rows = mock(ResultSet.class);
+        when(rows.getObject(1, LocalDate.class)).thenReturn(LocalDate.of(2020, 3, 5), LocalDate.of(2024, 1, 1));
+        when(rows.getString(2)).thenReturn("Late arrival", "Hot");
+        when(rows.getBigDecimal(3)).thenReturn(new BigDecimal("4.00"), new BigDecimal("3.00"));
+        when(rows.getString(5)).thenReturn("Groceries");
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            handler.processRow(rows);
+            handler.processRow(rows);
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+        StringWriter csv = new StringWriter();
+
+        // Act
+        long exported = transactionService.exportCSV(null, null, null, csv);
+
+        // Assert
+        assertEquals(5, exported);
+        String[] lines = csv.toString().split("\n");
+        assertEquals(6, lines.length);
+        assertTrue(lines[1].startsWith("31/12/2019,Archived 2019"));
+        assertTrue(lines[2].startsWith("01/03/2020,Archived early"));
+        assertTrue(lines[3].startsWith("05/03/2020,Late arrival"));
+        assertTrue(lines[4].startsWith("10/03/2020,Archived late"));
+        assertTrue(lines[5].startsWith("01/01/2024,Hot"));
+    }
+
     @Test
     void testDeleteAllTransactions() {
         // Act
@@ -209,5 +387,120 @@ class TransactionServiceTest {
 
         // Assert
         verify(transactionRepository, times(1)).deleteAll();
+        verify(importedFileRepository, times(1)).deleteAll();
+    }
+
+    @Test
+    void testImportCSVFileRecordsTheFileWithItsRows() throws Exception {
+        // Arrange
+        Path file = Files.writeString(folder.resolve("2023.csv"),
+                "Date,Description,Amount,Category\n15/01/2023,Grocery shopping,125.50,Groceries\n");
+        when(transactionRepository.saveAll(anyList())).thenAnswer(TransactionServiceTest::assignIds);
+
+        // Act
+        long count = transactionService.importCSVFile(file);
+
+        // Assert
+        assertEquals(1, count);
+        ArgumentCaptor<ImportedFile> record = ArgumentCaptor.forClass(ImportedFile.class);
+        verify(importedFileRepository).save(record.capture());
+        assertEquals("2023.csv", record.getValue().getFileName());
+        assertEquals(1, record.getValue().getRowCount());
+        assertTrue(record.getValue().getChecksum().matches("[0-9a-f]{64}"));
+        verify(importedFileRepository).findByChecksum(record.getValue().getChecksum());
+    }
+
+    @Test
+    void testImportCSVFileSkipsContentsAlreadyImported() throws Exception {
+        // Arrange
+        Path file = Files.writeString(folder.resolve("2023-again.csv"),
+                "Date,Description,Amount,Category\n15/01/2023,Grocery shopping,125.50,Groceries\n");
+        when(importedFileRepository.findByChecksum(anyString())).thenReturn(Optional.of(ImportedFile.builder()
+                .fileName("2023.csv")
+                .importedAt(LocalDateTime.of(2024, 1, 1, 9, 0))
+                .build()));
+
+        // Act
+        long count = transactionService.importCSVFile(file);
+
+        // Assert
+        assertEquals(0, count);
+        verify(transactionRepository, never()).saveAll(anyList());
+        verify(importedFileRepository, never()).save(any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void testImportJsonArray() throws Exception {
+        // Arrange
+        String json = "[{\"date\":\"2023-01-15\",\"description\":\"Grocery shopping\",\"amount\":125.50,\"category\":\"Groceries\"},"
+                + "{\"date\":\"2023-01-20\",\"description\":\"Monthly rent\",\"amount\":1200.00,\"category\":\"Housing\"}]";
+        when(transactionRepository.saveAll(anyList())).thenAnswer(TransactionServiceTest::assignIds);
+
+        // Act
+        long count = transactionService.importJson(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+
+        // Assert
+        assertEquals(2, count);
+        verify(transactionRepository, times(1)).saveAll(anyList());
+        verify(entityManager, times(1)).clear();
+        verify(session).setCacheMode(CacheMode.IGNORE);
+        ArgumentCaptor<TransactionsImportedEvent> event = ArgumentCaptor.forClass(TransactionsImportedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(2, event.getValue().getIds().count());
+        verify(eventPublisher, never()).publishEvent(any(TransactionsSavedEvent.class));
+    }
+
+    @Test
+    void testImportNdjson() throws Exception {
+        // Arrange
+        String ndjson = "{\"date\":\"2023-01-15\",\"description\":\"Grocery shopping\",\"amount\":125.50,\"category\":\"Groceries\"}\n"
+                + "{\"date\":\"2023-01-20\",\"description\":\"Monthly rent\",\"amount\":1200.00,\"category\":\"Housing\"}\n"
+                + "{\"date\":\"2023-01-25\",\"description\":\"Internet bill\",\"amount\":65.00,\"category\":\"Utilities\"}\n";
+        when(transactionRepository.saveAll(anyList())).thenAnswer(TransactionServiceTest::assignIds);
+
+        // Act
+        long count = transactionService.importJson(new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)));
+
+        // Assert
+        assertEquals(3, count);
+    }
+
+    @Test
+    void testImportJsonRejectsIncompleteTransaction() {
+        // Arrange
+        String json = "[{\"description\":\"No date\",\"amount\":1.00}]";
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () ->
+                transactionService.importJson(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8))));
+        verify(transactionRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void testImportJsonNamesTheRowOfAnUnknownOrUnconvertibleCurrency() {
+        // Arrange
+        String unknown = "[{\"date\":\"2023-01-15\",\"description\":\"Shop\",\"amount\":1.00,\"currency\":\"GBP\"},"
+                + "{\"date\":\"2023-01-16\",\"description\":\"Shop\",\"amount\":2.00,\"currency\":\"EURO\"}]";
+        String unconvertible = "[{\"date\":\"2023-01-15\",\"description\":\"Shop\",\"amount\":1.00,\"currency\":\"jpy\"}]";
+        when(fxRateService.toBaseCurrency(any(), eq("JPY"), any()))
+                .thenThrow(new IllegalArgumentException("No JPY to GBP rate on or before 2023-01-15"));
+
+        // Act
+        IllegalArgumentException unknownError = assertThrows(IllegalArgumentException.class, () ->
+                transactionService.importJson(new ByteArrayInputStream(unknown.getBytes(StandardCharsets.UTF_8))));
+        IllegalArgumentException unconvertibleError = assertThrows(IllegalArgumentException.class, () ->
+                transactionService.importJson(new ByteArrayInputStream(unconvertible.getBytes(StandardCharsets.UTF_8))));
+
+        // Assert
+        assertEquals("Row 2: unknown currency 'EURO'", unknownError.getMessage());
+        assertEquals("Row 1: No JPY to GBP rate on or before 2023-01-15", unconvertibleError.getMessage());
+        verify(transactionRepository, never()).saveAll(anyList());
+    }
+
+    private static List<Transaction> assignIds(InvocationOnMock invocation) {
+        List<Transaction> transactions = invocation.getArgument(0);
+        transactions.forEach(transaction -> transaction.setId(++lastId));
+        return transactions;
     }
-}
\ No newline at end of file
+}
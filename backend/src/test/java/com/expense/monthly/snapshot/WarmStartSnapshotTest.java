@@ -0,0 +1,250 @@
+package com.expense.monthly.snapshot;
+
+import com.expense.monthly.event.TransactionsChangedElsewhereEvent;
+import com.expense.monthly.event.TransactionsResetEvent;
+import com.expense.monthly.event.TransactionsSavedEvent;
+import com.expense.monthly.model.Transaction;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for WarmStartSnapshot.
+ */
+public class WarmStartSnapshotTest {
+
+    @TempDir
+    Path directory;
+
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+
+    /**
+     * Participant that remembers the descriptions it has seen.
+     */
+    private static class DescriptionLog implements SnapshotParticipant {
+
+        private final List<String> descriptions = new ArrayList<>();
+        private int rebuilds;
+
+        @Override
+        public String getSnapshotName() {
+            return "descriptions";
+        }
+
+        @Override
+        public void rebuild() {
+            rebuilds++;
+            descriptions.clear();
+        }
+
+        @Override
+        public void onTransactionsSaved(TransactionsSavedEvent event) {
+            event.getTransactions().forEach(transaction -> descriptions.add(transaction.getDescription()));
+        }
+
+        @Override
+        public void onTransactionsReset(TransactionsResetEvent event) {
+            descriptions.clear();
+        }
+
+        @Override
+        public void writeSnapshot(DataOutput out) throws IOException {
+            out.writeInt(descriptions.size());
+            for (String description : descriptions) {
+                out.writeUTF(description);
+            }
+        }
+
+        @Override
+        public void readSnapshot(DataInput in) throws IOException {
+            descriptions.clear();
+            int size = in.readInt();
+            for (int i = 0; i < size; i++) {
+                descriptions.add(in.readUTF());
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static JdbcTemplate ledger(long rows, long maxId, String... laterDescriptions) throws Exception {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.queryForObject(anyString(), any(RowMapper.class))).thenReturn(new long[]{rows, maxId});
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            long id = maxId - laterDescriptions.length;
+            for (String description : laterDescriptions) {
+                ResultSet rs = mock(ResultSet.class);
+                when(rs.getLong(1)).thenReturn(++id);
+                when(rs.getObject(2, LocalDate.class)).thenReturn(LocalDate.of(2024, 5, 1));
+                when(rs.getString(3)).thenReturn(description);
+                when(rs.getBigDecimal(4)).thenReturn(BigDecimal.TEN);
+                handler.processRow(rs);
+            }
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+        return jdbcTemplate;
+    }
+
+    private static TransactionsSavedEvent saved(long firstId, String... descriptions) {
+        List<Transaction> transactions = new ArrayList<>();
+        for (String description : descriptions) {
+            transactions.add(Transaction.builder().id(firstId++).description(description).build());
+        }
+        return new TransactionsSavedEvent(transactions);
+    }
+
+    @Test
+    void testRestoresSnapshotAndReplaysLaterTransactions() throws Exception {
+        // Arrange
+        Path file = directory.resolve("state.snapshot");
+        DescriptionLog before = new DescriptionLog();
+        WarmStartSnapshot writer = new WarmStartSnapshot(List.of(before), ledger(0, 0), eventPublisher,
+                file.toString());
+        writer.onApplicationReady();
+        writer.onTransactionsSaved(saved(1, "Rent", "Coffee"));
+        writer.writeSnapshot();
+
+        DescriptionLog after = new DescriptionLog();
+        WarmStartSnapshot reader = new WarmStartSnapshot(List.of(after), ledger(3, 3, "Bus"), eventPublisher,
+                file.toString());
+
+        // Act
+        reader.onApplicationReady();
+
+        // Assert
+        assertEquals(Arrays.asList("Rent", "Coffee", "Bus"), after.descriptions);
+        assertEquals(0, after.rebuilds);
+    }
+
+    @Test
+    void testRebuildsWhenSnapshotDoesNotAccountForEveryTransaction() throws Exception {
+        // Arrange
+        Path file = directory.resolve("state.snapshot");
+        WarmStartSnapshot writer = new WarmStartSnapshot(List.of(new DescriptionLog()), ledger(0, 0), eventPublisher,
+                file.toString());
+        writer.onApplicationReady();
+        writer.onTransactionsSaved(saved(1, "Rent"));
+        writer.writeSnapshot();
+
+        DescriptionLog after = new DescriptionLog();
+        // A transaction with a lower id committed after the snapshot was written
+        WarmStartSnapshot reader = new WarmStartSnapshot(List.of(after), ledger(3, 3, "Bus"), eventPublisher,
+                file.toString());
+
+        // Act
+        reader.onApplicationReady();
+
+        // Assert
+        assertEquals(1, after.rebuilds);
+        assertTrue(after.descriptions.isEmpty());
+    }
+
+    @Test
+    void testStartupWaitsForLedgerCommitInProgress() throws Exception {
+        // Arrange
+        DescriptionLog participant = new DescriptionLog();
+        WarmStartSnapshot snapshot = new WarmStartSnapshot(List.of(participant), ledger(0, 0), eventPublisher, "");
+        TransactionSynchronizationManager.initSynchronization();
+        Thread startup;
+        try {
+            snapshot.onLedgerCommitting();
+
+            // Act
+            startup = new Thread(snapshot::onApplicationReady);
+            startup.start();
+            while (startup.getState() != Thread.State.WAITING) {
+                Thread.sleep(5);
+            }
+
+            // Assert
+            assertEquals(0, participant.rebuilds);
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        startup.join(5_000);
+        assertEquals(1, participant.rebuilds);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testRefreshCatchesUpWithOtherInstances() throws Exception {
+        // Arrange
+        DescriptionLog participant = new DescriptionLog();
+        JdbcTemplate jdbcTemplate = ledger(0, 2, "Rent", "Coffee");
+        when(jdbcTemplate.queryForObject(anyString(), any(RowMapper.class)))
+                .thenReturn(new long[]{0, 0}, new long[]{2, 2});
+        WarmStartSnapshot snapshot = new WarmStartSnapshot(List.of(participant), jdbcTemplate, eventPublisher, "");
+        snapshot.onApplicationReady();
+
+        // Act
+        snapshot.refresh();
+
+        // Assert
+        assertEquals(1, participant.rebuilds);
+        assertEquals(Arrays.asList("Rent", "Coffee"), participant.descriptions);
+        verify(eventPublisher).publishEvent(any(TransactionsChangedElsewhereEvent.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testRefreshRebuildsWhenCatchingUpIsNotEnough() throws Exception {
+        // Arrange
+        DescriptionLog participant = new DescriptionLog();
+        JdbcTemplate jdbcTemplate = ledger(0, 2, "Rent", "Coffee");
+        when(jdbcTemplate.queryForObject(anyString(), any(RowMapper.class)))
+                .thenReturn(new long[]{0, 0}, new long[]{3, 2});
+        WarmStartSnapshot snapshot = new WarmStartSnapshot(List.of(participant), jdbcTemplate, eventPublisher, "");
+        snapshot.onApplicationReady();
+
+        // Act
+        snapshot.refresh();
+
+        // Assert
+        assertEquals(2, participant.rebuilds);
+        assertTrue(participant.descriptions.isEmpty());
+        verify(eventPublisher).publishEvent(any(TransactionsChangedElsewhereEvent.class));
+    }
+
+    @Test
+    void testResetDeletesSnapshot() throws Exception {
+        // Arrange
+        Path file = directory.resolve("state.snapshot");
+        WarmStartSnapshot snapshot = new WarmStartSnapshot(List.of(new DescriptionLog()), ledger(0, 0), eventPublisher,
+                file.toString());
+        snapshot.onApplicationReady();
+        snapshot.onTransactionsSaved(saved(1, "Rent"));
+        snapshot.writeSnapshot();
+        assertTrue(Files.exists(file));
+
+        // Act
+        snapshot.onTransactionsReset(new TransactionsResetEvent());
+
+        // Assert
+        assertFalse(Files.exists(file));
+    }
+}
@@ -0,0 +1,328 @@
+package com.expense.monthly.testdata;
+
+import com.expense.monthly.dto.TransactionDTO;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.Random;
+import java.util.function.Consumer;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Generator of synthetic but realistic ledgers for tests and benchmarks.
+ * Produces exactly the requested number of rows in date order, with fixed monthly bills (rent, utilities,
+ * subscriptions) on stable days, Zipf-distributed discretionary merchants, log-normal amounts around each
+ * merchant's typical spend and a seasonal skew towards December. Output is deterministic for a given seed.
+ *
+ * <p>Rows can be written as CSV in the {@code Date,Description,Amount,Category} layout that uploads bind, or
+ * inserted straight into the {@code transactions} table with JDBC batches. From the command line:
+ * <pre>
+ * mvn -Ploadtest test-compile exec:java -Dexec.mainClass=com.expense.monthly.testdata.LedgerGenerator \
+ *     -Dledger.rows=5000000 -Dledger.output=ledger.csv.gz
+ * mvn -Ploadtest test-compile exec:java -Dexec.mainClass=com.expense.monthly.testdata.LedgerGenerator \
+ *     -Dledger.rows=5000000 -Dledger.jdbc-url=jdbc:postgresql://localhost:5432/monthly_expense \
+ *     -Dledger.jdbc-user=admin -Dledger.jdbc-password=password
+ * </pre>
+ */
+public class LedgerGenerator {
+
+    private static final DateTimeFormatter CSV_DATE_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    /**
+     * Relative spend volume per month (January first); December peaks, January and February are quiet.
+     */
+    private static final double[] MONTH_WEIGHTS = {0.85, 0.85, 0.95, 1.0, 1.0, 1.05, 1.1, 1.1, 0.95, 1.0, 1.15, 1.4};
+
+    private static final Merchant[] BILLS = {
+            new Merchant("Monthly rent", "Housing", 1200.00, 0.0, 1),
+            new Merchant("Council tax", "Housing", 145.00, 0.0, 1),
+            new Merchant("British Gas", "Utilities", 85.00, 0.25, 3),
+            new Merchant("Thames Water", "Utilities", 38.00, 0.05, 5),
+            new Merchant("Virgin Media broadband", "Utilities", 45.00, 0.0, 8),
+            new Merchant("Vodafone", "Phone", 28.00, 0.0, 12),
+            new Merchant("Netflix.com", "Subscriptions", 10.99, 0.0, 14),
+            new Merchant("Spotify", "Subscriptions", 11.99, 0.0, 17),
+            new Merchant("PureGym", "Health", 24.99, 0.0, 20),
+            new Merchant("Aviva insurance", "Insurance", 32.50, 0.0, 25),
+    };
+
+    private static final Merchant[] DISCRETIONARY = {
+            new Merchant("Tesco Stores", "Groceries", 42.00, 0.6, 0),
+            new Merchant("Sainsbury's", "Groceries", 38.00, 0.6, 0),
+            new Merchant("Amazon Marketplace", "Shopping", 27.00, 0.9, 0),
+            new Merchant("Costa Coffee", "Dining", 4.20, 0.3, 0),
+            new Merchant("TFL travel", "Transport", 7.40, 0.4, 0),
+            new Merchant("Aldi", "Groceries", 31.00, 0.5, 0),
+            new Merchant("Pret A Manger", "Dining", 8.50, 0.3, 0),
+            new Merchant("Uber", "Transport", 14.00, 0.5, 0),
+            new Merchant("Deliveroo", "Dining", 24.00, 0.4, 0),
+            new Merchant("Shell petrol", "Fuel", 55.00, 0.3, 0),
+            new Merchant("Boots", "Health", 12.00, 0.6, 0),
+            new Merchant("Lidl", "Groceries", 29.00, 0.5, 0),
+            new Merchant("Starbucks", "Dining", 4.80, 0.3, 0),
+            new Merchant("Trainline", "Transport", 46.00, 0.7, 0),
+            new Merchant("Argos", "Shopping", 35.00, 0.8, 0),
+            new Merchant("eBay", "Shopping", 22.00, 0.9, 0),
+            new Merchant("Waitrose", "Groceries", 56.00, 0.5, 0),
+            new Merchant("Local restaurant", "Dining", 48.00, 0.5, 0),
+            new Merchant("John Lewis", "Shopping", 85.00, 0.9, 0),
+            new Merchant("IKEA", "Shopping", 120.00, 1.0, 0),
+            new Merchant("Cash withdrawal ATM", "Cash", 50.00, 0.5, 0),
+            new Merchant("Pharmacy", "Health", 9.00, 0.5, 0),
+            new Merchant("Cinema", "Entertainment", 22.00, 0.3, 0),
+            new Merchant("Steam games", "Entertainment", 18.00, 0.8, 0),
+            new Merchant("Dentist", "Health", 65.00, 0.4, 0),
+    };
+
+    private final Random random;
+    private final LocalDate from;
+    private final LocalDate to;
+    private final double[] discretionaryCdf;
+
+    /**
+     * Create a generator.
+     *
+     * @param seed Random seed; the same seed and range always produce the same ledger
+     * @param from First date of the ledger
+     * @param to Last date of the ledger
+     */
+    public LedgerGenerator(long seed, LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("Ledger end " + to + " is before start " + from);
+        }
+        this.random = new Random(seed);
+        this.from = from;
+        this.to = to;
+        // Zipf (s = 1.1) popularity over the discretionary merchants, most popular first
+        this.discretionaryCdf = new double[DISCRETIONARY.length];
+        double sum = 0;
+        for (int i = 0; i < DISCRETIONARY.length; i++) {
+            sum += 1.0 / Math.pow(i + 1, 1.1);
+            discretionaryCdf[i] = sum;
+        }
+        for (int i = 0; i < discretionaryCdf.length; i++) {
+            discretionaryCdf[i] /= sum;
+        }
+    }
+
+    /**
+     * Generate exactly the given number of transactions in date order.
+     *
+     * @param rows Number of transactions
+     * @param sink Receives each transaction
+     */
+    public void generate(long rows, Consumer<TransactionDTO> sink) {
+        long days = ChronoUnit.DAYS.between(from, to) + 1;
+        double totalWeight = 0;
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            totalWeight += MONTH_WEIGHTS[day.getMonthValue() - 1];
+        }
+
+        long emitted = 0;
+        double carry = 0;
+        LocalDate day = from;
+        for (long d = 0; d < days && emitted < rows; d++, day = day.plusDays(1)) {
+            long quota;
+            if (d == days - 1) {
+                quota = rows - emitted;
+            } else {
+                // Stochastic rounding keeps the running total on target without visible banding
+                double expected = rows * MONTH_WEIGHTS[day.getMonthValue() - 1] / totalWeight + carry;
+                quota = (long) Math.floor(expected);
+                if (random.nextDouble() < expected - quota) {
+                    quota++;
+                }
+                carry = expected - quota;
+                quota = Math.min(quota, rows - emitted);
+            }
+            for (Merchant bill : BILLS) {
+                if (quota > 0 && bill.dayOfMonth == day.getDayOfMonth()) {
+                    sink.accept(bill.transaction(day, random));
+                    quota--;
+                    emitted++;
+                }
+            }
+            for (; quota > 0; quota--) {
+                sink.accept(pickDiscretionary().transaction(day, random));
+                emitted++;
+            }
+        }
+    }
+
+    /**
+     * Write the ledger as CSV with a header row.
+     *
+     * @param rows Number of transactions
+     * @param writer Destination; flushed but not closed
+     * @throws IOException If writing fails
+     */
+    public void writeCsv(long rows, Writer writer) throws IOException {
+        writer.write("Date,Description,Amount,Category\n");
+        IOException[] failure = {null};
+        generate(rows, transaction -> {
+            if (failure[0] != null) {
+                return;
+            }
+            try {
+                writer.write(transaction.getDate().format(CSV_DATE_FORMAT));
+                writer.write(',');
+                writer.write(transaction.getDescription());
+                writer.write(',');
+                writer.write(transaction.getAmount().toPlainString());
+                writer.write(',');
+                writer.write(transaction.getCategory());
+                writer.write('\n');
+            } catch (IOException e) {
+                failure[0] = e;
+            }
+        });
+        if (failure[0] != null) {
+            throw failure[0];
+        }
+        writer.flush();
+    }
+
+    /**
+     * Insert the ledger straight into the transactions table using JDBC batches, bypassing the HTTP and JPA layers.
+     *
+     * @param rows Number of transactions
+     * @param dataSource Target database
+     * @param currency Currency code to record; amounts are stored as already being in the base currency
+     * @throws SQLException If inserting fails
+     */
+    public void seedDatabase(long rows, DataSource dataSource, String currency) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            seedDatabase(rows, connection, currency);
+        }
+    }
+
+    private void seedDatabase(long rows, Connection connection, String currency) throws SQLException {
+        int batchSize = 5_000;
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try (PreparedStatement statement = connection.prepareStatement(
+                "INSERT INTO transactions (date, description, amount, currency, base_amount, category, "
+                        + "transaction_month, transaction_year) VALUES (?, ?, ?, ?, ?, ?, ?, ?)")) {
+            SQLException[] failure = {null};
+            long[] pending = {0};
+            generate(rows, transaction -> {
+                if (failure[0] != null) {
+                    return;
+                }
+                try {
+                    statement.setDate(1, Date.valueOf(transaction.getDate()));
+                    statement.setString(2, transaction.getDescription());
+                    statement.setBigDecimal(3, transaction.getAmount());
+                    statement.setString(4, currency);
+                    statement.setBigDecimal(5, transaction.getAmount());
+                    statement.setString(6, transaction.getCategory());
+                    statement.setInt(7, transaction.getDate().getMonthValue());
+                    statement.setInt(8, transaction.getDate().getYear());
+                    statement.addBatch();
+                    if (++pending[0] % batchSize == 0) {
+                        statement.executeBatch();
+                        connection.commit();
+                    }
+                } catch (SQLException e) {
+                    failure[0] = e;
+                }
+            });
+            if (failure[0] != null) {
+                throw failure[0];
+            }
+            statement.executeBatch();
+            connection.commit();
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    private Merchant pickDiscretionary() {
+        double roll = random.nextDouble();
+        for (int i = 0; i < discretionaryCdf.length; i++) {
+            if (roll < discretionaryCdf[i]) {
+                return DISCRETIONARY[i];
+            }
+        }
+        return DISCRETIONARY[DISCRETIONARY.length - 1];
+    }
+
+    public static void main(String[] args) throws IOException, SQLException {
+        long rows = Long.getLong("ledger.rows", 1_000_000L);
+        long seed = Long.getLong("ledger.seed", 42L);
+        LocalDate from = LocalDate.parse(System.getProperty("ledger.from", "2019-01-01"));
+        LocalDate to = LocalDate.parse(System.getProperty("ledger.to", "2024-12-31"));
+        LedgerGenerator generator = new LedgerGenerator(seed, from, to);
+
+        String jdbcUrl = System.getProperty("ledger.jdbc-url");
+        long start = System.nanoTime();
+        if (jdbcUrl != null) {
+            try (Connection connection = DriverManager.getConnection(jdbcUrl,
+                    System.getProperty("ledger.jdbc-user"), System.getProperty("ledger.jdbc-password"))) {
+                generator.seedDatabase(rows, connection, System.getProperty("ledger.currency", "GBP"));
+            }
+            System.out.printf("Inserted %d transactions into %s in %.1fs%n", rows, jdbcUrl, (System.nanoTime() - start) / 1e9);
+        } else {
+            Path output = Paths.get(System.getProperty("ledger.output", "target/ledger.csv"));
+            if (output.getParent() != null) {
+                Files.createDirectories(output.getParent());
+            }
+            try (OutputStream file = Files.newOutputStream(output);
+                 OutputStream out = output.toString().endsWith(".gz") ? new GZIPOutputStream(file, 1 << 16) : file;
+                 Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 1 << 16)) {
+                generator.writeCsv(rows, writer);
+            }
+            System.out.printf("Wrote %d transactions to %s in %.1fs%n", rows, output.toAbsolutePath(), (System.nanoTime() - start) / 1e9);
+        }
+    }
+
+    /**
+     * A merchant with its category and typical spend.
+     */
+    private static final class Merchant {
+        private final String description;
+        private final String category;
+        private final double typicalAmount;
+        private final double spread;
+        private final int dayOfMonth;
+
+        /**
+         * @param description Description written to the ledger
+         * @param category Category written to the ledger
+         * @param typicalAmount Median amount
+         * @param spread Log-normal sigma of the amount; 0 for a fixed amount
+         * @param dayOfMonth Day a monthly bill is charged, or 0 for discretionary spend
+         */
+        Merchant(String description, String category, double typicalAmount, double spread, int dayOfMonth) {
+            this.description = description;
+            this.category = category;
+            this.typicalAmount = typicalAmount;
+            this.spread = spread;
+            this.dayOfMonth = dayOfMonth;
+        }
+
+        TransactionDTO transaction(LocalDate date, Random random) {
+            double amount = typicalAmount * Math.exp(spread * random.nextGaussian());
+            return new TransactionDTO(date, description,
+                    BigDecimal.valueOf(Math.max(amount, 0.01)).setScale(2, RoundingMode.HALF_UP), category);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.expense.monthly.testdata;
+
+import com.expense.monthly.dto.TransactionDTO;
+import com.opencsv.bean.CsvToBeanBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for LedgerGenerator.
+ */
+class LedgerGeneratorTest {
+
+    private static final LocalDate FROM = LocalDate.of(2023, 1, 1);
+    private static final LocalDate TO = LocalDate.of(2023, 12, 31);
+
+    @Test
+    void testCsvBindsToTransactionDTO() throws IOException {
+        StringWriter csv = new StringWriter();
+        new LedgerGenerator(7, FROM, TO).writeCsv(5_000, csv);
+
+        List<TransactionDTO> parsed = new CsvToBeanBuilder<TransactionDTO>(new StringReader(csv.toString()))
+                .withType(TransactionDTO.class)
+                .build()
+                .parse();
+
+        assertEquals(5_000, parsed.size());
+        for (TransactionDTO dto : parsed) {
+            assertFalse(dto.getDate().isBefore(FROM) || dto.getDate().isAfter(TO));
+            assertTrue(dto.getAmount().signum() > 0);
+            assertFalse(dto.getCategory().isEmpty());
+        }
+    }
+
+    @Test
+    void testDeterministicAndSeasonal() {
+        List<TransactionDTO> first = new ArrayList<>();
+        List<TransactionDTO> second = new ArrayList<>();
+        new LedgerGenerator(42, FROM, TO).generate(20_000, first::add);
+        new LedgerGenerator(42, FROM, TO).generate(20_000, second::add);
+
+        assertEquals(first, second);
+        long january = first.stream().filter(dto -> dto.getDate().getMonthValue() == 1).count();
+        long december = first.stream().filter(dto -> dto.getDate().getMonthValue() == 12).count();
+        assertTrue(december > january * 1.3, "december=" + december + ", january=" + january);
+    }
+}
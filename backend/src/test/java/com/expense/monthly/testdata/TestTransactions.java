@@ -0,0 +1,49 @@
+package com.expense.monthly.testdata;
+
+import com.expense.monthly.model.Transaction;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Transaction entities for unit tests, built the way ingest stores them: month and year derived from the date
+ * and no id.
+ */
+public final class TestTransactions {
+
+    private TestTransactions() {
+    }
+
+    /**
+     * Build a transaction.
+     *
+     * @param date Transaction date
+     * @param description Description
+     * @param category Category
+     * @param amount Amount in the base currency
+     * @return Unsaved transaction
+     */
+    public static Transaction transaction(LocalDate date, String description, String category, String amount) {
+        return Transaction.builder()
+                .date(date)
+                .description(description)
+                .amount(new BigDecimal(amount))
+                .category(category)
+                .month(date.getMonthValue())
+                .year(date.getYear())
+                .build();
+    }
+
+    /**
+     * Build a transaction on the first of a month, described by its category.
+     *
+     * @param category Category, also used as the description
+     * @param year Year
+     * @param month Month (1-12)
+     * @param amount Amount in the base currency
+     * @return Unsaved transaction
+     */
+    public static Transaction transaction(String category, int year, int month, String amount) {
+        return transaction(LocalDate.of(year, month, 1), category, category, amount);
+    }
+}
@@ -0,0 +1,82 @@
+package com.expense.monthly.timing;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for ServerTimingFilter and RequestTimings.
+ */
+public class ServerTimingFilterTest {
+
+    @Test
+    void testSampledRequestGetsServerTimingBeforeBody() throws Exception {
+        // Arrange
+        ServerTimingFilter filter = new ServerTimingFilter(1.0, 1000);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/transactions");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                long start = RequestTimings.start();
+                RequestTimings.stop(Phase.QUERY, start);
+                resp.getWriter().write("[]");
+            }
+        });
+
+        // Act
+        filter.doFilter(request, response, chain);
+
+        // Assert
+        String header = response.getHeader("Server-Timing");
+        assertNotNull(header);
+        assertTrue(header.startsWith("query;dur="), header);
+        assertTrue(header.contains("total;dur="), header);
+        assertEquals("[]", response.getContentAsString());
+        assertEquals(0L, RequestTimings.start());
+    }
+
+    @Test
+    void testUnsampledRequestRecordsNothing() throws Exception {
+        // Arrange
+        ServerTimingFilter filter = new ServerTimingFilter(0.0, 1000);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/transactions");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        long[] start = new long[1];
+        MockFilterChain chain = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) {
+                start[0] = RequestTimings.start();
+            }
+        });
+
+        // Act
+        filter.doFilter(request, response, chain);
+
+        // Assert
+        assertEquals(0L, start[0]);
+        assertNull(response.getHeader("Server-Timing"));
+    }
+
+    @Test
+    void testNonApiRequestsAreNotTimed() throws Exception {
+        // Arrange
+        ServerTimingFilter filter = new ServerTimingFilter(1.0, 1000);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/actuator/health");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(request, response, new MockFilterChain());
+
+        // Assert
+        assertNull(response.getHeader("Server-Timing"));
+    }
+}
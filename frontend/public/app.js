@@ -816,6 +816,54 @@ const App = () => {
         loadData();
     }, []);
 
+    // Apply pushed changes instead of polling; the browser reconnects and replays missed events by itself
+    React.useEffect(() => {
+        if (!window.EventSource) {
+            return undefined;
+        }
+        const events = new EventSource(`${API_BASE_URL}/events`);
+        const addAmount = (totals, key, amount) => ({
+            ...totals,
+            [key]: (parseFloat(totals[key]) || 0) + parseFloat(amount)
+        });
+        // Totals are applied per batch, but the transaction list is refetched at most once a second
+        let refreshTimer = null;
+        const refreshTransactions = () => {
+            if (refreshTimer) {
+                return;
+            }
+            refreshTimer = setTimeout(async () => {
+                refreshTimer = null;
+                try {
+                    const transactionsResponse = await axios.get(`${API_BASE_URL}`);
+                    setTransactions(transactionsResponse.data);
+                } catch (error) {
+                    console.error('Error refreshing transactions:', error);
+                }
+            }, 1000);
+        };
+
+        events.addEventListener('batch', (event) => {
+            const change = JSON.parse(event.data);
+            const currentYear = new Date().getFullYear();
+            setTotalAmount(total => (parseFloat(total) || 0) + parseFloat(change.total));
+            setMonthlyTotals(totals => Object.entries(change.months || {}).reduce((updated, [yearMonth, amount]) => {
+                const [year, month] = yearMonth.split('-').map(Number);
+                return year === currentYear ? addAmount(updated, month, amount) : updated;
+            }, totals));
+            setCategoryTotals(totals => Object.entries(change.categories || {}).reduce(
+                (updated, [category, amount]) => addAmount(updated, category, amount), totals));
+            refreshTransactions();
+        });
+        events.addEventListener('reset', () => loadData());
+        events.addEventListener('resync', () => loadData());
+
+        return () => {
+            clearTimeout(refreshTimer);
+            events.close();
+        };
+    }, []);
+
     return (
         <div className="container">
             <h1 className="app-title">Monthly Expense Tracker</h1>